@@ -0,0 +1,153 @@
+package com.aircargo.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 負荷試験用APIクライアントクラス
+ *
+ * Basic認証でAPIを呼び出し、各リクエストのレイテンシをセッションに記録します。
+ * 接続エラーやタイムアウト、2xx以外の応答は失敗として記録し、呼び出し元にはnullを返します。
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String authorization;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    /**
+     * コンストラクタ
+     *
+     * @param baseUrl 接続先（コンテキストパスを含むサーバーのURL）
+     * @param user ユーザー名
+     * @param password パスワード
+     */
+    ApiClient(String baseUrl, String user, String password) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.baseUrl = baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+            .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * GETリクエスト
+     *
+     * @param session セッション
+     * @param endpoint 集計用のエンドポイント名
+     * @param path パス（クエリ文字列を含む）
+     * @return 応答のJSON（失敗した場合はnull）
+     * @throws InterruptedException 送信中に割り込まれた場合
+     */
+    JsonNode get(Session session, String endpoint, String path) throws InterruptedException {
+        return send(session, endpoint, request(path).GET());
+    }
+
+    /**
+     * POSTリクエスト（JSONボディ）
+     *
+     * @param session セッション
+     * @param endpoint 集計用のエンドポイント名
+     * @param path パス
+     * @param body リクエストボディ（JSONに変換する）
+     * @return 応答のJSON（失敗した場合はnull）
+     * @throws InterruptedException 送信中に割り込まれた場合
+     */
+    JsonNode post(Session session, String endpoint, String path, Object body) throws InterruptedException {
+        return send(session, endpoint, request(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body))));
+    }
+
+    /**
+     * PUTリクエスト（ボディなし、パラメータはクエリ文字列で指定）
+     *
+     * @param session セッション
+     * @param endpoint 集計用のエンドポイント名
+     * @param path パス（クエリ文字列を含む）
+     * @return 応答のJSON（失敗した場合はnull）
+     * @throws InterruptedException 送信中に割り込まれた場合
+     */
+    JsonNode put(Session session, String endpoint, String path) throws InterruptedException {
+        return send(session, endpoint, request(path).PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    /**
+     * 同時に応答を待っていたリクエスト数の最大値（ウォームアップを含む）
+     *
+     * @return 同時実行リクエスト数の最大値
+     */
+    int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * クエリパラメータ値のエンコード
+     *
+     * @param value 値
+     * @return URLエンコードした値
+     */
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Authorization", authorization)
+            .header("Accept", "application/json");
+    }
+
+    private JsonNode send(Session session, String endpoint, HttpRequest.Builder builder) throws InterruptedException {
+        HttpRequest request = builder.build();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            session.completed(endpoint, start, System.nanoTime(), false);
+            return null;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        long end = System.nanoTime();
+        boolean success = response.statusCode() / 100 == 2;
+        session.completed(endpoint, start, end, success);
+        if (!success || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("リクエストボディをJSONに変換できません", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.aircargo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 貨物ライフサイクルシナリオ
+ *
+ * 貨物の作成 → 入荷登録・到着 → 追跡スキャン（複数回） → 出荷登録・出発 → 貨物のステータス更新（輸送中 → 配達完了）
+ * の順にリクエストを送信します。途中のリクエストが失敗した場合は、以降のリクエストを送信せずに終了します。
+ */
+final class CargoLifecycleScenario implements Scenario {
+
+    private static final String[] AIRPORTS = {"NRT", "HND", "KIX", "LAX", "JFK", "LHR", "CDG", "SIN", "HKG"};
+    private static final String[] CARGO_TYPES = {"一般貨物", "危険物", "生鮮品", "貴重品"};
+    private static final String[] TERMINALS = {"T1", "T2", "T3"};
+
+    private final KnownCargos knownCargos;
+    private final int scans;
+
+    /**
+     * コンストラクタ
+     *
+     * @param knownCargos 作成した貨物IDの登録先
+     * @param scans 追跡スキャン回数
+     */
+    CargoLifecycleScenario(KnownCargos knownCargos, int scans) {
+        this.knownCargos = knownCargos;
+        this.scans = scans;
+    }
+
+    @Override
+    public String name() {
+        return "lifecycle";
+    }
+
+    @Override
+    public void run(Session session) throws InterruptedException {
+        ApiClient client = session.client();
+        SplittableRandom random = session.random();
+        String flightNumber = "NH" + (100 + random.nextInt(900));
+        String origin = AIRPORTS[random.nextInt(AIRPORTS.length)];
+        String destination = AIRPORTS[random.nextInt(AIRPORTS.length)];
+
+        Map<String, Object> cargo = new LinkedHashMap<>();
+        cargo.put("flightNumber", flightNumber);
+        cargo.put("originAirport", origin);
+        cargo.put("destinationAirport", destination);
+        cargo.put("cargoType", CARGO_TYPES[random.nextInt(CARGO_TYPES.length)]);
+        cargo.put("weight", BigDecimal.valueOf(random.nextInt(10, 50000), 2));
+        cargo.put("volume", BigDecimal.valueOf(random.nextInt(1, 1000), 2));
+        cargo.put("shipperName", SearchScenario.shipperName(random.nextInt(SearchScenario.COMPANIES)));
+        cargo.put("consigneeName", SearchScenario.consigneeName(random.nextInt(SearchScenario.COMPANIES)));
+        JsonNode created = client.post(session, "POST /cargo", "/api/cargo", cargo);
+        if (created == null) {
+            return;
+        }
+        String cargoId = created.path("cargoId").asText();
+        knownCargos.add(cargoId);
+
+        session.think();
+        Map<String, Object> inbound = new LinkedHashMap<>();
+        inbound.put("cargoId", cargoId);
+        inbound.put("flightNumber", flightNumber);
+        inbound.put("arrivalDate", LocalDate.now().toString());
+        inbound.put("arrivalTime", LocalTime.now().withNano(0).toString());
+        inbound.put("terminal", TERMINALS[random.nextInt(TERMINALS.length)]);
+        inbound.put("handlerId", "H" + random.nextInt(100));
+        JsonNode inboundCreated = client.post(session, "POST /inbound", "/api/inbound", inbound);
+        if (inboundCreated == null) {
+            return;
+        }
+        session.think();
+        if (client.put(session, "PUT /inbound/{id}/status",
+                "/api/inbound/" + inboundCreated.path("inboundId").asText() + "/status?status=ARRIVED") == null) {
+            return;
+        }
+
+        for (int i = 0; i < scans; i++) {
+            session.think();
+            Map<String, Object> tracking = new LinkedHashMap<>();
+            tracking.put("location", (i % 2 == 0 ? origin : destination) + " Cargo Terminal");
+            tracking.put("status", "IN_TRANSIT");
+            tracking.put("handlerId", "H" + random.nextInt(100));
+            tracking.put("notes", "scan " + (i + 1));
+            if (client.post(session, "POST /cargo/{id}/tracking", "/api/cargo/" + cargoId + "/tracking", tracking) == null) {
+                return;
+            }
+        }
+
+        session.think();
+        Map<String, Object> outbound = new LinkedHashMap<>();
+        outbound.put("cargoId", cargoId);
+        outbound.put("flightNumber", flightNumber);
+        outbound.put("departureDate", LocalDate.now().toString());
+        outbound.put("departureTime", LocalTime.now().withNano(0).toString());
+        outbound.put("terminal", TERMINALS[random.nextInt(TERMINALS.length)]);
+        outbound.put("handlerId", "H" + random.nextInt(100));
+        JsonNode outboundCreated = client.post(session, "POST /outbound", "/api/outbound", outbound);
+        if (outboundCreated == null) {
+            return;
+        }
+        session.think();
+        if (client.put(session, "PUT /outbound/{id}/status",
+                "/api/outbound/" + outboundCreated.path("outboundId").asText() + "/status?status=DEPARTED") == null) {
+            return;
+        }
+
+        for (String status : new String[] {"IN_TRANSIT", "DELIVERED"}) {
+            session.think();
+            if (client.put(session, "PUT /cargo/{id}/status", "/api/cargo/" + cargoId + "/status?status=" + status) == null) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.aircargo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 貨物参照シナリオ
+ *
+ * 貨物一覧の先頭ページ、作成済み貨物の詳細、その追跡履歴の順に取得します。
+ */
+final class CargoReadScenario implements Scenario {
+
+    private final KnownCargos knownCargos;
+
+    /**
+     * コンストラクタ
+     *
+     * @param knownCargos 参照対象の貨物ID
+     */
+    CargoReadScenario(KnownCargos knownCargos) {
+        this.knownCargos = knownCargos;
+    }
+
+    @Override
+    public String name() {
+        return "read";
+    }
+
+    @Override
+    public void run(Session session) throws InterruptedException {
+        ApiClient client = session.client();
+        JsonNode page = client.get(session, "GET /cargo", "/api/cargo?limit=50");
+        String cargoId = knownCargos.random(session.random());
+        if (cargoId == null) {
+            // まだ貨物を作成していない場合は一覧の貨物を対象にする
+            if (page == null || page.path("items").size() == 0) {
+                return;
+            }
+            JsonNode items = page.path("items");
+            cargoId = items.get(session.random().nextInt(items.size())).path("cargoId").asText();
+        }
+
+        session.think();
+        if (client.get(session, "GET /cargo/{id}", "/api/cargo/" + cargoId) == null) {
+            return;
+        }
+        session.think();
+        client.get(session, "GET /cargo/{id}/tracking", "/api/cargo/" + cargoId + "/tracking?limit=50");
+    }
+}
@@ -0,0 +1,19 @@
+package com.aircargo.loadtest;
+
+/**
+ * ダッシュボード参照シナリオ
+ *
+ * ダッシュボードのステータス別件数を取得します。
+ */
+final class DashboardScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "dashboard";
+    }
+
+    @Override
+    public void run(Session session) throws InterruptedException {
+        session.client().get(session, "GET /dashboard/summary", "/api/dashboard/summary");
+    }
+}
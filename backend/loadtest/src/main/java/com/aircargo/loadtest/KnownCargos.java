@@ -0,0 +1,41 @@
+package com.aircargo.loadtest;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 作成済み貨物IDの保持クラス
+ *
+ * 負荷試験中に作成した貨物IDを固定サイズのリングバッファに保持し、参照系シナリオの対象として提供します。
+ */
+final class KnownCargos {
+
+    private static final int CAPACITY = 4096;
+
+    private final AtomicReferenceArray<String> ids = new AtomicReferenceArray<>(CAPACITY);
+    private final AtomicLong added = new AtomicLong();
+
+    /**
+     * 貨物IDの追加（容量を超えた場合は古いものから上書き）
+     *
+     * @param cargoId 貨物ID
+     */
+    void add(String cargoId) {
+        ids.set((int) (added.getAndIncrement() % CAPACITY), cargoId);
+    }
+
+    /**
+     * ランダムな貨物IDの取得
+     *
+     * @param random 乱数
+     * @return 貨物ID（まだ1件もない場合はnull）
+     */
+    String random(SplittableRandom random) {
+        long count = Math.min(added.get(), CAPACITY);
+        if (count == 0) {
+            return null;
+        }
+        return ids.get(random.nextInt((int) count));
+    }
+}
@@ -0,0 +1,175 @@
+package com.aircargo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * エンドポイント別レイテンシ集計クラス
+ *
+ * エンドポイントごとに次の3つをHdrHistogram（マイクロ秒単位）に記録します。
+ * <ul>
+ *   <li>応答時間: 予定送信時刻から応答受信まで（協調的欠落を補正した値、主な指標）</li>
+ *   <li>処理時間: 実際の送信から応答受信まで（補正なし、一般的な負荷ツールが報告する値）</li>
+ *   <li>送信遅れ: 予定送信時刻から実際の送信まで</li>
+ * </ul>
+ * 送信遅れが大きい場合、負荷生成側が予定どおりにリクエストを送れておらず、処理時間のパーセンタイルは実際より良く見えます。
+ */
+final class LatencyStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Histogram allStartLag = new ConcurrentHistogram(MAX_MICROS, 3);
+
+    /**
+     * 1リクエストの記録
+     *
+     * @param endpoint エンドポイント名（例: POST /cargo）
+     * @param intendedNanos 予定送信時刻（System.nanoTime）
+     * @param startNanos 実際の送信時刻
+     * @param endNanos 応答受信時刻
+     * @param success 成功（2xx）したかどうか
+     */
+    void record(String endpoint, long intendedNanos, long startNanos, long endNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        long lag = toMicros(startNanos - intendedNanos);
+        stats.responseTime.recordValue(toMicros(endNanos - intendedNanos));
+        stats.serviceTime.recordValue(toMicros(endNanos - startNanos));
+        stats.startLag.recordValue(lag);
+        allStartLag.recordValue(lag);
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * 記録したリクエスト数
+     *
+     * @return リクエスト数
+     */
+    long totalCount() {
+        return endpoints.values().stream().mapToLong(stats -> stats.responseTime.getTotalCount()).sum();
+    }
+
+    /**
+     * 失敗したリクエスト数
+     *
+     * @return 失敗数
+     */
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+    }
+
+    /**
+     * 平均同時実行リクエスト数（リトルの法則: 処理時間の合計 / 計測時間）
+     *
+     * @param elapsedSeconds 計測時間（秒）
+     * @return 平均同時実行リクエスト数
+     */
+    double meanConcurrency(double elapsedSeconds) {
+        double totalMicros = endpoints.values().stream()
+            .mapToDouble(stats -> stats.serviceTime.getMean() * stats.serviceTime.getTotalCount()).sum();
+        return totalMicros / 1_000_000.0 / elapsedSeconds;
+    }
+
+    /**
+     * 全リクエストの送信遅れ
+     *
+     * @return 送信遅れのヒストグラム（マイクロ秒）
+     */
+    Histogram startLag() {
+        return allStartLag;
+    }
+
+    /**
+     * エンドポイント別の結果の出力
+     *
+     * @param out 出力先
+     * @param elapsedSeconds 計測時間（秒）
+     */
+    void report(PrintStream out, double elapsedSeconds) {
+        out.printf("%-34s %8s %8s %7s | %9s %9s %9s %9s | %9s %9s | %9s%n",
+            "Endpoint", "Count", "Req/s", "Errors",
+            "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)",
+            "svc p99", "svc p999", "lag p99");
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint stats = entry.getValue();
+            Histogram response = stats.responseTime;
+            out.printf("%-34s %8d %8.1f %7d | %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f | %9.2f%n",
+                entry.getKey(), response.getTotalCount(), response.getTotalCount() / elapsedSeconds, stats.errors.sum(),
+                millis(response, 50), millis(response, 99), millis(response, 99.9), response.getMaxValue() / 1000.0,
+                millis(stats.serviceTime, 99), millis(stats.serviceTime, 99.9), millis(stats.startLag, 99));
+        }
+    }
+
+    /**
+     * 補正なしの処理時間で応答時間を大きく過小評価しているエンドポイントの出力
+     *
+     * @param out 出力先
+     * @return 該当するエンドポイントがあった場合true
+     */
+    boolean reportUnderstatedEndpoints(PrintStream out) {
+        boolean found = false;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            double corrected = millis(entry.getValue().responseTime, 99);
+            double uncorrected = millis(entry.getValue().serviceTime, 99);
+            if (corrected > uncorrected * 1.1 && corrected - uncorrected >= 1) {
+                out.printf("  %s: p99 補正あり %.2fms / 補正なし %.2fms%n", entry.getKey(), corrected, uncorrected);
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * エンドポイントごとのパーセンタイル分布（.hgrm、ミリ秒単位）の書き出し
+     *
+     * @param directory 出力先ディレクトリ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            String name = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+            try (PrintStream out = new PrintStream(
+                    new FileOutputStream(directory.resolve(name + ".hgrm").toFile()), false, StandardCharsets.UTF_8.name())) {
+                entry.getValue().responseTime.outputPercentileDistribution(out, 1000.0);
+            }
+            try (PrintStream out = new PrintStream(
+                    new FileOutputStream(directory.resolve(name + ".uncorrected.hgrm").toFile()), false, StandardCharsets.UTF_8.name())) {
+                entry.getValue().serviceTime.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0), MAX_MICROS);
+    }
+
+    /**
+     * 1エンドポイントの集計
+     */
+    private static final class Endpoint {
+
+        private final Histogram responseTime = new ConcurrentHistogram(MAX_MICROS, 3);
+        private final Histogram serviceTime = new ConcurrentHistogram(MAX_MICROS, 3);
+        private final Histogram startLag = new ConcurrentHistogram(MAX_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,229 @@
+package com.aircargo.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP負荷試験ツール
+ *
+ * オープンモデル（セッションの到着間隔を事前に決め、応答の遅れに関係なく到着させる）で負荷をかけ、
+ * エンドポイントごとのレイテンシのパーセンタイルを出力します。
+ * <p>
+ * レイテンシは各リクエストの予定送信時刻から計測するため、サーバーの停滞で送信が遅れた期間の待ち時間も含まれます
+ * （協調的欠落の補正）。実際の送信時刻から計測した補正なしの値も併記し、予定時刻からの送信遅れが閾値を超えた場合や、
+ * 予定した到着レートを達成できなかった場合は警告を出力します。
+ * <p>
+ * 実行例: {@code ./gradlew :loadtest:run --args='--rate 50 --duration 2m'}
+ */
+public final class LoadTest {
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        boolean ok = new Runner(options).run(System.out);
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * 1回の負荷試験の実行
+     */
+    private static final class Runner {
+
+        private final LoadTestOptions options;
+        private final ApiClient client;
+        private final KnownCargos knownCargos = new KnownCargos();
+        private final LatencyStats stats = new LatencyStats();
+        private final List<Scenario> scenarios = new ArrayList<>();
+        private final List<Integer> cumulativeWeights = new ArrayList<>();
+        private final LongAdder startedInWindow = new LongAdder();
+        private final AtomicInteger active = new AtomicInteger();
+
+        Runner(LoadTestOptions options) {
+            this.options = options;
+            this.client = new ApiClient(options.baseUrl, options.user, options.password);
+            int total = 0;
+            for (Map.Entry<String, Integer> entry : options.mix.entrySet()) {
+                if (entry.getValue() <= 0) {
+                    continue;
+                }
+                scenarios.add(scenario(entry.getKey()));
+                total += entry.getValue();
+                cumulativeWeights.add(total);
+            }
+            if (scenarios.isEmpty()) {
+                throw new IllegalArgumentException("--mix に重みが正のシナリオを1つ以上指定してください");
+            }
+        }
+
+        boolean run(PrintStream out) throws InterruptedException, IOException {
+            out.printf("接続先: %s, 到着レート: %.1f セッション/秒 (%s), 計測: %ds (ウォームアップ %ds), 構成: %s%n",
+                options.baseUrl, options.rate, options.arrival, options.duration.getSeconds(),
+                options.warmup.getSeconds(), options.mix);
+
+            ThreadPoolExecutor workers = new ThreadPoolExecutor(options.concurrency, options.concurrency,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "loadtest-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            workers.prestartAllCoreThreads();
+
+            SplittableRandom random = new SplittableRandom(options.seed);
+            double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+            long thinkNanos = options.think.toNanos();
+            long start = System.nanoTime();
+            long windowStart = start + options.warmup.toNanos();
+            long windowEnd = windowStart + options.duration.toNanos();
+            long nextProgress = start + PROGRESS_INTERVAL_NANOS;
+            long scheduled = 0;
+            double arrival = start;
+
+            // セッションの到着時刻は前のセッションの実行状況に関係なく決める
+            while ((long) arrival < windowEnd) {
+                long arrivalNanos = (long) arrival;
+                Session.parkUntil(Math.min(arrivalNanos, nextProgress));
+                if (System.nanoTime() >= nextProgress) {
+                    printProgress(out, start, workers);
+                    nextProgress += PROGRESS_INTERVAL_NANOS;
+                    continue;
+                }
+                boolean measured = arrivalNanos >= windowStart;
+                Session session = new Session(client, measured ? stats : null, random.split(), thinkNanos, arrivalNanos);
+                Scenario scenario = pick(random);
+                workers.execute(() -> runSession(scenario, session, measured, windowEnd));
+                if (measured) {
+                    scheduled++;
+                }
+                arrival += options.arrival.equals("poisson")
+                    ? -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+            }
+
+            out.println("到着を停止しました。実行中のセッションの終了を待機しています...");
+            workers.shutdown();
+            if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+                out.println("60秒以内に終了しなかったセッションを中断しました");
+                workers.shutdownNow();
+            }
+
+            return report(out, scheduled);
+        }
+
+        private void runSession(Scenario scenario, Session session, boolean measured, long windowEnd) {
+            if (measured && System.nanoTime() < windowEnd) {
+                startedInWindow.increment();
+            }
+            active.incrementAndGet();
+            try {
+                scenario.run(session);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                System.err.println(scenario.name() + " シナリオでエラーが発生しました: " + e);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        private Scenario pick(SplittableRandom random) {
+            int value = random.nextInt(cumulativeWeights.get(cumulativeWeights.size() - 1));
+            for (int i = 0; i < scenarios.size(); i++) {
+                if (value < cumulativeWeights.get(i)) {
+                    return scenarios.get(i);
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private Scenario scenario(String name) {
+            switch (name) {
+                case "lifecycle":
+                    return new CargoLifecycleScenario(knownCargos, options.scans);
+                case "dashboard":
+                    return new DashboardScenario();
+                case "search":
+                    return new SearchScenario();
+                case "read":
+                    return new CargoReadScenario(knownCargos);
+                default:
+                    throw new IllegalArgumentException("不明なシナリオです（lifecycle, dashboard, search, read）: " + name);
+            }
+        }
+
+        private void printProgress(PrintStream out, long start, ThreadPoolExecutor workers) {
+            out.printf("[%4ds] リクエスト: %d, エラー: %d, 実行中セッション: %d, 待機中セッション: %d%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), stats.totalCount(), stats.totalErrors(),
+                active.get(), workers.getQueue().size());
+        }
+
+        /**
+         * 結果の出力と協調的欠落の判定
+         *
+         * @return 協調的欠落が検出されなかった場合true
+         */
+        private boolean report(PrintStream out, long scheduled) throws IOException {
+            double seconds = options.duration.toMillis() / 1000.0;
+            double achievedRate = startedInWindow.sum() / seconds;
+            out.println();
+            out.println("p50/p99/p999/max: 予定送信時刻からの応答時間（補正あり）, svc: 実際の送信からの応答時間（補正なし）, "
+                + "lag: 予定送信時刻からの送信遅れ");
+            stats.report(out, seconds);
+            out.printf("%nセッション: 予定 %d（%.1f/秒）, 計測時間内に開始 %d（%.1f/秒）, リクエスト: %d, エラー: %d%n",
+                scheduled, scheduled / seconds, startedInWindow.sum(), achievedRate,
+                stats.totalCount(), stats.totalErrors());
+            out.printf("同時実行リクエスト: 平均 %.1f, 最大 %d（ウォームアップを含む）%n",
+                stats.meanConcurrency(seconds), client.peakInFlight());
+
+            boolean ok = true;
+            Histogram lag = stats.startLag();
+            double lagP99 = LatencyStats.millis(lag, 99);
+            if (lagP99 > options.coThreshold.toMillis()) {
+                out.printf("%n警告: 協調的欠落を検出しました。送信遅れ p99 %.2fms が閾値 %dms を超えています（最大 %.2fms）。%n",
+                    lagP99, options.coThreshold.toMillis(), lag.getMaxValue() / 1000.0);
+                ok = false;
+            }
+            if (achievedRate < scheduled / seconds * 0.95) {
+                out.printf("%n警告: 予定した到着レート %.1f/秒 に対し、%.1f/秒 しか開始できませんでした。%n",
+                    scheduled / seconds, achievedRate);
+                ok = false;
+            }
+            if (!ok) {
+                out.println("補正なしの値で応答時間を過小評価しているエンドポイント:");
+                if (!stats.reportUnderstatedEndpoints(out)) {
+                    out.println("  なし");
+                }
+                out.println("サーバーが飽和している場合は --rate を下げ、負荷生成側が不足している場合は "
+                    + "--concurrency を上げるか負荷生成マシンを分けてください。");
+            }
+
+            if (options.hdrOut != null) {
+                stats.writeHistograms(Paths.get(options.hdrOut));
+                out.println("パーセンタイル分布を出力しました: " + options.hdrOut);
+            }
+            return ok;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.aircargo.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 負荷試験の実行オプションクラス
+ *
+ * コマンドライン引数（--name value 形式）を解析します。
+ */
+final class LoadTestOptions {
+
+    /**
+     * 接続先（コンテキストパスを含むサーバーのURL）
+     */
+    String baseUrl = "http://localhost:8080/api";
+
+    String user = "admin";
+    String password = "admin123";
+
+    /**
+     * 1秒あたりのセッション到着数（オープンモデル、応答を待たずに到着する）
+     */
+    double rate = 20;
+
+    /**
+     * 到着間隔の分布（constant: 等間隔、poisson: 指数分布）
+     */
+    String arrival = "poisson";
+
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * セッションを実行するワーカースレッド数（不足すると到着が予定より遅れる）
+     */
+    int concurrency = 256;
+
+    /**
+     * シナリオ名 → 選択の重み
+     */
+    Map<String, Integer> mix = parseMix("lifecycle=2,dashboard=3,search=3,read=2");
+
+    /**
+     * 貨物ライフサイクル1回あたりの追跡スキャン回数
+     */
+    int scans = 5;
+
+    /**
+     * セッション内のリクエスト間の待ち時間
+     */
+    Duration think = Duration.ofMillis(100);
+
+    /**
+     * 予定時刻からの送信遅れがこの時間を超えた場合に協調的欠落（coordinated omission）として報告する
+     */
+    Duration coThreshold = Duration.ofMillis(10);
+
+    /**
+     * エンドポイントごとのHdrHistogramのパーセンタイル分布（.hgrm）の出力先（未指定の場合は出力しない）
+     */
+    String hdrOut;
+
+    long seed = 42;
+
+    /**
+     * コマンドライン引数の解析
+     *
+     * @param args コマンドライン引数
+     * @return 実行オプション
+     * @throws IllegalArgumentException 不明なオプションや不正な値の場合
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (!name.startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("オプションは --name value 形式で指定してください: " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--base-url":
+                    options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "--user":
+                    options.user = value;
+                    break;
+                case "--password":
+                    options.password = value;
+                    break;
+                case "--rate":
+                    options.rate = Double.parseDouble(value);
+                    break;
+                case "--arrival":
+                    if (!value.equals("constant") && !value.equals("poisson")) {
+                        throw new IllegalArgumentException("--arrival は constant または poisson で指定してください: " + value);
+                    }
+                    options.arrival = value;
+                    break;
+                case "--duration":
+                    options.duration = parseDuration(value);
+                    break;
+                case "--warmup":
+                    options.warmup = parseDuration(value);
+                    break;
+                case "--concurrency":
+                    options.concurrency = Integer.parseInt(value);
+                    break;
+                case "--mix":
+                    options.mix = parseMix(value);
+                    break;
+                case "--scans":
+                    options.scans = Integer.parseInt(value);
+                    break;
+                case "--think":
+                    options.think = parseDuration(value);
+                    break;
+                case "--co-threshold":
+                    options.coThreshold = parseDuration(value);
+                    break;
+                case "--hdr-out":
+                    options.hdrOut = value;
+                    break;
+                case "--seed":
+                    options.seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("不明なオプションです: " + name);
+            }
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("--rate は正の値で指定してください: " + options.rate);
+        }
+        return options;
+    }
+
+    /**
+     * 時間の解析（例: 500ms、30s、5m）
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("時間は 500ms、30s、5m の形式で指定してください: " + value);
+    }
+
+    /**
+     * シナリオの重みの解析（例: lifecycle=2,dashboard=3）
+     */
+    static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("--mix は name=weight をカンマ区切りで指定してください: " + value);
+            }
+            mix.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+}
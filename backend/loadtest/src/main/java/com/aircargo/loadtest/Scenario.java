@@ -0,0 +1,24 @@
+package com.aircargo.loadtest;
+
+/**
+ * 負荷試験シナリオのインターフェース
+ *
+ * 1セッション分の一連のリクエストを実行します。
+ */
+interface Scenario {
+
+    /**
+     * シナリオ名（--mix で指定する名前）
+     *
+     * @return シナリオ名
+     */
+    String name();
+
+    /**
+     * 1セッションの実行
+     *
+     * @param session セッション
+     * @throws InterruptedException 実行中に割り込まれた場合
+     */
+    void run(Session session) throws InterruptedException;
+}
@@ -0,0 +1,62 @@
+package com.aircargo.loadtest;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * 貨物検索シナリオ
+ *
+ * 荷送人名または荷受人名の部分文字列で貨物を検索します。
+ * 検索語は貨物ライフサイクルシナリオで登録する名前の一部を使用するため、データ量に応じて一致件数が増えます。
+ */
+final class SearchScenario implements Scenario {
+
+    /**
+     * 荷送人・荷受人の会社数
+     */
+    static final int COMPANIES = 500;
+
+    private static final String[] SHIPPER_WORDS = {"Sakura", "Fuji", "Pacific", "Global", "Orient"};
+    private static final String[] CONSIGNEE_WORDS = {"Atlas", "Harbor", "Summit", "Nova", "Meridian"};
+
+    @Override
+    public String name() {
+        return "search";
+    }
+
+    @Override
+    public void run(Session session) throws InterruptedException {
+        SplittableRandom random = session.random();
+        int company = random.nextInt(COMPANIES);
+        if (random.nextBoolean()) {
+            session.client().get(session, "GET /cargo/search/shipper",
+                "/api/cargo/search/shipper?shipperName=" + ApiClient.encode(query(shipperName(company), random)));
+        } else {
+            session.client().get(session, "GET /cargo/search/consignee",
+                "/api/cargo/search/consignee?consigneeName=" + ApiClient.encode(query(consigneeName(company), random)));
+        }
+    }
+
+    static String shipperName(int company) {
+        return SHIPPER_WORDS[company % SHIPPER_WORDS.length] + " Trading " + company;
+    }
+
+    static String consigneeName(int company) {
+        return CONSIGNEE_WORDS[company % CONSIGNEE_WORDS.length] + " Logistics " + company;
+    }
+
+    /**
+     * 検索語の生成（名前全体・大文字小文字の異なる単語・途中の部分文字列のいずれか）
+     */
+    private static String query(String name, SplittableRandom random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return name;
+            case 1:
+                return name.substring(0, name.indexOf(' ')).toLowerCase(Locale.ROOT);
+            default:
+                int start = random.nextInt(name.length() - 4);
+                return name.substring(start, start + 4);
+        }
+    }
+}
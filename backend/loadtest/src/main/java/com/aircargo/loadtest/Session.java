@@ -0,0 +1,96 @@
+package com.aircargo.loadtest;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 負荷試験のセッションクラス
+ *
+ * 1人の利用者の一連の操作を表し、次のリクエストを送信する予定時刻を保持します。
+ * 最初のリクエストの予定時刻はセッションの到着時刻（到着間隔の分布で決まる時刻）で、
+ * ワーカーの空き待ちなどで実際の送信が遅れた場合も、レイテンシは予定時刻から計測します。
+ * 2つ目以降のリクエストは前の応答を使用するため、前の応答の受信時刻に待ち時間を加えた時刻を予定時刻とします。
+ */
+final class Session {
+
+    private final ApiClient client;
+    private final LatencyStats stats;
+    private final SplittableRandom random;
+    private final long thinkNanos;
+    private long intendedNanos;
+
+    /**
+     * コンストラクタ
+     *
+     * @param client APIクライアント
+     * @param stats 記録先（ウォームアップ中のセッションはnull）
+     * @param random このセッション用の乱数
+     * @param thinkNanos リクエスト間の待ち時間（ナノ秒）
+     * @param arrivalNanos 到着時刻（System.nanoTime）
+     */
+    Session(ApiClient client, LatencyStats stats, SplittableRandom random, long thinkNanos, long arrivalNanos) {
+        this.client = client;
+        this.stats = stats;
+        this.random = random;
+        this.thinkNanos = thinkNanos;
+        this.intendedNanos = arrivalNanos;
+    }
+
+    ApiClient client() {
+        return client;
+    }
+
+    SplittableRandom random() {
+        return random;
+    }
+
+    /**
+     * 現在のリクエストの予定送信時刻
+     *
+     * @return 予定送信時刻（System.nanoTime）
+     */
+    long intendedNanos() {
+        return intendedNanos;
+    }
+
+    /**
+     * リクエスト結果の記録
+     * 次のリクエストの予定時刻を、応答の受信時刻に待ち時間を加えた時刻に進めます。
+     *
+     * @param endpoint エンドポイント名
+     * @param startNanos 実際の送信時刻
+     * @param endNanos 応答受信時刻
+     * @param success 成功したかどうか
+     */
+    void completed(String endpoint, long startNanos, long endNanos, boolean success) {
+        if (stats != null) {
+            stats.record(endpoint, intendedNanos, startNanos, endNanos, success);
+        }
+        intendedNanos = endNanos + thinkNanos;
+    }
+
+    /**
+     * 次のリクエストの予定時刻までの待機
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    void think() throws InterruptedException {
+        parkUntil(intendedNanos);
+    }
+
+    /**
+     * 指定した時刻までの待機
+     *
+     * @param deadlineNanos 待機終了時刻（System.nanoTime）
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    static void parkUntil(long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.aircargo.benchmark;
+
+import com.aircargo.AirCargoApplication;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Tracking;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ベンチマーク用データ準備クラス
+ *
+ * ベンチマークで使用するアプリケーションコンテキストの起動と、計測対象のデータの作成・投入を行います。
+ * データは乱数を使用せずに生成するため、実行ごとに同じ内容になります。
+ */
+public final class BenchmarkFixtures {
+
+    private static final String[] AIRPORTS = {"NRT", "HND", "LAX", "JFK", "LHR", "CDG", "SIN", "HKG"};
+    private static final String[] STATUSES = {"PENDING", "IN_TRANSIT", "ARRIVED", "DELIVERED"};
+
+    private static final String INSERT_TRACKING_SQL =
+        "INSERT INTO TRACKING (TRACKING_ID, CARGO_ID, LOCATION, STATUS, TIMESTAMP, HANDLER_ID, NOTES, VERSION) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * アプリケーションコンテキストの起動
+     * benchプロファイル（H2インメモリデータベース）で、Webサーバーを起動せずに起動します。
+     *
+     * @return アプリケーションコンテキスト
+     */
+    public static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(AirCargoApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("bench")
+            .logStartupInfo(false)
+            .run();
+    }
+
+    /**
+     * 作成前の貨物の生成（貨物ID・ステータス・日時は未設定）
+     *
+     * @param index 連番
+     * @return 貨物
+     */
+    public static Cargo newCargo(int index) {
+        Cargo cargo = new Cargo();
+        cargo.setFlightNumber("NH" + (100 + index % 50));
+        cargo.setOriginAirport(AIRPORTS[index % AIRPORTS.length]);
+        cargo.setDestinationAirport(AIRPORTS[(index + 3) % AIRPORTS.length]);
+        cargo.setCargoType("一般貨物");
+        cargo.setWeight(new BigDecimal("100.50").add(BigDecimal.valueOf(index % 1000)));
+        cargo.setVolume(new BigDecimal("2.5"));
+        cargo.setShipperName("Shipper " + index % 500);
+        cargo.setConsigneeName("Consignee " + index % 700);
+        return cargo;
+    }
+
+    /**
+     * 作成済みの状態の貨物のリストの生成（シリアライズの計測用）
+     *
+     * @param count 件数
+     * @return 貨物のリスト
+     */
+    public static List<Cargo> cargos(int count) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        List<Cargo> cargos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Cargo cargo = newCargo(i);
+            cargo.setCargoId(String.format("C%08d", i));
+            cargo.setStatus(STATUSES[i % STATUSES.length]);
+            cargo.setCreatedDate(now.minusMinutes(i));
+            cargo.setUpdatedDate(now);
+            cargo.setVersion(1);
+            cargos.add(cargo);
+        }
+        return cargos;
+    }
+
+    /**
+     * 作成前の追跡記録の生成（追跡ID・タイムスタンプは未設定）
+     *
+     * @param cargoId 貨物ID
+     * @param index 連番
+     * @return 追跡記録
+     */
+    public static Tracking newTracking(String cargoId, int index) {
+        Tracking tracking = new Tracking();
+        tracking.setCargoId(cargoId);
+        tracking.setLocation(AIRPORTS[index % AIRPORTS.length] + " Cargo Terminal");
+        tracking.setStatus(STATUSES[index % STATUSES.length]);
+        tracking.setHandlerId("H" + (index % 20));
+        tracking.setNotes("checkpoint " + index);
+        return tracking;
+    }
+
+    /**
+     * 1つの貨物の追跡履歴の生成（1分間隔、古い順）
+     *
+     * @param cargoId 貨物ID
+     * @param count 件数
+     * @return 追跡記録のリスト
+     */
+    public static List<Tracking> trackingHistory(String cargoId, int count) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Tracking> trackings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Tracking tracking = newTracking(cargoId, i);
+            tracking.setTrackingId(String.format("TR%010d", i));
+            tracking.setTimestamp(start.plusMinutes(i));
+            tracking.setVersion(1);
+            trackings.add(tracking);
+        }
+        return trackings;
+    }
+
+    /**
+     * 追跡記録のDBへの投入（JDBCバッチINSERT）
+     *
+     * @param jdbcTemplate JDBCテンプレート
+     * @param trackings 投入する追跡記録
+     */
+    public static void insertTrackings(JdbcTemplate jdbcTemplate, List<Tracking> trackings) {
+        jdbcTemplate.batchUpdate(INSERT_TRACKING_SQL, trackings, 1000, (ps, tracking) -> {
+            ps.setString(1, tracking.getTrackingId());
+            ps.setString(2, tracking.getCargoId());
+            ps.setString(3, tracking.getLocation());
+            ps.setString(4, tracking.getStatus());
+            ps.setTimestamp(5, Timestamp.valueOf(tracking.getTimestamp()));
+            ps.setString(6, tracking.getHandlerId());
+            ps.setString(7, tracking.getNotes());
+            ps.setInt(8, tracking.getVersion());
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.aircargo.benchmark;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Tracking;
+import com.aircargo.service.CargoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 貨物・追跡記録の作成のベンチマーク
+ *
+ * CargoService#createCargo と CargoService#createTracking を、H2上で実際にコミットまで実行して計測します。
+ * 追跡記録の作成はグループコミットの効果が出るよう、複数スレッドから同時に呼び出します。
+ * 計測条件を揃えるため、イテレーションごとにCARGO・TRACKINGテーブルを空にします。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CargoWriteBenchmark {
+
+    private static final String CARGO_ID = "CBENCH0001";
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private ConfigurableApplicationContext context;
+    private CargoService cargoService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkFixtures.startApplication();
+        cargoService = context.getBean(CargoService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncateTables() {
+        jdbcTemplate.execute("TRUNCATE TABLE TRACKING");
+        jdbcTemplate.execute("TRUNCATE TABLE CARGO");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Cargo createCargo() {
+        return cargoService.createCargo(BenchmarkFixtures.newCargo(sequence.getAndIncrement()));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Tracking createTracking() {
+        return cargoService.createTracking(BenchmarkFixtures.newTracking(CARGO_ID, sequence.getAndIncrement()));
+    }
+}
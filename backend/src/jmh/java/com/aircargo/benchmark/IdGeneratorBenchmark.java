@@ -0,0 +1,56 @@
+package com.aircargo.benchmark;
+
+import com.aircargo.id.IdGenerator;
+import com.aircargo.id.TimeOrderedIdGenerator;
+import com.aircargo.id.UuidIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ID生成のベンチマーク
+ *
+ * 時刻順ID生成と従来のUUID先頭8文字によるID生成を、単一スレッドと複数スレッドからの同時呼び出しで比較します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator timeOrdered = new TimeOrderedIdGenerator(1);
+    private final IdGenerator uuid = new UuidIdGenerator();
+
+    @Benchmark
+    public String timeOrdered() {
+        return timeOrdered.nextId("C");
+    }
+
+    @Benchmark
+    public String uuid() {
+        return uuid.nextId("C");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeOrderedContended() {
+        return timeOrdered.nextId("C");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidContended() {
+        return uuid.nextId("C");
+    }
+}
@@ -0,0 +1,66 @@
+package com.aircargo.benchmark;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Tracking;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSONシリアライズのベンチマーク
+ *
+ * 一覧系エンドポイントが返す貨物・追跡記録のリストのシリアライズを、件数を変えて計測します。
+ * ObjectMapperはSpring Bootの既定（JavaTimeModule登録、日時は文字列形式）と同じ設定で作成します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<Cargo> cargos;
+    private List<Tracking> trackings;
+
+    @Setup(Level.Trial)
+    public void createData() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        writer = objectMapper.writer();
+        cargos = BenchmarkFixtures.cargos(size);
+        trackings = BenchmarkFixtures.trackingHistory("CBENCH0001", size);
+    }
+
+    @Benchmark
+    public byte[] serializeCargos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(cargos);
+    }
+
+    @Benchmark
+    public byte[] serializeTrackings() throws JsonProcessingException {
+        return writer.writeValueAsBytes(trackings);
+    }
+}
@@ -0,0 +1,74 @@
+package com.aircargo.benchmark;
+
+import com.aircargo.dto.CursorPage;
+import com.aircargo.entity.Tracking;
+import com.aircargo.service.CargoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 追跡履歴取得のベンチマーク
+ *
+ * CargoService#getTrackingHistory の先頭ページと、履歴の中ほどから始まるページの取得を、履歴の件数を変えて計測します。
+ * キーセットページングのため、どちらも履歴の件数に関わらずほぼ一定の時間で取得できることを確認します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class TrackingHistoryBenchmark {
+
+    private static final String CARGO_ID = "CBENCH0001";
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10", "1000", "100000"})
+    public int historyLength;
+
+    private ConfigurableApplicationContext context;
+    private CargoService cargoService;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void loadHistory() {
+        context = BenchmarkFixtures.startApplication();
+        cargoService = context.getBean(CargoService.class);
+
+        List<Tracking> history = BenchmarkFixtures.trackingHistory(CARGO_ID, historyLength);
+        BenchmarkFixtures.insertTrackings(context.getBean(JdbcTemplate.class), history);
+        Tracking middle = history.get(historyLength / 2);
+        middleCursor = CursorPage.encodeCursor(middle.getTimestamp().toString(), middle.getTrackingId());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<Tracking> firstPage() {
+        return cargoService.getTrackingHistory(CARGO_ID, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<Tracking> middlePage() {
+        return cargoService.getTrackingHistory(CARGO_ID, middleCursor, PAGE_SIZE);
+    }
+}
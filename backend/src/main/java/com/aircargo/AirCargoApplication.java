@@ -3,15 +3,18 @@ package com.aircargo;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 航空貨物管理システムのメインアプリケーションクラス
  * 
  * このクラスはSpring Bootアプリケーションのエントリーポイントです。
  * JPA監査機能を有効にして、エンティティの作成日時や更新日時の自動管理を行います。
+ * また、ステータス別件数の定期補正などのスケジュール実行を有効にします。
  */
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class AirCargoApplication {
 
     /**
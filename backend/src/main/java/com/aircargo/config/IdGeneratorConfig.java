@@ -0,0 +1,60 @@
+package com.aircargo.config;
+
+import com.aircargo.id.IdGenerator;
+import com.aircargo.id.TimeOrderedIdGenerator;
+import com.aircargo.id.UuidIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * ID生成設定クラス
+ *
+ * aircargo.id.generator の値に応じてID生成方式を選択します。
+ * <ul>
+ *   <li>time-ordered（既定）: 時刻順ID（{@link TimeOrderedIdGenerator}）</li>
+ *   <li>uuid: 従来のUUID先頭8文字によるID（{@link UuidIdGenerator}）</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * ID生成の作成
+     *
+     * @param generator ID生成方式（time-ordered または uuid）
+     * @param nodeId ノードID（0〜1023、負の値の場合はホスト名から決定）
+     * @return ID生成
+     */
+    @Bean
+    public IdGenerator idGenerator(@Value("${aircargo.id.generator:time-ordered}") String generator,
+                                   @Value("${aircargo.id.node-id:-1}") int nodeId) {
+        if ("uuid".equalsIgnoreCase(generator)) {
+            return new UuidIdGenerator();
+        }
+        if (!"time-ordered".equalsIgnoreCase(generator)) {
+            throw new IllegalArgumentException("不明なID生成方式です: " + generator);
+        }
+        int resolvedNodeId = nodeId >= 0 ? nodeId : hostNodeId();
+        log.info("時刻順ID生成を使用します（ノードID: {}）", resolvedNodeId);
+        return new TimeOrderedIdGenerator(resolvedNodeId);
+    }
+
+    /**
+     * ホスト名からのノードIDの決定
+     * 複数インスタンスで運用する場合は、衝突を避けるため aircargo.id.node-id を明示的に指定してください。
+     */
+    private static int hostNodeId() {
+        try {
+            return Math.floorMod(InetAddress.getLocalHost().getHostName().hashCode(), 1024);
+        } catch (UnknownHostException e) {
+            log.warn("ホスト名を取得できないため、ノードIDに0を使用します", e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.aircargo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * ローカル実行用のセキュリティ設定クラス（h2プロファイルのみ）
+ *
+ * 負荷試験ツールなどのAPIクライアントからBasic認証で更新系のリクエストを送れるよう、CSRF保護を無効にします。
+ * その他の設定（全リクエストの認証必須、Basic認証）は既定と同じです。
+ */
+@Configuration
+@Profile("h2")
+public class LocalSecurityConfig {
+
+    /**
+     * セキュリティフィルターチェーンの作成
+     *
+     * @param http HTTPセキュリティ設定
+     * @return セキュリティフィルターチェーン
+     * @throws Exception 設定に失敗した場合
+     */
+    @Bean
+    public SecurityFilterChain localSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(requests -> requests.anyRequest().authenticated())
+            .httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.aircargo.config;
+
+import com.aircargo.metrics.MethodMetricsPostProcessor;
+import com.aircargo.metrics.SlowQueryDataSourcePostProcessor;
+import com.aircargo.metrics.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * メトリクス設定クラス
+ *
+ * aircargo.metrics.methods.enabled がtrue（既定）の場合、CargoServiceと各リポジトリのメソッド単位のメトリクスを記録します。
+ * aircargo.slow-query.enabled がtrue（既定）の場合、閾値を超えたSQLの実行をスロークエリログに記録します。
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * メソッドメトリクスの組み込みの作成
+     * 他のBeanの作成前に登録されるよう、staticメソッドで定義します。
+     *
+     * @param meterRegistry メトリクスレジストリ
+     * @return メソッドメトリクスの組み込み
+     */
+    @Bean
+    @ConditionalOnProperty(name = "aircargo.metrics.methods.enabled", havingValue = "true", matchIfMissing = true)
+    public static MethodMetricsPostProcessor methodMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MethodMetricsPostProcessor(meterRegistry);
+    }
+
+    /**
+     * スロークエリ計測の組み込みの作成
+     *
+     * @param slowQueryLog スロークエリログ
+     * @param includeFetch すべての検索の所要時間に結果セットのフェッチを含めるかどうか
+     * @return スロークエリ計測の組み込み
+     */
+    @Bean
+    @ConditionalOnProperty(name = "aircargo.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public static SlowQueryDataSourcePostProcessor slowQueryDataSourcePostProcessor(
+            ObjectProvider<SlowQueryLog> slowQueryLog,
+            @Value("${aircargo.slow-query.include-fetch:false}") boolean includeFetch) {
+        return new SlowQueryDataSourcePostProcessor(slowQueryLog, includeFetch);
+    }
+}
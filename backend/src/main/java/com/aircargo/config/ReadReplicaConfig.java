@@ -0,0 +1,117 @@
+package com.aircargo.config;
+
+import com.aircargo.datasource.ReadWriteRoutingDataSource;
+import com.aircargo.datasource.ReplicaConsistencyInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+/**
+ * 読み書き振り分けの設定クラス
+ *
+ * aircargo.datasource.replica.enabled がtrueの場合（既定はfalse）、spring.datasource のプライマリと
+ * aircargo.datasource.replica のレプリカの2つの接続プールを作成し、読み取り専用トランザクションをレプリカに振り分けます。
+ * 振り分けは最初のSQLの実行時に行うため、データソースは {@link LazyConnectionDataSourceProxy} で包みます。
+ * 接続プールは振り分けデータソースの内側に置き、Beanとしては公開しません（スロークエリの計測が二重にならないようにするため）。
+ * 接続プールのメトリクスは hikaricp.*（タグ pool: primary / replica）で確認できます。
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "aircargo.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+
+    /**
+     * 振り分けデータソース
+     *
+     * @param properties プライマリの接続設定（spring.datasource）
+     * @param environment 接続プールの設定（spring.datasource.hikari、aircargo.datasource.replica.hikari）の取得元
+     * @param replicaUrl レプリカのJDBC URL
+     * @param replicaUsername レプリカのユーザー名
+     * @param replicaPassword レプリカのパスワード
+     * @return 読み取り専用トランザクションをレプリカに振り分けるデータソース
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 @Value("${aircargo.datasource.replica.url}") String replicaUrl,
+                                 @Value("${aircargo.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                 @Value("${aircargo.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword) {
+        Binder binder = Binder.get(environment);
+
+        primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        replica = new HikariDataSource();
+        replica.setJdbcUrl(replicaUrl);
+        replica.setUsername(replicaUsername);
+        replica.setPassword(replicaPassword);
+        replica.setDriverClassName(properties.determineDriverClassName());
+        binder.bind("aircargo.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        log.info("読み取り専用トランザクションをレプリカに振り分けます（レプリカ: {}）", replicaUrl);
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    /**
+     * 接続プールのメトリクスの登録
+     * メトリクスレジストリはデータソースに依存するため、データソースの作成後に登録します。
+     *
+     * @return プライマリ・レプリカの接続プールのメトリクス（hikaricp.*）
+     */
+    @Bean
+    public MeterBinder replicaPoolMetrics() {
+        return registry -> {
+            for (HikariDataSource pool : new HikariDataSource[] {primary, replica}) {
+                if (pool != null && pool.getMetricsTrackerFactory() == null) {
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        };
+    }
+
+    /**
+     * 書き込み直後の読み取りをプライマリで実行させるインターセプター
+     *
+     * @param maxLagMillis 書き込み後にプライマリから読む時間（ミリ秒）
+     * @return インターセプター
+     */
+    @Bean
+    public ReplicaConsistencyInterceptor replicaConsistencyInterceptor(
+            @Value("${aircargo.datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+        return new ReplicaConsistencyInterceptor(maxLagMillis);
+    }
+
+    /**
+     * 接続プールの終了
+     */
+    @PreDestroy
+    public void close() {
+        if (replica != null) {
+            replica.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+    }
+}
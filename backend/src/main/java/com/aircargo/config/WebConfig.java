@@ -0,0 +1,30 @@
+package com.aircargo.config;
+
+import com.aircargo.datasource.ReplicaConsistencyInterceptor;
+import com.aircargo.jfr.JfrRequestInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC設定クラス
+ *
+ * コントローラーのAPIリクエスト処理をJFRイベントとして記録するインターセプターを登録します
+ * （JFRの記録でイベントを有効にした場合のみ記録）。
+ * 読み書きの振り分けが有効な場合は、書き込み直後の読み取りをプライマリで実行させるインターセプターも登録します。
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<ReplicaConsistencyInterceptor> replicaConsistencyInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new JfrRequestInterceptor()).addPathPatterns("/api/**");
+        replicaConsistencyInterceptor.ifAvailable(interceptor ->
+            registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+    }
+}
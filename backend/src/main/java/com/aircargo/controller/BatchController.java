@@ -0,0 +1,44 @@
+package com.aircargo.controller;
+
+import com.aircargo.dto.BatchRequest;
+import com.aircargo.dto.BatchResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 一括実行RESTコントローラー
+ *
+ * 貨物・入荷・出荷エンドポイントへの複数の操作を1回のHTTPリクエストで受け付け、サーバー内で順に実行するエンドポイントを提供します。
+ * 通信が不安定な端末が、溜まった操作をまとめて送信するために使用します。
+ */
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    /**
+     * 操作の一括実行
+     *
+     * @param batchRequest 実行する操作のリストと、1つのトランザクションで実行するかどうか
+     * @param request HTTPリクエスト
+     * @param response HTTPレスポンス
+     * @return 操作ごとのステータスコードとレスポンスボディ（操作数が上限を超える場合、対象外の操作を含む場合は400）
+     */
+    @PostMapping
+    public ResponseEntity<BatchResult> execute(@RequestBody BatchRequest batchRequest,
+                                               HttpServletRequest request,
+                                               HttpServletResponse response) {
+        try {
+            return ResponseEntity.ok(batchDispatcher.execute(batchRequest, request, response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
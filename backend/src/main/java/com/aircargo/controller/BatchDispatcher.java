@@ -0,0 +1,257 @@
+package com.aircargo.controller;
+
+import com.aircargo.dto.BatchOperation;
+import com.aircargo.dto.BatchOperationResult;
+import com.aircargo.dto.BatchRequest;
+import com.aircargo.dto.BatchResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 一括実行の振り分けクラス
+ *
+ * 一括実行の各操作を、HTTPの往復を伴わずにサーバー内で既存の貨物・入荷・出荷コントローラーのハンドラーへ振り分けます。
+ * 操作はリクエストマッピング・引数の変換・例外のステータスコードへの変換を通常のリクエストと同じ仕組みで処理するため、
+ * 各エンドポイントの仕様（バリデーション、ステータスコード、レスポンス形式）はそのまま適用されます。
+ * 認証とインターセプター（JFRイベント、読み書きの振り分け）は一括実行のリクエスト単位で適用されます。
+ */
+@Slf4j
+@Component
+public class BatchDispatcher {
+
+    /**
+     * 前の操作の失敗で実行しなかった操作のステータスコード
+     */
+    static final int SKIPPED_STATUS = HttpStatus.FAILED_DEPENDENCY.value();
+
+    /**
+     * コントローラーのリクエストマッピングの接頭辞
+     */
+    private static final String API_PREFIX = "/api";
+
+    /**
+     * 一括実行で呼び出せるパスの接頭辞
+     */
+    private static final List<String> ALLOWED_PATHS = Arrays.asList("/cargo", "/inbound", "/outbound");
+
+    /**
+     * 一括実行で使用できるHTTPメソッド
+     */
+    private static final List<String> ALLOWED_METHODS = Arrays.asList("GET", "POST", "PUT", "DELETE");
+
+    /**
+     * atomicの場合に受け付けないパス
+     * 貨物一括作成は独自のトランザクションでコミットし、貨物詳細は別スレッド・別トランザクションで読み取るため、
+     * 一括実行のトランザクションに含められない
+     */
+    private static final List<Pattern> NON_ATOMIC_PATHS = Arrays.asList(
+        Pattern.compile("/cargo/bulk([?].*)?"),
+        Pattern.compile("/cargo/[^/?]+/detail([?].*)?"));
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final RequestMappingHandlerAdapter handlerAdapter;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxOperations;
+
+    /**
+     * コンストラクタ
+     *
+     * @param handlerMapping リクエストマッピング
+     * @param handlerAdapter ハンドラーの呼び出し
+     * @param handlerExceptionResolver 例外のステータスコードへの変換
+     * @param transactionManager トランザクションマネージャー
+     * @param objectMapper JSON変換
+     * @param maxOperations 1リクエストで受け付ける最大操作数
+     */
+    public BatchDispatcher(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                           RequestMappingHandlerAdapter handlerAdapter,
+                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${aircargo.batch.max-operations:100}") int maxOperations) {
+        this.handlerMapping = handlerMapping;
+        this.handlerAdapter = handlerAdapter;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * 一括実行
+     * 操作を指定順に実行します。atomicの場合は全操作を1つのトランザクションで実行し、
+     * 失敗した（2xx以外を返した）操作があればトランザクションを取り消して、以降の操作は実行しません。
+     *
+     * @param batchRequest 一括実行の要求
+     * @param request 一括実行のリクエスト
+     * @param response 一括実行のレスポンス
+     * @return 操作ごとの結果
+     * @throws IllegalArgumentException 操作数が上限を超える場合、対象外のメソッド・パスを含む場合、
+     *                                  またはatomicの場合にトランザクションに含められないパスを含む場合
+     */
+    public BatchResult execute(BatchRequest batchRequest, HttpServletRequest request, HttpServletResponse response) {
+        List<BatchOperation> operations = batchRequest.getOperations() != null
+            ? batchRequest.getOperations() : new ArrayList<>();
+        validate(operations, batchRequest.isAtomic());
+        long start = System.nanoTime();
+
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        boolean rolledBack = false;
+        if (batchRequest.isAtomic()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < operations.size(); i++) {
+                        BatchOperationResult result = dispatch(i, operations.get(i), request, response);
+                        results.add(result);
+                        if (!isSuccess(result)) {
+                            status.setRollbackOnly();
+                            return;
+                        }
+                    }
+                });
+            } catch (TransactionException | DataAccessException e) {
+                // 操作自体は成功を返したが、操作内の例外でトランザクションが取り消し専用になっていた場合や、
+                // コミット時のフラッシュで楽観的排他制御などの例外が発生した場合
+                log.warn("一括実行のトランザクションがコミットできませんでした: {}", e.getMessage());
+                rolledBack = true;
+            } catch (RuntimeException e) {
+                log.warn("一括実行のトランザクションがコミットできませんでした", e);
+                rolledBack = true;
+            }
+            rolledBack |= results.stream().anyMatch(result -> !isSuccess(result));
+            for (int i = results.size(); i < operations.size(); i++) {
+                results.add(new BatchOperationResult(i, SKIPPED_STATUS, null));
+            }
+        } else {
+            for (int i = 0; i < operations.size(); i++) {
+                results.add(dispatch(i, operations.get(i), request, response));
+            }
+        }
+
+        int succeeded = 0;
+        int skipped = 0;
+        for (BatchOperationResult result : results) {
+            if (isSuccess(result)) {
+                succeeded++;
+            } else if (result.getStatus() == SKIPPED_STATUS) {
+                skipped++;
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("一括実行が完了しました: {}件（成功{}件、失敗{}件、未実行{}件、{}ms）{}", operations.size(), succeeded,
+            operations.size() - succeeded - skipped, skipped, elapsedMillis, rolledBack ? "、取り消し" : "");
+        return new BatchResult(batchRequest.isAtomic(), rolledBack, succeeded, operations.size() - succeeded - skipped,
+            skipped, elapsedMillis, results);
+    }
+
+    /**
+     * 操作数・メソッド・パスの検証（いずれかの操作が不正な場合は何も実行しない）
+     */
+    private void validate(List<BatchOperation> operations, boolean atomic) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("操作は" + maxOperations + "件以内で指定してください: " + operations.size());
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            String method = operation.getMethod() != null ? operation.getMethod().toUpperCase(Locale.ROOT) : "";
+            if (!ALLOWED_METHODS.contains(method)) {
+                throw new IllegalArgumentException("未対応のメソッドです（" + i + "件目）: " + operation.getMethod());
+            }
+            String path = operation.getPath();
+            if (path == null || path.contains("..") || path.contains("//") || ALLOWED_PATHS.stream().noneMatch(prefix ->
+                path.equals(prefix) || path.startsWith(prefix + "/") || path.startsWith(prefix + "?"))) {
+                throw new IllegalArgumentException("一括実行の対象外のパスです（" + i + "件目）: " + path);
+            }
+            if (atomic && NON_ATOMIC_PATHS.stream().anyMatch(pattern -> pattern.matcher(path).matches())) {
+                throw new IllegalArgumentException("atomicの一括実行では使用できないパスです（" + i + "件目）: " + path);
+            }
+        }
+    }
+
+    /**
+     * 操作のハンドラーへの振り分け
+     */
+    private BatchOperationResult dispatch(int index, BatchOperation operation, HttpServletRequest request,
+                                          HttpServletResponse response) {
+        BatchSubRequest subRequest = new BatchSubRequest(request, operation.getMethod().toUpperCase(Locale.ROOT),
+            API_PREFIX + operation.getPath(), requestBody(operation.getBody()));
+        BatchSubResponse subResponse = new BatchSubResponse(response);
+        ServletRequestPathUtils.parseAndCache(subRequest);
+
+        Object handler = null;
+        try {
+            HandlerExecutionChain chain = handlerMapping.getHandler(subRequest);
+            if (chain == null) {
+                subResponse.setStatus(HttpStatus.NOT_FOUND.value());
+            } else {
+                handler = chain.getHandler();
+                handlerAdapter.handle(subRequest, subResponse, handler);
+            }
+        } catch (Exception e) {
+            if (handlerExceptionResolver.resolveException(subRequest, subResponse, handler, e) == null) {
+                log.warn("一括実行の操作が失敗しました（{}件目）: {} {}", index, operation.getMethod(), operation.getPath(), e);
+                return new BatchOperationResult(index, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    TextNode.valueOf(String.valueOf(e.getMessage())));
+            }
+        }
+        return new BatchOperationResult(index, subResponse.getStatus(),
+            responseBody(subResponse.getContentAsByteArray(), subResponse.getContentType()));
+    }
+
+    private byte[] requestBody(JsonNode body) {
+        if (body == null || body.isNull()) {
+            return new byte[0];
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("リクエストボディを変換できません", e);
+        }
+    }
+
+    private JsonNode responseBody(byte[] content, String contentType) {
+        if (content.length == 0) {
+            return null;
+        }
+        if (contentType != null && contentType.contains("json")) {
+            try {
+                return objectMapper.readTree(content);
+            } catch (IOException e) {
+                // JSONとして読めない場合は文字列として返す
+            }
+        }
+        return TextNode.valueOf(new String(content, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isSuccess(BatchOperationResult result) {
+        return result.getStatus() >= 200 && result.getStatus() < 300;
+    }
+}
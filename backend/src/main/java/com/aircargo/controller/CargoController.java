@@ -1,9 +1,20 @@
 package com.aircargo.controller;
 
+import com.aircargo.dto.BulkCreateResult;
+import com.aircargo.dto.CargoDetail;
+import com.aircargo.dto.CursorPage;
+import com.aircargo.dto.MultiGetResult;
+import com.aircargo.dto.ResponseView;
 import com.aircargo.entity.Cargo;
 import com.aircargo.entity.Tracking;
+import com.aircargo.entity.TrackingLatest;
+import com.aircargo.service.CargoBulkService;
+import com.aircargo.service.CargoDetailService;
+import com.aircargo.service.CargoLookupService;
 import com.aircargo.service.CargoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,16 +33,30 @@ import java.util.List;
 public class CargoController {
 
     private final CargoService cargoService;
+    private final CargoBulkService cargoBulkService;
+    private final CargoDetailService cargoDetailService;
+    private final CargoLookupService cargoLookupService;
 
     /**
-     * 全貨物の取得
+     * 全貨物の取得（カーソルページング）
      * 
-     * @return 全貨物のリスト
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページは省略）
+     * @param limit ページサイズ
+     * @param view 表示形式（full: 全項目、summary: 一覧表示用の項目のみ）
+     * @return 1ページ分の貨物と次ページのカーソル
      */
     @GetMapping
-    public ResponseEntity<List<Cargo>> getAllCargos() {
-        List<Cargo> cargos = cargoService.getAllCargos();
-        return ResponseEntity.ok(cargos);
+    public ResponseEntity<CursorPage<?>> getAllCargos(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      @RequestParam(defaultValue = "full") String view) {
+        try {
+            CursorPage<?> cargos = ResponseView.from(view) == ResponseView.SUMMARY
+                ? cargoService.getAllCargoSummaries(cursor, limit)
+                : cargoService.getAllCargos(cursor, limit);
+            return ResponseEntity.ok(cargos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -47,6 +72,44 @@ public class CargoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * 貨物詳細の取得
+     * 
+     * 貨物と、その入荷記録・出荷記録・最新の追跡履歴を1回の呼び出しで返します（各読み取りは並行に実行）。
+     * 
+     * @param cargoId 貨物ID
+     * @param trackingLimit 追跡履歴の件数（省略時は既定値）
+     * @return 貨物詳細（貨物が存在しない場合は404、読み取りが時間内に完了しない場合は503）
+     */
+    @GetMapping("/{cargoId}/detail")
+    public ResponseEntity<CargoDetail> getCargoDetail(@PathVariable String cargoId,
+                                                      @RequestParam(defaultValue = "0") int trackingLimit) {
+        try {
+            return cargoDetailService.getCargoDetail(cargoId, trackingLimit)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * 複数貨物の一括取得
+     * 
+     * キャッシュにある貨物はDBにアクセスせずに返し、それ以外は一定件数ごとのIN句でまとめて取得します。
+     * 
+     * @param cargoIds 貨物IDのリスト
+     * @return 見つかった貨物（指定順）と見つからなかった貨物ID（上限を超える場合は400）
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<MultiGetResult<Cargo>> getCargos(@RequestBody List<String> cargoIds) {
+        try {
+            return ResponseEntity.ok(cargoLookupService.getCargos(cargoIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 新規貨物の作成
      * 
@@ -59,6 +122,25 @@ public class CargoController {
         return ResponseEntity.ok(createdCargo);
     }
 
+    /**
+     * 貨物の一括作成
+     * 
+     * JDBCバッチINSERTでまとめて登録し、項目ごとの成否を返します。
+     * 一部の項目が失敗しても、他の項目の登録は継続されます。
+     * 
+     * @param cargos 作成する貨物情報のリスト
+     * @return 一括作成の結果（件数が上限を超える場合は400）
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResult> createCargos(@RequestBody List<Cargo> cargos) {
+        try {
+            BulkCreateResult result = cargoBulkService.createCargos(cargos);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 貨物情報の更新
      * 
@@ -93,51 +175,99 @@ public class CargoController {
     }
 
     /**
-     * フライト番号による貨物検索
+     * フライト番号による貨物検索（カーソルページング）
      * 
      * @param flightNumber フライト番号
-     * @return 指定されたフライト番号の貨物リスト
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページは省略）
+     * @param limit ページサイズ
+     * @param view 表示形式（full: 全項目、summary: 一覧表示用の項目のみ）
+     * @return 指定されたフライト番号の貨物リスト（1ページ分）
      */
     @GetMapping("/flight/{flightNumber}")
-    public ResponseEntity<List<Cargo>> getCargosByFlightNumber(@PathVariable String flightNumber) {
-        List<Cargo> cargos = cargoService.getCargosByFlightNumber(flightNumber);
-        return ResponseEntity.ok(cargos);
+    public ResponseEntity<CursorPage<?>> getCargosByFlightNumber(@PathVariable String flightNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "full") String view) {
+        try {
+            CursorPage<?> cargos = ResponseView.from(view) == ResponseView.SUMMARY
+                ? cargoService.getCargoSummariesByFlightNumber(flightNumber, cursor, limit)
+                : cargoService.getCargosByFlightNumber(flightNumber, cursor, limit);
+            return ResponseEntity.ok(cargos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
-     * ステータスによる貨物検索
+     * ステータスによる貨物検索（カーソルページング）
      * 
      * @param status 貨物ステータス
-     * @return 指定されたステータスの貨物リスト
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページは省略）
+     * @param limit ページサイズ
+     * @param view 表示形式（full: 全項目、summary: 一覧表示用の項目のみ）
+     * @return 指定されたステータスの貨物リスト（1ページ分）
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Cargo>> getCargosByStatus(@PathVariable String status) {
-        List<Cargo> cargos = cargoService.getCargosByStatus(status);
-        return ResponseEntity.ok(cargos);
+    public ResponseEntity<CursorPage<?>> getCargosByStatus(@PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "full") String view) {
+        try {
+            CursorPage<?> cargos = ResponseView.from(view) == ResponseView.SUMMARY
+                ? cargoService.getCargoSummariesByStatus(status, cursor, limit)
+                : cargoService.getCargosByStatus(status, cursor, limit);
+            return ResponseEntity.ok(cargos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
-     * 荷送人名による貨物検索
+     * 荷送人名による貨物検索（カーソルページング）
      * 
      * @param shipperName 荷送人名
-     * @return 指定された荷送人名を含む貨物リスト
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページは省略）
+     * @param limit ページサイズ
+     * @param view 表示形式（full: 全項目、summary: 一覧表示用の項目のみ）
+     * @return 指定された荷送人名を含む貨物リスト（1ページ分）
      */
     @GetMapping("/search/shipper")
-    public ResponseEntity<List<Cargo>> searchCargosByShipperName(@RequestParam String shipperName) {
-        List<Cargo> cargos = cargoService.searchCargosByShipperName(shipperName);
-        return ResponseEntity.ok(cargos);
+    public ResponseEntity<CursorPage<?>> searchCargosByShipperName(@RequestParam String shipperName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "full") String view) {
+        try {
+            CursorPage<?> cargos = ResponseView.from(view) == ResponseView.SUMMARY
+                ? cargoService.searchCargoSummariesByShipperName(shipperName, cursor, limit)
+                : cargoService.searchCargosByShipperName(shipperName, cursor, limit);
+            return ResponseEntity.ok(cargos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
-     * 荷受人名による貨物検索
+     * 荷受人名による貨物検索（カーソルページング）
      * 
      * @param consigneeName 荷受人名
-     * @return 指定された荷受人名を含む貨物リスト
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページは省略）
+     * @param limit ページサイズ
+     * @param view 表示形式（full: 全項目、summary: 一覧表示用の項目のみ）
+     * @return 指定された荷受人名を含む貨物リスト（1ページ分）
      */
     @GetMapping("/search/consignee")
-    public ResponseEntity<List<Cargo>> searchCargosByConsigneeName(@RequestParam String consigneeName) {
-        List<Cargo> cargos = cargoService.searchCargosByConsigneeName(consigneeName);
-        return ResponseEntity.ok(cargos);
+    public ResponseEntity<CursorPage<?>> searchCargosByConsigneeName(@RequestParam String consigneeName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "full") String view) {
+        try {
+            CursorPage<?> cargos = ResponseView.from(view) == ResponseView.SUMMARY
+                ? cargoService.searchCargoSummariesByConsigneeName(consigneeName, cursor, limit)
+                : cargoService.searchCargosByConsigneeName(consigneeName, cursor, limit);
+            return ResponseEntity.ok(cargos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -145,27 +275,93 @@ public class CargoController {
      * 
      * @param cargoId 更新する貨物ID
      * @param status 新しいステータス
-     * @return 更新された貨物情報
+     * @param version 更新対象とするバージョン（省略時はバージョンを問わない）
+     * @return 更新された貨物情報（バージョンが一致しない場合は409）
      */
     @PutMapping("/{cargoId}/status")
-    public ResponseEntity<Cargo> updateCargoStatus(@PathVariable String cargoId, @RequestParam String status) {
+    public ResponseEntity<Cargo> updateCargoStatus(@PathVariable String cargoId, @RequestParam String status,
+                                                   @RequestParam(required = false) Integer version) {
         try {
-            Cargo updatedCargo = cargoService.updateCargoStatus(cargoId, status);
+            Cargo updatedCargo = cargoService.updateCargoStatus(cargoId, status, version);
             return ResponseEntity.ok(updatedCargo);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     /**
-     * 貨物の追跡履歴取得
+     * 貨物の追跡履歴取得（カーソルページング）
      * 
      * @param cargoId 貨物ID
-     * @return 指定された貨物の追跡履歴リスト
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページは省略）
+     * @param limit ページサイズ
+     * @param view 表示形式（full: 全項目、summary: 一覧表示用の項目のみ）
+     * @return 指定された貨物の追跡履歴（最新順、1ページ分）
      */
     @GetMapping("/{cargoId}/tracking")
-    public ResponseEntity<List<Tracking>> getTrackingHistory(@PathVariable String cargoId) {
-        List<Tracking> trackingHistory = cargoService.getTrackingHistory(cargoId);
-        return ResponseEntity.ok(trackingHistory);
+    public ResponseEntity<CursorPage<?>> getTrackingHistory(@PathVariable String cargoId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "full") String view) {
+        try {
+            CursorPage<?> trackingHistory = ResponseView.from(view) == ResponseView.SUMMARY
+                ? cargoService.getTrackingHistorySummaries(cargoId, cursor, limit)
+                : cargoService.getTrackingHistory(cargoId, cursor, limit);
+            return ResponseEntity.ok(trackingHistory);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 追跡記録の作成
+     * 
+     * 同時に届いた作成要求とまとめてグループコミットで登録し、コミット完了後に応答します。
+     * 
+     * @param cargoId 貨物ID
+     * @param tracking 作成する追跡記録
+     * @return 作成された追跡記録（受付キューが満杯の場合は503）
+     */
+    @PostMapping("/{cargoId}/tracking")
+    public ResponseEntity<Tracking> createTracking(@PathVariable String cargoId, @RequestBody Tracking tracking) {
+        tracking.setCargoId(cargoId);
+        try {
+            Tracking createdTracking = cargoService.createTracking(tracking);
+            return ResponseEntity.ok(createdTracking);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 貨物の最新追跡の取得
+     * 
+     * @param cargoId 貨物ID
+     * @return 最新の位置・ステータス・タイムスタンプ・担当者（追跡記録がない場合は404）
+     */
+    @GetMapping("/{cargoId}/tracking/latest")
+    public ResponseEntity<TrackingLatest> getLatestTracking(@PathVariable String cargoId) {
+        return cargoService.getLatestTracking(cargoId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 複数貨物の最新追跡の一括取得
+     * 
+     * @param cargoIds 貨物IDのリスト（最大1000件）
+     * @return 最新追跡のリスト（指定順、追跡記録がない貨物は含まない。上限を超える場合は400）
+     */
+    @PostMapping("/tracking/latest")
+    public ResponseEntity<List<TrackingLatest>> getLatestTrackings(@RequestBody List<String> cargoIds) {
+        try {
+            return ResponseEntity.ok(cargoService.getLatestTrackings(cargoIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
-} 
\ No newline at end of file
+}
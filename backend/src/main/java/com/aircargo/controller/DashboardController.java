@@ -0,0 +1,32 @@
+package com.aircargo.controller;
+
+import com.aircargo.dto.DashboardSummary;
+import com.aircargo.service.StatusCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ダッシュボードRESTコントローラー
+ *
+ * ダッシュボード表示用の集計を提供します。
+ * 集計はメモリ上のカウンターから返されるため、呼び出し頻度に関わらずDBのテーブル走査は発生しません。
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final StatusCounters statusCounters;
+
+    /**
+     * 貨物・入荷・出荷のステータス別件数の取得
+     *
+     * @return ダッシュボード集計
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummary> getSummary() {
+        return ResponseEntity.ok(statusCounters.summary());
+    }
+}
@@ -0,0 +1,86 @@
+package com.aircargo.controller;
+
+import com.aircargo.dto.ExportFormat;
+import com.aircargo.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * データエクスポートRESTコントローラー
+ *
+ * 貨物・追跡テーブルの全件ダンプをNDJSONまたはCSVでストリーミング出力するエンドポイントを提供します。
+ * 行はDBから読み取った順にレスポンスへ直接書き出されるため、クエリ完了を待たずに送信が始まります。
+ * 送信開始後に失敗した場合は例外をそのまま送出し、コンテナに接続を切断させます（終端のチャンクと終端行は送信されません）。
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * 全貨物のエクスポート
+     *
+     * @param format エクスポート形式（ndjson、csv）
+     * @param response HTTPレスポンス
+     * @throws IOException 出力に失敗した場合
+     */
+    @GetMapping("/cargo")
+    public void exportCargos(@RequestParam(defaultValue = "ndjson") String format,
+                             HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = resolveFormat(format, response);
+        if (exportFormat == null) {
+            return;
+        }
+        prepare(response, exportFormat, "cargo");
+        exportService.exportCargos(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * 全追跡記録のエクスポート
+     *
+     * @param format エクスポート形式（ndjson、csv）
+     * @param response HTTPレスポンス
+     * @throws IOException 出力に失敗した場合
+     */
+    @GetMapping("/tracking")
+    public void exportTrackings(@RequestParam(defaultValue = "ndjson") String format,
+                                HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = resolveFormat(format, response);
+        if (exportFormat == null) {
+            return;
+        }
+        prepare(response, exportFormat, "tracking");
+        exportService.exportTrackings(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * エクスポート形式の解決（未対応の形式の場合は400を返してnullを返す）
+     */
+    private ExportFormat resolveFormat(String format, HttpServletResponse response) throws IOException {
+        try {
+            return ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * レスポンスヘッダーの設定
+     */
+    private void prepare(HttpServletResponse response, ExportFormat format, String name) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+    }
+}
@@ -0,0 +1,43 @@
+package com.aircargo.controller;
+
+import com.aircargo.dto.FlightEvent;
+import com.aircargo.dto.FlightEventResult;
+import com.aircargo.service.FlightEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * フライトRESTコントローラー
+ *
+ * フライトの出発・到着を受け付け、フライトの出荷記録・貨物のステータス変更と追跡記録の登録をまとめて行うエンドポイントを提供します。
+ */
+@RestController
+@RequestMapping("/api/flights")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class FlightController {
+
+    private final FlightEventService flightEventService;
+
+    /**
+     * フライトイベントの反映
+     *
+     * @param flightNumber フライト番号
+     * @param event フライトイベント（depart、arrive）
+     * @param handlerId 追跡記録の担当者ID（省略可）
+     * @return 変更・登録した件数（未対応のイベントの場合は400）
+     */
+    @PostMapping("/{flightNumber}/{event}")
+    public ResponseEntity<FlightEventResult> applyEvent(@PathVariable String flightNumber,
+                                                        @PathVariable String event,
+                                                        @RequestParam(required = false) String handlerId) {
+        FlightEvent flightEvent;
+        try {
+            flightEvent = FlightEvent.from(event);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(flightEventService.apply(flightNumber, flightEvent, handlerId));
+    }
+}
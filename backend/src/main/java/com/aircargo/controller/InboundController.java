@@ -1,8 +1,14 @@
 package com.aircargo.controller;
 
+import com.aircargo.dto.CursorPage;
+import com.aircargo.dto.MultiGetResult;
+import com.aircargo.dto.ResponseView;
 import com.aircargo.entity.Inbound;
+import com.aircargo.service.CargoLookupService;
 import com.aircargo.service.CargoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,16 +27,28 @@ import java.util.List;
 public class InboundController {
 
     private final CargoService cargoService;
+    private final CargoLookupService cargoLookupService;
 
     /**
-     * 全入荷記録の取得
+     * 全入荷記録の取得（カーソルページング）
      * 
-     * @return 全入荷記録のリスト
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページは省略）
+     * @param limit ページサイズ
+     * @param view 表示形式（full: 全項目、summary: 一覧表示用の項目のみ）
+     * @return 1ページ分の入荷記録と次ページのカーソル
      */
     @GetMapping
-    public ResponseEntity<List<Inbound>> getAllInbounds() {
-        List<Inbound> inbounds = cargoService.getAllInbounds();
-        return ResponseEntity.ok(inbounds);
+    public ResponseEntity<CursorPage<?>> getAllInbounds(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int limit,
+                                                        @RequestParam(defaultValue = "full") String view) {
+        try {
+            CursorPage<?> inbounds = ResponseView.from(view) == ResponseView.SUMMARY
+                ? cargoService.getAllInboundSummaries(cursor, limit)
+                : cargoService.getAllInbounds(cursor, limit);
+            return ResponseEntity.ok(inbounds);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -63,13 +81,17 @@ public class InboundController {
      * 
      * @param inboundId 更新する入荷ID
      * @param status 新しいステータス
-     * @return 更新された入荷記録
+     * @param version 更新対象とするバージョン（省略時はバージョンを問わない）
+     * @return 更新された入荷記録（バージョンが一致しない場合は409）
      */
     @PutMapping("/{inboundId}/status")
-    public ResponseEntity<Inbound> updateInboundStatus(@PathVariable String inboundId, @RequestParam String status) {
+    public ResponseEntity<Inbound> updateInboundStatus(@PathVariable String inboundId, @RequestParam String status,
+                                                       @RequestParam(required = false) Integer version) {
         try {
-            Inbound updatedInbound = cargoService.updateInboundStatus(inboundId, status);
+            Inbound updatedInbound = cargoService.updateInboundStatus(inboundId, status, version);
             return ResponseEntity.ok(updatedInbound);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -86,4 +108,19 @@ public class InboundController {
         List<Inbound> inbounds = cargoService.getInboundsByCargoId(cargoId);
         return ResponseEntity.ok(inbounds);
     }
+
+    /**
+     * 複数貨物の入荷記録の一括取得
+     * 
+     * @param cargoIds 貨物IDのリスト
+     * @return 入荷記録（指定された貨物IDの順）と入荷記録がない貨物ID（上限を超える場合は400）
+     */
+    @PostMapping("/cargo/lookup")
+    public ResponseEntity<MultiGetResult<Inbound>> getInboundsByCargoIds(@RequestBody List<String> cargoIds) {
+        try {
+            return ResponseEntity.ok(cargoLookupService.getInboundsByCargoIds(cargoIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 } 
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.aircargo.controller;
 
+import com.aircargo.dto.CursorPage;
+import com.aircargo.dto.MultiGetResult;
+import com.aircargo.dto.ResponseView;
 import com.aircargo.entity.Outbound;
+import com.aircargo.service.CargoLookupService;
 import com.aircargo.service.CargoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,16 +27,28 @@ import java.util.List;
 public class OutboundController {
 
     private final CargoService cargoService;
+    private final CargoLookupService cargoLookupService;
 
     /**
-     * 全出荷記録の取得
+     * 全出荷記録の取得（カーソルページング）
      * 
-     * @return 全出荷記録のリスト
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページは省略）
+     * @param limit ページサイズ
+     * @param view 表示形式（full: 全項目、summary: 一覧表示用の項目のみ）
+     * @return 1ページ分の出荷記録と次ページのカーソル
      */
     @GetMapping
-    public ResponseEntity<List<Outbound>> getAllOutbounds() {
-        List<Outbound> outbounds = cargoService.getAllOutbounds();
-        return ResponseEntity.ok(outbounds);
+    public ResponseEntity<CursorPage<?>> getAllOutbounds(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "50") int limit,
+                                                         @RequestParam(defaultValue = "full") String view) {
+        try {
+            CursorPage<?> outbounds = ResponseView.from(view) == ResponseView.SUMMARY
+                ? cargoService.getAllOutboundSummaries(cursor, limit)
+                : cargoService.getAllOutbounds(cursor, limit);
+            return ResponseEntity.ok(outbounds);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -63,13 +81,17 @@ public class OutboundController {
      * 
      * @param outboundId 更新する出荷ID
      * @param status 新しいステータス
-     * @return 更新された出荷記録
+     * @param version 更新対象とするバージョン（省略時はバージョンを問わない）
+     * @return 更新された出荷記録（バージョンが一致しない場合は409）
      */
     @PutMapping("/{outboundId}/status")
-    public ResponseEntity<Outbound> updateOutboundStatus(@PathVariable String outboundId, @RequestParam String status) {
+    public ResponseEntity<Outbound> updateOutboundStatus(@PathVariable String outboundId, @RequestParam String status,
+                                                         @RequestParam(required = false) Integer version) {
         try {
-            Outbound updatedOutbound = cargoService.updateOutboundStatus(outboundId, status);
+            Outbound updatedOutbound = cargoService.updateOutboundStatus(outboundId, status, version);
             return ResponseEntity.ok(updatedOutbound);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -86,4 +108,19 @@ public class OutboundController {
         List<Outbound> outbounds = cargoService.getOutboundsByCargoId(cargoId);
         return ResponseEntity.ok(outbounds);
     }
+
+    /**
+     * 複数貨物の出荷記録の一括取得
+     * 
+     * @param cargoIds 貨物IDのリスト
+     * @return 出荷記録（指定された貨物IDの順）と出荷記録がない貨物ID（上限を超える場合は400）
+     */
+    @PostMapping("/cargo/lookup")
+    public ResponseEntity<MultiGetResult<Outbound>> getOutboundsByCargoIds(@RequestBody List<String> cargoIds) {
+        try {
+            return ResponseEntity.ok(cargoLookupService.getOutboundsByCargoIds(cargoIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 } 
\ No newline at end of file
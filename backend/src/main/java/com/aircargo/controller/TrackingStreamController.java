@@ -0,0 +1,57 @@
+package com.aircargo.controller;
+
+import com.aircargo.service.TrackingBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 追跡記録ライブ配信RESTコントローラー
+ *
+ * 貨物・便・場所のいずれか1つを購読し、登録（コミット）された追跡記録をServer-Sent Eventsで受信します。
+ * 追跡履歴を定期的に取得し直す代わりに使用します。
+ */
+@RestController
+@RequestMapping("/api/tracking")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class TrackingStreamController {
+
+    private final TrackingBroadcaster trackingBroadcaster;
+
+    /**
+     * 追跡記録の購読
+     *
+     * @param cargoId 貨物ID
+     * @param flightNumber 便名
+     * @param location 場所
+     * @return 追跡記録のイベントストリーム（購読対象が1つでない場合は400、購読者数が上限の場合は503）
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) String cargoId,
+                                             @RequestParam(required = false) String flightNumber,
+                                             @RequestParam(required = false) String location) {
+        int specified = (isPresent(cargoId) ? 1 : 0) + (isPresent(flightNumber) ? 1 : 0) + (isPresent(location) ? 1 : 0);
+        if (specified != 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            if (isPresent(cargoId)) {
+                return ResponseEntity.ok(trackingBroadcaster.subscribe(TrackingBroadcaster.Topic.CARGO, cargoId));
+            }
+            if (isPresent(flightNumber)) {
+                return ResponseEntity.ok(trackingBroadcaster.subscribe(TrackingBroadcaster.Topic.FLIGHT, flightNumber));
+            }
+            return ResponseEntity.ok(trackingBroadcaster.subscribe(TrackingBroadcaster.Topic.LOCATION, location));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private static boolean isPresent(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
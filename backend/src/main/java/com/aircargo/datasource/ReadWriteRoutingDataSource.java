@@ -0,0 +1,58 @@
+package com.aircargo.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 読み書き振り分けデータソースクラス
+ *
+ * 読み取り専用トランザクション（@Transactional(readOnly = true)）の接続をレプリカから、
+ * それ以外（読み書きトランザクション、トランザクション外、{@link ReplicaRouting} でプライマリを指定したスレッド）の接続をプライマリから取得します。
+ * トランザクションの開始時には読み取り専用かどうかがまだ設定されていないため、
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} で包み、最初のSQLの実行時に振り分けてください。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * 振り分け先
+     */
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param primary プライマリのデータソース
+     * @param replica レプリカのデータソース
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        targets.put(Target.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * 現在のスレッドの振り分け先
+     *
+     * @return 読み取り専用トランザクションかつプライマリの指定がない場合はレプリカ、それ以外はプライマリ
+     */
+    public static Target currentTarget() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && !ReplicaRouting.isPrimaryForced() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+}
@@ -0,0 +1,86 @@
+package com.aircargo.datasource;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * レプリカ遅延対策のインターセプタークラス
+ *
+ * 書き込み要求（GET・HEAD・OPTIONS以外）の応答に書き込み時刻のCookieを設定し、
+ * 同じクライアントからの一定時間内の読み取り要求をレプリカではなくプライマリで実行させます。
+ * これにより、クライアントはレプリカへの反映の遅延に関係なく自分の直前の書き込みを読めます。
+ * 書き込み要求自体の中の読み取りもプライマリで実行します。
+ */
+public class ReplicaConsistencyInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * 書き込み時刻（エポックミリ秒）のCookie名
+     */
+    public static final String LAST_WRITE_COOKIE = "AIRCARGO_LAST_WRITE";
+
+    private final long maxLagMillis;
+
+    /**
+     * コンストラクタ
+     *
+     * @param maxLagMillis 書き込み後にプライマリから読む時間（ミリ秒、想定するレプリカの最大遅延に書き込み要求の処理時間を加えた値）
+     */
+    public ReplicaConsistencyInterceptor(long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+        if (isWrite(request.getMethod())) {
+            ReplicaRouting.forcePrimary();
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(now));
+            String contextPath = request.getContextPath();
+            cookie.setPath(contextPath == null || contextPath.isEmpty() ? "/" : contextPath);
+            cookie.setMaxAge((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxLagMillis + 999)));
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        } else if (now - lastWrite(request) < maxLagMillis) {
+            ReplicaRouting.forcePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRouting.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRouting.clear();
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    /**
+     * Cookieの書き込み時刻（ない場合、不正な場合は0）
+     */
+    private static long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.aircargo.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * レプリカ振り分けの制御クラス
+ *
+ * 読み取り専用トランザクションをレプリカに振り分けず、プライマリで実行させる指定をスレッドごとに保持します。
+ * 自分の書き込みを読む必要がある要求（書き込み直後の読み取り、キャッシュへの読み込み）で使用します。
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * 現在のスレッドでプライマリが指定されているかどうか
+     *
+     * @return プライマリで実行する場合true
+     */
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+
+    /**
+     * 現在のスレッドの以降の読み取りをプライマリで実行する指定
+     * 指定は {@link #clear()} を呼び出すまで有効です。
+     */
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    /**
+     * 現在のスレッドの指定の解除
+     */
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+
+    /**
+     * 処理をプライマリで実行
+     * 処理の終了後は、呼び出し前の指定に戻します。
+     *
+     * @param action 処理
+     * @param <T> 戻り値の型
+     * @return 処理の戻り値
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean previous = isPrimaryForced();
+        forcePrimary();
+        try {
+            return action.get();
+        } finally {
+            if (!previous) {
+                clear();
+            }
+        }
+    }
+}
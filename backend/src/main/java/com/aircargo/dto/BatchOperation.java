@@ -0,0 +1,32 @@
+package com.aircargo.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一括実行の操作クラス
+ *
+ * 一括実行で実行する1件の操作（既存の貨物・入荷・出荷エンドポイントの呼び出し）を保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperation {
+
+    /**
+     * HTTPメソッド（GET、POST、PUT、DELETE）
+     */
+    private String method;
+
+    /**
+     * パス（/cargo、/inbound、/outbound で始まるパス。クエリ文字列を含めることができます）
+     */
+    private String path;
+
+    /**
+     * リクエストボディ（省略可）
+     */
+    private JsonNode body;
+}
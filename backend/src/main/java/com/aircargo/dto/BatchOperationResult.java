@@ -0,0 +1,32 @@
+package com.aircargo.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一括実行の操作結果クラス
+ *
+ * 一括実行の1件の操作のステータスコードとレスポンスボディを保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResult {
+
+    /**
+     * 操作の位置（0始まり）
+     */
+    private int index;
+
+    /**
+     * HTTPステータスコード（前の操作の失敗で実行しなかった場合は424）
+     */
+    private int status;
+
+    /**
+     * レスポンスボディ（ない場合はnull）
+     */
+    private JsonNode body;
+}
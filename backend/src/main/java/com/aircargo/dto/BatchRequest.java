@@ -0,0 +1,28 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 一括実行の要求クラス
+ *
+ * 1回の呼び出しで順に実行する操作のリストと、1つのトランザクションで実行するかどうかを保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+
+    /**
+     * 全操作を1つのトランザクションで実行するかどうか（失敗した操作があれば全操作を取り消す）
+     */
+    private boolean atomic;
+
+    /**
+     * 実行する操作（指定順に実行）
+     */
+    private List<BatchOperation> operations;
+}
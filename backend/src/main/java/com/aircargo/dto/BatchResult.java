@@ -0,0 +1,53 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 一括実行の結果クラス
+ *
+ * 一括実行の件数の集計と、操作ごとの結果を保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+
+    /**
+     * 1つのトランザクションで実行したかどうか
+     */
+    private boolean atomic;
+
+    /**
+     * トランザクションを取り消したかどうか（取り消した場合、成功した操作の変更も反映されていない）
+     */
+    private boolean rolledBack;
+
+    /**
+     * 成功した（2xxを返した）操作の件数
+     */
+    private int succeeded;
+
+    /**
+     * 失敗した操作の件数
+     */
+    private int failed;
+
+    /**
+     * 前の操作の失敗で実行しなかった操作の件数
+     */
+    private int skipped;
+
+    /**
+     * 処理時間（ミリ秒）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 操作ごとの結果（指定順）
+     */
+    private List<BatchOperationResult> results;
+}
@@ -0,0 +1,48 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 一括作成の結果クラス
+ * 
+ * 一括作成リクエスト全体の件数集計、処理時間、スループットと項目別の結果を保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResult {
+
+    /**
+     * リクエストされた件数
+     */
+    private int requested;
+
+    /**
+     * 作成に成功した件数
+     */
+    private int created;
+
+    /**
+     * 作成に失敗した件数
+     */
+    private int failed;
+
+    /**
+     * 処理時間（ミリ秒）
+     */
+    private long elapsedMillis;
+
+    /**
+     * スループット（行/秒）
+     */
+    private double rowsPerSecond;
+
+    /**
+     * 項目別の結果（リクエスト順）
+     */
+    private List<BulkItemResult> items;
+}
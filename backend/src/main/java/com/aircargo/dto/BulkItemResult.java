@@ -0,0 +1,58 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一括処理の項目別結果クラス
+ * 
+ * 一括作成リクエストの各項目について、成否と採番されたID、またはエラー内容を保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    /**
+     * リクエスト内の項目位置（0始まり）
+     */
+    private int index;
+
+    /**
+     * 採番されたID（失敗時はnull）
+     */
+    private String id;
+
+    /**
+     * 成功したかどうか
+     */
+    private boolean success;
+
+    /**
+     * エラー内容（成功時はnull）
+     */
+    private String error;
+
+    /**
+     * 成功結果の作成
+     * 
+     * @param index 項目位置
+     * @param id 採番されたID
+     * @return 成功結果
+     */
+    public static BulkItemResult success(int index, String id) {
+        return new BulkItemResult(index, id, true, null);
+    }
+
+    /**
+     * 失敗結果の作成
+     * 
+     * @param index 項目位置
+     * @param error エラー内容
+     * @return 失敗結果
+     */
+    public static BulkItemResult failure(int index, String error) {
+        return new BulkItemResult(index, null, false, error);
+    }
+}
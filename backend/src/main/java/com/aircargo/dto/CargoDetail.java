@@ -0,0 +1,42 @@
+package com.aircargo.dto;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.entity.Outbound;
+import com.aircargo.entity.Tracking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 貨物詳細クラス
+ *
+ * 貨物詳細画面に表示する貨物と、その入荷記録・出荷記録・追跡履歴を1つのレスポンスにまとめて保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargoDetail {
+
+    /**
+     * 貨物
+     */
+    private Cargo cargo;
+
+    /**
+     * 入荷記録
+     */
+    private List<Inbound> inbounds;
+
+    /**
+     * 出荷記録
+     */
+    private List<Outbound> outbounds;
+
+    /**
+     * 追跡履歴の先頭ページ（最新順、続きは nextCursor で追跡履歴取得から取得）
+     */
+    private CursorPage<Tracking> tracking;
+}
@@ -0,0 +1,28 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 貨物一覧項目クラス
+ * 
+ * 貨物一覧の表示に使用する項目のみを保持します（作成日時・更新日時・バージョンを含まない）。
+ * リポジトリのクエリはこのクラスのコンストラクタで対象の列のみを取得するため、コンストラクタは1つだけ定義します。
+ */
+@Data
+@AllArgsConstructor
+public class CargoSummary {
+
+    private String cargoId;
+    private String flightNumber;
+    private String originAirport;
+    private String destinationAirport;
+    private String cargoType;
+    private BigDecimal weight;
+    private BigDecimal volume;
+    private String status;
+    private String shipperName;
+    private String consigneeName;
+}
@@ -0,0 +1,126 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * カーソル（キーセット）ページングの結果クラス
+ *
+ * 一覧系エンドポイントが返す1ページ分のデータと、次ページ取得用のカーソルを保持します。
+ * カーソルは最終行のソートキーをBase64URLでエンコードした不透明な文字列で、
+ * 次ページは「キー > カーソル」のシーク条件で取得するため OFFSET を使用しません。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * デフォルトのページサイズ
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * ページサイズの上限
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * ページ内のデータ
+     */
+    private List<T> items;
+
+    /**
+     * 次ページ取得用カーソル（最終ページの場合はnull）
+     */
+    private String nextCursor;
+
+    /**
+     * 次ページが存在するかどうか
+     */
+    private boolean hasNext;
+
+    /**
+     * ページサイズの正規化
+     * 0以下の場合はデフォルト値、上限を超える場合は上限値に丸めます。
+     *
+     * @param limit 要求されたページサイズ
+     * @return 正規化されたページサイズ
+     */
+    public static int normalizeLimit(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * シーク用のページ指定の作成
+     * 次ページの有無を判定するため、ページサイズ+1件を先頭から取得します（OFFSETは常に0）。
+     *
+     * @param limit 正規化済みのページサイズ
+     * @return 先頭からlimit+1件を取得するページ指定
+     */
+    public static Pageable seek(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    /**
+     * 取得結果からページを作成
+     *
+     * @param rows seek(limit)で取得した行（最大limit+1件）
+     * @param limit 正規化済みのページサイズ
+     * @param cursorOf 行から次ページ用カーソルを作成する関数
+     * @return カーソルページ
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)), true);
+    }
+
+    /**
+     * カーソルのエンコード
+     *
+     * @param keys ソートキーの値（複合キーの場合は順に指定）
+     * @return 不透明なカーソル文字列
+     */
+    public static String encodeCursor(String... keys) {
+        String raw = String.join(SEPARATOR, keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * カーソルのデコード
+     *
+     * @param cursor カーソル文字列
+     * @param keyCount 期待するキーの数
+     * @return ソートキーの値
+     * @throws IllegalArgumentException カーソルの形式が不正な場合
+     */
+    public static String[] decodeCursor(String cursor, int keyCount) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不正なカーソルです: " + cursor, e);
+        }
+        String[] keys = raw.split("\\" + SEPARATOR, -1);
+        if (keys.length != keyCount) {
+            throw new IllegalArgumentException("不正なカーソルです: " + cursor);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,39 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * ダッシュボード集計クラス
+ * 
+ * 貨物・入荷・出荷のステータス別件数を保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummary {
+
+    /**
+     * 貨物のステータス別件数
+     */
+    private Map<String, Long> cargo;
+
+    /**
+     * 入荷記録のステータス別件数
+     */
+    private Map<String, Long> inbound;
+
+    /**
+     * 出荷記録のステータス別件数
+     */
+    private Map<String, Long> outbound;
+
+    /**
+     * 最後にDBの件数で補正した日時
+     */
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,43 @@
+package com.aircargo.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * エクスポート形式
+ * 
+ * ストリーミングエクスポートで出力するデータ形式と、そのContent-Type・拡張子を定義します。
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * 改行区切りJSON（1行1レコード）
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * ヘッダー行付きCSV
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    /**
+     * 文字列からのエクスポート形式の解決（大文字小文字を区別しない）
+     * 
+     * @param value 形式名（ndjson、csv）
+     * @return エクスポート形式
+     * @throws IllegalArgumentException 未対応の形式の場合
+     */
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("未対応のエクスポート形式です: " + value);
+    }
+}
@@ -0,0 +1,69 @@
+package com.aircargo.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * フライトイベント
+ *
+ * フライトの出発・到着と、それに伴う貨物・出荷記録のステータスの変更を定義します。
+ */
+@Getter
+@RequiredArgsConstructor
+public enum FlightEvent {
+
+    /**
+     * 出発（待機中の貨物を輸送中に、出発前の出荷記録を出発済みにする）
+     */
+    DEPART("出発", "PENDING", "IN_TRANSIT", Arrays.asList("SCHEDULED", "READY", "LOADING"), "DEPARTED"),
+
+    /**
+     * 到着（輸送中の貨物を到着済みにする）
+     */
+    ARRIVE("到着", "IN_TRANSIT", "ARRIVED", Collections.emptyList(), null);
+
+    /**
+     * 表示名（追跡記録の備考に使用）
+     */
+    private final String label;
+
+    /**
+     * 変更対象とする貨物のステータス
+     */
+    private final String cargoFromStatus;
+
+    /**
+     * 変更後の貨物のステータス
+     */
+    private final String cargoToStatus;
+
+    /**
+     * 変更対象とする出荷記録のステータス
+     */
+    private final List<String> outboundFromStatuses;
+
+    /**
+     * 変更後の出荷記録のステータス（出荷記録を変更しない場合はnull）
+     */
+    private final String outboundToStatus;
+
+    /**
+     * 文字列からのフライトイベントの解決（大文字小文字を区別しない）
+     *
+     * @param value イベント名（depart、arrive）
+     * @return フライトイベント
+     * @throws IllegalArgumentException 未対応のイベントの場合
+     */
+    public static FlightEvent from(String value) {
+        for (FlightEvent event : values()) {
+            if (event.name().equalsIgnoreCase(value)) {
+                return event;
+            }
+        }
+        throw new IllegalArgumentException("未対応のフライトイベントです: " + value);
+    }
+}
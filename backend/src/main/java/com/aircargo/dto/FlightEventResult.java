@@ -0,0 +1,46 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * フライトイベントの結果クラス
+ *
+ * フライトの出発・到着で変更した貨物・出荷記録の件数と、登録した追跡記録の件数を保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightEventResult {
+
+    /**
+     * フライト番号
+     */
+    private String flightNumber;
+
+    /**
+     * フライトイベント
+     */
+    private FlightEvent event;
+
+    /**
+     * ステータスを変更した貨物の件数
+     */
+    private int cargosUpdated;
+
+    /**
+     * ステータスを変更した出荷記録の件数
+     */
+    private int outboundsUpdated;
+
+    /**
+     * 登録した追跡記録の件数
+     */
+    private int trackingsCreated;
+
+    /**
+     * 処理時間（ミリ秒）
+     */
+    private long elapsedMillis;
+}
@@ -0,0 +1,26 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 入荷一覧項目クラス
+ * 
+ * 入荷一覧の表示に使用する項目のみを保持します（担当者・備考・作成日時・バージョンを含まない）。
+ * リポジトリのクエリはこのクラスのコンストラクタで対象の列のみを取得するため、コンストラクタは1つだけ定義します。
+ */
+@Data
+@AllArgsConstructor
+public class InboundSummary {
+
+    private String inboundId;
+    private String cargoId;
+    private String flightNumber;
+    private LocalDate arrivalDate;
+    private LocalTime arrivalTime;
+    private String terminal;
+    private String status;
+}
@@ -0,0 +1,48 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * インデックス候補クラス
+ * 
+ * スロークエリの検索条件から推定した、不足しているインデックスを表します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexCandidate {
+
+    /**
+     * テーブル名
+     */
+    private String table;
+
+    /**
+     * 列（等価条件 → 並び順 → 範囲条件の順）
+     */
+    private List<String> columns;
+
+    /**
+     * 作成DDL
+     */
+    private String ddl;
+
+    /**
+     * 候補の根拠となったスロークエリの所要時間の合計（ミリ秒、順位付けに使用）
+     */
+    private double totalMillis;
+
+    /**
+     * 候補の根拠となったSQL文の数
+     */
+    private int statements;
+
+    /**
+     * 実行計画で全件走査を確認したかどうか（falseの場合は既存インデックスとの比較のみ）
+     */
+    private boolean confirmedByPlan;
+}
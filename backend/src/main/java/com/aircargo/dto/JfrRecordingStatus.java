@@ -0,0 +1,59 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JFR記録状態クラス
+ * 
+ * Actuatorエンドポイントで開始したJFR（JDK Flight Recorder）の記録の状態を表します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JfrRecordingStatus {
+
+    /**
+     * 記録ID
+     */
+    private long id;
+
+    /**
+     * 記録名
+     */
+    private String name;
+
+    /**
+     * 記録の状態（RUNNING、STOPPEDなど）
+     */
+    private String state;
+
+    /**
+     * 使用した記録設定（default、profile）
+     */
+    private String settings;
+
+    /**
+     * 記録開始日時
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 保持する記録の期間（秒）
+     */
+    private long maxAgeSeconds;
+
+    /**
+     * 保持する記録の最大サイズ（バイト）
+     */
+    private long maxSizeBytes;
+
+    /**
+     * 有効にしたドメインイベント
+     */
+    private List<String> events;
+}
@@ -0,0 +1,28 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 一括取得の結果クラス
+ *
+ * 複数の貨物IDを指定した一括取得で見つかったデータと、見つからなかった貨物IDを保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiGetResult<T> {
+
+    /**
+     * 見つかったデータ（指定された貨物IDの順）
+     */
+    private List<T> items;
+
+    /**
+     * 見つからなかった貨物ID（指定順）
+     */
+    private List<String> missing;
+}
@@ -0,0 +1,26 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 出荷一覧項目クラス
+ * 
+ * 出荷一覧の表示に使用する項目のみを保持します（担当者・備考・作成日時・バージョンを含まない）。
+ * リポジトリのクエリはこのクラスのコンストラクタで対象の列のみを取得するため、コンストラクタは1つだけ定義します。
+ */
+@Data
+@AllArgsConstructor
+public class OutboundSummary {
+
+    private String outboundId;
+    private String cargoId;
+    private String flightNumber;
+    private LocalDate departureDate;
+    private LocalTime departureTime;
+    private String terminal;
+    private String status;
+}
@@ -0,0 +1,36 @@
+package com.aircargo.dto;
+
+/**
+ * 一覧の表示形式
+ * 
+ * 一覧・検索・履歴のエンドポイントが返す項目の範囲を定義します。
+ */
+public enum ResponseView {
+
+    /**
+     * 一覧表示に使用する項目のみ（担当者・備考・作成日時・バージョンなどを含まない）
+     * DBからも対象の列のみを取得し、エンティティとして管理しません。
+     */
+    SUMMARY,
+
+    /**
+     * エンティティの全項目
+     */
+    FULL;
+
+    /**
+     * 文字列からの表示形式の解決（大文字小文字を区別しない）
+     * 
+     * @param value 形式名（summary、full）
+     * @return 表示形式
+     * @throws IllegalArgumentException 未対応の形式の場合
+     */
+    public static ResponseView from(String value) {
+        for (ResponseView view : values()) {
+            if (view.name().equalsIgnoreCase(value)) {
+                return view;
+            }
+        }
+        throw new IllegalArgumentException("未対応の表示形式です: " + value);
+    }
+}
@@ -0,0 +1,44 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * スロークエリクラス
+ * 
+ * 閾値を超えたSQLの1回の実行を表します。バインド値そのものは保持せず、型のみを保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQuery {
+
+    /**
+     * SQL文
+     */
+    private String sql;
+
+    /**
+     * バインドパラメータの型（例: String、Timestamp、null）
+     */
+    private List<String> bindShape;
+
+    /**
+     * 取得・更新した行数（不明な場合は-1）
+     */
+    private long rows;
+
+    /**
+     * 所要時間（ミリ秒、検索の場合は結果セットを閉じるまで）
+     */
+    private double elapsedMillis;
+
+    /**
+     * 記録日時
+     */
+    private LocalDateTime capturedAt;
+}
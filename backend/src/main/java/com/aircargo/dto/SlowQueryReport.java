@@ -0,0 +1,38 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * スロークエリレポートクラス
+ * 
+ * SQL文別の集計、インデックス候補、直近のスロークエリを保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryReport {
+
+    /**
+     * 閾値（ミリ秒）
+     */
+    private long thresholdMillis;
+
+    /**
+     * SQL文別の集計（所要時間の合計の降順）
+     */
+    private List<SlowStatement> statements;
+
+    /**
+     * インデックス候補（所要時間の合計の降順）
+     */
+    private List<IndexCandidate> indexCandidates;
+
+    /**
+     * 直近のスロークエリ（新しい順）
+     */
+    private List<SlowQuery> recent;
+}
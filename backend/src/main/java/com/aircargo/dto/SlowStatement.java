@@ -0,0 +1,58 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * スロークエリ集計クラス
+ * 
+ * 同じSQL文のスロークエリの件数・所要時間と実行計画を保持します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowStatement {
+
+    /**
+     * SQL文
+     */
+    private String sql;
+
+    /**
+     * 閾値を超えた回数
+     */
+    private long count;
+
+    /**
+     * 所要時間の合計（ミリ秒）
+     */
+    private double totalMillis;
+
+    /**
+     * 所要時間の最大値（ミリ秒）
+     */
+    private double maxMillis;
+
+    /**
+     * 行数の最大値
+     */
+    private long maxRows;
+
+    /**
+     * 最後に記録したバインドパラメータの型
+     */
+    private List<String> bindShape;
+
+    /**
+     * 実行計画（EXPLAINを実行していない場合はnull）
+     */
+    private String plan;
+
+    /**
+     * 実行計画で全件走査しているテーブル
+     */
+    private List<String> tableScans;
+}
@@ -0,0 +1,46 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 追跡記録パーティション保守結果クラス
+ * 
+ * 追跡テーブルのパーティション保守（将来月のパーティション作成、保存期間を過ぎた月のアーカイブ・削除）の結果を表します。
+ * 月は「yyyyMM」形式で表します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingPartitionReport {
+
+    /**
+     * 追跡テーブルが月別にレンジパーティション化されているかどうか
+     * falseの場合はパーティションを作成せず、保存期間を過ぎた行を一定件数ずつ移動・削除します。
+     */
+    private boolean partitioned;
+
+    /**
+     * 作成したパーティションの月
+     */
+    private List<String> created = new ArrayList<>();
+
+    /**
+     * アーカイブテーブル（TRACKING_ARCHIVE_yyyyMM）に移した月
+     */
+    private List<String> archived = new ArrayList<>();
+
+    /**
+     * 削除した月
+     */
+    private List<String> dropped = new ArrayList<>();
+
+    /**
+     * 行単位で移動・削除した件数（パーティション化されていない場合のみ）
+     */
+    private long movedRows;
+}
@@ -0,0 +1,23 @@
+package com.aircargo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 追跡履歴項目クラス
+ * 
+ * 追跡履歴の表示に使用する項目のみを保持します（担当者・備考・バージョンを含まない）。
+ * リポジトリのクエリはこのクラスのコンストラクタで対象の列のみを取得するため、コンストラクタは1つだけ定義します。
+ */
+@Data
+@AllArgsConstructor
+public class TrackingSummary {
+
+    private String trackingId;
+    private String cargoId;
+    private String location;
+    private String status;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,39 @@
+package com.aircargo.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+
+/**
+ * アプリケーションでIDを採番するエンティティの基底クラス
+ *
+ * IDとバージョンを設定済みのエンティティは、Spring Dataの既定の判定では既存の行とみなされ、
+ * save() が merge() となって INSERT の前に主キーによる SELECT が実行されます。
+ * DBから読み込んだ、または登録したエンティティのみを既存として扱うことで、
+ * 新規のエンティティの save() を persist() とし、1回の INSERT で登録します。
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity implements Persistable<String> {
+
+    /**
+     * DBから読み込んだ、または登録したかどうか
+     */
+    @Transient
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
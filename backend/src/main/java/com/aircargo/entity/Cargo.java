@@ -1,9 +1,11 @@
 package com.aircargo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -17,9 +19,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "CARGO")
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
-public class Cargo {
+public class Cargo extends AssignedIdEntity {
 
     /**
      * 貨物ID（主キー）
@@ -113,4 +116,10 @@ public class Cargo {
     @Version
     @Column(name = "VERSION")
     private Integer version;
-} 
\ No newline at end of file
+
+    @Override
+    @JsonIgnore
+    public String getId() {
+        return cargoId;
+    }
+}
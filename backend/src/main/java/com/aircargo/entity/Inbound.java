@@ -1,9 +1,11 @@
 package com.aircargo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
@@ -18,9 +20,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "INBOUND")
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
-public class Inbound {
+public class Inbound extends AssignedIdEntity {
 
     /**
      * 入荷ID（主キー）
@@ -100,4 +103,10 @@ public class Inbound {
     @Version
     @Column(name = "VERSION")
     private Integer version;
-} 
\ No newline at end of file
+
+    @Override
+    @JsonIgnore
+    public String getId() {
+        return inboundId;
+    }
+}
@@ -1,9 +1,11 @@
 package com.aircargo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 /**
@@ -16,9 +18,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "TRACKING")
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
-public class Tracking {
+public class Tracking extends AssignedIdEntity {
 
     /**
      * 追跡ID（主キー）
@@ -77,4 +80,10 @@ public class Tracking {
     @Version
     @Column(name = "VERSION")
     private Integer version;
-} 
\ No newline at end of file
+
+    @Override
+    @JsonIgnore
+    public String getId() {
+        return trackingId;
+    }
+}
@@ -0,0 +1,63 @@
+package com.aircargo.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 最新追跡エンティティクラス
+ * 
+ * 貨物ごとの最新の追跡記録（現在位置・ステータス）を1行で保持する射影です。
+ * 追跡記録の登録と同じトランザクションで更新されるため、追跡履歴を読まずに貨物の現在位置を取得できます。
+ * 更新は追跡記録の取り込み処理（TrackingIngestionService）のみが行います。
+ */
+@Entity
+@Table(name = "TRACKING_LATEST")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingLatest {
+
+    /**
+     * 貨物ID（主キー）
+     */
+    @Id
+    @Column(name = "CARGO_ID")
+    private String cargoId;
+
+    /**
+     * 最新の追跡記録の追跡ID
+     */
+    @Column(name = "TRACKING_ID")
+    private String trackingId;
+
+    /**
+     * 位置情報
+     * 貨物の現在位置（空港名、ターミナル名など）
+     */
+    @Column(name = "LOCATION")
+    private String location;
+
+    /**
+     * ステータス
+     * 最新の追跡記録のステータス（IN_TRANSIT、ARRIVED、DEPARTED等）
+     */
+    @Column(name = "STATUS")
+    private String status;
+
+    /**
+     * タイムスタンプ
+     * 最新の追跡記録の作成日時
+     */
+    @Column(name = "TIMESTAMP")
+    private LocalDateTime timestamp;
+
+    /**
+     * 担当者ID
+     * 最新の追跡記録を作成した作業員のID
+     */
+    @Column(name = "HANDLER_ID")
+    private String handlerId;
+}
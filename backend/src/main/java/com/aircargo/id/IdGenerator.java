@@ -0,0 +1,19 @@
+package com.aircargo.id;
+
+/**
+ * ID生成インターフェース
+ * 
+ * 貨物・入荷・出荷・追跡の各エンティティのIDを生成します。
+ * 生成するIDは接頭辞を含めて20文字（各テーブルのID列 VARCHAR(20)）以内である必要があります。
+ * 実装は複数スレッドから同時に呼び出されるため、スレッドセーフである必要があります。
+ */
+public interface IdGenerator {
+
+    /**
+     * IDの生成
+     * 
+     * @param prefix ID接頭辞（C、IN、OUT、TR など、3文字以内）
+     * @return 接頭辞付きのID
+     */
+    String nextId(String prefix);
+}
@@ -0,0 +1,18 @@
+package com.aircargo.id;
+
+import java.util.UUID;
+
+/**
+ * UUIDによるID生成クラス
+ * 
+ * ランダムUUIDの先頭8文字を使用する従来の採番方式です。
+ * 挿入位置がランダムになりインデックスの局所性が低く、32ビットのため衝突の可能性もあるため、
+ * 互換性のためにのみ残しています（aircargo.id.generator=uuid で選択）。
+ */
+public class UuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextId(String prefix) {
+        return prefix + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
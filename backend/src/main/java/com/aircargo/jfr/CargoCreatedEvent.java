@@ -0,0 +1,55 @@
+package com.aircargo.jfr;
+
+import com.aircargo.entity.Cargo;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 貨物作成のJFRイベントクラス
+ *
+ * 既定では無効です。{@link JfrRecordingEndpoint} で開始した記録、または明示的に有効化した設定の記録でのみ記録されます。
+ */
+@Name(CargoCreatedEvent.NAME)
+@Label("貨物作成")
+@Description("CargoService.createCargo による貨物の作成（所要時間は登録まで）")
+@Category({"Air Cargo", "Service"})
+@Enabled(false)
+@StackTrace(false)
+public class CargoCreatedEvent extends Event {
+
+    static final String NAME = "com.aircargo.CargoCreated";
+
+    @Label("貨物ID")
+    String cargoId;
+
+    @Label("便名")
+    String flightNumber;
+
+    @Label("出発空港")
+    String originAirport;
+
+    @Label("到着空港")
+    String destinationAirport;
+
+    /**
+     * 作成した貨物の情報を設定して記録（記録対象外の場合は何もしない）
+     * 所要時間は {@link #begin()} からこのメソッドの呼び出しまでです。
+     *
+     * @param cargo 作成された貨物
+     */
+    public void record(Cargo cargo) {
+        end();
+        if (shouldCommit()) {
+            cargoId = cargo.getCargoId();
+            flightNumber = cargo.getFlightNumber();
+            originAirport = cargo.getOriginAirport();
+            destinationAirport = cargo.getDestinationAirport();
+            commit();
+        }
+    }
+}
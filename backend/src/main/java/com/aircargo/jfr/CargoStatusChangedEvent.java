@@ -0,0 +1,56 @@
+package com.aircargo.jfr;
+
+import com.aircargo.entity.Cargo;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 貨物ステータス変更のJFRイベントクラス
+ *
+ * 既定では無効です。{@link JfrRecordingEndpoint} で開始した記録、または明示的に有効化した設定の記録でのみ記録されます。
+ */
+@Name(CargoStatusChangedEvent.NAME)
+@Label("貨物ステータス変更")
+@Description("CargoService.updateCargoStatus・updateCargo による貨物ステータスの変更（所要時間は更新まで）")
+@Category({"Air Cargo", "Service"})
+@Enabled(false)
+@StackTrace(false)
+public class CargoStatusChangedEvent extends Event {
+
+    static final String NAME = "com.aircargo.CargoStatusChanged";
+
+    @Label("貨物ID")
+    String cargoId;
+
+    @Label("便名")
+    String flightNumber;
+
+    @Label("変更前ステータス")
+    String previousStatus;
+
+    @Label("変更後ステータス")
+    String status;
+
+    /**
+     * 変更した貨物の情報を設定して記録（記録対象外の場合は何もしない）
+     * 所要時間は {@link #begin()} からこのメソッドの呼び出しまでです。
+     *
+     * @param cargo 更新された貨物
+     * @param previousStatus 変更前のステータス
+     */
+    public void record(Cargo cargo, String previousStatus) {
+        end();
+        if (shouldCommit()) {
+            this.cargoId = cargo.getCargoId();
+            this.flightNumber = cargo.getFlightNumber();
+            this.previousStatus = previousStatus;
+            this.status = cargo.getStatus();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.aircargo.jfr;
+
+import com.aircargo.entity.Inbound;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 入荷記録作成のJFRイベントクラス
+ *
+ * 既定では無効です。{@link JfrRecordingEndpoint} で開始した記録、または明示的に有効化した設定の記録でのみ記録されます。
+ */
+@Name(InboundCreatedEvent.NAME)
+@Label("入荷記録作成")
+@Description("CargoService.createInbound による入荷記録の作成（所要時間は登録まで）")
+@Category({"Air Cargo", "Service"})
+@Enabled(false)
+@StackTrace(false)
+public class InboundCreatedEvent extends Event {
+
+    static final String NAME = "com.aircargo.InboundCreated";
+
+    @Label("入荷ID")
+    String inboundId;
+
+    @Label("貨物ID")
+    String cargoId;
+
+    @Label("便名")
+    String flightNumber;
+
+    @Label("ターミナル")
+    String terminal;
+
+    /**
+     * 作成した入荷記録の情報を設定して記録（記録対象外の場合は何もしない）
+     * 所要時間は {@link #begin()} からこのメソッドの呼び出しまでです。
+     *
+     * @param inbound 作成された入荷記録
+     */
+    public void record(Inbound inbound) {
+        end();
+        if (shouldCommit()) {
+            inboundId = inbound.getInboundId();
+            cargoId = inbound.getCargoId();
+            flightNumber = inbound.getFlightNumber();
+            terminal = inbound.getTerminal();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.aircargo.jfr;
+
+import com.aircargo.dto.JfrRecordingStatus;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JFR記録のActuatorエンドポイントクラス
+ *
+ * POST /actuator/jfr でJFRの記録を開始し、GET /actuator/jfr で記録中の内容を.jfrファイルとして取得し、
+ * DELETE /actuator/jfr で記録を終了します。記録ではJDKの標準イベント（GC・ロック待ちなど）に加えて、
+ * 既定では無効な貨物管理のドメインイベント（{@link #EVENTS}）を閾値なしで有効にします。
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    /**
+     * 記録で有効にするドメインイベント
+     */
+    static final List<Class<? extends Event>> EVENTS = Arrays.asList(
+        CargoCreatedEvent.class, CargoStatusChangedEvent.class, TrackingRecordedEvent.class,
+        InboundCreatedEvent.class, OutboundCreatedEvent.class, RequestHandledEvent.class);
+
+    private static final String RECORDING_NAME = "aircargo";
+
+    private final String defaultSettings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private String recordingSettings;
+
+    /**
+     * コンストラクタ
+     *
+     * @param defaultSettings 記録設定（JDK標準のdefault・profile）
+     * @param maxAgeSeconds 保持する記録の期間（秒）
+     * @param maxSizeMegabytes 保持する記録の最大サイズ（MB）
+     */
+    public JfrRecordingEndpoint(@Value("${aircargo.jfr.settings:profile}") String defaultSettings,
+                                @Value("${aircargo.jfr.max-age-seconds:900}") long maxAgeSeconds,
+                                @Value("${aircargo.jfr.max-size-mb:256}") long maxSizeMegabytes) {
+        this.defaultSettings = defaultSettings;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.maxSizeBytes = maxSizeMegabytes * 1024 * 1024;
+    }
+
+    /**
+     * 記録の開始（記録中の場合は何もせず、現在の記録の状態を返す）
+     *
+     * @param settings 記録設定（省略時は aircargo.jfr.settings）
+     * @return 記録の状態
+     */
+    @WriteOperation
+    public synchronized JfrRecordingStatus start(@Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        close();
+        String name = settings != null && !settings.isEmpty() ? settings : defaultSettings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("記録設定が見つかりません: " + name, e.getMessage());
+        }
+
+        Recording newRecording = new Recording(configuration);
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge);
+        newRecording.setMaxSize(maxSizeBytes);
+        for (Class<? extends Event> event : EVENTS) {
+            newRecording.enable(event).withThreshold(Duration.ZERO);
+        }
+        newRecording.start();
+        recording = newRecording;
+        recordingSettings = name;
+        return status();
+    }
+
+    /**
+     * 記録中の内容の取得（記録は継続する）
+     *
+     * @return .jfrファイル（記録中でない場合は404）
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("aircargo-", ".jfr");
+            recording.dump(file);
+            return new WebEndpointResponse<>(new TemporaryFileResource(file), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("JFRの記録を出力できませんでした", e);
+        }
+    }
+
+    /**
+     * 記録の終了
+     *
+     * @return 終了した記録の状態（記録中でない場合はnull）
+     */
+    @DeleteOperation
+    public synchronized JfrRecordingStatus stop() {
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        JfrRecordingStatus status = status();
+        close();
+        return status;
+    }
+
+    private JfrRecordingStatus status() {
+        List<String> events = new ArrayList<>();
+        for (Class<? extends Event> event : EVENTS) {
+            events.add(EventType.getEventType(event).getName());
+        }
+        return new JfrRecordingStatus(recording.getId(), recording.getName(), recording.getState().name(),
+            recordingSettings, LocalDateTime.ofInstant(recording.getStartTime(), ZoneId.systemDefault()), recording.getMaxAge().getSeconds(), recording.getMaxSize(), events);
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            recordingSettings = null;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * 読み込み後に削除する一時ファイル
+     * ファイル転送の最適化で読み込みを迂回されないよう、ファイルとしては公開しません。
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            Path file = getFile().toPath();
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deleteQuietly(file);
+                    }
+                }
+            };
+        }
+    }
+}
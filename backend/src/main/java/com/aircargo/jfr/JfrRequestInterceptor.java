@@ -0,0 +1,54 @@
+package com.aircargo.jfr;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * APIリクエスト処理のJFRイベント記録クラス
+ *
+ * {@link RequestHandledEvent} が有効な記録がない場合は、イベントをリクエスト属性に保持せずに処理を続行します。
+ */
+public class JfrRequestInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = JfrRequestInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) != null) {
+            // 非同期処理の再ディスパッチでは最初の呼び出しから計測を続ける
+            return true;
+        }
+        RequestHandledEvent event = new RequestHandledEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object attribute = request.getAttribute(EVENT_ATTRIBUTE);
+        if (!(attribute instanceof RequestHandledEvent) || request.isAsyncStarted()) {
+            return;
+        }
+        request.removeAttribute(EVENT_ATTRIBUTE);
+        RequestHandledEvent event = (RequestHandledEvent) attribute;
+        event.end();
+        if (event.shouldCommit()) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.method = request.getMethod();
+            event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+            event.handler = handler instanceof HandlerMethod
+                ? ((HandlerMethod) handler).getBeanType().getSimpleName() + "." + ((HandlerMethod) handler).getMethod().getName()
+                : handler.getClass().getSimpleName();
+            event.status = response.getStatus();
+            event.exception = ex != null ? ex.getClass().getName() : null;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.aircargo.jfr;
+
+import com.aircargo.entity.Outbound;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 出荷記録作成のJFRイベントクラス
+ *
+ * 既定では無効です。{@link JfrRecordingEndpoint} で開始した記録、または明示的に有効化した設定の記録でのみ記録されます。
+ */
+@Name(OutboundCreatedEvent.NAME)
+@Label("出荷記録作成")
+@Description("CargoService.createOutbound による出荷記録の作成（所要時間は登録まで）")
+@Category({"Air Cargo", "Service"})
+@Enabled(false)
+@StackTrace(false)
+public class OutboundCreatedEvent extends Event {
+
+    static final String NAME = "com.aircargo.OutboundCreated";
+
+    @Label("出荷ID")
+    String outboundId;
+
+    @Label("貨物ID")
+    String cargoId;
+
+    @Label("便名")
+    String flightNumber;
+
+    @Label("ターミナル")
+    String terminal;
+
+    /**
+     * 作成した出荷記録の情報を設定して記録（記録対象外の場合は何もしない）
+     * 所要時間は {@link #begin()} からこのメソッドの呼び出しまでです。
+     *
+     * @param outbound 作成された出荷記録
+     */
+    public void record(Outbound outbound) {
+        end();
+        if (shouldCommit()) {
+            outboundId = outbound.getOutboundId();
+            cargoId = outbound.getCargoId();
+            flightNumber = outbound.getFlightNumber();
+            terminal = outbound.getTerminal();
+            commit();
+        }
+    }
+}
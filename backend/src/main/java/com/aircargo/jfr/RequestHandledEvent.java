@@ -0,0 +1,42 @@
+package com.aircargo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * APIリクエスト処理のJFRイベントクラス
+ *
+ * {@link JfrRequestInterceptor} がコントローラーの呼び出しから完了までを記録します。
+ * 既定では無効です。{@link JfrRecordingEndpoint} で開始した記録、または明示的に有効化した設定の記録でのみ記録されます。
+ */
+@Name(RequestHandledEvent.NAME)
+@Label("APIリクエスト処理")
+@Description("コントローラーによるAPIリクエストの処理（所要時間はハンドラーの呼び出しからレスポンスの完了まで）")
+@Category({"Air Cargo", "Web"})
+@Enabled(false)
+@StackTrace(false)
+public class RequestHandledEvent extends Event {
+
+    static final String NAME = "com.aircargo.RequestHandled";
+
+    @Label("HTTPメソッド")
+    String method;
+
+    @Label("エンドポイント")
+    @Description("マッピングされたURLパターン（例: /api/cargo/{cargoId}）")
+    String endpoint;
+
+    @Label("ハンドラー")
+    String handler;
+
+    @Label("ステータスコード")
+    int status;
+
+    @Label("例外")
+    String exception;
+}
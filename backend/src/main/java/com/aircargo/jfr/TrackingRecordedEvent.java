@@ -0,0 +1,55 @@
+package com.aircargo.jfr;
+
+import com.aircargo.entity.Tracking;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 追跡記録作成のJFRイベントクラス
+ *
+ * 既定では無効です。{@link JfrRecordingEndpoint} で開始した記録、または明示的に有効化した設定の記録でのみ記録されます。
+ */
+@Name(TrackingRecordedEvent.NAME)
+@Label("追跡記録作成")
+@Description("CargoService.createTracking による追跡記録の作成（所要時間はグループコミットの完了待ちを含む）")
+@Category({"Air Cargo", "Service"})
+@Enabled(false)
+@StackTrace(false)
+public class TrackingRecordedEvent extends Event {
+
+    static final String NAME = "com.aircargo.TrackingRecorded";
+
+    @Label("追跡ID")
+    String trackingId;
+
+    @Label("貨物ID")
+    String cargoId;
+
+    @Label("ステータス")
+    String status;
+
+    @Label("場所")
+    String location;
+
+    /**
+     * 作成した追跡記録の情報を設定して記録（記録対象外の場合は何もしない）
+     * 所要時間は {@link #begin()} からこのメソッドの呼び出しまでです。
+     *
+     * @param tracking 作成された追跡記録
+     */
+    public void record(Tracking tracking) {
+        end();
+        if (shouldCommit()) {
+            trackingId = tracking.getTrackingId();
+            cargoId = tracking.getCargoId();
+            status = tracking.getStatus();
+            location = tracking.getLocation();
+            commit();
+        }
+    }
+}
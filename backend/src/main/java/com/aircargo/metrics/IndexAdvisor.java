@@ -0,0 +1,202 @@
+package com.aircargo.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * インデックス候補の推定クラス
+ *
+ * SQL文のWHERE句とORDER BY句から、テーブルごとにインデックスの候補となる列を推定します。
+ * 列の順序は「等価条件（= / IN）→ 並び順（ORDER BY）→ 範囲条件（&lt; / &gt; / BETWEEN）」とします。
+ * LIKE、関数を適用した列、否定条件はインデックスで絞り込めないため対象外です。
+ */
+final class IndexAdvisor {
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+        "where", "join", "inner", "left", "right", "full", "outer", "cross", "on", "order", "group", "fetch",
+        "limit", "offset", "union", "for", "set", "having", "values"));
+
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|join|update|into)\\s+([a-z_][a-z0-9_.]*)(?:\\s+(?:as\\s+)?([a-z_][a-z0-9_]*))?");
+    private static final Pattern PREDICATE = Pattern.compile(
+        "(?<![\\w.])(?:([a-z_][a-z0-9_]*)\\.)?([a-z_][a-z0-9_]*)\\s*(<>|!=|<=|>=|=|<|>|\\bbetween\\b|\\bin\\s*\\()");
+    private static final Pattern ORDER_COLUMN = Pattern.compile("(?:([a-z_][a-z0-9_]*)\\.)?([a-z_][a-z0-9_]*)");
+    private static final Pattern CLAUSE_END = Pattern.compile("\\b(order by|group by|fetch|limit|offset|for update)\\b");
+
+    private IndexAdvisor() {
+    }
+
+    /**
+     * インデックス候補の列の推定
+     *
+     * @param sql SQL文
+     * @return テーブル名（大文字）→ 候補
+     */
+    static Map<String, Candidate> candidates(String sql) {
+        String normalized = sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        Map<String, String> tables = tables(normalized);
+        if (tables.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        String singleTable = new HashSet<>(tables.values()).size() == 1 ? tables.values().iterator().next() : null;
+
+        Map<String, Set<String>> equality = new LinkedHashMap<>();
+        Map<String, Set<String>> range = new LinkedHashMap<>();
+        Map<String, Set<String>> order = new LinkedHashMap<>();
+
+        int where = normalized.indexOf(" where ");
+        if (where >= 0) {
+            String clause = normalized.substring(where + 7);
+            Matcher end = CLAUSE_END.matcher(clause);
+            if (end.find()) {
+                clause = clause.substring(0, end.start());
+            }
+            Matcher matcher = PREDICATE.matcher(clause);
+            while (matcher.find()) {
+                String table = resolve(tables, singleTable, matcher.group(1));
+                String column = matcher.group(2);
+                String operator = matcher.group(3);
+                if (table == null || KEYWORDS.contains(column) || column.equals("and") || column.equals("or")
+                        || operator.equals("<>") || operator.equals("!=")) {
+                    continue;
+                }
+                Map<String, Set<String>> target = operator.equals("=") || operator.startsWith("in") ? equality : range;
+                target.computeIfAbsent(table, key -> new LinkedHashSet<>()).add(column);
+            }
+        }
+
+        int orderBy = normalized.indexOf(" order by ");
+        if (orderBy >= 0) {
+            String clause = normalized.substring(orderBy + 10);
+            Matcher end = Pattern.compile("\\b(fetch|limit|offset|for update)\\b").matcher(clause);
+            if (end.find()) {
+                clause = clause.substring(0, end.start());
+            }
+            for (String item : clause.split(",")) {
+                Matcher matcher = ORDER_COLUMN.matcher(item.trim());
+                if (matcher.lookingAt()) {
+                    String table = resolve(tables, singleTable, matcher.group(1));
+                    if (table != null) {
+                        order.computeIfAbsent(table, key -> new LinkedHashSet<>()).add(matcher.group(2));
+                    }
+                }
+            }
+        }
+
+        Map<String, Candidate> result = new LinkedHashMap<>();
+        Set<String> filtered = new LinkedHashSet<>(equality.keySet());
+        filtered.addAll(range.keySet());
+        for (String table : filtered) {
+            Set<String> equalityColumns = equality.getOrDefault(table, new LinkedHashSet<>());
+            LinkedHashSet<String> columns = new LinkedHashSet<>(equalityColumns);
+            columns.addAll(order.getOrDefault(table, new LinkedHashSet<>()));
+            Set<String> ranges = range.getOrDefault(table, new LinkedHashSet<>());
+            if (!ranges.isEmpty()) {
+                columns.add(ranges.iterator().next());
+            }
+            List<String> upper = new ArrayList<>();
+            for (String column : columns) {
+                upper.add(column.toUpperCase(Locale.ROOT));
+            }
+            result.put(table.toUpperCase(Locale.ROOT), new Candidate(upper, equalityColumns.size()));
+        }
+        return result;
+    }
+
+    /**
+     * 既存のインデックスで候補が満たされているかの判定
+     * 既存インデックスの先頭列が、候補の等価条件の列（最低1列）の先頭から順に一致する場合に満たされているとみなします。
+     *
+     * @param candidate 候補
+     * @param existingIndexes 既存インデックスの列のリスト
+     * @return 満たされている場合true
+     */
+    static boolean coveredBy(Candidate candidate, List<List<String>> existingIndexes) {
+        List<String> columns = candidate.columns();
+        int required = Math.max(1, Math.min(candidate.equalityColumns(), columns.size()));
+        for (List<String> index : existingIndexes) {
+            int compared = Math.min(index.size(), required);
+            if (compared > 0 && index.subList(0, compared).equals(columns.subList(0, compared))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 作成DDLの生成
+     *
+     * @param table テーブル名
+     * @param columns 列
+     * @return CREATE INDEX文
+     */
+    static String ddl(String table, List<String> columns) {
+        String name = "IDX_" + table + "_" + String.join("_", columns);
+        if (name.length() > 128) {
+            name = name.substring(0, 128);
+        }
+        return "CREATE INDEX " + name + " ON " + table + "(" + String.join(", ", columns) + ")";
+    }
+
+    private static Map<String, String> tables(String sql) {
+        Map<String, String> tables = new HashMap<>();
+        Matcher matcher = TABLE.matcher(sql);
+        while (matcher.find()) {
+            String table = matcher.group(1);
+            int dot = table.lastIndexOf('.');
+            if (dot >= 0) {
+                table = table.substring(dot + 1);
+            }
+            if (KEYWORDS.contains(table) || table.equals("select")) {
+                continue;
+            }
+            tables.put(table, table);
+            String alias = matcher.group(2);
+            if (alias != null && !KEYWORDS.contains(alias)) {
+                tables.put(alias, table);
+            }
+        }
+        return tables;
+    }
+
+    private static String resolve(Map<String, String> tables, String singleTable, String qualifier) {
+        return qualifier == null ? singleTable : tables.get(qualifier);
+    }
+
+    /**
+     * 1テーブル分のインデックス候補
+     */
+    static final class Candidate {
+
+        private final List<String> columns;
+        private final int equalityColumns;
+
+        Candidate(List<String> columns, int equalityColumns) {
+            this.columns = columns;
+            this.equalityColumns = equalityColumns;
+        }
+
+        /**
+         * 候補の列（大文字、順序付き）
+         */
+        List<String> columns() {
+            return columns;
+        }
+
+        /**
+         * 先頭から何列が等価条件か
+         */
+        int equalityColumns() {
+            return equalityColumns;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.aircargo.metrics;
+
+import com.aircargo.dto.CursorPage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * メソッド単位のメトリクス記録インターセプター
+ *
+ * publicメソッドの呼び出しごとに所要時間と結果を次のメトリクスとして記録します。
+ * <ul>
+ *   <li>aircargo.method.duration（Timer）: 所要時間。タグ component・operation・outcome（SUCCESS/ERROR）・exception</li>
+ *   <li>aircargo.method.result.size（DistributionSummary）: 戻り値の件数（コレクション・ページ・Optionalの場合のみ）</li>
+ * </ul>
+ * 成功時に使用するメーターはメソッドごとに一度だけ登録してキャッシュし、呼び出しごとのタグの組み立てを避けます。
+ */
+public class MethodMetricsInterceptor implements MethodInterceptor {
+
+    static final String DURATION = "aircargo.method.duration";
+    static final String RESULT_SIZE = "aircargo.method.result.size";
+
+    private final MeterRegistry meterRegistry;
+    private final String component;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * コンストラクタ
+     *
+     * @param meterRegistry メトリクスレジストリ
+     * @param component component タグの値（クラス名またはリポジトリ名）
+     */
+    public MethodMetricsInterceptor(MeterRegistry meterRegistry, String component) {
+        this.meterRegistry = meterRegistry;
+        this.component = component;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class || !Modifier.isPublic(method.getModifiers())) {
+            return invocation.proceed();
+        }
+        Meters methodMeters = meters.computeIfAbsent(method, this::register);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            timer(method.getName(), "ERROR", exceptionName(e))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        int size = sizeOf(result);
+        if (size >= 0) {
+            methodMeters.resultSize.record(size);
+        }
+        return result;
+    }
+
+    private Meters register(Method method) {
+        DistributionSummary resultSize = DistributionSummary.builder(RESULT_SIZE)
+            .description("メソッドの戻り値の件数")
+            .tag("component", component)
+            .tag("operation", method.getName())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        return new Meters(timer(method.getName(), "SUCCESS", "none"), resultSize);
+    }
+
+    private Timer timer(String operation, String outcome, String exception) {
+        return Timer.builder(DURATION)
+            .description("メソッドの所要時間")
+            .tag("component", component)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .tag("exception", exception)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static String exceptionName(Throwable e) {
+        String name = e.getClass().getSimpleName();
+        return name.isEmpty() ? e.getClass().getName() : name;
+    }
+
+    /**
+     * 戻り値の件数（件数を持たない戻り値の場合は-1）
+     */
+    static int sizeOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof CursorPage) {
+            return ((CursorPage<?>) result).getItems().size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    /**
+     * 1メソッド分の成功時のメーター
+     */
+    private static final class Meters {
+
+        private final Timer success;
+        private final DistributionSummary resultSize;
+
+        private Meters(Timer success, DistributionSummary resultSize) {
+            this.success = success;
+            this.resultSize = resultSize;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.aircargo.metrics;
+
+import com.aircargo.repository.CargoRepository;
+import com.aircargo.repository.InboundRepository;
+import com.aircargo.repository.OutboundRepository;
+import com.aircargo.repository.TrackingLatestRepository;
+import com.aircargo.repository.TrackingRepository;
+import com.aircargo.service.CargoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * メソッドメトリクスの組み込みクラス
+ *
+ * CargoServiceと各リポジトリのBeanに {@link MethodMetricsInterceptor} を組み込みます。
+ * Beanが既にプロキシ（@Transactionalやリポジトリの実装）の場合は、既存のアドバイスの外側に追加するため、
+ * 所要時間にはトランザクションのコミットやリポジトリの例外変換も含まれます。
+ */
+public class MethodMetricsPostProcessor implements BeanPostProcessor {
+
+    private static final List<Class<?>> REPOSITORIES = Arrays.asList(
+        CargoRepository.class, InboundRepository.class, OutboundRepository.class, TrackingRepository.class,
+        TrackingLatestRepository.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * コンストラクタ
+     * BeanPostProcessorは他のBeanより先に作成されるため、メトリクスレジストリは組み込み時に取得します。
+     *
+     * @param meterRegistry メトリクスレジストリ
+     */
+    public MethodMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String component = componentOf(bean);
+        if (component == null) {
+            return bean;
+        }
+        MethodMetricsInterceptor interceptor = new MethodMetricsInterceptor(meterRegistry.getObject(), component);
+        if (bean instanceof Advised && !((Advised) bean).isFrozen()) {
+            ((Advised) bean).addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(bean instanceof CargoService);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    /**
+     * component タグの値（計測対象外のBeanの場合はnull）
+     */
+    static String componentOf(Object bean) {
+        if (CargoService.class.isAssignableFrom(AopUtils.getTargetClass(bean))) {
+            return CargoService.class.getSimpleName();
+        }
+        for (Class<?> repository : REPOSITORIES) {
+            if (repository.isInstance(bean)) {
+                return repository.getSimpleName();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.aircargo.metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL実行計画取得クラス
+ *
+ * DB2ではEXPLAIN PLANで説明表に書き込んだ実行計画を読み込み、H2（ローカル実行・テスト用）ではEXPLAINの結果を代わりに使用します。
+ * DB2で使用するには、事前に説明表を作成しておく必要があります
+ * （例: {@code CALL SYSPROC.SYSINSTALLOBJECTS('EXPLAIN', 'C', CAST(NULL AS VARCHAR(128)), CURRENT SCHEMA)}）。
+ */
+class QueryExplainer {
+
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\*\\s*[\\w\"]+\\.\"?(\\w+)\"?\\.tableScan");
+
+    private static final String DB2_PLAN_SQL =
+        "SELECT O.OPERATOR_ID, O.OPERATOR_TYPE, O.TOTAL_COST, S.OBJECT_NAME "
+        + "FROM EXPLAIN_OPERATOR O "
+        + "LEFT JOIN EXPLAIN_STREAM S ON S.EXPLAIN_TIME = O.EXPLAIN_TIME AND S.SOURCE_NAME = O.SOURCE_NAME "
+        + "AND S.SOURCE_SCHEMA = O.SOURCE_SCHEMA AND S.STMTNO = O.STMTNO AND S.SECTNO = O.SECTNO "
+        + "AND S.TARGET_ID = O.OPERATOR_ID AND S.SOURCE_TYPE = 'D' "
+        + "WHERE O.STMTNO = ? AND O.EXPLAIN_TIME = "
+        + "(SELECT MAX(EXPLAIN_TIME) FROM EXPLAIN_STATEMENT WHERE STMTNO = ?) "
+        + "ORDER BY O.OPERATOR_ID";
+
+    /**
+     * DB2の説明表で実行計画を識別する番号（QUERYNO）
+     */
+    private final AtomicInteger queryNo = new AtomicInteger(90000);
+
+    /**
+     * 実行計画の取得
+     *
+     * @param connection 接続
+     * @param sql SQL文（パラメータマーカーを含むまま）
+     * @return 実行計画（対応していないDBの場合はnull）
+     * @throws SQLException EXPLAINに失敗した場合（DB2で説明表がない場合など）
+     */
+    Plan explain(Connection connection, String sql) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName().toUpperCase(Locale.ROOT);
+        if (product.startsWith("H2")) {
+            return explainH2(connection, sql);
+        }
+        if (product.startsWith("DB2")) {
+            return explainDb2(connection, sql);
+        }
+        return null;
+    }
+
+    private Plan explainH2(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet rs = statement.executeQuery()) {
+            String text = rs.next() ? rs.getString(1) : "";
+            List<String> tableScans = new ArrayList<>();
+            Matcher matcher = H2_TABLE_SCAN.matcher(text);
+            while (matcher.find()) {
+                tableScans.add(matcher.group(1).toUpperCase(Locale.ROOT));
+            }
+            return new Plan(text, tableScans);
+        }
+    }
+
+    private Plan explainDb2(Connection connection, String sql) throws SQLException {
+        int number = queryNo.getAndIncrement();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("EXPLAIN PLAN SET QUERYNO = " + number + " FOR " + sql);
+        }
+        StringBuilder text = new StringBuilder();
+        List<String> tableScans = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(DB2_PLAN_SQL)) {
+            statement.setInt(1, number);
+            statement.setInt(2, number);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String operator = rs.getString(2).trim();
+                    String object = rs.getString(4);
+                    text.append(String.format("%3d %-8s cost=%.1f%s%n", rs.getInt(1), operator, rs.getDouble(3),
+                        object == null ? "" : " " + object.trim()));
+                    if (operator.equals("TBSCAN") && object != null) {
+                        tableScans.add(object.trim().toUpperCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return new Plan(text.toString(), tableScans);
+    }
+
+    /**
+     * 実行計画
+     */
+    static final class Plan {
+
+        private final String text;
+        private final List<String> tableScans;
+
+        Plan(String text, List<String> tableScans) {
+            this.text = text;
+            this.tableScans = tableScans;
+        }
+
+        /**
+         * 実行計画のテキスト
+         */
+        String text() {
+            return text;
+        }
+
+        /**
+         * 全件走査しているテーブル（大文字）
+         */
+        List<String> tableScans() {
+            return tableScans;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.aircargo.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * スロークエリ計測用データソースクラス
+ *
+ * 接続・ステートメントをプロキシで包み、SQLの実行時間・行数・バインドパラメータの型を計測します。
+ * 実行（execute）の完了までを所要時間とし、閾値を超えた実行のみ {@link SlowQueryLog} に記録します。
+ * 結果セットはすべての列の読み取りがプロキシ経由になるため、実行の時点で閾値を超えた検索のみ包み、
+ * 行数を数えて結果セットを閉じた時点（フェッチを含む所要時間）で記録します。
+ * フェッチを含めてすべての検索を計測する場合は、すべての結果セットを包みます（includeFetch）。
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final Supplier<SlowQueryLog> slowQueryLogSupplier;
+    private final boolean includeFetch;
+    private volatile SlowQueryLog slowQueryLog;
+
+    /**
+     * コンストラクタ
+     *
+     * @param targetDataSource 計測対象のデータソース
+     * @param slowQueryLogSupplier 記録先の取得（アプリケーションの起動中はnullを返す場合がある）
+     * @param includeFetch すべての検索の所要時間に結果セットのフェッチを含めるかどうか
+     */
+    public SlowQueryDataSource(DataSource targetDataSource, Supplier<SlowQueryLog> slowQueryLogSupplier,
+                               boolean includeFetch) {
+        super(targetDataSource);
+        this.slowQueryLogSupplier = slowQueryLogSupplier;
+        this.includeFetch = includeFetch;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    private SlowQueryLog slowQueryLog() {
+        SlowQueryLog log = slowQueryLog;
+        if (log == null) {
+            log = slowQueryLogSupplier.get();
+            slowQueryLog = log;
+        }
+        return log;
+    }
+
+    private boolean isSlow(long startNanos) {
+        SlowQueryLog log = slowQueryLog();
+        return log != null && log.isSlow(System.nanoTime() - startNanos);
+    }
+
+    private void record(String sql, List<String> bindShape, long rows, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        SlowQueryLog log = slowQueryLog();
+        if (log != null && log.isSlow(elapsedNanos)) {
+            log.record(sql, bindShape, rows, elapsedNanos);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * equals・hashCodeはプロキシ自身で判定（接続プールなどがプロキシ同士を比較するため）
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    /**
+     * 接続のプロキシ（作成したステートメントを計測用プロキシで包む）
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = SlowQueryDataSource.invoke(method, connection, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, result, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, result, new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement":
+                    return proxy(Statement.class, result, new StatementHandler((Statement) result, null));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    /**
+     * ステートメントのプロキシ（バインドパラメータの型を保持し、実行時間を計測する）
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final List<String> bindShape = new ArrayList<>();
+        private ResultSetHandler openResultSet;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && method.getParameterTypes()[0] == int.class
+                    && method.getDeclaringClass() != Statement.class) {
+                bind((Integer) args[0], name.equals("setNull") || args[1] == null ? "null" : args[1].getClass().getSimpleName());
+                return SlowQueryDataSource.invoke(method, statement, args);
+            }
+            if (name.equals("clearParameters")) {
+                bindShape.clear();
+                return SlowQueryDataSource.invoke(method, statement, args);
+            }
+            if (name.equals("close") && openResultSet != null) {
+                // 結果セットを閉じずにステートメントを閉じた場合
+                openResultSet.closed();
+            }
+            if (!name.startsWith("execute")) {
+                return SlowQueryDataSource.invoke(method, statement, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            List<String> shape = bindShape.isEmpty() ? Collections.emptyList() : new ArrayList<>(bindShape);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = SlowQueryDataSource.invoke(method, statement, args);
+            } catch (Throwable e) {
+                record(sql, shape, -1, start);
+                throw e;
+            }
+            if (result instanceof ResultSet) {
+                if (!includeFetch && !isSlow(start)) {
+                    // 実行の時点で閾値未満の検索は、結果セットを包まずにそのまま返す
+                    return result;
+                }
+                ResultSet resultSet = (ResultSet) result;
+                openResultSet = new ResultSetHandler(resultSet, sql, shape, start);
+                return proxy(ResultSet.class, resultSet, openResultSet);
+            }
+            record(sql, shape, rowsOf(result), start);
+            return result;
+        }
+
+        private void bind(int index, String type) {
+            while (bindShape.size() < index) {
+                bindShape.add("unset");
+            }
+            bindShape.set(index - 1, type);
+        }
+
+        private long rowsOf(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                return ((Number) result).longValue();
+            }
+            long rows = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            }
+            if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 結果セットのプロキシ（行数を数え、閉じた時点で記録する）
+     */
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final String sql;
+        private final List<String> bindShape;
+        private final long startNanos;
+        private long rows;
+        private boolean closed;
+
+        private ResultSetHandler(ResultSet resultSet, String sql, List<String> bindShape, long startNanos) {
+            this.resultSet = resultSet;
+            this.sql = sql;
+            this.bindShape = bindShape;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = SlowQueryDataSource.invoke(method, resultSet, args);
+            if (method.getName().equals("next")) {
+                if ((Boolean) result) {
+                    rows++;
+                }
+            } else if (method.getName().equals("close")) {
+                closed();
+            }
+            return result;
+        }
+
+        private void closed() {
+            if (!closed) {
+                closed = true;
+                record(sql, bindShape, rows, startNanos);
+            }
+        }
+    }
+}
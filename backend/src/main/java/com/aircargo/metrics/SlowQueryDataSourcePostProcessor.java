@@ -0,0 +1,37 @@
+package com.aircargo.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * スロークエリ計測の組み込みクラス
+ *
+ * DataSourceのBeanを {@link SlowQueryDataSource} で包み、JPA・JdbcTemplateのすべてのSQLを計測対象にします。
+ */
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+    private final boolean includeFetch;
+
+    /**
+     * コンストラクタ
+     * スロークエリログはDataSourceに依存するため、最初のSQLの実行時に取得します。
+     *
+     * @param slowQueryLog スロークエリログ
+     * @param includeFetch すべての検索の所要時間に結果セットのフェッチを含めるかどうか
+     */
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog, boolean includeFetch) {
+        this.slowQueryLog = slowQueryLog;
+        this.includeFetch = includeFetch;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof SlowQueryDataSource)) {
+            return new SlowQueryDataSource((DataSource) bean, slowQueryLog::getIfAvailable, includeFetch);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,40 @@
+package com.aircargo.metrics;
+
+import com.aircargo.dto.SlowQueryReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * スロークエリのActuatorエンドポイントクラス
+ *
+ * GET /actuator/slowqueries でSQL文別の集計・インデックス候補・直近のスロークエリを返し、
+ * DELETE /actuator/slowqueries で記録を消去します。
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * スロークエリレポートの取得
+     *
+     * @return スロークエリレポート
+     */
+    @ReadOperation
+    public SlowQueryReport report() {
+        return slowQueryLog.report();
+    }
+
+    /**
+     * 記録の消去
+     */
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+}
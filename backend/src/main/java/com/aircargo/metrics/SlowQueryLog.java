@@ -0,0 +1,283 @@
+package com.aircargo.metrics;
+
+import com.aircargo.dto.IndexCandidate;
+import com.aircargo.dto.SlowQuery;
+import com.aircargo.dto.SlowQueryReport;
+import com.aircargo.dto.SlowStatement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * スロークエリログクラス
+ *
+ * 閾値を超えたSQLの実行をWARNログに出力し、直近の実行とSQL文別の集計をメモリ上に保持します。
+ * レポート作成時に、所要時間の合計が大きいSQL文から順にEXPLAINで実行計画を取得し（aircargo.slow-query.explain がtrueの場合）、
+ * 全件走査しているテーブルの検索条件からインデックス候補を推定します。
+ * EXPLAINを実行しない場合、または対応していないDBの場合は、既存インデックスの列と比較して候補を推定します。
+ */
+@Slf4j
+@Component
+public class SlowQueryLog {
+
+    /**
+     * レポート作成時にEXPLAINを実行するSQL文の最大数（所要時間の合計の上位）
+     */
+    private static final int MAX_EXPLAINS_PER_REPORT = 20;
+
+    private final DataSource dataSource;
+    private final QueryExplainer explainer = new QueryExplainer();
+    private final long thresholdNanos;
+    private final int capacity;
+    private final int maxStatements;
+    private final boolean explain;
+
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();
+    private final Map<String, Stats> statements = new HashMap<>();
+
+    /**
+     * コンストラクタ
+     *
+     * @param dataSource データソース（EXPLAINとインデックス情報の取得に使用）
+     * @param thresholdMillis 記録する所要時間の閾値（ミリ秒）
+     * @param capacity 保持する直近のスロークエリの件数
+     * @param maxStatements 集計するSQL文の最大数（超過分の新しいSQL文は集計しない）
+     * @param explain レポート作成時にEXPLAINを実行するかどうか
+     */
+    public SlowQueryLog(DataSource dataSource,
+                        @Value("${aircargo.slow-query.threshold-ms:200}") long thresholdMillis,
+                        @Value("${aircargo.slow-query.capacity:100}") int capacity,
+                        @Value("${aircargo.slow-query.max-statements:500}") int maxStatements,
+                        @Value("${aircargo.slow-query.explain:false}") boolean explain) {
+        // EXPLAIN自体を計測しないよう、計測用のデータソースの内側を使用する
+        this.dataSource = dataSource instanceof SlowQueryDataSource
+            ? ((SlowQueryDataSource) dataSource).getTargetDataSource() : dataSource;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.capacity = capacity;
+        this.maxStatements = maxStatements;
+        this.explain = explain;
+    }
+
+    /**
+     * 閾値を超えたかどうかの判定
+     *
+     * @param elapsedNanos 所要時間（ナノ秒）
+     * @return 閾値以上の場合true
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * スロークエリの記録
+     *
+     * @param sql SQL文
+     * @param bindShape バインドパラメータの型
+     * @param rows 取得・更新した行数（不明な場合は-1）
+     * @param elapsedNanos 所要時間（ナノ秒）
+     */
+    public void record(String sql, List<String> bindShape, long rows, long elapsedNanos) {
+        String statement = sql == null ? "(バッチ)" : sql.trim();
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        log.warn("スロークエリ: {}ms, {}行, バインド{}: {}", String.format("%.1f", elapsedMillis), rows, bindShape, statement);
+
+        synchronized (this) {
+            recent.addFirst(new SlowQuery(statement, bindShape, rows, elapsedMillis, LocalDateTime.now()));
+            while (recent.size() > capacity) {
+                recent.removeLast();
+            }
+            Stats stats = statements.get(statement);
+            if (stats == null) {
+                if (statements.size() >= maxStatements) {
+                    return;
+                }
+                stats = new Stats(statement);
+                statements.put(statement, stats);
+            }
+            stats.count++;
+            stats.totalNanos += elapsedNanos;
+            stats.maxNanos = Math.max(stats.maxNanos, elapsedNanos);
+            stats.maxRows = Math.max(stats.maxRows, rows);
+            stats.bindShape = bindShape;
+        }
+    }
+
+    /**
+     * レポートの作成
+     *
+     * @return SQL文別の集計・インデックス候補・直近のスロークエリ
+     */
+    public SlowQueryReport report() {
+        List<Stats> ranked;
+        List<SlowQuery> recentCopy;
+        synchronized (this) {
+            ranked = new ArrayList<>();
+            for (Stats stats : statements.values()) {
+                ranked.add(stats.copy());
+            }
+            recentCopy = new ArrayList<>(recent);
+        }
+        ranked.sort(Comparator.comparingLong((Stats stats) -> stats.totalNanos).reversed());
+
+        if (explain) {
+            explainTop(ranked);
+        }
+        List<IndexCandidate> candidates = indexCandidates(ranked);
+
+        List<SlowStatement> result = new ArrayList<>();
+        for (Stats stats : ranked) {
+            result.add(new SlowStatement(stats.sql, stats.count, stats.totalNanos / 1_000_000.0, stats.maxNanos / 1_000_000.0,
+                stats.maxRows, stats.bindShape, stats.plan == null ? stats.explainError : stats.plan.text(),
+                stats.plan == null ? Collections.emptyList() : stats.plan.tableScans()));
+        }
+        return new SlowQueryReport(TimeUnit.NANOSECONDS.toMillis(thresholdNanos), result, candidates, recentCopy);
+    }
+
+    /**
+     * 記録したスロークエリの消去
+     */
+    public synchronized void clear() {
+        recent.clear();
+        statements.clear();
+    }
+
+    private void explainTop(List<Stats> ranked) {
+        int explained = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            for (Stats stats : ranked) {
+                if (explained >= MAX_EXPLAINS_PER_REPORT) {
+                    break;
+                }
+                if (stats.explained) {
+                    continue;
+                }
+                try {
+                    stats.plan = explainer.explain(connection, stats.sql);
+                } catch (SQLException e) {
+                    stats.explainError = "EXPLAINに失敗しました: " + e.getMessage();
+                }
+                explained++;
+                synchronized (this) {
+                    Stats original = statements.get(stats.sql);
+                    if (original != null) {
+                        original.plan = stats.plan;
+                        original.explainError = stats.explainError;
+                        original.explained = true;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("EXPLAIN用の接続を取得できませんでした", e);
+        }
+    }
+
+    private List<IndexCandidate> indexCandidates(List<Stats> ranked) {
+        Map<String, List<List<String>>> existingIndexes = new HashMap<>();
+        Map<String, IndexCandidate> candidates = new LinkedHashMap<>();
+        for (Stats stats : ranked) {
+            for (Map.Entry<String, IndexAdvisor.Candidate> entry : IndexAdvisor.candidates(stats.sql).entrySet()) {
+                String table = entry.getKey();
+                IndexAdvisor.Candidate candidate = entry.getValue();
+                boolean confirmedByPlan = stats.plan != null;
+                if (confirmedByPlan) {
+                    if (!stats.plan.tableScans().contains(table)) {
+                        continue;
+                    }
+                } else if (IndexAdvisor.coveredBy(candidate,
+                        existingIndexes.computeIfAbsent(table, this::existingIndexes))) {
+                    continue;
+                }
+                String ddl = IndexAdvisor.ddl(table, candidate.columns());
+                IndexCandidate aggregated = candidates.computeIfAbsent(ddl, key ->
+                    new IndexCandidate(table, candidate.columns(), key, 0, 0, false));
+                aggregated.setTotalMillis(aggregated.getTotalMillis() + stats.totalNanos / 1_000_000.0);
+                aggregated.setStatements(aggregated.getStatements() + 1);
+                aggregated.setConfirmedByPlan(aggregated.isConfirmedByPlan() || confirmedByPlan);
+            }
+        }
+        List<IndexCandidate> result = new ArrayList<>(candidates.values());
+        result.sort(Comparator.comparingDouble(IndexCandidate::getTotalMillis).reversed());
+        return result;
+    }
+
+    /**
+     * テーブルの既存インデックスの列（取得できない場合は空）
+     */
+    private List<List<String>> existingIndexes(String table) {
+        Map<String, Map<Short, String>> indexes = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                    table.toUpperCase(Locale.ROOT), false, true)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName == null || column == null) {
+                        continue;
+                    }
+                    indexes.computeIfAbsent(indexName, key -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toUpperCase(Locale.ROOT));
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("インデックス情報を取得できませんでした: {}", table, e);
+        }
+        List<List<String>> result = new ArrayList<>();
+        for (Map<Short, String> columns : indexes.values()) {
+            result.add(new ArrayList<>(columns.values()));
+        }
+        return result;
+    }
+
+    /**
+     * 1つのSQL文の集計
+     */
+    private static final class Stats {
+
+        private final String sql;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long maxRows = -1;
+        private List<String> bindShape;
+        private QueryExplainer.Plan plan;
+        private String explainError;
+        private boolean explained;
+
+        private Stats(String sql) {
+            this.sql = sql;
+        }
+
+        private Stats copy() {
+            Stats copy = new Stats(sql);
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            copy.maxRows = maxRows;
+            copy.bindShape = bindShape;
+            copy.plan = plan;
+            copy.explainError = explainError;
+            copy.explained = explained;
+            return copy;
+        }
+    }
+}
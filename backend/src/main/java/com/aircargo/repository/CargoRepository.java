@@ -1,11 +1,13 @@
 package com.aircargo.repository;
 
 import com.aircargo.entity.Cargo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -50,6 +52,55 @@ public interface CargoRepository extends JpaRepository<Cargo, String> {
      */
     List<Cargo> findByConsigneeNameContainingIgnoreCase(String consigneeName);
 
+    /**
+     * 貨物IDによるキーセットページング
+     * 
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定された貨物IDより後の貨物リスト（貨物ID昇順）
+     */
+    List<Cargo> findByCargoIdGreaterThanOrderByCargoIdAsc(String cargoId, Pageable pageable);
+
+    /**
+     * フライト番号による貨物検索（キーセットページング）
+     * 
+     * @param flightNumber フライト番号
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定されたフライト番号の貨物リスト（貨物ID昇順）
+     */
+    List<Cargo> findByFlightNumberAndCargoIdGreaterThanOrderByCargoIdAsc(String flightNumber, String cargoId, Pageable pageable);
+
+    /**
+     * ステータスによる貨物検索（キーセットページング）
+     * 
+     * @param status 貨物ステータス
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定されたステータスの貨物リスト（貨物ID昇順）
+     */
+    List<Cargo> findByStatusAndCargoIdGreaterThanOrderByCargoIdAsc(String status, String cargoId, Pageable pageable);
+
+    /**
+     * 荷送人名による貨物検索（キーセットページング、大文字小文字を区別しない）
+     * 
+     * @param shipperName 荷送人名（部分一致）
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定された荷送人名を含む貨物リスト（貨物ID昇順）
+     */
+    List<Cargo> findByShipperNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(String shipperName, String cargoId, Pageable pageable);
+
+    /**
+     * 荷受人名による貨物検索（キーセットページング、大文字小文字を区別しない）
+     * 
+     * @param consigneeName 荷受人名（部分一致）
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定された荷受人名を含む貨物リスト（貨物ID昇順）
+     */
+    List<Cargo> findByConsigneeNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(String consigneeName, String cargoId, Pageable pageable);
+
     /**
      * ステータス別貨物数のカウント
      * 
@@ -58,4 +109,73 @@ public interface CargoRepository extends JpaRepository<Cargo, String> {
      */
     @Query("SELECT COUNT(c) FROM Cargo c WHERE c.status = :status")
     Long countByStatus(@Param("status") String status);
-} 
\ No newline at end of file
+
+    /**
+     * 貨物IDによるキーセットページング（射影）
+     * 
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定された貨物IDより後の貨物リスト（貨物ID昇順）
+     */
+    <T> List<T> findByCargoIdGreaterThanOrderByCargoIdAsc(String cargoId, Pageable pageable, Class<T> type);
+
+    /**
+     * フライト番号による貨物検索（キーセットページング、射影）
+     * 
+     * @param flightNumber フライト番号
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定されたフライト番号の貨物リスト（貨物ID昇順）
+     */
+    <T> List<T> findByFlightNumberAndCargoIdGreaterThanOrderByCargoIdAsc(String flightNumber, String cargoId, Pageable pageable, Class<T> type);
+
+    /**
+     * ステータスによる貨物検索（キーセットページング、射影）
+     * 
+     * @param status 貨物ステータス
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定されたステータスの貨物リスト（貨物ID昇順）
+     */
+    <T> List<T> findByStatusAndCargoIdGreaterThanOrderByCargoIdAsc(String status, String cargoId, Pageable pageable, Class<T> type);
+
+    /**
+     * 荷送人名による貨物検索（キーセットページング、大文字小文字を区別しない、射影）
+     * 
+     * @param shipperName 荷送人名（部分一致）
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定された荷送人名を含む貨物リスト（貨物ID昇順）
+     */
+    <T> List<T> findByShipperNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(String shipperName, String cargoId, Pageable pageable, Class<T> type);
+
+    /**
+     * 荷受人名による貨物検索（キーセットページング、大文字小文字を区別しない、射影）
+     * 
+     * @param consigneeName 荷受人名（部分一致）
+     * @param cargoId 前ページ最終行の貨物ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定された荷受人名を含む貨物リスト（貨物ID昇順）
+     */
+    <T> List<T> findByConsigneeNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(String consigneeName, String cargoId, Pageable pageable, Class<T> type);
+
+    /**
+     * 貨物IDのリストによる貨物取得（射影）
+     * 
+     * @param cargoIds 貨物IDのリスト
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定された貨物IDの貨物リスト（順不同）
+     */
+    <T> List<T> findByCargoIdIn(Collection<String> cargoIds, Class<T> type);
+}
@@ -1,10 +1,12 @@
 package com.aircargo.repository;
 
 import com.aircargo.entity.Inbound;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,6 +27,14 @@ public interface InboundRepository extends JpaRepository<Inbound, String> {
      */
     List<Inbound> findByCargoId(String cargoId);
 
+    /**
+     * 貨物IDのリストによる入荷記録検索
+     * 
+     * @param cargoIds 貨物IDのリスト
+     * @return 指定された貨物IDの入荷記録リスト（順不同）
+     */
+    List<Inbound> findByCargoIdIn(Collection<String> cargoIds);
+
     /**
      * 到着日による入荷記録検索
      * 
@@ -40,4 +50,24 @@ public interface InboundRepository extends JpaRepository<Inbound, String> {
      * @return 指定されたステータスの入荷記録リスト
      */
     List<Inbound> findByStatus(String status);
-} 
\ No newline at end of file
+
+    /**
+     * 入荷IDによるキーセットページング
+     * 
+     * @param inboundId 前ページ最終行の入荷ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定された入荷IDより後の入荷記録リスト（入荷ID昇順）
+     */
+    List<Inbound> findByInboundIdGreaterThanOrderByInboundIdAsc(String inboundId, Pageable pageable);
+
+    /**
+     * 入荷IDによるキーセットページング（射影）
+     * 
+     * @param inboundId 前ページ最終行の入荷ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定された入荷IDより後の入荷記録リスト（入荷ID昇順）
+     */
+    <T> List<T> findByInboundIdGreaterThanOrderByInboundIdAsc(String inboundId, Pageable pageable, Class<T> type);
+}
@@ -1,10 +1,12 @@
 package com.aircargo.repository;
 
 import com.aircargo.entity.Outbound;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,6 +27,14 @@ public interface OutboundRepository extends JpaRepository<Outbound, String> {
      */
     List<Outbound> findByCargoId(String cargoId);
 
+    /**
+     * 貨物IDのリストによる出荷記録検索
+     * 
+     * @param cargoIds 貨物IDのリスト
+     * @return 指定された貨物IDの出荷記録リスト（順不同）
+     */
+    List<Outbound> findByCargoIdIn(Collection<String> cargoIds);
+
     /**
      * 出発日による出荷記録検索
      * 
@@ -40,4 +50,24 @@ public interface OutboundRepository extends JpaRepository<Outbound, String> {
      * @return 指定されたステータスの出荷記録リスト
      */
     List<Outbound> findByStatus(String status);
-} 
\ No newline at end of file
+
+    /**
+     * 出荷IDによるキーセットページング
+     * 
+     * @param outboundId 前ページ最終行の出荷ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定された出荷IDより後の出荷記録リスト（出荷ID昇順）
+     */
+    List<Outbound> findByOutboundIdGreaterThanOrderByOutboundIdAsc(String outboundId, Pageable pageable);
+
+    /**
+     * 出荷IDによるキーセットページング（射影）
+     * 
+     * @param outboundId 前ページ最終行の出荷ID（先頭ページは空文字）
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定された出荷IDより後の出荷記録リスト（出荷ID昇順）
+     */
+    <T> List<T> findByOutboundIdGreaterThanOrderByOutboundIdAsc(String outboundId, Pageable pageable, Class<T> type);
+}
@@ -0,0 +1,15 @@
+package com.aircargo.repository;
+
+import com.aircargo.entity.TrackingLatest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 最新追跡リポジトリインターフェース
+ * 
+ * 貨物ごとの最新の追跡記録の取得を提供します。
+ * 貨物IDによる1件の取得はfindById、複数件の取得はfindAllById（IN句）を使用します。
+ */
+@Repository
+public interface TrackingLatestRepository extends JpaRepository<TrackingLatest, String> {
+}
@@ -1,7 +1,11 @@
 package com.aircargo.repository;
 
+import com.aircargo.dto.TrackingSummary;
 import com.aircargo.entity.Tracking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -41,4 +45,59 @@ public interface TrackingRepository extends JpaRepository<Tracking, String> {
      * @return 指定された期間の追跡記録リスト
      */
     List<Tracking> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
-} 
\ No newline at end of file
+
+    /**
+     * 貨物IDによる追跡履歴の先頭ページ取得（タイムスタンプ・追跡ID降順）
+     * 
+     * @param cargoId 貨物ID
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定された貨物IDの追跡記録リスト（最新順）
+     */
+    List<Tracking> findByCargoIdOrderByTimestampDescTrackingIdDesc(String cargoId, Pageable pageable);
+
+    /**
+     * 貨物IDによる追跡履歴の次ページ取得（(タイムスタンプ, 追跡ID) によるキーセットページング）
+     * 
+     * @param cargoId 貨物ID
+     * @param timestamp 前ページ最終行のタイムスタンプ
+     * @param trackingId 前ページ最終行の追跡ID
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定された位置より古い追跡記録リスト（最新順）
+     */
+    @Query("SELECT t FROM Tracking t WHERE t.cargoId = :cargoId "
+            + "AND (t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.trackingId < :trackingId)) "
+            + "ORDER BY t.timestamp DESC, t.trackingId DESC")
+    List<Tracking> findHistoryAfter(@Param("cargoId") String cargoId,
+                                    @Param("timestamp") LocalDateTime timestamp,
+                                    @Param("trackingId") String trackingId,
+                                    Pageable pageable);
+
+    /**
+     * 貨物IDによる追跡履歴の先頭ページ取得（射影）
+     * 
+     * @param cargoId 貨物ID
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @param type 射影先のクラス（コンストラクタの引数の列のみを取得）
+     * @param <T> 射影先の型
+     * @return 指定された貨物IDの追跡記録リスト（最新順）
+     */
+    <T> List<T> findByCargoIdOrderByTimestampDescTrackingIdDesc(String cargoId, Pageable pageable, Class<T> type);
+
+    /**
+     * 貨物IDによる追跡履歴の次ページ取得（一覧項目の列のみ）
+     * 
+     * @param cargoId 貨物ID
+     * @param timestamp 前ページ最終行のタイムスタンプ
+     * @param trackingId 前ページ最終行の追跡ID
+     * @param pageable 取得件数（OFFSETは常に0）
+     * @return 指定された位置より古い追跡記録リスト（最新順）
+     */
+    @Query("SELECT new com.aircargo.dto.TrackingSummary(t.trackingId, t.cargoId, t.location, t.status, t.timestamp) "
+            + "FROM Tracking t WHERE t.cargoId = :cargoId "
+            + "AND (t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.trackingId < :trackingId)) "
+            + "ORDER BY t.timestamp DESC, t.trackingId DESC")
+    List<TrackingSummary> findHistorySummariesAfter(@Param("cargoId") String cargoId,
+                                                    @Param("timestamp") LocalDateTime timestamp,
+                                                    @Param("trackingId") String trackingId,
+                                                    Pageable pageable);
+}
@@ -0,0 +1,215 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.BulkCreateResult;
+import com.aircargo.dto.BulkItemResult;
+import com.aircargo.entity.Cargo;
+import com.aircargo.id.IdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 貨物一括作成サービスクラス
+ *
+ * 大量の貨物を、JDBCバッチINSERTでまとめて登録します。
+ * 登録はバッチサイズ単位のチャンクごとに独立したトランザクションで実行し、
+ * チャンクが失敗した場合はそのチャンクのみ1件ずつ再実行して、失敗した項目を特定します。
+ * そのため、一部の項目の失敗によって一括作成全体が失敗することはありません。
+ */
+@Service
+public class CargoBulkService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO CARGO (CARGO_ID, FLIGHT_NUMBER, ORIGIN_AIRPORT, DESTINATION_AIRPORT, CARGO_TYPE, WEIGHT, VOLUME, "
+        + "STATUS, SHIPPER_NAME, CONSIGNEE_NAME, CREATED_DATE, UPDATED_DATE, VERSION) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdGenerator idGenerator;
+    private final CargoNameIndex cargoNameIndex;
+    private final StatusCounters statusCounters;
+    private final int batchSize;
+    private final int maxItems;
+
+    /**
+     * コンストラクタ
+     *
+     * @param jdbcTemplate JDBCテンプレート
+     * @param transactionManager トランザクションマネージャー
+     * @param idGenerator ID生成
+     * @param cargoNameIndex 貨物名称索引
+     * @param statusCounters ステータス別件数カウンター
+     * @param batchSize 1回のバッチ実行・1トランザクションあたりの件数
+     * @param maxItems 1リクエストで受け付ける最大件数
+     */
+    public CargoBulkService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            IdGenerator idGenerator,
+                            CargoNameIndex cargoNameIndex,
+                            StatusCounters statusCounters,
+                            @Value("${aircargo.bulk.batch-size:500}") int batchSize,
+                            @Value("${aircargo.bulk.max-items:10000}") int maxItems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.idGenerator = idGenerator;
+        this.cargoNameIndex = cargoNameIndex;
+        this.statusCounters = statusCounters;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * 貨物の一括作成
+     *
+     * @param cargos 作成する貨物情報のリスト
+     * @return 一括作成の結果（項目別の成否を含む）
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     */
+    public BulkCreateResult createCargos(List<Cargo> cargos) {
+        if (cargos.size() > maxItems) {
+            throw new IllegalArgumentException("一括作成の件数が上限を超えています: " + cargos.size() + " > " + maxItems);
+        }
+        long start = System.nanoTime();
+        BulkItemResult[] results = new BulkItemResult[cargos.size()];
+        List<Integer> chunk = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < cargos.size(); i++) {
+            Cargo cargo = cargos.get(i);
+            String missing = missingField(cargo);
+            if (missing != null) {
+                results[i] = BulkItemResult.failure(i, "必須項目が未入力です: " + missing);
+                continue;
+            }
+            prepare(cargo);
+            chunk.add(i);
+            if (chunk.size() == batchSize) {
+                insertChunk(cargos, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(cargos, chunk, results);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        int created = (int) Arrays.stream(results).filter(BulkItemResult::isSuccess).count();
+        double rowsPerSecond = elapsedNanos > 0 ? created * 1_000_000_000d / elapsedNanos : 0;
+        return new BulkCreateResult(cargos.size(), created, cargos.size() - created,
+            elapsedNanos / 1_000_000, rowsPerSecond, Arrays.asList(results));
+    }
+
+    /**
+     * チャンクのバッチINSERT
+     * バッチが失敗した場合はロールバックし、1件ずつ再実行して失敗項目を特定します。
+     */
+    private void insertChunk(List<Cargo> cargos, List<Integer> chunk, BulkItemResult[] results) {
+        List<Cargo> rows = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            rows.add(cargos.get(index));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), CargoBulkService::bind));
+            for (Integer index : chunk) {
+                results[index] = BulkItemResult.success(index, cargos.get(index).getCargoId());
+                cargoNameIndex.putAfterCommit(cargos.get(index));
+                statusCounters.recordCreated(StatusCounters.Table.CARGO, cargos.get(index).getStatus());
+            }
+        } catch (DataAccessException batchFailure) {
+            for (Integer index : chunk) {
+                Cargo cargo = cargos.get(index);
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, cargo)));
+                    results[index] = BulkItemResult.success(index, cargo.getCargoId());
+                    cargoNameIndex.putAfterCommit(cargo);
+                    statusCounters.recordCreated(StatusCounters.Table.CARGO, cargo.getStatus());
+                } catch (DataAccessException e) {
+                    results[index] = BulkItemResult.failure(index, e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 作成時に設定する項目の設定（CargoService#createCargoと同じ初期値）
+     */
+    private void prepare(Cargo cargo) {
+        LocalDateTime now = LocalDateTime.now();
+        cargo.setCargoId(idGenerator.nextId("C"));
+        cargo.setStatus("PENDING");
+        cargo.setCreatedDate(now);
+        cargo.setUpdatedDate(now);
+        cargo.setVersion(1);
+    }
+
+    /**
+     * INSERT文へのパラメータ設定
+     */
+    private static void bind(PreparedStatement ps, Cargo cargo) throws SQLException {
+        ps.setString(1, cargo.getCargoId());
+        ps.setString(2, cargo.getFlightNumber());
+        ps.setString(3, cargo.getOriginAirport());
+        ps.setString(4, cargo.getDestinationAirport());
+        ps.setString(5, cargo.getCargoType());
+        ps.setBigDecimal(6, cargo.getWeight());
+        ps.setBigDecimal(7, cargo.getVolume());
+        ps.setString(8, cargo.getStatus());
+        ps.setString(9, cargo.getShipperName());
+        ps.setString(10, cargo.getConsigneeName());
+        ps.setTimestamp(11, Timestamp.valueOf(cargo.getCreatedDate()));
+        ps.setTimestamp(12, Timestamp.valueOf(cargo.getUpdatedDate()));
+        ps.setInt(13, cargo.getVersion());
+    }
+
+    /**
+     * 必須項目（CARGOテーブルのNOT NULL列）の未入力チェック
+     *
+     * @param cargo 貨物情報
+     * @return 未入力の項目名（すべて入力済みの場合はnull）
+     */
+    private static String missingField(Cargo cargo) {
+        if (cargo == null) {
+            return "cargo";
+        }
+        if (cargo.getFlightNumber() == null) {
+            return "flightNumber";
+        }
+        if (cargo.getOriginAirport() == null) {
+            return "originAirport";
+        }
+        if (cargo.getDestinationAirport() == null) {
+            return "destinationAirport";
+        }
+        if (cargo.getCargoType() == null) {
+            return "cargoType";
+        }
+        if (cargo.getWeight() == null) {
+            return "weight";
+        }
+        if (cargo.getVolume() == null) {
+            return "volume";
+        }
+        if (cargo.getShipperName() == null) {
+            return "shipperName";
+        }
+        if (cargo.getConsigneeName() == null) {
+            return "consigneeName";
+        }
+        return null;
+    }
+}
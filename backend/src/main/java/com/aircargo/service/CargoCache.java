@@ -0,0 +1,171 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Cargo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 貨物キャッシュクラス
+ *
+ * 貨物IDによる貨物取得の結果をプロセス内にキャッシュするリードスルーキャッシュです。
+ * 件数上限とTTLを持ち、追い出しはCaffeineのW-TinyLFUで行います。
+ * 更新・削除はトランザクションのコミット後に反映し、@Versionの値が新しい場合のみエントリを置き換えるため、
+ * 更新と並行して読み込まれた古い貨物情報で新しいエントリが上書きされることはありません。
+ * ヒット・ミス・追い出し件数は cache.gets、cache.evictions メトリクス（cache=cargo）として公開されます。
+ */
+@Component
+public class CargoCache {
+
+    /**
+     * 削除済みを表すエントリのバージョン（どのバージョンの読み込み結果にも置き換えられない）
+     */
+    private static final int DELETED_VERSION = Integer.MAX_VALUE;
+
+    private final Cache<String, Entry> cache;
+
+    /**
+     * コンストラクタ
+     *
+     * @param meterRegistry メトリクスレジストリ
+     * @param maxSize キャッシュする最大件数
+     * @param ttlSeconds エントリの有効期間（秒）
+     */
+    public CargoCache(MeterRegistry meterRegistry,
+                      @Value("${aircargo.cache.cargo.max-size:10000}") long maxSize,
+                      @Value("${aircargo.cache.cargo.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cargo");
+    }
+
+    /**
+     * 貨物の取得（キャッシュにない場合はローダーで読み込んでキャッシュ）
+     *
+     * @param cargoId 貨物ID
+     * @param loader キャッシュにない場合の読み込み処理
+     * @return 貨物情報（Optional）
+     */
+    public Optional<Cargo> get(String cargoId, Function<String, Optional<Cargo>> loader) {
+        Entry entry = cache.getIfPresent(cargoId);
+        if (entry != null) {
+            return Optional.ofNullable(entry.cargo).map(CargoCache::copy);
+        }
+        Optional<Cargo> loaded = loader.apply(cargoId);
+        loaded.ifPresent(this::putIfNewer);
+        return loaded;
+    }
+
+    /**
+     * 複数貨物の取得（キャッシュにない貨物のみローダーでまとめて読み込んでキャッシュ）
+     * 削除済みとして記録されている貨物は、読み込まずに結果から除きます。
+     *
+     * @param cargoIds 貨物IDのリスト
+     * @param loader キャッシュにない貨物IDのリストをまとめて読み込む処理
+     * @return 貨物IDごとの貨物情報（存在しない貨物は含まない）
+     */
+    public Map<String, Cargo> getAll(Collection<String> cargoIds, Function<List<String>, Collection<Cargo>> loader) {
+        Map<String, Cargo> result = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String cargoId : cargoIds) {
+            Entry entry = cache.getIfPresent(cargoId);
+            if (entry == null) {
+                misses.add(cargoId);
+            } else if (entry.cargo != null) {
+                result.put(cargoId, copy(entry.cargo));
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Cargo cargo : loader.apply(misses)) {
+                putIfNewer(cargo);
+                result.put(cargo.getCargoId(), cargo);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 貨物の反映（コミット後）
+     * トランザクション内で呼ばれた場合はコミット後に、それ以外は即時に反映します。
+     * コミット時のフラッシュで加算されたバージョンで反映されます。
+     *
+     * @param cargo 作成・更新された貨物
+     */
+    public void putAfterCommit(Cargo cargo) {
+        afterCommit(() -> putIfNewer(cargo));
+    }
+
+    /**
+     * 貨物の削除の反映（コミット後）
+     * 削除済みとして記録し、削除前に読み込まれた貨物情報で復活しないようにします。
+     *
+     * @param cargoId 削除された貨物ID
+     */
+    public void evictAfterCommit(String cargoId) {
+        afterCommit(() -> cache.put(cargoId, new Entry(null, DELETED_VERSION)));
+    }
+
+    /**
+     * 現在のバージョン以上の場合のみエントリを置き換え
+     */
+    private void putIfNewer(Cargo cargo) {
+        int version = cargo.getVersion() != null ? cargo.getVersion() : 0;
+        Cargo snapshot = copy(cargo);
+        cache.asMap().compute(cargo.getCargoId(), (cargoId, current) ->
+            current == null || current.version <= version ? new Entry(snapshot, version) : current);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 呼び出し元による変更がキャッシュに影響しないよう、貨物情報を複製
+     */
+    private static Cargo copy(Cargo cargo) {
+        return new Cargo(cargo.getCargoId(), cargo.getFlightNumber(), cargo.getOriginAirport(),
+            cargo.getDestinationAirport(), cargo.getCargoType(), cargo.getWeight(), cargo.getVolume(),
+            cargo.getStatus(), cargo.getShipperName(), cargo.getConsigneeName(), cargo.getCreatedDate(),
+            cargo.getUpdatedDate(), cargo.getVersion());
+    }
+
+    /**
+     * キャッシュエントリ（cargoがnullの場合は削除済み）
+     */
+    private static final class Entry {
+
+        private final Cargo cargo;
+        private final int version;
+
+        private Entry(Cargo cargo, int version) {
+            this.cargo = cargo;
+            this.version = version;
+        }
+    }
+}
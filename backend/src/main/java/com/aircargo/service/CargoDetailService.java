@@ -0,0 +1,144 @@
+package com.aircargo.service;
+
+import com.aircargo.datasource.ReplicaRouting;
+import com.aircargo.dto.CargoDetail;
+import com.aircargo.dto.CursorPage;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.entity.Outbound;
+import com.aircargo.entity.Tracking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 貨物詳細サービスクラス
+ *
+ * 貨物と、その入荷記録・出荷記録・追跡履歴を1回の呼び出しで取得します。
+ * 入荷記録・出荷記録・追跡履歴の読み取りは互いに独立しているため、専用のスレッドプールでそれぞれ別の読み取り専用トランザクションとして並行に実行し、
+ * 貨物自体はキャッシュから呼び出し元のスレッドで取得します。応答時間は各読み取りの合計ではなく最も遅い読み取りの時間になります。
+ * スレッド数と待ち行列は上限を設けており、待ち行列が満杯の場合は呼び出し元のスレッドで順に実行します（応答は遅くなりますが失敗しません）。
+ */
+@Service
+public class CargoDetailService {
+
+    private final CargoService cargoService;
+    private final int trackingLimit;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * コンストラクタ
+     *
+     * @param cargoService 貨物管理サービス
+     * @param threads 並行に読み取るスレッドの最大数（DBコネクションプールのサイズ以下とする）
+     * @param queueCapacity 実行待ちの読み取りの最大数
+     * @param trackingLimit 詳細に含める追跡履歴の件数の既定値
+     * @param timeoutMillis 読み取りの完了を待つ最大時間（ミリ秒）
+     */
+    public CargoDetailService(CargoService cargoService,
+                              @Value("${aircargo.detail.threads:8}") int threads,
+                              @Value("${aircargo.detail.queue-capacity:100}") int queueCapacity,
+                              @Value("${aircargo.detail.tracking-limit:20}") int trackingLimit,
+                              @Value("${aircargo.detail.timeout-ms:5000}") long timeoutMillis) {
+        this.cargoService = cargoService;
+        this.trackingLimit = trackingLimit;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "cargo-detail-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * スレッドプールの停止
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 貨物詳細の取得
+     *
+     * @param cargoId 貨物ID
+     * @param limit 追跡履歴の件数（0以下の場合は既定値、上限はページサイズの上限）
+     * @return 貨物詳細（貨物が存在しない場合は空）
+     * @throws IllegalStateException 読み取りが時間内に完了しない場合
+     */
+    public Optional<CargoDetail> getCargoDetail(String cargoId, int limit) {
+        int size = limit > 0 ? limit : trackingLimit;
+        Future<List<Inbound>> inbounds = submit(() -> cargoService.getInboundsByCargoId(cargoId));
+        Future<List<Outbound>> outbounds = submit(() -> cargoService.getOutboundsByCargoId(cargoId));
+        Future<CursorPage<Tracking>> tracking = submit(() -> cargoService.getTrackingHistory(cargoId, null, size));
+
+        Optional<Cargo> cargo;
+        try {
+            cargo = cargoService.getCargoById(cargoId);
+        } catch (RuntimeException e) {
+            cancel(inbounds, outbounds, tracking);
+            throw e;
+        }
+        if (!cargo.isPresent()) {
+            cancel(inbounds, outbounds, tracking);
+            return Optional.empty();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            return Optional.of(new CargoDetail(cargo.get(), await(inbounds, deadline), await(outbounds, deadline),
+                await(tracking, deadline)));
+        } catch (RuntimeException e) {
+            cancel(inbounds, outbounds, tracking);
+            throw e;
+        }
+    }
+
+    /**
+     * 読み取りの投入
+     * 呼び出し元のスレッドのプライマリの指定（書き込み直後の読み取り）を実行スレッドに引き継ぎます。
+     */
+    private <T> Future<T> submit(Supplier<T> read) {
+        Supplier<T> task = ReplicaRouting.isPrimaryForced() ? () -> ReplicaRouting.onPrimary(read) : read;
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    private static <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("貨物詳細の取得がタイムアウトしました", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("貨物詳細の取得が中断されました", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("貨物詳細の取得に失敗しました", e.getCause());
+        }
+    }
+
+    private static void cancel(Future<?>... futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.aircargo.service;
+
+import com.aircargo.datasource.ReplicaRouting;
+import com.aircargo.dto.MultiGetResult;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.entity.Outbound;
+import com.aircargo.repository.CargoRepository;
+import com.aircargo.repository.InboundRepository;
+import com.aircargo.repository.OutboundRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 貨物一括取得サービスクラス
+ *
+ * 複数の貨物IDを指定した貨物・入荷記録・出荷記録の取得を、貨物IDごとの取得の繰り返しではなく
+ * 一定件数ごとのIN句によるまとめた取得で行います。
+ * 最後のチャンクは末尾の貨物IDを繰り返して同じ件数に揃えるため、IN句のSQL文は件数によらず1種類となり、
+ * DB2のパッケージキャッシュ・JDBCのステートメントキャッシュで同じアクセスプランが再利用されます。
+ * 貨物はキャッシュにある場合はDBにアクセスせずに返し、キャッシュにない貨物のみをプライマリから読み込みます。
+ */
+@Service
+@Transactional(readOnly = true)
+public class CargoLookupService {
+
+    private final CargoRepository cargoRepository;
+    private final InboundRepository inboundRepository;
+    private final OutboundRepository outboundRepository;
+    private final CargoCache cargoCache;
+    private final int maxIds;
+    private final int chunkSize;
+
+    /**
+     * コンストラクタ
+     *
+     * @param cargoRepository 貨物リポジトリ
+     * @param inboundRepository 入荷リポジトリ
+     * @param outboundRepository 出荷リポジトリ
+     * @param cargoCache 貨物キャッシュ
+     * @param maxIds 1リクエストで指定できる貨物IDの最大数
+     * @param chunkSize 1回のIN句に含める貨物IDの数
+     */
+    public CargoLookupService(CargoRepository cargoRepository,
+                              InboundRepository inboundRepository,
+                              OutboundRepository outboundRepository,
+                              CargoCache cargoCache,
+                              @Value("${aircargo.lookup.max-ids:1000}") int maxIds,
+                              @Value("${aircargo.lookup.chunk-size:100}") int chunkSize) {
+        this.cargoRepository = cargoRepository;
+        this.inboundRepository = inboundRepository;
+        this.outboundRepository = outboundRepository;
+        this.cargoCache = cargoCache;
+        this.maxIds = maxIds;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 複数貨物の一括取得
+     * 重複した貨物IDは1件にまとめます。
+     *
+     * @param cargoIds 貨物IDのリスト
+     * @return 見つかった貨物（指定順）と見つからなかった貨物ID
+     * @throws IllegalArgumentException 貨物IDの数が上限を超える場合
+     */
+    public MultiGetResult<Cargo> getCargos(List<String> cargoIds) {
+        List<String> ids = distinct(cargoIds);
+        // レプリカの遅延で古い内容をキャッシュしないよう、キャッシュへの読み込みはプライマリから行う
+        Map<String, Cargo> found = cargoCache.getAll(ids, misses ->
+            ReplicaRouting.onPrimary(() -> findInChunks(misses, cargoRepository::findAllById)));
+
+        List<Cargo> items = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Cargo cargo = found.get(id);
+            if (cargo != null) {
+                items.add(cargo);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new MultiGetResult<>(items, missing);
+    }
+
+    /**
+     * 複数貨物の入荷記録の一括取得
+     *
+     * @param cargoIds 貨物IDのリスト
+     * @return 入荷記録（指定された貨物IDの順）と入荷記録がない貨物ID
+     * @throws IllegalArgumentException 貨物IDの数が上限を超える場合
+     */
+    public MultiGetResult<Inbound> getInboundsByCargoIds(List<String> cargoIds) {
+        List<String> ids = distinct(cargoIds);
+        return groupByCargoId(ids, findInChunks(ids, inboundRepository::findByCargoIdIn), Inbound::getCargoId);
+    }
+
+    /**
+     * 複数貨物の出荷記録の一括取得
+     *
+     * @param cargoIds 貨物IDのリスト
+     * @return 出荷記録（指定された貨物IDの順）と出荷記録がない貨物ID
+     * @throws IllegalArgumentException 貨物IDの数が上限を超える場合
+     */
+    public MultiGetResult<Outbound> getOutboundsByCargoIds(List<String> cargoIds) {
+        List<String> ids = distinct(cargoIds);
+        return groupByCargoId(ids, findInChunks(ids, outboundRepository::findByCargoIdIn), Outbound::getCargoId);
+    }
+
+    /**
+     * 重複を除いた貨物IDのリスト（指定順）
+     */
+    private List<String> distinct(List<String> cargoIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(cargoIds));
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("貨物IDは" + maxIds + "件以内で指定してください: " + ids.size());
+        }
+        return ids;
+    }
+
+    /**
+     * チャンクごとのIN句による取得
+     * 最後のチャンクは末尾の貨物IDを繰り返してチャンクサイズに揃えます（IN句の重複値は結果に影響しない）。
+     */
+    private <T> List<T> findInChunks(List<String> ids, Function<List<String>, ? extends Iterable<T>> finder) {
+        List<T> rows = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = new ArrayList<>(chunkSize);
+            chunk.addAll(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+            String last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < chunkSize) {
+                chunk.add(last);
+            }
+            finder.apply(chunk).forEach(rows::add);
+        }
+        return rows;
+    }
+
+    /**
+     * 貨物IDごとの並べ替え
+     */
+    private static <T> MultiGetResult<T> groupByCargoId(List<String> ids, Collection<T> rows,
+                                                        Function<T, String> cargoIdOf) {
+        Map<String, List<T>> byCargoId = new LinkedHashMap<>();
+        for (T row : rows) {
+            byCargoId.computeIfAbsent(cargoIdOf.apply(row), cargoId -> new ArrayList<>()).add(row);
+        }
+        List<T> items = new ArrayList<>(rows.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            List<T> matched = byCargoId.getOrDefault(id, Collections.emptyList());
+            if (matched.isEmpty()) {
+                missing.add(id);
+            }
+            items.addAll(matched);
+        }
+        return new MultiGetResult<>(items, missing);
+    }
+}
@@ -0,0 +1,568 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Cargo;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 貨物名称索引クラス
+ *
+ * 荷送人名・荷受人名の部分一致検索のための、メモリ上のトライグラム（3文字単位）索引です。
+ * 検索文字列の各トライグラムを含む貨物の集合のうち最も小さい集合を候補とし、
+ * メモリ上の名称で部分一致を確認した貨物IDのみを返します。3文字未満の検索文字列はメモリ上の名称を順に照合します。
+ * 大文字・小文字は区別しません（DBの UPPER(x) LIKE '%...%' と同じ判定）。
+ * <p>
+ * メモリ使用量を抑えるため、貨物IDは両項目で共有する連番（序数）に対応付け、トライグラムごとの貨物の集合は
+ * 序数のソート済みint配列（1件4バイト）で保持します。索引の件数が上限（aircargo.search.index.max-entries）に
+ * 達した場合は索引を破棄して {@link #isReady()} をfalseとし、次の再構築まで検索はDBで行われます。
+ * 件数は /actuator/metrics/aircargo.search.index.entries、aircargo.search.index.postings で確認できます。
+ * <p>
+ * 索引は起動時にCARGOテーブルを前方向のカーソルで1行ずつ読み込んで構築し（テーブル全体をメモリに読み込まない）、
+ * 以降はCargoServiceによる作成・更新・削除をコミット後に反映します。
+ * 構築が完了するまで {@link #isReady()} はfalseを返し、検索はDBで行われます。
+ */
+@Slf4j
+@Component
+public class CargoNameIndex {
+
+    /**
+     * 索引対象の名称項目
+     */
+    public enum Field {
+        SHIPPER,
+        CONSIGNEE
+    }
+
+    private static final int GRAM = 3;
+
+    private static final String REBUILD_SQL = "SELECT CARGO_ID, SHIPPER_NAME, CONSIGNEE_NAME FROM CARGO";
+
+    /**
+     * 構築時に1回の書き込みロックで反映する行数
+     */
+    private static final int REBUILD_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEntries;
+    private final boolean enabled;
+    private final Map<Field, NameIndex> indexes = new EnumMap<>(Field.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 貨物ID → 序数（貨物ID順）
+     */
+    private final TreeMap<String, Integer> ordinals = new TreeMap<>();
+
+    /**
+     * 序数 → 貨物ID（削除された序数はnull）
+     */
+    private final List<String> cargoIds = new ArrayList<>();
+
+    /**
+     * 再利用する削除済みの序数
+     */
+    private final SortedInts freeOrdinals = new SortedInts();
+
+    /**
+     * 索引の件数が上限に達して破棄した場合true（次の再構築まで反映しない）
+     */
+    private boolean full;
+    private volatile int entryCount;
+
+    /**
+     * 構築中に作成・更新・削除された貨物ID（構築時の読み込み結果で上書きしない）
+     */
+    private final Set<String> touchedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * コンストラクタ
+     *
+     * 共有のJdbcTemplateの設定を変更しないよう、フェッチサイズを設定した専用のJdbcTemplateを作成します。
+     *
+     * @param dataSource データソース
+     * @param meterRegistry メトリクスの登録先
+     * @param fetchSize 構築時に1回のラウンドトリップで取得する行数
+     * @param maxEntries 索引に保持する貨物の最大件数（超えた場合は索引を破棄してDBで検索）
+     * @param enabled 索引を使用するかどうか（falseの場合は常にDBで検索）
+     */
+    public CargoNameIndex(DataSource dataSource,
+                          MeterRegistry meterRegistry,
+                          @Value("${aircargo.search.index.fetch-size:1000}") int fetchSize,
+                          @Value("${aircargo.search.index.max-entries:200000}") int maxEntries,
+                          @Value("${aircargo.search.index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.maxEntries = maxEntries;
+        this.enabled = enabled;
+        for (Field field : Field.values()) {
+            indexes.put(field, new NameIndex());
+        }
+        meterRegistry.gauge("aircargo.search.index.entries", this, index -> index.entryCount);
+        meterRegistry.gauge("aircargo.search.index.postings", this, CargoNameIndex::postingCount);
+    }
+
+    /**
+     * 起動完了時の索引構築（バックグラウンドで実行）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "cargo-name-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * CARGOテーブルからの索引の再構築
+     * 構築中も作成・更新・削除は反映され、構築完了後に索引が使用可能になります。
+     * 構築に失敗した場合、索引は使用不可のまま（DBで検索）となります。
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+            full = false;
+            touchedDuringRebuild.clear();
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.nanoTime();
+        long[] rows = {0};
+        List<String[]> chunk = new ArrayList<>(REBUILD_CHUNK);
+        try {
+            jdbcTemplate.query(REBUILD_SQL, rs -> {
+                chunk.add(new String[] {rs.getString(1), rs.getString(2), rs.getString(3)});
+                rows[0]++;
+                if (chunk.size() == REBUILD_CHUNK) {
+                    applyRebuildChunk(chunk);
+                    chunk.clear();
+                }
+            });
+            applyRebuildChunk(chunk);
+        } catch (IndexFullException e) {
+            // 上限に達した時点で索引は破棄済み
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        } catch (RuntimeException e) {
+            log.error("貨物名称索引の構築に失敗しました。検索はDBで行います", e);
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+            ready = !full;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("貨物名称索引を構築しました（{}件、{}ミリ秒）", rows[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 索引が使用可能かどうか
+     *
+     * @return 構築が完了し、件数が上限に達していない場合true
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 貨物の名称の反映（コミット後）
+     * トランザクション内で呼ばれた場合はコミット後に、それ以外は即時に反映します。
+     *
+     * @param cargo 作成・更新された貨物
+     */
+    public void putAfterCommit(Cargo cargo) {
+        if (!enabled) {
+            return;
+        }
+        String cargoId = cargo.getCargoId();
+        String shipperName = cargo.getShipperName();
+        String consigneeName = cargo.getConsigneeName();
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                markTouched(cargoId);
+                put(cargoId, shipperName, consigneeName);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 貨物の削除の反映（コミット後）
+     *
+     * @param cargoId 削除された貨物ID
+     */
+    public void removeAfterCommit(String cargoId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                markTouched(cargoId);
+                remove(cargoId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 名称の部分一致検索
+     *
+     * @param field 検索する名称項目
+     * @param query 検索文字列
+     * @param afterKey この貨物IDより後の貨物のみを返す（先頭からの場合は空文字）
+     * @param limit 返す最大件数
+     * @return 名称に検索文字列を含む貨物IDのリスト（貨物ID順）
+     */
+    public List<String> search(Field field, String query, String afterKey, int limit) {
+        String normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>(Math.min(Math.max(limit, 0), 64));
+            if (limit <= 0 || full) {
+                return result;
+            }
+            NameIndex index = indexes.get(field);
+            if (normalized.length() < GRAM) {
+                // トライグラムを作れない短い検索文字列は名称を貨物ID順に照合
+                for (Map.Entry<String, Integer> entry : ordinals.tailMap(afterKey, false).entrySet()) {
+                    String name = index.name(entry.getValue());
+                    if (name != null && name.contains(normalized)) {
+                        result.add(entry.getKey());
+                        if (result.size() == limit) {
+                            break;
+                        }
+                    }
+                }
+                return result;
+            }
+
+            // 最も件数の少ないトライグラムの貨物を候補とし、開始キーより後の一致のうち貨物ID順で先頭のlimit件を残す
+            SortedInts candidates = index.smallestPostings(normalized);
+            if (candidates == null) {
+                return result;
+            }
+            PriorityQueue<String> top = new PriorityQueue<>(Collections.reverseOrder());
+            for (int i = 0; i < candidates.size; i++) {
+                int ordinal = candidates.values[i];
+                String cargoId = cargoIds.get(ordinal);
+                if (cargoId.compareTo(afterKey) <= 0 || (top.size() == limit && cargoId.compareTo(top.peek()) >= 0)) {
+                    continue;
+                }
+                if (index.name(ordinal).contains(normalized)) {
+                    top.add(cargoId);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            result.addAll(top);
+            Collections.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 構築時の読み込み結果の反映（構築開始後に作成・更新・削除された貨物は除く）
+     *
+     * @throws IndexFullException 索引の件数が上限に達した場合
+     */
+    private void applyRebuildChunk(List<String[]> chunk) {
+        lock.writeLock().lock();
+        try {
+            for (String[] row : chunk) {
+                if (touchedDuringRebuild.contains(row[0])) {
+                    continue;
+                }
+                put(row[0], row[1], row[2]);
+            }
+            if (full) {
+                throw new IndexFullException();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 貨物の名称の反映（書き込みロックの下で呼び出す）
+     * 新しい貨物で件数が上限に達した場合は索引を破棄し、次の再構築まで検索をDBで行います。
+     */
+    private void put(String cargoId, String shipperName, String consigneeName) {
+        if (full) {
+            return;
+        }
+        Integer ordinal = ordinals.get(cargoId);
+        if (ordinal == null) {
+            if (ordinals.size() >= maxEntries) {
+                log.warn("貨物名称索引の件数が上限（{}件）に達したため索引を破棄しました。再構築まで検索はDBで行います", maxEntries);
+                full = true;
+                ready = false;
+                clear();
+                return;
+            }
+            ordinal = allocate(cargoId);
+            ordinals.put(cargoId, ordinal);
+            entryCount = ordinals.size();
+        }
+        indexes.get(Field.SHIPPER).put(ordinal, shipperName);
+        indexes.get(Field.CONSIGNEE).put(ordinal, consigneeName);
+    }
+
+    /**
+     * 貨物の削除の反映（書き込みロックの下で呼び出す）
+     */
+    private void remove(String cargoId) {
+        Integer ordinal = ordinals.remove(cargoId);
+        if (ordinal == null) {
+            return;
+        }
+        indexes.values().forEach(index -> index.remove(ordinal));
+        cargoIds.set(ordinal, null);
+        freeOrdinals.add(ordinal);
+        entryCount = ordinals.size();
+    }
+
+    private int allocate(String cargoId) {
+        if (freeOrdinals.size > 0) {
+            int ordinal = freeOrdinals.values[--freeOrdinals.size];
+            cargoIds.set(ordinal, cargoId);
+            return ordinal;
+        }
+        cargoIds.add(cargoId);
+        return cargoIds.size() - 1;
+    }
+
+    private void clear() {
+        ordinals.clear();
+        cargoIds.clear();
+        freeOrdinals.size = 0;
+        freeOrdinals.values = new int[SortedInts.INITIAL_CAPACITY];
+        indexes.values().forEach(NameIndex::clear);
+        entryCount = 0;
+    }
+
+    private long postingCount() {
+        return indexes.values().stream().mapToLong(index -> index.postingCount).sum();
+    }
+
+    private void markTouched(String cargoId) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(cargoId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 大文字・小文字を区別しない比較のための正規化
+     *
+     * @param value 文字列
+     * @return 大文字に変換した文字列
+     */
+    static String normalize(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * トライグラムを1つのlong値に変換（1文字16ビット × 3文字）
+     */
+    private static long gram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+    }
+
+    /**
+     * 1つの名称項目の索引
+     * 呼び出し元（CargoNameIndex）のロックの下で操作されます。
+     */
+    private static final class NameIndex {
+
+        /**
+         * 序数 → 正規化した名称
+         */
+        private final List<String> names = new ArrayList<>();
+
+        /**
+         * トライグラム → そのトライグラムを名称に含む貨物の序数（昇順）
+         */
+        private final Map<Long, SortedInts> postings = new HashMap<>();
+
+        private volatile long postingCount;
+
+        private String name(int ordinal) {
+            return ordinal < names.size() ? names.get(ordinal) : null;
+        }
+
+        private void put(int ordinal, String name) {
+            remove(ordinal);
+            if (name == null) {
+                return;
+            }
+            String normalized = normalize(name);
+            while (names.size() <= ordinal) {
+                names.add(null);
+            }
+            names.set(ordinal, normalized);
+            long added = 0;
+            for (int i = 0; i + GRAM <= normalized.length(); i++) {
+                if (postings.computeIfAbsent(gram(normalized, i), key -> new SortedInts()).add(ordinal)) {
+                    added++;
+                }
+            }
+            postingCount += added;
+        }
+
+        private void remove(int ordinal) {
+            String previous = name(ordinal);
+            if (previous == null) {
+                return;
+            }
+            names.set(ordinal, null);
+            long removed = 0;
+            for (int i = 0; i + GRAM <= previous.length(); i++) {
+                long key = gram(previous, i);
+                SortedInts ordinals = postings.get(key);
+                if (ordinals != null && ordinals.remove(ordinal)) {
+                    removed++;
+                    if (ordinals.size == 0) {
+                        postings.remove(key);
+                    }
+                }
+            }
+            postingCount -= removed;
+        }
+
+        /**
+         * 検索文字列のトライグラムのうち最も件数の少ない貨物の集合
+         *
+         * @return 集合（いずれかのトライグラムを含む貨物がない場合はnull）
+         */
+        private SortedInts smallestPostings(String query) {
+            SortedInts smallest = null;
+            for (int i = 0; i + GRAM <= query.length(); i++) {
+                SortedInts ordinals = postings.get(gram(query, i));
+                if (ordinals == null) {
+                    return null;
+                }
+                if (smallest == null || ordinals.size < smallest.size) {
+                    smallest = ordinals;
+                }
+            }
+            return smallest;
+        }
+
+        private void clear() {
+            names.clear();
+            postings.clear();
+            postingCount = 0;
+        }
+    }
+
+    /**
+     * 重複のない昇順のint配列
+     */
+    private static final class SortedInts {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private boolean add(int value) {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+            size++;
+            return true;
+        }
+
+        private boolean remove(int value) {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+
+    /**
+     * 構築中に索引の件数が上限に達したことを示す例外（読み込みを中断するため）
+     */
+    private static final class IndexFullException extends RuntimeException {
+
+        private IndexFullException() {
+            super(null, null, false, false);
+        }
+    }
+}
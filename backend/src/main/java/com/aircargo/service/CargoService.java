@@ -1,96 +1,287 @@
 package com.aircargo.service;
 
+import com.aircargo.datasource.ReplicaRouting;
+import com.aircargo.dto.CargoSummary;
+import com.aircargo.dto.CursorPage;
+import com.aircargo.dto.InboundSummary;
+import com.aircargo.dto.OutboundSummary;
+import com.aircargo.dto.TrackingSummary;
+import com.aircargo.id.IdGenerator;
+import com.aircargo.jfr.CargoCreatedEvent;
+import com.aircargo.jfr.CargoStatusChangedEvent;
+import com.aircargo.jfr.InboundCreatedEvent;
+import com.aircargo.jfr.OutboundCreatedEvent;
+import com.aircargo.jfr.TrackingRecordedEvent;
 import com.aircargo.repository.CargoRepository;
 import com.aircargo.repository.InboundRepository;
 import com.aircargo.repository.OutboundRepository;
+import com.aircargo.repository.TrackingLatestRepository;
 import com.aircargo.repository.TrackingRepository;
 import com.aircargo.entity.Cargo;
 import com.aircargo.entity.Inbound;
 import com.aircargo.entity.Outbound;
 import com.aircargo.entity.Tracking;
+import com.aircargo.entity.TrackingLatest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 
 /**
  * 貨物管理サービスクラス
  * 
  * 貨物、入荷、出荷、追跡に関するビジネスロジックを提供します。
  * 各エンティティのCRUD操作、検索機能、ステータス管理などの機能を実装します。
+ * 貨物の作成・ステータス変更、入荷・出荷・追跡記録の作成は、JFRの記録で有効にした場合にJFRイベント（com.aircargo.jfr）として記録します。
+ * 取得・検索メソッドは読み取り専用トランザクションで実行し（Hibernateはスナップショットの保持とフラッシュを行わない）、
+ * 読み書きの振り分けが有効な場合はレプリカから読み込みます。
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CargoService {
 
+    /**
+     * 最新追跡の一括取得で指定できる貨物IDの最大数
+     */
+    public static final int MAX_LATEST_TRACKING_IDS = 1000;
+
+    /**
+     * 最新追跡の一括取得で1回のIN句に含める貨物IDの数
+     */
+    private static final int LATEST_TRACKING_CHUNK_SIZE = 100;
+
     private final CargoRepository cargoRepository;
     private final InboundRepository inboundRepository;
     private final OutboundRepository outboundRepository;
     private final TrackingRepository trackingRepository;
+    private final TrackingLatestRepository trackingLatestRepository;
+    private final TrackingIngestionService trackingIngestionService;
+    private final CargoCache cargoCache;
+    private final CargoNameIndex cargoNameIndex;
+    private final StatusCounters statusCounters;
+    private final StatusUpdater statusUpdater;
+    private final IdGenerator idGenerator;
+
+    /**
+     * 全貨物の取得（カーソルページング）
+     * 
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 貨物ID順の1ページ分の貨物
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Cargo> getAllCargos(String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<Cargo> rows = cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc(
+            afterKey(cursor), CursorPage.seek(size));
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
+    }
 
     /**
-     * 全貨物の取得
+     * 全貨物の一覧項目の取得（カーソルページング）
      * 
-     * @return 全貨物のリスト
+     * 一覧項目の列のみを取得し、エンティティとして管理しません。
+     * 
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 貨物ID順の1ページ分の貨物一覧項目
+     * @throws IllegalArgumentException カーソルが不正な場合
      */
-    public List<Cargo> getAllCargos() {
-        return cargoRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<CargoSummary> getAllCargoSummaries(String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<CargoSummary> rows = cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc(
+            afterKey(cursor), CursorPage.seek(size), CargoSummary.class);
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
     }
 
     /**
      * 貨物IDによる貨物取得
      * 
+     * キャッシュにある場合はDBにアクセスせずに返します。
+     * レプリカの遅延で古い内容をキャッシュしないよう、キャッシュへの読み込みはプライマリから行います。
+     * 
      * @param cargoId 貨物ID
      * @return 指定された貨物IDの貨物情報（Optional）
      */
+    @Transactional(readOnly = true)
     public Optional<Cargo> getCargoById(String cargoId) {
-        return cargoRepository.findById(cargoId);
+        return cargoCache.get(cargoId, id -> ReplicaRouting.onPrimary(() -> cargoRepository.findById(id)));
     }
 
     /**
-     * フライト番号による貨物検索
+     * フライト番号による貨物検索（カーソルページング）
      * 
      * @param flightNumber フライト番号
-     * @return 指定されたフライト番号の貨物リスト
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定されたフライト番号の1ページ分の貨物
+     * @throws IllegalArgumentException カーソルが不正な場合
      */
-    public List<Cargo> getCargosByFlightNumber(String flightNumber) {
-        return cargoRepository.findByFlightNumber(flightNumber);
+    @Transactional(readOnly = true)
+    public CursorPage<Cargo> getCargosByFlightNumber(String flightNumber, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<Cargo> rows = cargoRepository.findByFlightNumberAndCargoIdGreaterThanOrderByCargoIdAsc(
+            flightNumber, afterKey(cursor), CursorPage.seek(size));
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
     }
 
     /**
-     * ステータスによる貨物検索
+     * フライト番号による貨物一覧項目の検索（カーソルページング）
+     * 
+     * @param flightNumber フライト番号
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定されたフライト番号の1ページ分の貨物一覧項目
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CargoSummary> getCargoSummariesByFlightNumber(String flightNumber, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<CargoSummary> rows = cargoRepository.findByFlightNumberAndCargoIdGreaterThanOrderByCargoIdAsc(
+            flightNumber, afterKey(cursor), CursorPage.seek(size), CargoSummary.class);
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
+    }
+
+    /**
+     * ステータスによる貨物検索（カーソルページング）
      * 
      * @param status 貨物ステータス
-     * @return 指定されたステータスの貨物リスト
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定されたステータスの1ページ分の貨物
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Cargo> getCargosByStatus(String status, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<Cargo> rows = cargoRepository.findByStatusAndCargoIdGreaterThanOrderByCargoIdAsc(
+            status, afterKey(cursor), CursorPage.seek(size));
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
+    }
+
+    /**
+     * ステータスによる貨物一覧項目の検索（カーソルページング）
+     * 
+     * @param status 貨物ステータス
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定されたステータスの1ページ分の貨物一覧項目
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CargoSummary> getCargoSummariesByStatus(String status, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<CargoSummary> rows = cargoRepository.findByStatusAndCargoIdGreaterThanOrderByCargoIdAsc(
+            status, afterKey(cursor), CursorPage.seek(size), CargoSummary.class);
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
+    }
+
+    /**
+     * 荷送人名による貨物検索（カーソルページング）
+     * 
+     * 貨物名称索引が使用可能な場合は索引で候補を絞り込み、候補の貨物のみをDBから取得します。
+     * 
+     * @param shipperName 荷送人名
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定された荷送人名を含む1ページ分の貨物
+     * @throws IllegalArgumentException カーソルが不正な場合
      */
-    public List<Cargo> getCargosByStatus(String status) {
-        return cargoRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public CursorPage<Cargo> searchCargosByShipperName(String shipperName, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        if (cargoNameIndex.isReady()) {
+            return searchByName(CargoNameIndex.Field.SHIPPER, Cargo::getShipperName, Cargo::getCargoId,
+                cargoRepository::findAllById, shipperName, cursor, size);
+        }
+        List<Cargo> rows = cargoRepository.findByShipperNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(
+            shipperName, afterKey(cursor), CursorPage.seek(size));
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
     }
 
     /**
-     * 荷送人名による貨物検索
+     * 荷送人名による貨物一覧項目の検索（カーソルページング）
      * 
      * @param shipperName 荷送人名
-     * @return 指定された荷送人名を含む貨物リスト
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定された荷送人名を含む1ページ分の貨物一覧項目
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CargoSummary> searchCargoSummariesByShipperName(String shipperName, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        if (cargoNameIndex.isReady()) {
+            return searchByName(CargoNameIndex.Field.SHIPPER, CargoSummary::getShipperName, CargoSummary::getCargoId,
+                ids -> cargoRepository.findByCargoIdIn(ids, CargoSummary.class), shipperName, cursor, size);
+        }
+        List<CargoSummary> rows = cargoRepository.findByShipperNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(
+            shipperName, afterKey(cursor), CursorPage.seek(size), CargoSummary.class);
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
+    }
+
+    /**
+     * 荷受人名による貨物検索（カーソルページング）
+     * 
+     * 貨物名称索引が使用可能な場合は索引で候補を絞り込み、候補の貨物のみをDBから取得します。
+     * 
+     * @param consigneeName 荷受人名
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定された荷受人名を含む1ページ分の貨物
+     * @throws IllegalArgumentException カーソルが不正な場合
      */
-    public List<Cargo> searchCargosByShipperName(String shipperName) {
-        return cargoRepository.findByShipperNameContainingIgnoreCase(shipperName);
+    @Transactional(readOnly = true)
+    public CursorPage<Cargo> searchCargosByConsigneeName(String consigneeName, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        if (cargoNameIndex.isReady()) {
+            return searchByName(CargoNameIndex.Field.CONSIGNEE, Cargo::getConsigneeName, Cargo::getCargoId,
+                cargoRepository::findAllById, consigneeName, cursor, size);
+        }
+        List<Cargo> rows = cargoRepository.findByConsigneeNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(
+            consigneeName, afterKey(cursor), CursorPage.seek(size));
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
     }
 
     /**
-     * 荷受人名による貨物検索
+     * 荷受人名による貨物一覧項目の検索（カーソルページング）
      * 
      * @param consigneeName 荷受人名
-     * @return 指定された荷受人名を含む貨物リスト
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定された荷受人名を含む1ページ分の貨物一覧項目
+     * @throws IllegalArgumentException カーソルが不正な場合
      */
-    public List<Cargo> searchCargosByConsigneeName(String consigneeName) {
-        return cargoRepository.findByConsigneeNameContainingIgnoreCase(consigneeName);
+    @Transactional(readOnly = true)
+    public CursorPage<CargoSummary> searchCargoSummariesByConsigneeName(String consigneeName, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        if (cargoNameIndex.isReady()) {
+            return searchByName(CargoNameIndex.Field.CONSIGNEE, CargoSummary::getConsigneeName, CargoSummary::getCargoId,
+                ids -> cargoRepository.findByCargoIdIn(ids, CargoSummary.class), consigneeName, cursor, size);
+        }
+        List<CargoSummary> rows = cargoRepository.findByConsigneeNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(
+            consigneeName, afterKey(cursor), CursorPage.seek(size), CargoSummary.class);
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(cargo.getCargoId()));
     }
 
     /**
@@ -100,15 +291,22 @@ public class CargoService {
      * @return 作成された貨物情報
      */
     public Cargo createCargo(Cargo cargo) {
+        CargoCreatedEvent event = new CargoCreatedEvent();
+        event.begin();
         // 貨物IDを生成
-        String cargoId = "C" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        String cargoId = idGenerator.nextId("C");
         cargo.setCargoId(cargoId);
         cargo.setStatus("PENDING");
         cargo.setCreatedDate(LocalDateTime.now());
         cargo.setUpdatedDate(LocalDateTime.now());
         cargo.setVersion(1);
 
-        return cargoRepository.save(cargo);
+        Cargo createdCargo = cargoRepository.save(cargo);
+        cargoCache.putAfterCommit(createdCargo);
+        cargoNameIndex.putAfterCommit(createdCargo);
+        statusCounters.recordCreated(StatusCounters.Table.CARGO, createdCargo.getStatus());
+        event.record(createdCargo);
+        return createdCargo;
     }
 
     /**
@@ -120,8 +318,11 @@ public class CargoService {
      * @throws RuntimeException 貨物が見つからない場合
      */
     public Cargo updateCargo(String cargoId, Cargo cargoDetails) {
+        CargoStatusChangedEvent event = new CargoStatusChangedEvent();
+        event.begin();
         Cargo existingCargo = cargoRepository.findById(cargoId)
             .orElseThrow(() -> new RuntimeException("貨物が見つかりません: " + cargoId));
+        String previousStatus = existingCargo.getStatus();
 
         // 更新可能なフィールドのみ更新
         existingCargo.setFlightNumber(cargoDetails.getFlightNumber());
@@ -135,7 +336,14 @@ public class CargoService {
         existingCargo.setConsigneeName(cargoDetails.getConsigneeName());
         existingCargo.setUpdatedDate(LocalDateTime.now());
 
-        return cargoRepository.save(existingCargo);
+        Cargo updatedCargo = cargoRepository.save(existingCargo);
+        cargoCache.putAfterCommit(updatedCargo);
+        cargoNameIndex.putAfterCommit(updatedCargo);
+        statusCounters.recordTransition(StatusCounters.Table.CARGO, previousStatus, updatedCargo.getStatus());
+        if (!Objects.equals(previousStatus, updatedCargo.getStatus())) {
+            event.record(updatedCargo, previousStatus);
+        }
+        return updatedCargo;
     }
 
     /**
@@ -148,35 +356,77 @@ public class CargoService {
         Cargo cargo = cargoRepository.findById(cargoId)
             .orElseThrow(() -> new RuntimeException("貨物が見つかりません: " + cargoId));
         cargoRepository.delete(cargo);
+        cargoCache.evictAfterCommit(cargoId);
+        cargoNameIndex.removeAfterCommit(cargoId);
+        statusCounters.recordDeleted(StatusCounters.Table.CARGO, cargo.getStatus());
     }
 
     /**
      * 貨物ステータスの更新
      * 
+     * 貨物を読み込まずに1回のUPDATE文で更新します。
+     * 
      * @param cargoId 更新する貨物ID
      * @param status 新しいステータス
+     * @param expectedVersion 更新対象とするバージョン（nullの場合はバージョンを問わない）
      * @return 更新された貨物情報
+     * @throws OptimisticLockingFailureException 貨物のバージョンが一致しない場合
      * @throws RuntimeException 貨物が見つからない場合
      */
-    public Cargo updateCargoStatus(String cargoId, String status) {
-        Cargo cargo = cargoRepository.findById(cargoId)
-            .orElseThrow(() -> new RuntimeException("貨物が見つかりません: " + cargoId));
-
-        cargo.setStatus(status);
-        cargo.setUpdatedDate(LocalDateTime.now());
-
-        return cargoRepository.save(cargo);
+    public Cargo updateCargoStatus(String cargoId, String status, Integer expectedVersion) {
+        CargoStatusChangedEvent event = new CargoStatusChangedEvent();
+        event.begin();
+        // 返却・キャッシュする内容をDBに格納される値と揃えるため、TIMESTAMP列の精度（マイクロ秒）に切り捨てる
+        LocalDateTime updatedDate = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Cargo updatedCargo = statusUpdater.updateCargoStatus(cargoId, status, updatedDate, expectedVersion)
+            .orElseThrow(() -> statusUpdateMissed("貨物", cargoId, expectedVersion,
+                () -> cargoRepository.existsById(cargoId)));
+        String previousStatus = updatedCargo.getStatus();
+
+        updatedCargo.setStatus(status);
+        updatedCargo.setUpdatedDate(updatedDate);
+        updatedCargo.setVersion(nextVersion(updatedCargo.getVersion()));
+
+        cargoCache.putAfterCommit(updatedCargo);
+        statusCounters.recordTransition(StatusCounters.Table.CARGO, previousStatus, updatedCargo.getStatus());
+        if (!Objects.equals(previousStatus, updatedCargo.getStatus())) {
+            event.record(updatedCargo, previousStatus);
+        }
+        return updatedCargo;
     }
 
     // ==================== 入荷関連メソッド ====================
 
     /**
-     * 全入荷記録の取得
+     * 全入荷記録の取得（カーソルページング）
      * 
-     * @return 全入荷記録のリスト
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 入荷ID順の1ページ分の入荷記録
+     * @throws IllegalArgumentException カーソルが不正な場合
      */
-    public List<Inbound> getAllInbounds() {
-        return inboundRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<Inbound> getAllInbounds(String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<Inbound> rows = inboundRepository.findByInboundIdGreaterThanOrderByInboundIdAsc(
+            afterKey(cursor), CursorPage.seek(size));
+        return CursorPage.of(rows, size, inbound -> CursorPage.encodeCursor(inbound.getInboundId()));
+    }
+
+    /**
+     * 全入荷記録の一覧項目の取得（カーソルページング）
+     * 
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 入荷ID順の1ページ分の入荷一覧項目
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<InboundSummary> getAllInboundSummaries(String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<InboundSummary> rows = inboundRepository.findByInboundIdGreaterThanOrderByInboundIdAsc(
+            afterKey(cursor), CursorPage.seek(size), InboundSummary.class);
+        return CursorPage.of(rows, size, inbound -> CursorPage.encodeCursor(inbound.getInboundId()));
     }
 
     /**
@@ -185,6 +435,7 @@ public class CargoService {
      * @param inboundId 入荷ID
      * @return 指定された入荷IDの入荷記録（Optional）
      */
+    @Transactional(readOnly = true)
     public Optional<Inbound> getInboundById(String inboundId) {
         return inboundRepository.findById(inboundId);
     }
@@ -195,6 +446,7 @@ public class CargoService {
      * @param cargoId 貨物ID
      * @return 指定された貨物IDの入荷記録リスト
      */
+    @Transactional(readOnly = true)
     public List<Inbound> getInboundsByCargoId(String cargoId) {
         return inboundRepository.findByCargoId(cargoId);
     }
@@ -206,41 +458,77 @@ public class CargoService {
      * @return 作成された入荷記録
      */
     public Inbound createInbound(Inbound inbound) {
-        String inboundId = "IN" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        InboundCreatedEvent event = new InboundCreatedEvent();
+        event.begin();
+        String inboundId = idGenerator.nextId("IN");
         inbound.setInboundId(inboundId);
         inbound.setStatus("ARRIVED");
         inbound.setCreatedDate(LocalDateTime.now());
         inbound.setVersion(1);
 
-        return inboundRepository.save(inbound);
+        Inbound createdInbound = inboundRepository.save(inbound);
+        statusCounters.recordCreated(StatusCounters.Table.INBOUND, createdInbound.getStatus());
+        event.record(createdInbound);
+        return createdInbound;
     }
 
     /**
      * 入荷ステータスの更新
      * 
+     * 入荷記録を読み込まずに1回のUPDATE文で更新します。
+     * 
      * @param inboundId 更新する入荷ID
      * @param status 新しいステータス
+     * @param expectedVersion 更新対象とするバージョン（nullの場合はバージョンを問わない）
      * @return 更新された入荷記録
+     * @throws OptimisticLockingFailureException 入荷記録のバージョンが一致しない場合
      * @throws RuntimeException 入荷記録が見つからない場合
      */
-    public Inbound updateInboundStatus(String inboundId, String status) {
-        Inbound inbound = inboundRepository.findById(inboundId)
-            .orElseThrow(() -> new RuntimeException("入荷記録が見つかりません: " + inboundId));
+    public Inbound updateInboundStatus(String inboundId, String status, Integer expectedVersion) {
+        Inbound updatedInbound = statusUpdater.updateInboundStatus(inboundId, status, expectedVersion)
+            .orElseThrow(() -> statusUpdateMissed("入荷記録", inboundId, expectedVersion,
+                () -> inboundRepository.existsById(inboundId)));
+        String previousStatus = updatedInbound.getStatus();
 
-        inbound.setStatus(status);
+        updatedInbound.setStatus(status);
+        updatedInbound.setVersion(nextVersion(updatedInbound.getVersion()));
 
-        return inboundRepository.save(inbound);
+        statusCounters.recordTransition(StatusCounters.Table.INBOUND, previousStatus, updatedInbound.getStatus());
+        return updatedInbound;
     }
 
     // ==================== 出荷関連メソッド ====================
 
     /**
-     * 全出荷記録の取得
+     * 全出荷記録の取得（カーソルページング）
      * 
-     * @return 全出荷記録のリスト
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 出荷ID順の1ページ分の出荷記録
+     * @throws IllegalArgumentException カーソルが不正な場合
      */
-    public List<Outbound> getAllOutbounds() {
-        return outboundRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<Outbound> getAllOutbounds(String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<Outbound> rows = outboundRepository.findByOutboundIdGreaterThanOrderByOutboundIdAsc(
+            afterKey(cursor), CursorPage.seek(size));
+        return CursorPage.of(rows, size, outbound -> CursorPage.encodeCursor(outbound.getOutboundId()));
+    }
+
+    /**
+     * 全出荷記録の一覧項目の取得（カーソルページング）
+     * 
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 出荷ID順の1ページ分の出荷一覧項目
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OutboundSummary> getAllOutboundSummaries(String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<OutboundSummary> rows = outboundRepository.findByOutboundIdGreaterThanOrderByOutboundIdAsc(
+            afterKey(cursor), CursorPage.seek(size), OutboundSummary.class);
+        return CursorPage.of(rows, size, outbound -> CursorPage.encodeCursor(outbound.getOutboundId()));
     }
 
     /**
@@ -249,6 +537,7 @@ public class CargoService {
      * @param outboundId 出荷ID
      * @return 指定された出荷IDの出荷記録（Optional）
      */
+    @Transactional(readOnly = true)
     public Optional<Outbound> getOutboundById(String outboundId) {
         return outboundRepository.findById(outboundId);
     }
@@ -259,6 +548,7 @@ public class CargoService {
      * @param cargoId 貨物ID
      * @return 指定された貨物IDの出荷記録リスト
      */
+    @Transactional(readOnly = true)
     public List<Outbound> getOutboundsByCargoId(String cargoId) {
         return outboundRepository.findByCargoId(cargoId);
     }
@@ -270,49 +560,54 @@ public class CargoService {
      * @return 作成された出荷記録
      */
     public Outbound createOutbound(Outbound outbound) {
-        String outboundId = "OUT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        OutboundCreatedEvent event = new OutboundCreatedEvent();
+        event.begin();
+        String outboundId = idGenerator.nextId("OUT");
         outbound.setOutboundId(outboundId);
         outbound.setStatus("SCHEDULED");
         outbound.setCreatedDate(LocalDateTime.now());
         outbound.setVersion(1);
 
-        return outboundRepository.save(outbound);
+        Outbound createdOutbound = outboundRepository.save(outbound);
+        statusCounters.recordCreated(StatusCounters.Table.OUTBOUND, createdOutbound.getStatus());
+        event.record(createdOutbound);
+        return createdOutbound;
     }
 
     /**
      * 出荷ステータスの更新
      * 
+     * 出荷記録を読み込まずに1回のUPDATE文で更新します。
+     * 
      * @param outboundId 更新する出荷ID
      * @param status 新しいステータス
+     * @param expectedVersion 更新対象とするバージョン（nullの場合はバージョンを問わない）
      * @return 更新された出荷記録
+     * @throws OptimisticLockingFailureException 出荷記録のバージョンが一致しない場合
      * @throws RuntimeException 出荷記録が見つからない場合
      */
-    public Outbound updateOutboundStatus(String outboundId, String status) {
-        Outbound outbound = outboundRepository.findById(outboundId)
-            .orElseThrow(() -> new RuntimeException("出荷記録が見つかりません: " + outboundId));
+    public Outbound updateOutboundStatus(String outboundId, String status, Integer expectedVersion) {
+        Outbound updatedOutbound = statusUpdater.updateOutboundStatus(outboundId, status, expectedVersion)
+            .orElseThrow(() -> statusUpdateMissed("出荷記録", outboundId, expectedVersion,
+                () -> outboundRepository.existsById(outboundId)));
+        String previousStatus = updatedOutbound.getStatus();
 
-        outbound.setStatus(status);
+        updatedOutbound.setStatus(status);
+        updatedOutbound.setVersion(nextVersion(updatedOutbound.getVersion()));
 
-        return outboundRepository.save(outbound);
+        statusCounters.recordTransition(StatusCounters.Table.OUTBOUND, previousStatus, updatedOutbound.getStatus());
+        return updatedOutbound;
     }
 
     // ==================== 追跡関連メソッド ====================
 
-    /**
-     * 全追跡記録の取得
-     * 
-     * @return 全追跡記録のリスト
-     */
-    public List<Tracking> getAllTrackings() {
-        return trackingRepository.findAll();
-    }
-
     /**
      * 追跡IDによる追跡記録取得
      * 
      * @param trackingId 追跡ID
      * @return 指定された追跡IDの追跡記録（Optional）
      */
+    @Transactional(readOnly = true)
     public Optional<Tracking> getTrackingById(String trackingId) {
         return trackingRepository.findById(trackingId);
     }
@@ -323,6 +618,7 @@ public class CargoService {
      * @param cargoId 貨物ID
      * @return 指定された貨物IDの追跡記録リスト（最新順）
      */
+    @Transactional(readOnly = true)
     public List<Tracking> getTrackingsByCargoId(String cargoId) {
         return trackingRepository.findByCargoIdOrderByTimestampDesc(cargoId);
     }
@@ -330,25 +626,217 @@ public class CargoService {
     /**
      * 新規追跡記録の作成
      * 
+     * 同時に届いた作成要求とまとめてグループコミットで登録し、コミット完了後に返ります。
+     * 待機中にDB接続を占有しないよう、このメソッドは新しいトランザクションを開始しません。
+     * 呼び出し元のトランザクション（一括実行のatomicなど）がある場合は、グループコミットを経由せず
+     * そのトランザクションで登録し、取り消された場合は登録も取り消されます。
+     * 
      * @param tracking 作成する追跡記録
      * @return 作成された追跡記録
+     * @throws IllegalStateException 受付キューが満杯の場合
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tracking createTracking(Tracking tracking) {
-        String trackingId = "TR" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        tracking.setTrackingId(trackingId);
-        tracking.setTimestamp(LocalDateTime.now());
-        tracking.setVersion(1);
+        TrackingRecordedEvent event = new TrackingRecordedEvent();
+        event.begin();
+        Tracking createdTracking = TransactionSynchronizationManager.isActualTransactionActive()
+            ? trackingIngestionService.insertAll(Collections.singletonList(tracking)).get(0)
+            : trackingIngestionService.ingest(tracking);
+        event.record(createdTracking);
+        return createdTracking;
+    }
 
-        return trackingRepository.save(tracking);
+    /**
+     * 貨物の追跡履歴取得（(タイムスタンプ, 追跡ID) によるカーソルページング）
+     * 
+     * @param cargoId 貨物ID
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定された貨物の1ページ分の追跡履歴（最新順）
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Tracking> getTrackingHistory(String cargoId, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<Tracking> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = trackingRepository.findByCargoIdOrderByTimestampDescTrackingIdDesc(cargoId, CursorPage.seek(size));
+        } else {
+            String[] keys = CursorPage.decodeCursor(cursor, 2);
+            rows = trackingRepository.findHistoryAfter(cargoId, parseTimestamp(keys[0], cursor), keys[1], CursorPage.seek(size));
+        }
+        return CursorPage.of(rows, size, tracking ->
+            CursorPage.encodeCursor(tracking.getTimestamp().toString(), tracking.getTrackingId()));
     }
 
     /**
-     * 貨物の追跡履歴取得
+     * 貨物の追跡履歴の一覧項目の取得（(タイムスタンプ, 追跡ID) によるカーソルページング）
      * 
      * @param cargoId 貨物ID
-     * @return 指定された貨物の追跡履歴リスト（最新順）
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param limit ページサイズ
+     * @return 指定された貨物の1ページ分の追跡履歴項目（最新順）
+     * @throws IllegalArgumentException カーソルが不正な場合
      */
-    public List<Tracking> getTrackingHistory(String cargoId) {
-        return trackingRepository.findByCargoIdOrderByTimestampDesc(cargoId);
+    @Transactional(readOnly = true)
+    public CursorPage<TrackingSummary> getTrackingHistorySummaries(String cargoId, String cursor, int limit) {
+        int size = CursorPage.normalizeLimit(limit);
+        List<TrackingSummary> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = trackingRepository.findByCargoIdOrderByTimestampDescTrackingIdDesc(cargoId, CursorPage.seek(size),
+                TrackingSummary.class);
+        } else {
+            String[] keys = CursorPage.decodeCursor(cursor, 2);
+            rows = trackingRepository.findHistorySummariesAfter(cargoId, parseTimestamp(keys[0], cursor), keys[1],
+                CursorPage.seek(size));
+        }
+        return CursorPage.of(rows, size, tracking ->
+            CursorPage.encodeCursor(tracking.getTimestamp().toString(), tracking.getTrackingId()));
+    }
+
+    /**
+     * 貨物の最新追跡の取得
+     * 
+     * 追跡記録の登録時に更新される最新追跡から1行で取得します（追跡履歴は読みません）。
+     * 
+     * @param cargoId 貨物ID
+     * @return 最新の位置・ステータス（追跡記録がない場合は空）
+     */
+    @Transactional(readOnly = true)
+    public Optional<TrackingLatest> getLatestTracking(String cargoId) {
+        return trackingLatestRepository.findById(cargoId);
+    }
+
+    /**
+     * 複数貨物の最新追跡の一括取得
+     * 
+     * 貨物IDを一定件数ごとのIN句で取得し、指定された順序で返します。
+     * 重複した貨物IDは1件にまとめ、追跡記録がない貨物は結果に含めません。
+     * 
+     * @param cargoIds 貨物IDのリスト
+     * @return 最新追跡のリスト（指定順）
+     * @throws IllegalArgumentException 貨物IDの数が上限を超える場合
+     */
+    @Transactional(readOnly = true)
+    public List<TrackingLatest> getLatestTrackings(List<String> cargoIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(cargoIds));
+        if (ids.size() > MAX_LATEST_TRACKING_IDS) {
+            throw new IllegalArgumentException("貨物IDは" + MAX_LATEST_TRACKING_IDS + "件以内で指定してください: " + ids.size());
+        }
+        Map<String, TrackingLatest> found = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LATEST_TRACKING_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + LATEST_TRACKING_CHUNK_SIZE, ids.size()));
+            for (TrackingLatest latest : trackingLatestRepository.findAllById(chunk)) {
+                found.put(latest.getCargoId(), latest);
+            }
+        }
+        List<TrackingLatest> result = new ArrayList<>(found.size());
+        for (String id : ids) {
+            TrackingLatest latest = found.get(id);
+            if (latest != null) {
+                result.add(latest);
+            }
+        }
+        return result;
+    }
+
+    // ==================== 内部処理 ====================
+
+    /**
+     * ステータス更新の対象行がなかった場合の例外
+     * バージョンを指定しなかった場合、対象行がないのは存在しない場合のみのため、存在確認のクエリは実行しません。
+     * 
+     * @param label 対象の名称
+     * @param id 対象のID
+     * @param expectedVersion 更新対象とするバージョン
+     * @param exists 対象の存在確認（バージョンを指定した場合のみ呼び出す）
+     * @return バージョン不一致または存在しないことを表す例外
+     */
+    private static RuntimeException statusUpdateMissed(String label, String id, Integer expectedVersion,
+                                                       BooleanSupplier exists) {
+        if (expectedVersion != null && exists.getAsBoolean()) {
+            return new OptimisticLockingFailureException(label + "のバージョンが一致しません: " + id);
+        }
+        return new RuntimeException(label + "が見つかりません: " + id);
+    }
+
+    /**
+     * UPDATE文で加算されたバージョン
+     */
+    private static Integer nextVersion(Integer version) {
+        return version != null ? version + 1 : null;
+    }
+
+    /**
+     * 貨物名称索引による名称検索
+     * 索引の候補をDBから取得して名称を再確認し、一致しなかった候補の分は索引から続きを取得します。
+     * 
+     * @param field 検索する名称項目
+     * @param nameOf 貨物の名称の取得
+     * @param idOf 貨物IDの取得
+     * @param loader 候補の貨物IDのリストによる取得
+     * @param name 検索文字列
+     * @param cursor 前ページのカーソル（先頭ページはnull）
+     * @param size ページサイズ
+     * @param <T> 貨物または貨物一覧項目の型
+     * @return 1ページ分の貨物
+     */
+    private <T> CursorPage<T> searchByName(CargoNameIndex.Field field, Function<T, String> nameOf, Function<T, String> idOf,
+                                           Function<List<String>, Iterable<T>> loader,
+                                           String name, String cursor, int size) {
+        String query = CargoNameIndex.normalize(name);
+        String after = afterKey(cursor);
+        List<T> rows = new ArrayList<>(size + 1);
+        while (rows.size() <= size) {
+            int wanted = size + 1 - rows.size();
+            List<String> candidateIds = cargoNameIndex.search(field, name, after, wanted);
+            if (candidateIds.isEmpty()) {
+                break;
+            }
+            Map<String, T> loaded = new HashMap<>();
+            loader.apply(candidateIds).forEach(cargo -> loaded.put(idOf.apply(cargo), cargo));
+            for (String candidateId : candidateIds) {
+                T cargo = loaded.get(candidateId);
+                String value = cargo != null ? nameOf.apply(cargo) : null;
+                if (value != null && CargoNameIndex.normalize(value).contains(query)) {
+                    rows.add(cargo);
+                }
+            }
+            if (candidateIds.size() < wanted) {
+                break;
+            }
+            after = candidateIds.get(candidateIds.size() - 1);
+        }
+        return CursorPage.of(rows, size, cargo -> CursorPage.encodeCursor(idOf.apply(cargo)));
+    }
+
+    /**
+     * 単一キーのカーソルからシーク開始キーを取得
+     * 先頭ページ（カーソルなし）の場合は全てのIDより小さい空文字を返します。
+     * 
+     * @param cursor カーソル
+     * @return シーク開始キー
+     */
+    private static String afterKey(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return "";
+        }
+        return CursorPage.decodeCursor(cursor, 1)[0];
+    }
+
+    /**
+     * カーソル内のタイムスタンプの解析
+     * 
+     * @param value タイムスタンプ文字列
+     * @param cursor 元のカーソル（エラーメッセージ用）
+     * @return タイムスタンプ
+     * @throws IllegalArgumentException 形式が不正な場合
+     */
+    private static LocalDateTime parseTimestamp(String value, String cursor) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("不正なカーソルです: " + cursor, e);
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.ExportFormat;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Tracking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * データエクスポートサービスクラス
+ *
+ * 貨物・追跡テーブルの全件ダンプを、NDJSONまたはCSV形式で出力ストリームへ書き出します。
+ * 前方向のみのJDBCカーソルから1行ずつ読み取り、読み取った行をそのまま書き出すため、
+ * 行はJPAの永続化コンテキストに一切登録されず、件数に関わらずヒープ使用量は一定です。
+ * 全行を出力した後に、出力した行数を含む終端行（NDJSONは {"_eof":true,"rows":N}、CSVは _eof,N）を書き出します。
+ * 途中で失敗した場合は終端行を書き出さずに例外を送出するため、受信側は終端行の有無と行数で出力が完全かどうかを判定できます。
+ */
+@Service
+public class ExportService {
+
+    private static final String CARGO_SQL =
+        "SELECT CARGO_ID, FLIGHT_NUMBER, ORIGIN_AIRPORT, DESTINATION_AIRPORT, CARGO_TYPE, WEIGHT, VOLUME, "
+        + "STATUS, SHIPPER_NAME, CONSIGNEE_NAME, CREATED_DATE, UPDATED_DATE, VERSION "
+        + "FROM CARGO ORDER BY CARGO_ID";
+
+    private static final String TRACKING_SQL =
+        "SELECT TRACKING_ID, CARGO_ID, LOCATION, STATUS, TIMESTAMP, HANDLER_ID, NOTES, VERSION "
+        + "FROM TRACKING ORDER BY TRACKING_ID";
+
+    private static final String[] CARGO_HEADER = {
+        "cargoId", "flightNumber", "originAirport", "destinationAirport", "cargoType", "weight", "volume",
+        "status", "shipperName", "consigneeName", "createdDate", "updatedDate", "version"
+    };
+
+    private static final String[] TRACKING_HEADER = {
+        "trackingId", "cargoId", "location", "status", "timestamp", "handlerId", "notes", "version"
+    };
+
+    /**
+     * 終端行の目印（NDJSONのキー、CSVの1列目）
+     */
+    static final String EOF_MARKER = "_eof";
+
+    private static final RowMapper<Cargo> CARGO_ROW_MAPPER = (rs, rowNum) -> new Cargo(
+        rs.getString("CARGO_ID"),
+        rs.getString("FLIGHT_NUMBER"),
+        rs.getString("ORIGIN_AIRPORT"),
+        rs.getString("DESTINATION_AIRPORT"),
+        rs.getString("CARGO_TYPE"),
+        rs.getBigDecimal("WEIGHT"),
+        rs.getBigDecimal("VOLUME"),
+        rs.getString("STATUS"),
+        rs.getString("SHIPPER_NAME"),
+        rs.getString("CONSIGNEE_NAME"),
+        toLocalDateTime(rs.getTimestamp("CREATED_DATE")),
+        toLocalDateTime(rs.getTimestamp("UPDATED_DATE")),
+        (Integer) rs.getObject("VERSION"));
+
+    private static final RowMapper<Tracking> TRACKING_ROW_MAPPER = (rs, rowNum) -> new Tracking(
+        rs.getString("TRACKING_ID"),
+        rs.getString("CARGO_ID"),
+        rs.getString("LOCATION"),
+        rs.getString("STATUS"),
+        toLocalDateTime(rs.getTimestamp("TIMESTAMP")),
+        rs.getString("HANDLER_ID"),
+        rs.getString("NOTES"),
+        (Integer) rs.getObject("VERSION"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * コンストラクタ
+     *
+     * 共有のJdbcTemplateの設定を変更しないよう、フェッチサイズを設定した専用のJdbcTemplateを作成します。
+     *
+     * @param dataSource データソース
+     * @param objectMapper JSONシリアライザ
+     * @param fetchSize 1回のラウンドトリップで取得する行数
+     */
+    public ExportService(DataSource dataSource,
+                         ObjectMapper objectMapper,
+                         @Value("${aircargo.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 全貨物のエクスポート
+     *
+     * @param format エクスポート形式
+     * @param out 出力先ストリーム
+     * @return 出力した行数
+     */
+    public long exportCargos(ExportFormat format, OutputStream out) {
+        return export(CARGO_SQL, CARGO_ROW_MAPPER, CARGO_HEADER, cargo -> new Object[] {
+            cargo.getCargoId(), cargo.getFlightNumber(), cargo.getOriginAirport(), cargo.getDestinationAirport(),
+            cargo.getCargoType(), cargo.getWeight(), cargo.getVolume(), cargo.getStatus(),
+            cargo.getShipperName(), cargo.getConsigneeName(), cargo.getCreatedDate(), cargo.getUpdatedDate(),
+            cargo.getVersion()
+        }, format, out);
+    }
+
+    /**
+     * 全追跡記録のエクスポート
+     *
+     * @param format エクスポート形式
+     * @param out 出力先ストリーム
+     * @return 出力した行数
+     */
+    public long exportTrackings(ExportFormat format, OutputStream out) {
+        return export(TRACKING_SQL, TRACKING_ROW_MAPPER, TRACKING_HEADER, tracking -> new Object[] {
+            tracking.getTrackingId(), tracking.getCargoId(), tracking.getLocation(), tracking.getStatus(),
+            tracking.getTimestamp(), tracking.getHandlerId(), tracking.getNotes(), tracking.getVersion()
+        }, format, out);
+    }
+
+    /**
+     * クエリ結果のストリーミング出力
+     * 全行を出力した後に終端行を書き出します。途中で失敗した場合は終端行を書き出さずに例外を送出します。
+     *
+     * @param sql 実行するSQL
+     * @param rowMapper 行のマッピング
+     * @param header CSVヘッダー
+     * @param csvColumns CSV出力する列値の取得
+     * @param format エクスポート形式
+     * @param out 出力先ストリーム
+     * @return 出力した行数（ヘッダー行・終端行を除く）
+     */
+    private <T> long export(String sql, RowMapper<T> rowMapper, String[] header, Function<T, Object[]> csvColumns,
+                            ExportFormat format, OutputStream out) {
+        long[] count = {0};
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format == ExportFormat.NDJSON) {
+                SequenceWriter sequenceWriter = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+                jdbcTemplate.query(sql, rs -> {
+                    T row = rowMapper.mapRow(rs, 0);
+                    write(() -> sequenceWriter.write(row));
+                    count[0]++;
+                });
+                Map<String, Object> trailer = new LinkedHashMap<>();
+                trailer.put(EOF_MARKER, true);
+                trailer.put("rows", count[0]);
+                sequenceWriter.write(trailer);
+                sequenceWriter.flush();
+                writer.write('\n');
+            } else {
+                writeCsvLine(writer, header);
+                jdbcTemplate.query(sql, rs -> {
+                    T row = rowMapper.mapRow(rs, 0);
+                    write(() -> writeCsvLine(writer, csvColumns.apply(row)));
+                    count[0]++;
+                });
+                writeCsvLine(writer, new Object[] {EOF_MARKER, count[0]});
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count[0];
+    }
+
+    /**
+     * CSVの1行の出力（RFC 4180形式でエスケープ）
+     *
+     * @param writer 出力先
+     * @param values 列値
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] == null) {
+                continue;
+            }
+            String value = values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static void write(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,84 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.FlightEvent;
+import com.aircargo.dto.FlightEventResult;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Tracking;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * フライトイベントサービスクラス
+ *
+ * フライトの出発・到着に伴う出荷記録・貨物のステータス変更と追跡記録の登録を、1つのトランザクションでまとめて行います。
+ * ステータスの変更はフライト単位の1回のUPDATE文、追跡記録の登録は1回のバッチINSERTで行うため、
+ * ラウンドトリップ数はフライトの貨物の件数によらず一定です。
+ * 変更対象は変更前のステータスの行のみのため、同じイベントを再実行しても二重に変更・登録されません。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightEventService {
+
+    private final StatusUpdater statusUpdater;
+    private final TrackingIngestionService trackingIngestionService;
+    private final CargoCache cargoCache;
+    private final StatusCounters statusCounters;
+
+    /**
+     * フライトイベントの反映
+     *
+     * @param flightNumber フライト番号
+     * @param event フライトイベント
+     * @param handlerId 追跡記録の担当者ID（省略可）
+     * @return 変更・登録した件数
+     */
+    @Transactional
+    public FlightEventResult apply(String flightNumber, FlightEvent event, String handlerId) {
+        long start = System.nanoTime();
+
+        List<String> previousOutboundStatuses = event.getOutboundToStatus() == null
+            ? Collections.emptyList()
+            : statusUpdater.updateOutboundStatusesByFlight(flightNumber, event.getOutboundFromStatuses(),
+                event.getOutboundToStatus());
+        for (String previousStatus : previousOutboundStatuses) {
+            statusCounters.recordTransition(StatusCounters.Table.OUTBOUND, previousStatus, event.getOutboundToStatus());
+        }
+
+        // 返却・キャッシュする内容をDBに格納される値と揃えるため、TIMESTAMP列の精度（マイクロ秒）に切り捨てる
+        LocalDateTime updatedDate = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Cargo> cargos = statusUpdater.updateCargoStatusesByFlight(flightNumber, event.getCargoFromStatus(),
+            event.getCargoToStatus(), updatedDate);
+        List<Tracking> trackings = new ArrayList<>(cargos.size());
+        for (Cargo cargo : cargos) {
+            statusCounters.recordTransition(StatusCounters.Table.CARGO, cargo.getStatus(), event.getCargoToStatus());
+            cargo.setStatus(event.getCargoToStatus());
+            cargo.setUpdatedDate(updatedDate);
+            cargo.setVersion(cargo.getVersion() != null ? cargo.getVersion() + 1 : null);
+            cargoCache.putAfterCommit(cargo);
+
+            Tracking tracking = new Tracking();
+            tracking.setCargoId(cargo.getCargoId());
+            tracking.setLocation(event == FlightEvent.DEPART ? cargo.getOriginAirport() : cargo.getDestinationAirport());
+            tracking.setStatus(event.getCargoToStatus());
+            tracking.setHandlerId(handlerId);
+            tracking.setNotes(flightNumber + " " + event.getLabel());
+            trackings.add(tracking);
+        }
+        trackingIngestionService.insertAll(trackings);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("フライトイベントを反映しました: {} {}（貨物{}件、出荷{}件、{}ms）", flightNumber, event,
+            cargos.size(), previousOutboundStatuses.size(), elapsedMillis);
+        return new FlightEventResult(flightNumber, event, cargos.size(), previousOutboundStatuses.size(),
+            trackings.size(), elapsedMillis);
+    }
+}
@@ -0,0 +1,178 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.DashboardSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ステータス別件数カウンタークラス
+ *
+ * 貨物・入荷・出荷のステータス別件数をメモリ上に保持し、ダッシュボードの集計をDBにアクセスせずに返します。
+ * 件数は作成・ステータス変更・削除のコミット後に増減し、定期的に1回のGROUP BYクエリの結果で置き換えて補正します。
+ * 補正用のクエリ実行中に件数が変更された場合は、どちらが新しいか判断できないため補正せず、次回に持ち越します。
+ */
+@Slf4j
+@Component
+public class StatusCounters {
+
+    /**
+     * 集計対象のテーブル
+     */
+    public enum Table {
+        CARGO,
+        INBOUND,
+        OUTBOUND
+    }
+
+    private static final String RECONCILE_SQL =
+        "SELECT 'CARGO', STATUS, COUNT(*) FROM CARGO GROUP BY STATUS "
+        + "UNION ALL SELECT 'INBOUND', STATUS, COUNT(*) FROM INBOUND GROUP BY STATUS "
+        + "UNION ALL SELECT 'OUTBOUND', STATUS, COUNT(*) FROM OUTBOUND GROUP BY STATUS";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Table, Map<String, Long>> counts = new EnumMap<>(Table.class);
+
+    /**
+     * 件数の変更回数（補正クエリの実行中に変更があったかの判定用）
+     */
+    private long modifications;
+    private LocalDateTime reconciledAt;
+
+    /**
+     * コンストラクタ
+     *
+     * @param dataSource データソース
+     */
+    public StatusCounters(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        for (Table table : Table.values()) {
+            counts.put(table, new TreeMap<>());
+        }
+    }
+
+    /**
+     * 作成の反映（コミット後）
+     *
+     * @param table テーブル
+     * @param status 作成時のステータス
+     */
+    public void recordCreated(Table table, String status) {
+        afterCommit(() -> apply(table, null, status));
+    }
+
+    /**
+     * ステータス変更の反映（コミット後）
+     * 変更前と変更後のステータスが同じ場合は何もしません。
+     *
+     * @param table テーブル
+     * @param from 変更前のステータス
+     * @param to 変更後のステータス
+     */
+    public void recordTransition(Table table, String from, String to) {
+        if (from == null ? to == null : from.equals(to)) {
+            return;
+        }
+        afterCommit(() -> apply(table, from, to));
+    }
+
+    /**
+     * 削除の反映（コミット後）
+     *
+     * @param table テーブル
+     * @param status 削除時のステータス
+     */
+    public void recordDeleted(Table table, String status) {
+        afterCommit(() -> apply(table, status, null));
+    }
+
+    /**
+     * ダッシュボード集計の取得
+     * 起動後に一度も補正されていない場合のみ、補正クエリを実行してから返します。
+     *
+     * @return 全テーブルのステータス別件数
+     */
+    public DashboardSummary summary() {
+        synchronized (this) {
+            if (reconciledAt != null) {
+                return snapshot();
+            }
+        }
+        reconcile();
+        synchronized (this) {
+            return snapshot();
+        }
+    }
+
+    /**
+     * DBの件数による補正
+     * 1回のGROUP BYクエリで全テーブルのステータス別件数を取得し、メモリ上の件数を置き換えます。
+     */
+    @Scheduled(fixedDelayString = "${aircargo.dashboard.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        long before;
+        synchronized (this) {
+            before = modifications;
+        }
+        Map<Table, Map<String, Long>> actual = new EnumMap<>(Table.class);
+        for (Table table : Table.values()) {
+            actual.put(table, new TreeMap<>());
+        }
+        jdbcTemplate.query(RECONCILE_SQL, rs -> {
+            actual.get(Table.valueOf(rs.getString(1))).put(rs.getString(2), rs.getLong(3));
+        });
+
+        synchronized (this) {
+            if (modifications != before) {
+                log.debug("補正クエリの実行中に件数が変更されたため、ステータス別件数の補正を次回に持ち越します");
+                return;
+            }
+            if (reconciledAt != null && !actual.equals(counts)) {
+                log.warn("ステータス別件数を補正しました: {} -> {}", counts, actual);
+            }
+            counts.putAll(actual);
+            reconciledAt = LocalDateTime.now();
+        }
+    }
+
+    private synchronized void apply(Table table, String from, String to) {
+        Map<String, Long> tableCounts = counts.get(table);
+        if (from != null) {
+            tableCounts.merge(from, -1L, (current, delta) -> current + delta == 0 ? null : current + delta);
+        }
+        if (to != null) {
+            tableCounts.merge(to, 1L, Long::sum);
+        }
+        modifications++;
+    }
+
+    private DashboardSummary snapshot() {
+        return new DashboardSummary(
+            new TreeMap<>(counts.get(Table.CARGO)),
+            new TreeMap<>(counts.get(Table.INBOUND)),
+            new TreeMap<>(counts.get(Table.OUTBOUND)),
+            reconciledAt);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
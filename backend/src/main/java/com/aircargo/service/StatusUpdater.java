@@ -0,0 +1,233 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.entity.Outbound;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ステータス更新クラス
+ *
+ * 貨物・入荷・出荷のステータスを、エンティティを読み込まずに1回のUPDATE文で更新します。
+ * UPDATE文を OLD TABLE で囲んだSELECTとして実行し、同じラウンドトリップで更新前の行を受け取るため、
+ * 更新前のステータス（ステータス別件数の増減に使用）と更新後の行の内容を追加のSELECTなしで得られます。
+ * バージョンを指定した場合は、そのバージョンの行のみを更新します（楽観的排他制御）。
+ *
+ * JPAを経由しないため、同じトランザクションで読み込み済みの同じ行のエンティティには反映されません。
+ * UPDATE文の前に未反映のエンティティの変更をフラッシュし、同じ行へのエンティティ経由の更新とUPDATE文の順序を保ちます
+ * （フラッシュしないと、UPDATE文が増やしたバージョンとコミット時のエンティティの更新が衝突します）。
+ */
+@Component
+public class StatusUpdater {
+
+    private static final String CARGO_SQL =
+        "SELECT CARGO_ID, FLIGHT_NUMBER, ORIGIN_AIRPORT, DESTINATION_AIRPORT, CARGO_TYPE, WEIGHT, VOLUME, "
+        + "STATUS, SHIPPER_NAME, CONSIGNEE_NAME, CREATED_DATE, UPDATED_DATE, VERSION "
+        + "FROM OLD TABLE (UPDATE CARGO SET STATUS = ?, UPDATED_DATE = ?, VERSION = VERSION + 1 WHERE CARGO_ID = ?";
+
+    private static final String INBOUND_SQL =
+        "SELECT INBOUND_ID, CARGO_ID, FLIGHT_NUMBER, ARRIVAL_DATE, ARRIVAL_TIME, TERMINAL, STATUS, HANDLER_ID, NOTES, "
+        + "CREATED_DATE, VERSION "
+        + "FROM OLD TABLE (UPDATE INBOUND SET STATUS = ?, VERSION = VERSION + 1 WHERE INBOUND_ID = ?";
+
+    private static final String OUTBOUND_SQL =
+        "SELECT OUTBOUND_ID, CARGO_ID, FLIGHT_NUMBER, DEPARTURE_DATE, DEPARTURE_TIME, TERMINAL, STATUS, HANDLER_ID, NOTES, "
+        + "CREATED_DATE, VERSION "
+        + "FROM OLD TABLE (UPDATE OUTBOUND SET STATUS = ?, VERSION = VERSION + 1 WHERE OUTBOUND_ID = ?";
+
+    private static final String VERSION_CONDITION = " AND VERSION = ?";
+
+    private static final String CARGO_BY_FLIGHT_SQL =
+        "SELECT CARGO_ID, FLIGHT_NUMBER, ORIGIN_AIRPORT, DESTINATION_AIRPORT, CARGO_TYPE, WEIGHT, VOLUME, "
+        + "STATUS, SHIPPER_NAME, CONSIGNEE_NAME, CREATED_DATE, UPDATED_DATE, VERSION "
+        + "FROM OLD TABLE (UPDATE CARGO SET STATUS = ?, UPDATED_DATE = ?, VERSION = VERSION + 1 "
+        + "WHERE FLIGHT_NUMBER = ? AND STATUS = ?)";
+
+    private static final String OUTBOUND_BY_FLIGHT_SQL =
+        "SELECT STATUS FROM OLD TABLE (UPDATE OUTBOUND SET STATUS = ?, VERSION = VERSION + 1 "
+        + "WHERE FLIGHT_NUMBER = ? AND STATUS IN (%s))";
+
+    private static final RowMapper<Cargo> CARGO_ROW_MAPPER = (rs, rowNum) -> new Cargo(
+        rs.getString("CARGO_ID"),
+        rs.getString("FLIGHT_NUMBER"),
+        rs.getString("ORIGIN_AIRPORT"),
+        rs.getString("DESTINATION_AIRPORT"),
+        rs.getString("CARGO_TYPE"),
+        rs.getBigDecimal("WEIGHT"),
+        rs.getBigDecimal("VOLUME"),
+        rs.getString("STATUS"),
+        rs.getString("SHIPPER_NAME"),
+        rs.getString("CONSIGNEE_NAME"),
+        toLocalDateTime(rs.getTimestamp("CREATED_DATE")),
+        toLocalDateTime(rs.getTimestamp("UPDATED_DATE")),
+        (Integer) rs.getObject("VERSION"));
+
+    private static final RowMapper<Inbound> INBOUND_ROW_MAPPER = (rs, rowNum) -> {
+        Inbound inbound = new Inbound();
+        inbound.setInboundId(rs.getString("INBOUND_ID"));
+        inbound.setCargoId(rs.getString("CARGO_ID"));
+        inbound.setFlightNumber(rs.getString("FLIGHT_NUMBER"));
+        Date arrivalDate = rs.getDate("ARRIVAL_DATE");
+        inbound.setArrivalDate(arrivalDate != null ? arrivalDate.toLocalDate() : null);
+        Time arrivalTime = rs.getTime("ARRIVAL_TIME");
+        inbound.setArrivalTime(arrivalTime != null ? arrivalTime.toLocalTime() : null);
+        inbound.setTerminal(rs.getString("TERMINAL"));
+        inbound.setStatus(rs.getString("STATUS"));
+        inbound.setHandlerId(rs.getString("HANDLER_ID"));
+        inbound.setNotes(rs.getString("NOTES"));
+        inbound.setCreatedDate(toLocalDateTime(rs.getTimestamp("CREATED_DATE")));
+        inbound.setVersion((Integer) rs.getObject("VERSION"));
+        return inbound;
+    };
+
+    private static final RowMapper<Outbound> OUTBOUND_ROW_MAPPER = (rs, rowNum) -> {
+        Outbound outbound = new Outbound();
+        outbound.setOutboundId(rs.getString("OUTBOUND_ID"));
+        outbound.setCargoId(rs.getString("CARGO_ID"));
+        outbound.setFlightNumber(rs.getString("FLIGHT_NUMBER"));
+        Date departureDate = rs.getDate("DEPARTURE_DATE");
+        outbound.setDepartureDate(departureDate != null ? departureDate.toLocalDate() : null);
+        Time departureTime = rs.getTime("DEPARTURE_TIME");
+        outbound.setDepartureTime(departureTime != null ? departureTime.toLocalTime() : null);
+        outbound.setTerminal(rs.getString("TERMINAL"));
+        outbound.setStatus(rs.getString("STATUS"));
+        outbound.setHandlerId(rs.getString("HANDLER_ID"));
+        outbound.setNotes(rs.getString("NOTES"));
+        outbound.setCreatedDate(toLocalDateTime(rs.getTimestamp("CREATED_DATE")));
+        outbound.setVersion((Integer) rs.getObject("VERSION"));
+        return outbound;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * コンストラクタ
+     *
+     * @param jdbcTemplate JDBCテンプレート
+     * @param entityManager エンティティマネージャー（UPDATE文の前のフラッシュに使用）
+     */
+    public StatusUpdater(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 貨物ステータスの更新
+     *
+     * @param cargoId 貨物ID
+     * @param status 新しいステータス
+     * @param updatedDate 更新日時
+     * @param expectedVersion 更新対象とするバージョン（nullの場合はバージョンを問わない）
+     * @return 更新前の貨物（該当する行がない場合は空）
+     */
+    public Optional<Cargo> updateCargoStatus(String cargoId, String status, LocalDateTime updatedDate,
+                                             Integer expectedVersion) {
+        return update(CARGO_SQL, CARGO_ROW_MAPPER, expectedVersion, status, Timestamp.valueOf(updatedDate), cargoId);
+    }
+
+    /**
+     * 入荷ステータスの更新
+     *
+     * @param inboundId 入荷ID
+     * @param status 新しいステータス
+     * @param expectedVersion 更新対象とするバージョン（nullの場合はバージョンを問わない）
+     * @return 更新前の入荷記録（該当する行がない場合は空）
+     */
+    public Optional<Inbound> updateInboundStatus(String inboundId, String status, Integer expectedVersion) {
+        return update(INBOUND_SQL, INBOUND_ROW_MAPPER, expectedVersion, status, inboundId);
+    }
+
+    /**
+     * 出荷ステータスの更新
+     *
+     * @param outboundId 出荷ID
+     * @param status 新しいステータス
+     * @param expectedVersion 更新対象とするバージョン（nullの場合はバージョンを問わない）
+     * @return 更新前の出荷記録（該当する行がない場合は空）
+     */
+    public Optional<Outbound> updateOutboundStatus(String outboundId, String status, Integer expectedVersion) {
+        return update(OUTBOUND_SQL, OUTBOUND_ROW_MAPPER, expectedVersion, status, outboundId);
+    }
+
+    /**
+     * フライトの貨物ステータスの一括更新
+     * 指定したフライトの、指定したステータスの貨物のみを1回のUPDATE文で更新します。
+     *
+     * @param flightNumber フライト番号
+     * @param fromStatus 更新対象とする現在のステータス
+     * @param status 新しいステータス
+     * @param updatedDate 更新日時
+     * @return 更新した貨物の更新前の内容
+     */
+    public List<Cargo> updateCargoStatusesByFlight(String flightNumber, String fromStatus, String status,
+                                                   LocalDateTime updatedDate) {
+        flush();
+        return jdbcTemplate.query(CARGO_BY_FLIGHT_SQL, CARGO_ROW_MAPPER,
+            status, Timestamp.valueOf(updatedDate), flightNumber, fromStatus);
+    }
+
+    /**
+     * フライトの出荷ステータスの一括更新
+     * 指定したフライトの、指定したいずれかのステータスの出荷記録のみを1回のUPDATE文で更新します。
+     *
+     * @param flightNumber フライト番号
+     * @param fromStatuses 更新対象とする現在のステータス
+     * @param status 新しいステータス
+     * @return 更新した出荷記録の更新前のステータス
+     */
+    public List<String> updateOutboundStatusesByFlight(String flightNumber, List<String> fromStatuses, String status) {
+        String placeholders = String.join(", ", Collections.nCopies(fromStatuses.size(), "?"));
+        List<Object> params = new ArrayList<>(fromStatuses.size() + 2);
+        params.add(status);
+        params.add(flightNumber);
+        params.addAll(fromStatuses);
+        flush();
+        return jdbcTemplate.queryForList(String.format(OUTBOUND_BY_FLIGHT_SQL, placeholders), String.class,
+            params.toArray());
+    }
+
+    /**
+     * バージョン条件を付けたUPDATE文の実行
+     * 主キーで1行に絞り込むため、結果は0行または1行です。
+     */
+    private <T> Optional<T> update(String sql, RowMapper<T> rowMapper, Integer expectedVersion, Object... args) {
+        List<Object> params = new ArrayList<>(Arrays.asList(args));
+        String statement = sql;
+        if (expectedVersion != null) {
+            statement += VERSION_CONDITION;
+            params.add(expectedVersion);
+        }
+        flush();
+        List<T> rows = jdbcTemplate.query(statement + ")", rowMapper, params.toArray());
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 未反映のエンティティの変更のフラッシュ
+     * トランザクション外ではエンティティの変更が保留されないため、何もしません。
+     */
+    private void flush() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
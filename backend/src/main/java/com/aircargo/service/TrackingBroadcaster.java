@@ -0,0 +1,492 @@
+package com.aircargo.service;
+
+import com.aircargo.datasource.ReplicaRouting;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Tracking;
+import com.aircargo.repository.CargoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 追跡記録のライブ配信サービスクラス
+ *
+ * 貨物・便・場所ごとの購読者に、コミットされた追跡記録をServer-Sent Eventsで配信します。
+ * 購読者ごとに上限付きのバッファを持ち、送信は購読者ごとに1つずつ非同期の送信タスクが行うため、
+ * 遅い購読者がコミット通知や他の購読者への配信を停滞させることはありません。
+ * 送信はクライアントのソケットへの書き込みで待たされることがあるため、非同期処理用のExecutorとは別の専用のスレッドプールで行い、
+ * 1回の送信が aircargo.tracking.stream.send-timeout-ms を超えた購読者は購読を解除します（送信が戻った時点で接続を終了します）。
+ * バッファが満杯になった場合はバッファ内の追跡記録を破棄し、破棄した件数を resync イベントで通知します
+ * （クライアントは追跡履歴を取得し直す）。待機中の購読者はスレッドを占有しません。
+ * 購読者数・破棄件数・送信のタイムアウトで解除した購読者数は aircargo.tracking.stream.subscribers、
+ * aircargo.tracking.stream.dropped、aircargo.tracking.stream.send-timeouts メトリクスとして公開されます。
+ */
+@Slf4j
+@Service
+public class TrackingBroadcaster {
+
+    /**
+     * 1回の送信タスクで送信する最大件数（超過分は送信タスクを再投入し、他の購読者に順番を譲る）
+     */
+    private static final int MAX_EVENTS_PER_DRAIN = 64;
+
+    /**
+     * 送信のタイムアウトを確認する間隔（ミリ秒）
+     */
+    private static final long SEND_TIMEOUT_CHECK_MS = 1000;
+
+    /**
+     * 購読の対象
+     */
+    public enum Topic {
+        CARGO, FLIGHT, LOCATION
+    }
+
+    private final CargoCache cargoCache;
+    private final CargoRepository cargoRepository;
+    private final Executor sendExecutor;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+
+    private final Map<Topic, Map<String, Set<Subscriber>>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor dispatcher;
+    private final ThreadPoolExecutor sendPool;
+    private final Counter droppedCounter;
+    private final Counter sendTimeoutCounter;
+
+    /**
+     * コンストラクタ
+     *
+     * @param cargoCache 貨物キャッシュ（便の購読者への振り分けに使用）
+     * @param cargoRepository 貨物リポジトリ
+     * @param meterRegistry メトリクスレジストリ
+     * @param sendThreads 購読者への送信を行うスレッド数
+     * @param sendQueueCapacity 実行待ちの送信タスクの最大数
+     * @param sendTimeoutMillis 1回の送信の最大時間（ミリ秒、超過した購読者は購読を解除する）
+     * @param bufferSize 購読者ごとのバッファの件数
+     * @param maxSubscribers 最大購読者数
+     * @param timeoutMillis 接続の最大維持時間（ミリ秒、経過後はクライアントが再接続する）
+     * @param dispatchQueueCapacity 振り分け待ちのコミット通知の最大数
+     */
+    @Autowired
+    public TrackingBroadcaster(CargoCache cargoCache,
+                               CargoRepository cargoRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${aircargo.tracking.stream.send-threads:16}") int sendThreads,
+                               @Value("${aircargo.tracking.stream.send-queue-capacity:10000}") int sendQueueCapacity,
+                               @Value("${aircargo.tracking.stream.send-timeout-ms:10000}") long sendTimeoutMillis,
+                               @Value("${aircargo.tracking.stream.buffer-size:256}") int bufferSize,
+                               @Value("${aircargo.tracking.stream.max-subscribers:10000}") int maxSubscribers,
+                               @Value("${aircargo.tracking.stream.timeout-ms:1800000}") long timeoutMillis,
+                               @Value("${aircargo.tracking.stream.dispatch-queue-capacity:1000}") int dispatchQueueCapacity) {
+        this(cargoCache, cargoRepository, meterRegistry, newSendPool(sendThreads, sendQueueCapacity), sendTimeoutMillis,
+            bufferSize, maxSubscribers, timeoutMillis, dispatchQueueCapacity);
+    }
+
+    /**
+     * 送信を実行するExecutorを指定するコンストラクタ（テスト用）
+     *
+     * @param cargoCache 貨物キャッシュ
+     * @param cargoRepository 貨物リポジトリ
+     * @param meterRegistry メトリクスレジストリ
+     * @param sendExecutor 購読者への送信を実行するExecutor
+     * @param sendTimeoutMillis 1回の送信の最大時間（ミリ秒）
+     * @param bufferSize 購読者ごとのバッファの件数
+     * @param maxSubscribers 最大購読者数
+     * @param timeoutMillis 接続の最大維持時間（ミリ秒）
+     * @param dispatchQueueCapacity 振り分け待ちのコミット通知の最大数
+     */
+    TrackingBroadcaster(CargoCache cargoCache,
+                        CargoRepository cargoRepository,
+                        MeterRegistry meterRegistry,
+                        Executor sendExecutor,
+                        long sendTimeoutMillis,
+                        int bufferSize,
+                        int maxSubscribers,
+                        long timeoutMillis,
+                        int dispatchQueueCapacity) {
+        this.cargoCache = cargoCache;
+        this.cargoRepository = cargoRepository;
+        this.sendExecutor = sendExecutor;
+        this.sendPool = sendExecutor instanceof ThreadPoolExecutor ? (ThreadPoolExecutor) sendExecutor : null;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        for (Topic topic : Topic.values()) {
+            subscriptions.put(topic, new ConcurrentHashMap<>());
+        }
+
+        this.droppedCounter = Counter.builder("aircargo.tracking.stream.dropped")
+            .description("バッファの超過・振り分け待ちの超過で配信せずに破棄した追跡記録の件数")
+            .register(meterRegistry);
+        this.sendTimeoutCounter = Counter.builder("aircargo.tracking.stream.send-timeouts")
+            .description("送信が時間内に完了せず購読を解除した購読者の数")
+            .register(meterRegistry);
+        meterRegistry.gauge("aircargo.tracking.stream.subscribers", subscriberCount);
+
+        // 振り分けは1スレッドで行い、購読者ごとの配信順をコミット順に保つ
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(dispatchQueueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "tracking-stream");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * 送信用のスレッドプールの作成
+     * SseEmitterの送信は同期化されたメソッド内でソケットに書き込むため、仮想スレッドではキャリアスレッドを占有してしまう。
+     * そのため仮想スレッドモードでもプラットフォームスレッドの専用プールで送信する。
+     */
+    private static ThreadPoolExecutor newSendPool(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "tracking-stream-send-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * 購読の開始
+     *
+     * @param topic 購読の対象
+     * @param key 貨物ID・便名・場所
+     * @return SSEの送信オブジェクト
+     * @throws IllegalStateException 購読者数が上限に達している場合
+     */
+    public SseEmitter subscribe(Topic topic, String key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("追跡記録の購読者数が上限に達しています");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(topic, normalize(topic, key), emitter);
+        // 空になった購読者の集合の削除と競合しないよう、追加もキー単位の原子的な操作で行う
+        subscriptions.get(topic).compute(subscriber.key, (k, subscribers) -> {
+            Set<Subscriber> result = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    /**
+     * 現在の購読者数
+     *
+     * @return 購読者数
+     */
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * コミットされた追跡記録の受信（追跡記録の取り込みの書き込みスレッドから呼ばれる）
+     * 購読者がいない場合は何もせず、いる場合は振り分けを専用スレッドに委ねてすぐに戻ります。
+     *
+     * @param event コミット通知
+     */
+    @EventListener
+    public void onCommitted(TrackingCommittedEvent event) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> dispatch(event.getTrackings()));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment(event.getTrackings().size());
+            log.warn("追跡記録の配信が追いつかないため {}件を破棄しました", event.getTrackings().size());
+        }
+    }
+
+    /**
+     * 接続維持のためのコメントの送信（切断された接続もここで検出される）
+     */
+    @Scheduled(fixedDelayString = "${aircargo.tracking.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (Map<String, Set<Subscriber>> byKey : subscriptions.values()) {
+            for (Set<Subscriber> subscribers : byKey.values()) {
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.heartbeat();
+                }
+            }
+        }
+    }
+
+    /**
+     * 送信が aircargo.tracking.stream.send-timeout-ms を超えて戻らない購読者の購読の解除
+     * 以降の追跡記録は配信せず購読者数からも除き、接続は送信が戻った時点で送信タスクが終了させます。
+     */
+    @Scheduled(fixedDelay = SEND_TIMEOUT_CHECK_MS)
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Map<String, Set<Subscriber>> byKey : subscriptions.values()) {
+            for (Set<Subscriber> subscribers : byKey.values()) {
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.isStalled(now)) {
+                        subscriber.drop();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 振り分け・送信スレッドの停止（購読者の接続は終了させる）
+     */
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        if (sendPool != null) {
+            sendPool.shutdownNow();
+        }
+        for (Map<String, Set<Subscriber>> byKey : subscriptions.values()) {
+            for (Set<Subscriber> subscribers : byKey.values()) {
+                subscribers.forEach(subscriber -> subscriber.emitter.complete());
+            }
+        }
+    }
+
+    private void dispatch(List<Tracking> trackings) {
+        Map<String, Set<Subscriber>> byCargo = subscriptions.get(Topic.CARGO);
+        Map<String, Set<Subscriber>> byFlight = subscriptions.get(Topic.FLIGHT);
+        Map<String, Set<Subscriber>> byLocation = subscriptions.get(Topic.LOCATION);
+        Map<String, Optional<String>> flights = new HashMap<>();
+        for (Tracking tracking : trackings) {
+            deliver(byCargo.get(tracking.getCargoId()), tracking);
+            if (tracking.getLocation() != null) {
+                deliver(byLocation.get(normalize(Topic.LOCATION, tracking.getLocation())), tracking);
+            }
+            if (!byFlight.isEmpty()) {
+                flights.computeIfAbsent(tracking.getCargoId(), this::flightOf)
+                    .ifPresent(flight -> deliver(byFlight.get(normalize(Topic.FLIGHT, flight)), tracking));
+            }
+        }
+    }
+
+    /**
+     * 貨物の便名の取得
+     * キャッシュはgetCargoByIdと共有するため、レプリカの遅延で古い内容をキャッシュしないよう、読み込みはプライマリから行います。
+     */
+    private Optional<String> flightOf(String cargoId) {
+        return cargoCache.get(cargoId, id -> ReplicaRouting.onPrimary(() -> cargoRepository.findById(id)))
+            .map(Cargo::getFlightNumber);
+    }
+
+    private void deliver(Set<Subscriber> subscribers, Tracking tracking) {
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(tracking);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscriptions.get(subscriber.topic).computeIfPresent(subscriber.key, (k, subscribers) -> {
+            removed[0] = subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private static String normalize(Topic topic, String key) {
+        // 便名・場所は大文字小文字を区別せずに購読できるようにする
+        return topic == Topic.CARGO ? key : key.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 1つの購読
+     * バッファへの追加・取り出しはこのオブジェクトのロックで保護し、送信（I/O）はロックの外で行います。
+     */
+    private final class Subscriber {
+
+        private final Topic topic;
+        private final String key;
+        private final SseEmitter emitter;
+        private final Deque<Tracking> buffer = new ArrayDeque<>();
+        private int dropped;
+        private boolean heartbeatPending;
+        private boolean draining;
+        private volatile boolean closed;
+        private volatile boolean sending;
+        private volatile long sendStartedNanos;
+
+        private Subscriber(Topic topic, String key, SseEmitter emitter) {
+            this.topic = topic;
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        private void offer(Tracking tracking) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    dropped += buffer.size();
+                    droppedCounter.increment(buffer.size());
+                    buffer.clear();
+                }
+                buffer.addLast(tracking);
+            }
+            scheduleDrain();
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeatPending = true;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            synchronized (this) {
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    draining = false;
+                }
+                log.warn("追跡記録の送信タスクを投入できませんでした", e);
+            }
+        }
+
+        private void drain() {
+            List<Tracking> events = new ArrayList<>();
+            int droppedSinceLastDrain;
+            boolean sendHeartbeat;
+            synchronized (this) {
+                for (int i = 0; i < MAX_EVENTS_PER_DRAIN && !buffer.isEmpty(); i++) {
+                    events.add(buffer.pollFirst());
+                }
+                droppedSinceLastDrain = dropped;
+                dropped = 0;
+                sendHeartbeat = heartbeatPending && events.isEmpty() && droppedSinceLastDrain == 0;
+                heartbeatPending = false;
+            }
+            try {
+                if (droppedSinceLastDrain > 0) {
+                    send(SseEmitter.event().name("resync")
+                        .data(Collections.singletonMap("dropped", droppedSinceLastDrain), MediaType.APPLICATION_JSON));
+                }
+                for (Tracking tracking : events) {
+                    send(SseEmitter.event().id(tracking.getTrackingId()).name("tracking")
+                        .data(tracking, MediaType.APPLICATION_JSON));
+                }
+                if (sendHeartbeat) {
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // クライアントが切断済み、接続が終了済み、または送信のタイムアウトで購読を解除済み
+                close();
+                return;
+            }
+            if (closed) {
+                // 送信中に送信のタイムアウトで購読が解除された
+                close();
+                return;
+            }
+            boolean more;
+            synchronized (this) {
+                more = !buffer.isEmpty() || dropped > 0 || heartbeatPending;
+                draining = false;
+            }
+            if (more) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            if (closed) {
+                throw new IllegalStateException("購読は解除されています");
+            }
+            sendStartedNanos = System.nanoTime();
+            sending = true;
+            try {
+                emitter.send(event);
+            } finally {
+                sending = false;
+            }
+        }
+
+        private boolean isStalled(long now) {
+            return sending && now - sendStartedNanos > sendTimeoutNanos;
+        }
+
+        /**
+         * 送信が戻らない購読の解除
+         * 接続の終了（emitter.complete）は送信中の emitter のロックを待つため、ここでは行わず送信タスクに任せる。
+         */
+        private void drop() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                buffer.clear();
+            }
+            unsubscribe(this);
+            sendTimeoutCounter.increment();
+            log.warn("追跡記録の送信が{}ミリ秒以内に完了しないため購読を解除しました: {}={}",
+                TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos), topic, key);
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+                buffer.clear();
+                draining = false;
+            }
+            unsubscribe(this);
+            emitter.complete();
+        }
+    }
+}
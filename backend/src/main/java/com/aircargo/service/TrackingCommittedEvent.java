@@ -0,0 +1,35 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Tracking;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 追跡記録コミット通知クラス
+ *
+ * {@link TrackingIngestionService} がグループコミットの完了後に、コミットされた追跡記録を書き込みスレッドから通知します。
+ * 受信側は書き込みスレッドを停滞させないよう、重い処理を別スレッドで行う必要があります。
+ */
+public class TrackingCommittedEvent {
+
+    private final List<Tracking> trackings;
+
+    /**
+     * コンストラクタ
+     *
+     * @param trackings コミットされた追跡記録（登録順）
+     */
+    public TrackingCommittedEvent(List<Tracking> trackings) {
+        this.trackings = Collections.unmodifiableList(trackings);
+    }
+
+    /**
+     * コミットされた追跡記録
+     *
+     * @return 追跡記録（登録順）
+     */
+    public List<Tracking> getTrackings() {
+        return trackings;
+    }
+}
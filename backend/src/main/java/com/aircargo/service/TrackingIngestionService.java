@@ -0,0 +1,389 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Tracking;
+import com.aircargo.id.IdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 追跡記録取り込みサービスクラス
+ *
+ * 追跡記録の作成要求をキューに受け付け、専用の書き込みスレッドがグループコミットで登録します。
+ * 書き込みスレッドは最初の要求を受け取ってから一定時間（ウィンドウ）または最大件数に達するまで要求をまとめ、
+ * 1回のバッチINSERTと1回のコミットで登録します。各呼び出し元には、自分を含むグループのコミット完了後に結果が返ります。
+ * 同じトランザクションで貨物ごとの最新追跡（TRACKING_LATEST）も更新するため、最新追跡は常に登録済みの追跡記録と一致します。
+ * バッチ件数とコミット所要時間はメトリクスとして公開されます。
+ * コミットされた追跡記録は {@link TrackingCommittedEvent} として通知します（ライブ配信などに使用）。
+ */
+@Slf4j
+@Service
+public class TrackingIngestionService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO TRACKING (TRACKING_ID, CARGO_ID, LOCATION, STATUS, TIMESTAMP, HANDLER_ID, NOTES, VERSION) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * 最新追跡の更新（既存の最新より新しい場合のみ置き換える）
+     */
+    private static final String MERGE_LATEST_SQL =
+        "MERGE INTO TRACKING_LATEST L USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(20)), "
+        + "CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(50)), CAST(? AS TIMESTAMP), CAST(? AS VARCHAR(20)))) "
+        + "AS S (CARGO_ID, TRACKING_ID, LOCATION, STATUS, TS, HANDLER_ID) ON L.CARGO_ID = S.CARGO_ID "
+        + "WHEN MATCHED AND (L.TIMESTAMP < S.TS OR (L.TIMESTAMP = S.TS AND L.TRACKING_ID < S.TRACKING_ID)) THEN "
+        + "UPDATE SET TRACKING_ID = S.TRACKING_ID, LOCATION = S.LOCATION, STATUS = S.STATUS, TIMESTAMP = S.TS, "
+        + "HANDLER_ID = S.HANDLER_ID "
+        + "WHEN NOT MATCHED THEN INSERT (CARGO_ID, TRACKING_ID, LOCATION, STATUS, TIMESTAMP, HANDLER_ID) "
+        + "VALUES (S.CARGO_ID, S.TRACKING_ID, S.LOCATION, S.STATUS, S.TS, S.HANDLER_ID)";
+
+    /**
+     * 最新の判定順（タイムスタンプ、同時刻は追跡ID）
+     */
+    private static final Comparator<Tracking> LATEST_ORDER =
+        Comparator.comparing(Tracking::getTimestamp).thenComparing(Tracking::getTrackingId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdGenerator idGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingTracking> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer commitTimer;
+    private final Counter failureCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * コンストラクタ
+     *
+     * @param jdbcTemplate JDBCテンプレート
+     * @param transactionManager トランザクションマネージャー
+     * @param meterRegistry メトリクスレジストリ
+     * @param idGenerator ID生成
+     * @param eventPublisher コミット通知の送信先
+     * @param windowMillis 最初の要求から書き込みまでに後続の要求を待つ時間（ミリ秒）
+     * @param maxBatchSize 1回のコミットで登録する最大件数
+     * @param queueCapacity 受付キューの容量
+     * @param timeoutMillis 登録の完了を待つ最大時間（ミリ秒）
+     */
+    public TrackingIngestionService(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    IdGenerator idGenerator,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${aircargo.tracking.ingest.window-ms:5}") long windowMillis,
+                                    @Value("${aircargo.tracking.ingest.max-batch-size:200}") int maxBatchSize,
+                                    @Value("${aircargo.tracking.ingest.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${aircargo.tracking.ingest.timeout-ms:10000}") long timeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.idGenerator = idGenerator;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+
+        this.batchSizeSummary = DistributionSummary.builder("aircargo.tracking.ingest.batch.size")
+            .description("1回のグループコミットで登録した追跡記録の件数")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.commitTimer = Timer.builder("aircargo.tracking.ingest.commit")
+            .description("グループコミット（バッチINSERTとコミット）の所要時間")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.failureCounter = Counter.builder("aircargo.tracking.ingest.failures")
+            .description("登録に失敗した追跡記録の件数")
+            .register(meterRegistry);
+        meterRegistry.gauge("aircargo.tracking.ingest.queue", queue, BlockingQueue::size);
+    }
+
+    /**
+     * 書き込みスレッドの開始
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "tracking-ingest");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 書き込みスレッドの停止
+     * 受付済みの要求をすべて登録してから停止します。
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * 追跡記録の登録
+     * 追跡ID・タイムスタンプ・バージョンを設定してキューに投入し、グループコミットの完了まで最大で待機時間だけ待機します。
+     * 待機時間を超えた場合、要求はキューに残っていれば後で登録される可能性があります。
+     *
+     * @param tracking 作成する追跡記録
+     * @return 登録された追跡記録
+     * @throws IllegalStateException 受付キューが満杯、停止中、または待機時間内に登録が完了しない場合
+     * @throws DataAccessException 登録に失敗した場合
+     */
+    public Tracking ingest(Tracking tracking) {
+        try {
+            return submit(tracking).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("追跡記録の登録が" + timeoutMillis + "ミリ秒以内に完了しませんでした", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("追跡記録の登録の待機が中断されました", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("追跡記録の登録に失敗しました", e.getCause());
+        }
+    }
+
+    /**
+     * 追跡記録の非同期登録
+     *
+     * @param tracking 作成する追跡記録
+     * @return グループコミットの完了時に登録された追跡記録で完了するFuture
+     * @throws IllegalStateException 受付キューが満杯、または停止中の場合
+     */
+    public CompletableFuture<Tracking> submit(Tracking tracking) {
+        if (!running) {
+            throw new IllegalStateException("追跡記録の取り込みは停止しています");
+        }
+        tracking.setTrackingId(idGenerator.nextId("TR"));
+        tracking.setTimestamp(LocalDateTime.now());
+        tracking.setVersion(1);
+
+        PendingTracking pending = new PendingTracking(tracking);
+        if (!queue.offer(pending)) {
+            throw new IllegalStateException("追跡記録の受付キューが満杯です");
+        }
+        // 投入の間に停止した場合、書き込みスレッドの最後の取り出しの後に投入されて完了しない可能性があるため、
+        // 書き込みスレッドが取り出していなければ取り下げる（取り出していれば書き込みスレッドが完了させる）
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("追跡記録の取り込みは停止しています");
+        }
+        return pending.future;
+    }
+
+    /**
+     * 追跡記録の一括登録（呼び出し元のトランザクションで実行）
+     * グループコミットを経由せず、呼び出し元のトランザクションで1回のバッチINSERTと最新追跡の更新を行います。
+     * 他の更新と同じトランザクションで追跡記録を登録する場合に使用し、コミット後に {@link TrackingCommittedEvent} を通知します。
+     *
+     * @param trackings 作成する追跡記録（追跡ID・タイムスタンプ・バージョンを設定します）
+     * @return 登録された追跡記録
+     */
+    public List<Tracking> insertAll(List<Tracking> trackings) {
+        if (trackings.isEmpty()) {
+            return trackings;
+        }
+        LocalDateTime timestamp = LocalDateTime.now();
+        for (Tracking tracking : trackings) {
+            tracking.setTrackingId(idGenerator.nextId("TR"));
+            tracking.setTimestamp(timestamp);
+            tracking.setVersion(1);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, trackings, trackings.size(), TrackingIngestionService::bind);
+        mergeLatest(trackings);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishCommitted(trackings);
+                }
+            });
+        } else {
+            publishCommitted(trackings);
+        }
+        return trackings;
+    }
+
+    /**
+     * 書き込みスレッドの処理
+     * 最初の要求を受け取ってからウィンドウ時間内に届いた要求を最大件数までまとめて登録します。
+     */
+    private void runWriter() {
+        List<PendingTracking> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTracking first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingTracking next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                // Errorでも書き込みスレッドを終了させず、グループの呼び出し元を待たせたままにしない
+                log.error("追跡記録の書き込みで予期しないエラーが発生しました", e);
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        PendingTracking leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.future.completeExceptionally(new IllegalStateException("追跡記録の取り込みは停止しています"));
+        }
+    }
+
+    /**
+     * グループの登録
+     * バッチINSERTが失敗した場合はロールバックし、1件ずつ再実行して失敗した要求のみエラーで完了させます。
+     */
+    private void flush(List<PendingTracking> batch) {
+        List<Tracking> rows = new ArrayList<>(batch.size());
+        for (PendingTracking pending : batch) {
+            rows.add(pending.tracking);
+        }
+        batchSizeSummary.record(rows.size());
+        try {
+            commitTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), TrackingIngestionService::bind);
+                mergeLatest(rows);
+            }));
+        } catch (DataAccessException batchFailure) {
+            rows.clear();
+            List<PendingTracking> committed = new ArrayList<>(batch.size());
+            for (PendingTracking pending : batch) {
+                try {
+                    commitTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, pending.tracking));
+                        mergeLatest(Collections.singletonList(pending.tracking));
+                    }));
+                    rows.add(pending.tracking);
+                    committed.add(pending);
+                } catch (DataAccessException e) {
+                    failureCounter.increment();
+                    pending.future.completeExceptionally(e);
+                }
+            }
+            publishCommitted(rows);
+            committed.forEach(pending -> pending.future.complete(pending.tracking));
+            return;
+        }
+        // 呼び出し元に返る時点で通知済みとなるよう、通知してから完了させる
+        publishCommitted(rows);
+        batch.forEach(pending -> pending.future.complete(pending.tracking));
+    }
+
+    /**
+     * 最新追跡の更新
+     * グループ内で貨物ごとに最も新しい追跡記録のみをMERGEします（同じ貨物の行を1回の実行で複数回更新しない）。
+     */
+    private void mergeLatest(List<Tracking> rows) {
+        Map<String, Tracking> latest = new LinkedHashMap<>();
+        for (Tracking tracking : rows) {
+            latest.merge(tracking.getCargoId(), tracking, (current, candidate) ->
+                LATEST_ORDER.compare(candidate, current) > 0 ? candidate : current);
+        }
+        List<Tracking> merged = new ArrayList<>(latest.values());
+        jdbcTemplate.batchUpdate(MERGE_LATEST_SQL, merged, merged.size(), (ps, tracking) -> {
+            ps.setString(1, tracking.getCargoId());
+            ps.setString(2, tracking.getTrackingId());
+            ps.setString(3, tracking.getLocation());
+            ps.setString(4, tracking.getStatus());
+            ps.setTimestamp(5, Timestamp.valueOf(tracking.getTimestamp()));
+            ps.setString(6, tracking.getHandlerId());
+        });
+    }
+
+    /**
+     * コミットされた追跡記録の通知（通知先の例外で書き込みスレッドを止めない）
+     */
+    private void publishCommitted(List<Tracking> committed) {
+        if (committed.isEmpty()) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new TrackingCommittedEvent(new ArrayList<>(committed)));
+        } catch (RuntimeException e) {
+            log.warn("追跡記録のコミット通知に失敗しました", e);
+        }
+    }
+
+    /**
+     * INSERT文へのパラメータ設定
+     */
+    private static void bind(PreparedStatement ps, Tracking tracking) throws SQLException {
+        ps.setString(1, tracking.getTrackingId());
+        ps.setString(2, tracking.getCargoId());
+        ps.setString(3, tracking.getLocation());
+        ps.setString(4, tracking.getStatus());
+        ps.setTimestamp(5, Timestamp.valueOf(tracking.getTimestamp()));
+        ps.setString(6, tracking.getHandlerId());
+        ps.setString(7, tracking.getNotes());
+        ps.setInt(8, tracking.getVersion());
+    }
+
+    /**
+     * 登録待ちの追跡記録
+     */
+    private static final class PendingTracking {
+
+        private final Tracking tracking;
+        private final CompletableFuture<Tracking> future = new CompletableFuture<>();
+
+        private PendingTracking(Tracking tracking) {
+            this.tracking = tracking;
+        }
+    }
+}
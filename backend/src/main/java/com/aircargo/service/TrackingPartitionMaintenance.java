@@ -0,0 +1,304 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.TrackingPartitionReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 追跡記録パーティション保守クラス
+ *
+ * 追跡テーブル（TRACKING）をタイムスタンプの月別レンジパーティションで運用するための定期保守を行います。
+ * 将来の月のパーティションを事前に作成し、保存期間を過ぎた月のパーティションを切り離して
+ * アーカイブテーブル（TRACKING_ARCHIVE_yyyyMM）とするか削除します。切り離しは行単位のDELETEと異なり、テーブルをロックしません。
+ * ただし非パーティション索引（主キーと IDX_TRACKING_CARGO）は切り離しの後にDB2が非同期に索引の整理を行います。
+ * 追跡テーブルがパーティション化されていない場合（H2でのローカル実行・テスト、未移行のDB2）は、
+ * 行単位の保存期間処理を有効にした場合（aircargo.tracking.partition.row-expiry）に限り、
+ * 保存期間を過ぎた行を一定件数ずつのトランザクションでアーカイブテーブルへ移動、または削除します。
+ */
+@Slf4j
+@Component
+public class TrackingPartitionMaintenance {
+
+    /**
+     * アーカイブテーブル名の接頭辞（後ろに yyyyMM が付く）
+     */
+    static final String ARCHIVE_TABLE_PREFIX = "TRACKING_ARCHIVE_";
+
+    /**
+     * 削除するために切り離したテーブル名の接頭辞（DB2では切り離しの完了後に削除できる）
+     */
+    private static final String DETACHED_TABLE_PREFIX = "TRACKING_DETACHED_";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String DB2_PARTITIONS_SQL =
+        "SELECT DATAPARTITIONNAME, LOWVALUE FROM SYSCAT.DATAPARTITIONS "
+        + "WHERE TABSCHEMA = CURRENT SCHEMA AND TABNAME = 'TRACKING' ORDER BY SEQNO";
+
+    private static final String DB2_DETACHED_TABLES_SQL =
+        "SELECT TABNAME FROM SYSCAT.TABLES WHERE TABSCHEMA = CURRENT SCHEMA AND TABNAME LIKE '"
+        + DETACHED_TABLE_PREFIX.replace("_", "\\_") + "%' ESCAPE '\\'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archive;
+    private final boolean rowExpiry;
+    private final String selectExpiredSql;
+
+    /**
+     * コンストラクタ
+     *
+     * @param dataSource データソース
+     * @param transactionManager トランザクションマネージャー
+     * @param enabled 定期保守を実行するかどうか
+     * @param monthsAhead 当月より先に作成しておくパーティションの月数
+     * @param retentionMonths 保存する月数（当月を含む）
+     * @param archive 保存期間を過ぎた月をアーカイブテーブルに残す場合true、削除する場合false
+     * @param rowExpiry パーティション化されていない場合に保存期間を過ぎた行を移動・削除する場合true
+     * @param batchSize パーティション化されていない場合に1回のトランザクションで移動・削除する件数
+     */
+    public TrackingPartitionMaintenance(DataSource dataSource,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${aircargo.tracking.partition.enabled:false}") boolean enabled,
+                                        @Value("${aircargo.tracking.partition.months-ahead:3}") int monthsAhead,
+                                        @Value("${aircargo.tracking.partition.retention-months:24}") int retentionMonths,
+                                        @Value("${aircargo.tracking.partition.archive:true}") boolean archive,
+                                        @Value("${aircargo.tracking.partition.row-expiry:false}") boolean rowExpiry,
+                                        @Value("${aircargo.tracking.partition.batch-size:1000}") int batchSize) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("aircargo.tracking.partition.retention-months は1以上を指定してください: " + retentionMonths);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archive = archive;
+        this.rowExpiry = rowExpiry;
+        this.selectExpiredSql = "SELECT TRACKING_ID FROM TRACKING WHERE TIMESTAMP >= ? AND TIMESTAMP < ? "
+            + "ORDER BY TIMESTAMP, TRACKING_ID FETCH FIRST " + batchSize + " ROWS ONLY";
+    }
+
+    /**
+     * 定期保守（起動時と aircargo.tracking.partition.cron の時刻に実行）
+     * 失敗した場合はログに出力し、次回の実行で再試行します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${aircargo.tracking.partition.cron:0 30 2 * * *}")
+    public void scheduledMaintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            TrackingPartitionReport report = maintain();
+            log.info("追跡記録のパーティション保守が完了しました: {}", report);
+        } catch (RuntimeException e) {
+            log.error("追跡記録のパーティション保守に失敗しました", e);
+        }
+    }
+
+    /**
+     * パーティション保守の実行
+     *
+     * @return 保守結果
+     */
+    public TrackingPartitionReport maintain() {
+        return maintain(YearMonth.now());
+    }
+
+    /**
+     * 指定した月を当月としたパーティション保守の実行
+     *
+     * @param current 当月
+     * @return 保守結果
+     */
+    TrackingPartitionReport maintain(YearMonth current) {
+        YearMonth oldestRetained = current.minusMonths(retentionMonths - 1L);
+        TrackingPartitionReport report = new TrackingPartitionReport();
+        NavigableMap<YearMonth, String> partitions = partitions();
+        if (partitions.isEmpty()) {
+            if (rowExpiry) {
+                expireRows(oldestRetained, report);
+            } else {
+                log.info("追跡テーブルがパーティション化されていないため、保存期間の処理を行いません"
+                    + "（行単位で処理する場合は aircargo.tracking.partition.row-expiry を指定してください）");
+            }
+            return report;
+        }
+        report.setPartitioned(true);
+        createPartitions(partitions, current.plusMonths(monthsAhead), report);
+        detachPartitions(partitions, oldestRetained, report);
+        if (!archive) {
+            dropDetachedTables();
+        }
+        return report;
+    }
+
+    /**
+     * 追跡テーブルの月別パーティション（DB2以外、またはパーティション化されていない場合は空）
+     *
+     * @return パーティションの開始月 → パーティション名
+     */
+    private NavigableMap<YearMonth, String> partitions() {
+        NavigableMap<YearMonth, String> partitions = new TreeMap<>();
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toUpperCase(Locale.ROOT).startsWith("DB2")) {
+            return partitions;
+        }
+        jdbcTemplate.query(DB2_PARTITIONS_SQL, rs -> {
+            // LOWVALUEは '2024-01-01-00.00.00.000000' 形式（パーティション化されていない場合は空）
+            String low = rs.getString("LOWVALUE");
+            low = low == null ? "" : low.replace("'", "").trim();
+            if (low.length() >= 7 && Character.isDigit(low.charAt(0))) {
+                partitions.put(YearMonth.parse(low.substring(0, 7)), rs.getString("DATAPARTITIONNAME"));
+            }
+        });
+        return partitions;
+    }
+
+    /**
+     * 最後のパーティションの翌月から指定した月までのパーティションの作成
+     */
+    private void createPartitions(NavigableMap<YearMonth, String> partitions, YearMonth until, TrackingPartitionReport report) {
+        YearMonth last = partitions.lastKey();
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(until); month = month.plusMonths(1)) {
+            String sql = "ALTER TABLE TRACKING ADD PARTITION P" + month.format(SUFFIX)
+                + " STARTING ('" + month.atDay(1) + "-00.00.00') INCLUSIVE"
+                + " ENDING ('" + month.plusMonths(1).atDay(1) + "-00.00.00') EXCLUSIVE";
+            try {
+                jdbcTemplate.execute(sql);
+                report.getCreated().add(month.format(SUFFIX));
+            } catch (DataAccessException e) {
+                log.warn("追跡記録のパーティションを作成できませんでした: {}", month, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 保存期間を過ぎたパーティションの切り離し
+     * 切り離し後も最低1つのパーティションが残るようにします。
+     */
+    private void detachPartitions(Map<YearMonth, String> partitions, YearMonth oldestRetained, TrackingPartitionReport report) {
+        int remaining = partitions.size();
+        for (Map.Entry<YearMonth, String> partition : partitions.entrySet()) {
+            if (!partition.getKey().isBefore(oldestRetained) || remaining <= 1) {
+                break;
+            }
+            String suffix = partition.getKey().format(SUFFIX);
+            String table = (archive ? ARCHIVE_TABLE_PREFIX : DETACHED_TABLE_PREFIX) + suffix;
+            try {
+                jdbcTemplate.execute("ALTER TABLE TRACKING DETACH PARTITION " + partition.getValue() + " INTO " + table);
+            } catch (DataAccessException e) {
+                log.warn("追跡記録のパーティションを切り離せませんでした: {}", partition.getValue(), e);
+                return;
+            }
+            remaining--;
+            (archive ? report.getArchived() : report.getDropped()).add(suffix);
+        }
+    }
+
+    /**
+     * 削除するために切り離したテーブルの削除
+     * DB2の切り離しは非同期に完了するため、削除できなかったテーブルは次回の保守で削除します。
+     */
+    private void dropDetachedTables() {
+        for (String table : jdbcTemplate.queryForList(DB2_DETACHED_TABLES_SQL, String.class)) {
+            try {
+                jdbcTemplate.execute("DROP TABLE " + table);
+            } catch (DataAccessException e) {
+                log.info("切り離したテーブルを削除できませんでした（次回の保守で再試行します）: {}", table);
+            }
+        }
+    }
+
+    /**
+     * パーティション化されていない場合の保存期間を過ぎた行の移動・削除
+     * 最も古い行の月から保存期間の開始月の前月まで、1か月ずつ処理します。
+     */
+    private void expireRows(YearMonth oldestRetained, TrackingPartitionReport report) {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(TIMESTAMP) FROM TRACKING", Timestamp.class);
+        if (oldest == null) {
+            return;
+        }
+        for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(oldestRetained);
+                month = month.plusMonths(1)) {
+            long moved = expireMonth(month);
+            if (moved > 0) {
+                (archive ? report.getArchived() : report.getDropped()).add(month.format(SUFFIX));
+                report.setMovedRows(report.getMovedRows() + moved);
+            }
+        }
+    }
+
+    /**
+     * 1か月分の行の移動・削除（一定件数ずつのトランザクションで、テーブル全体をロックしない）
+     *
+     * @return 移動・削除した件数
+     */
+    private long expireMonth(YearMonth month) {
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        String archiveTable = ARCHIVE_TABLE_PREFIX + month.format(SUFFIX);
+        if (archive && !tableExists(archiveTable)) {
+            jdbcTemplate.execute("CREATE TABLE " + archiveTable + " AS (SELECT * FROM TRACKING) WITH NO DATA");
+        }
+        long total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<String> ids = jdbcTemplate.queryForList(selectExpiredSql, String.class, from, to);
+                List<Object[]> keys = new ArrayList<>(ids.size());
+                for (String id : ids) {
+                    keys.add(new Object[] {id});
+                }
+                if (!keys.isEmpty()) {
+                    if (archive) {
+                        jdbcTemplate.batchUpdate("INSERT INTO " + archiveTable + " SELECT * FROM TRACKING WHERE TRACKING_ID = ?", keys);
+                    }
+                    jdbcTemplate.batchUpdate("DELETE FROM TRACKING WHERE TRACKING_ID = ?", keys);
+                }
+                return keys.size();
+            });
+            if (moved == null || moved == 0) {
+                return total;
+            }
+            total += moved;
+        }
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getTables(connection.getCatalog(), connection.getSchema(), table, null)) {
+                return rs.next();
+            }
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
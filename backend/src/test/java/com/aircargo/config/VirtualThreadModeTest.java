@@ -0,0 +1,34 @@
+package com.aircargo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 仮想スレッドモードのテストクラス
+ *
+ * spring.threads.virtual.enabled=true の場合に、非同期処理が仮想スレッドで実行されることをテストします。
+ */
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadModeTest {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    /**
+     * 非同期処理用Executorのタスクが仮想スレッドで実行されることのテスト
+     */
+    @Test
+    void testApplicationTaskExecutorRunsOnVirtualThreads() throws Exception {
+        Thread thread = applicationTaskExecutor.submit(Thread::currentThread).get();
+
+        // 結果の検証
+        assertTrue(thread.isVirtual());
+    }
+}
@@ -0,0 +1,226 @@
+package com.aircargo.controller;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.repository.CargoRepository;
+import com.aircargo.repository.TrackingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 一括実行コントローラーのテストクラス
+ *
+ * BatchControllerの操作の振り分け、操作ごとの結果、1つのトランザクションでの実行と取り消しをテストします。
+ * 操作は実際の貨物・入荷・出荷コントローラーへ振り分けるため、アプリケーション全体を起動して実行します。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class BatchControllerTest {
+
+    private static final String CREATE_CARGO = "{\"method\":\"POST\",\"path\":\"/cargo\",\"body\":{"
+            + "\"flightNumber\":\"BT001\",\"originAirport\":\"NRT\",\"destinationAirport\":\"LAX\","
+            + "\"cargoType\":\"一般貨物\",\"weight\":100.5,\"volume\":2.5,\"status\":\"PENDING\","
+            + "\"shipperName\":\"田中太郎\",\"consigneeName\":\"佐藤花子\"}}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CargoRepository cargoRepository;
+
+    @Autowired
+    private TrackingRepository trackingRepository;
+
+    @AfterEach
+    void tearDown() {
+        trackingRepository.deleteAllInBatch();
+        cargoRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 操作が順に実行され、操作ごとのステータスコードとボディが返されることのテスト
+     */
+    @Test
+    void testExecuteReturnsPerOperationResults() throws Exception {
+        String body = "{\"atomic\":false,\"operations\":[" + CREATE_CARGO + ","
+                + "{\"method\":\"GET\",\"path\":\"/cargo/flight/BT001?view=summary\"},"
+                + "{\"method\":\"PUT\",\"path\":\"/cargo/NONEXISTENT/status?status=IN_TRANSIT\"},"
+                + "{\"method\":\"GET\",\"path\":\"/cargo/NONEXISTENT/unknown\"}]}";
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rolledBack").value(false))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].body.flightNumber").value("BT001"))
+                .andExpect(jsonPath("$.results[1].status").value(200))
+                .andExpect(jsonPath("$.results[1].body.items[0].flightNumber").value("BT001"))
+                .andExpect(jsonPath("$.results[2].status").value(404))
+                .andExpect(jsonPath("$.results[3].status").value(404));
+
+        // 結果の検証（失敗した操作があっても成功した操作は反映される）
+        assertEquals(1, cargoRepository.count());
+    }
+
+    /**
+     * 1つのトランザクションで実行し、失敗した操作があれば全操作が取り消されることのテスト
+     */
+    @Test
+    void testAtomicExecuteRollsBackOnFailure() throws Exception {
+        String body = "{\"atomic\":true,\"operations\":[" + CREATE_CARGO + ","
+                + "{\"method\":\"PUT\",\"path\":\"/cargo/NONEXISTENT/status?status=IN_TRANSIT\"},"
+                + CREATE_CARGO + "]}";
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rolledBack").value(true))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[2].status").value(424))
+                .andExpect(jsonPath("$.skipped").value(1));
+
+        // 結果の検証（成功した1件目の作成も取り消される）
+        assertEquals(0, cargoRepository.count());
+    }
+
+    /**
+     * 1つのトランザクションで全操作が成功した場合にコミットされることのテスト
+     */
+    @Test
+    void testAtomicExecuteCommits() throws Exception {
+        String body = "{\"atomic\":true,\"operations\":[" + CREATE_CARGO + "," + CREATE_CARGO + ","
+                + "{\"method\":\"GET\",\"path\":\"/cargo/flight/BT001\"}]}";
+
+        // HTTPリクエストの実行と検証（同じトランザクション内の作成が後続の取得で見える）
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rolledBack").value(false))
+                .andExpect(jsonPath("$.succeeded").value(3))
+                .andExpect(jsonPath("$.results[2].body.items.length()").value(2));
+
+        // 結果の検証
+        assertEquals(2, cargoRepository.count());
+    }
+
+    /**
+     * 同じ貨物をエンティティ経由の更新とステータス更新（UPDATE文）の両方で変更する場合のテスト
+     * ステータス更新の前にエンティティの変更がDBに反映され、コミット時にバージョンの不一致が起きないことを確認します。
+     */
+    @Test
+    void testAtomicExecuteUpdateAndStatusOfSameCargo() throws Exception {
+        cargoRepository.save(new Cargo("C12345678", "BT001", "NRT", "LAX", "一般貨物", new BigDecimal("100.50"),
+                new BigDecimal("2.50"), "PENDING", "田中太郎", "佐藤花子", LocalDateTime.now(), null, 1));
+        String body = "{\"atomic\":true,\"operations\":["
+                + CREATE_CARGO.replace("\"POST\",\"path\":\"/cargo\"", "\"PUT\",\"path\":\"/cargo/C12345678\"")
+                        .replace("佐藤花子", "鈴木一郎") + ","
+                + "{\"method\":\"PUT\",\"path\":\"/cargo/C12345678/status?status=IN_TRANSIT\"}]}";
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rolledBack").value(false))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[1].status").value(200))
+                .andExpect(jsonPath("$.results[1].body.status").value("IN_TRANSIT"));
+
+        // 結果の検証（両方の変更が反映される）
+        Cargo cargo = cargoRepository.findById("C12345678").orElseThrow(AssertionError::new);
+        assertEquals("鈴木一郎", cargo.getConsigneeName());
+        assertEquals("IN_TRANSIT", cargo.getStatus());
+        assertEquals(3, cargo.getVersion());
+    }
+
+    /**
+     * 1つのトランザクションで実行する場合に、追跡情報作成も後続の操作の失敗で取り消されることのテスト
+     */
+    @Test
+    void testAtomicExecuteRollsBackTracking() throws Exception {
+        cargoRepository.save(new Cargo("C12345678", "BT001", "NRT", "LAX", "一般貨物", new BigDecimal("100.50"),
+                new BigDecimal("2.50"), "PENDING", "田中太郎", "佐藤花子", LocalDateTime.now(), null, 1));
+        String body = "{\"atomic\":true,\"operations\":["
+                + "{\"method\":\"POST\",\"path\":\"/cargo/C12345678/tracking\",\"body\":{"
+                + "\"location\":\"NRT\",\"status\":\"RECEIVED\",\"handlerId\":\"H001\"}},"
+                + "{\"method\":\"PUT\",\"path\":\"/cargo/NONEXISTENT/status?status=IN_TRANSIT\"}]}";
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rolledBack").value(true))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[1].status").value(404));
+
+        // 結果の検証（登録した追跡記録も取り消される）
+        assertEquals(0, trackingRepository.count());
+    }
+
+    /**
+     * 1つのトランザクションで実行する場合に、トランザクションに含められない操作を含むと400を返すことのテスト
+     */
+    @Test
+    void testAtomicExecuteRejectsOperationsOutsideTransaction() throws Exception {
+        // 貨物一括作成
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"atomic\":true,\"operations\":[" + CREATE_CARGO + ","
+                        + "{\"method\":\"POST\",\"path\":\"/cargo/bulk\",\"body\":[]}]}"))
+                .andExpect(status().isBadRequest());
+
+        // 貨物詳細
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"atomic\":true,\"operations\":[{\"method\":\"GET\",\"path\":\"/cargo/C12345678/detail?trackingLimit=5\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        // 結果の検証
+        assertEquals(0, cargoRepository.count());
+    }
+
+    /**
+     * 対象外のパス・メソッドを含む場合に何も実行せずに400を返すことのテスト
+     */
+    @Test
+    void testExecuteRejectsUnsupportedOperations() throws Exception {
+        // 対象外のパス
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\":[" + CREATE_CARGO + ",{\"method\":\"GET\",\"path\":\"/export/cargo\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        // 対象外のメソッド
+        mockMvc.perform(post("/api/batch").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\":[{\"method\":\"PATCH\",\"path\":\"/cargo/C12345678\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        // 結果の検証
+        assertEquals(0, cargoRepository.count());
+    }
+}
@@ -1,7 +1,13 @@
 package com.aircargo.controller;
 
+import com.aircargo.dto.CargoDetail;
+import com.aircargo.dto.CargoSummary;
+import com.aircargo.dto.CursorPage;
+import com.aircargo.dto.MultiGetResult;
 import com.aircargo.entity.Cargo;
 import com.aircargo.entity.Tracking;
+import com.aircargo.service.CargoDetailService;
+import com.aircargo.service.CargoLookupService;
 import com.aircargo.service.CargoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -10,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -20,6 +27,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +43,12 @@ class CargoControllerTest {
     @Mock
     private CargoService cargoService;
 
+    @Mock
+    private CargoDetailService cargoDetailService;
+
+    @Mock
+    private CargoLookupService cargoLookupService;
+
     @InjectMocks
     private CargoController cargoController;
 
@@ -80,17 +94,67 @@ class CargoControllerTest {
     @Test
     void testGetAllCargos() throws Exception {
         // モックの設定
-        when(cargoService.getAllCargos()).thenReturn(Arrays.asList(testCargo));
+        when(cargoService.getAllCargos(null, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(testCargo), "next", true));
 
         // HTTPリクエストの実行と検証
         mockMvc.perform(get("/api/cargo"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].cargoId").value("C12345678"))
-                .andExpect(jsonPath("$[0].flightNumber").value("NH001"))
-                .andExpect(jsonPath("$[0].status").value("PENDING"));
+                .andExpect(jsonPath("$.items[0].cargoId").value("C12345678"))
+                .andExpect(jsonPath("$.items[0].flightNumber").value("NH001"))
+                .andExpect(jsonPath("$.items[0].status").value("PENDING"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(cargoService, times(1)).getAllCargos(null, 50);
+    }
+
+    /**
+     * 不正なカーソルでの全貨物取得エンドポイントのテスト
+     */
+    @Test
+    void testGetAllCargosInvalidCursor() throws Exception {
+        // モックの設定
+        when(cargoService.getAllCargos("bad", 10)).thenThrow(new IllegalArgumentException("不正なカーソルです: bad"));
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(get("/api/cargo").param("cursor", "bad").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * 一覧表示形式での全貨物取得エンドポイントのテスト
+     */
+    @Test
+    void testGetAllCargosSummaryView() throws Exception {
+        // モックの設定
+        CargoSummary summary = new CargoSummary("C12345678", "NH001", "NRT", "LAX", "一般貨物",
+                new BigDecimal("100.50"), new BigDecimal("2.5"), "PENDING", "田中太郎", "佐藤花子");
+        when(cargoService.getAllCargoSummaries(null, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(summary), null, false));
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(get("/api/cargo").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].cargoId").value("C12345678"))
+                .andExpect(jsonPath("$.items[0].shipperName").value("田中太郎"))
+                .andExpect(jsonPath("$.items[0].version").doesNotExist())
+                .andExpect(jsonPath("$.items[0].createdDate").doesNotExist());
 
-        verify(cargoService, times(1)).getAllCargos();
+        verify(cargoService, never()).getAllCargos(any(), anyInt());
+    }
+
+    /**
+     * 未対応の表示形式での全貨物取得エンドポイントのテスト
+     */
+    @Test
+    void testGetAllCargosInvalidView() throws Exception {
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(get("/api/cargo").param("view", "compact"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cargoService);
     }
 
     /**
@@ -126,6 +190,71 @@ class CargoControllerTest {
         verify(cargoService, times(1)).getCargoById("NONEXISTENT");
     }
 
+    /**
+     * 貨物詳細取得エンドポイントのテスト
+     */
+    @Test
+    void testGetCargoDetail() throws Exception {
+        // モックの設定
+        CargoDetail detail = new CargoDetail(testCargo, Collections.emptyList(), Collections.emptyList(),
+                new CursorPage<>(Arrays.asList(testTracking), "next", true));
+        when(cargoDetailService.getCargoDetail("C12345678", 5)).thenReturn(Optional.of(detail));
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(get("/api/cargo/C12345678/detail").param("trackingLimit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cargo.cargoId").value("C12345678"))
+                .andExpect(jsonPath("$.inbounds").isEmpty())
+                .andExpect(jsonPath("$.tracking.items[0].trackingId").value("TR12345678"))
+                .andExpect(jsonPath("$.tracking.nextCursor").value("next"));
+    }
+
+    /**
+     * 存在しない貨物の詳細取得エンドポイントのテスト
+     */
+    @Test
+    void testGetCargoDetailNotFound() throws Exception {
+        // モックの設定
+        when(cargoDetailService.getCargoDetail("NONEXISTENT", 0)).thenReturn(Optional.empty());
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(get("/api/cargo/NONEXISTENT/detail"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * 複数貨物の一括取得エンドポイントのテスト
+     */
+    @Test
+    void testGetCargos() throws Exception {
+        // モックの設定
+        when(cargoLookupService.getCargos(Arrays.asList("C12345678", "NONEXISTENT")))
+                .thenReturn(new MultiGetResult<>(Arrays.asList(testCargo), Arrays.asList("NONEXISTENT")));
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(post("/api/cargo/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"C12345678\",\"NONEXISTENT\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].cargoId").value("C12345678"))
+                .andExpect(jsonPath("$.missing[0]").value("NONEXISTENT"));
+    }
+
+    /**
+     * 貨物IDの数が上限を超える一括取得エンドポイントのテスト
+     */
+    @Test
+    void testGetCargosTooManyIds() throws Exception {
+        // モックの設定
+        when(cargoLookupService.getCargos(anyList())).thenThrow(new IllegalArgumentException("貨物IDは1000件以内で指定してください: 1001"));
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(post("/api/cargo/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"C12345678\"]"))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * 新規貨物作成エンドポイントのテスト
      */
@@ -204,15 +333,16 @@ class CargoControllerTest {
     @Test
     void testGetCargosByFlightNumber() throws Exception {
         // モックの設定
-        when(cargoService.getCargosByFlightNumber("NH001")).thenReturn(Arrays.asList(testCargo));
+        when(cargoService.getCargosByFlightNumber("NH001", null, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(testCargo), null, false));
 
         // HTTPリクエストの実行と検証
         mockMvc.perform(get("/api/cargo/flight/NH001"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].flightNumber").value("NH001"));
+                .andExpect(jsonPath("$.items[0].flightNumber").value("NH001"));
 
-        verify(cargoService, times(1)).getCargosByFlightNumber("NH001");
+        verify(cargoService, times(1)).getCargosByFlightNumber("NH001", null, 50);
     }
 
     /**
@@ -221,15 +351,16 @@ class CargoControllerTest {
     @Test
     void testGetCargosByStatus() throws Exception {
         // モックの設定
-        when(cargoService.getCargosByStatus("PENDING")).thenReturn(Arrays.asList(testCargo));
+        when(cargoService.getCargosByStatus("PENDING", null, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(testCargo), null, false));
 
         // HTTPリクエストの実行と検証
         mockMvc.perform(get("/api/cargo/status/PENDING"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].status").value("PENDING"));
+                .andExpect(jsonPath("$.items[0].status").value("PENDING"));
 
-        verify(cargoService, times(1)).getCargosByStatus("PENDING");
+        verify(cargoService, times(1)).getCargosByStatus("PENDING", null, 50);
     }
 
     /**
@@ -238,16 +369,17 @@ class CargoControllerTest {
     @Test
     void testSearchCargosByShipperName() throws Exception {
         // モックの設定
-        when(cargoService.searchCargosByShipperName("田中")).thenReturn(Arrays.asList(testCargo));
+        when(cargoService.searchCargosByShipperName("田中", null, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(testCargo), null, false));
 
         // HTTPリクエストの実行と検証
         mockMvc.perform(get("/api/cargo/search/shipper")
                 .param("shipperName", "田中"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].shipperName").value("田中太郎"));
+                .andExpect(jsonPath("$.items[0].shipperName").value("田中太郎"));
 
-        verify(cargoService, times(1)).searchCargosByShipperName("田中");
+        verify(cargoService, times(1)).searchCargosByShipperName("田中", null, 50);
     }
 
     /**
@@ -256,16 +388,17 @@ class CargoControllerTest {
     @Test
     void testSearchCargosByConsigneeName() throws Exception {
         // モックの設定
-        when(cargoService.searchCargosByConsigneeName("佐藤")).thenReturn(Arrays.asList(testCargo));
+        when(cargoService.searchCargosByConsigneeName("佐藤", null, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(testCargo), null, false));
 
         // HTTPリクエストの実行と検証
         mockMvc.perform(get("/api/cargo/search/consignee")
                 .param("consigneeName", "佐藤"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].consigneeName").value("佐藤花子"));
+                .andExpect(jsonPath("$.items[0].consigneeName").value("佐藤花子"));
 
-        verify(cargoService, times(1)).searchCargosByConsigneeName("佐藤");
+        verify(cargoService, times(1)).searchCargosByConsigneeName("佐藤", null, 50);
     }
 
     /**
@@ -274,7 +407,7 @@ class CargoControllerTest {
     @Test
     void testUpdateCargoStatus() throws Exception {
         // モックの設定
-        when(cargoService.updateCargoStatus("C12345678", "IN_TRANSIT")).thenReturn(testCargo);
+        when(cargoService.updateCargoStatus("C12345678", "IN_TRANSIT", null)).thenReturn(testCargo);
 
         // HTTPリクエストの実行と検証
         mockMvc.perform(put("/api/cargo/C12345678/status")
@@ -283,7 +416,38 @@ class CargoControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.cargoId").value("C12345678"));
 
-        verify(cargoService, times(1)).updateCargoStatus("C12345678", "IN_TRANSIT");
+        verify(cargoService, times(1)).updateCargoStatus("C12345678", "IN_TRANSIT", null);
+    }
+
+    /**
+     * バージョンが一致しない場合の貨物ステータス更新エンドポイントのテスト
+     */
+    @Test
+    void testUpdateCargoStatusVersionConflict() throws Exception {
+        // モックの設定
+        when(cargoService.updateCargoStatus("C12345678", "IN_TRANSIT", 1))
+                .thenThrow(new OptimisticLockingFailureException("貨物のバージョンが一致しません: C12345678"));
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(put("/api/cargo/C12345678/status")
+                .param("status", "IN_TRANSIT")
+                .param("version", "1"))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * 存在しない貨物のステータス更新エンドポイントのテスト
+     */
+    @Test
+    void testUpdateCargoStatusNotFound() throws Exception {
+        // モックの設定
+        when(cargoService.updateCargoStatus("NONEXISTENT", "IN_TRANSIT", null))
+                .thenThrow(new RuntimeException("貨物が見つかりません: NONEXISTENT"));
+
+        // HTTPリクエストの実行と検証
+        mockMvc.perform(put("/api/cargo/NONEXISTENT/status")
+                .param("status", "IN_TRANSIT"))
+                .andExpect(status().isNotFound());
     }
 
     /**
@@ -292,15 +456,16 @@ class CargoControllerTest {
     @Test
     void testGetTrackingHistory() throws Exception {
         // モックの設定
-        when(cargoService.getTrackingHistory("C12345678")).thenReturn(Arrays.asList(testTracking));
+        when(cargoService.getTrackingHistory("C12345678", null, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(testTracking), null, false));
 
         // HTTPリクエストの実行と検証
         mockMvc.perform(get("/api/cargo/C12345678/tracking"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].trackingId").value("TR12345678"))
-                .andExpect(jsonPath("$[0].cargoId").value("C12345678"));
+                .andExpect(jsonPath("$.items[0].trackingId").value("TR12345678"))
+                .andExpect(jsonPath("$.items[0].cargoId").value("C12345678"));
 
-        verify(cargoService, times(1)).getTrackingHistory("C12345678");
+        verify(cargoService, times(1)).getTrackingHistory("C12345678", null, 50);
     }
 } 
\ No newline at end of file
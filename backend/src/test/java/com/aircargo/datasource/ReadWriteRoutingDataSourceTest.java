@@ -0,0 +1,124 @@
+package com.aircargo.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+
+/**
+ * 読み書き振り分けデータソースのテストクラス
+ *
+ * プライマリとレプリカの代わりに2つのH2データベースを使用し、読み取り専用トランザクションの振り分けと、
+ * ReplicaConsistencyInterceptorによる書き込み直後の読み取りのプライマリへの振り分けをテストします。
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private JdbcTemplate routed;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1");
+        DataSource replicaDataSource = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        for (JdbcTemplate database : new JdbcTemplate[] {primary, replica}) {
+            database.execute("CREATE TABLE CARGO (CARGO_ID VARCHAR(20) PRIMARY KEY, STATUS VARCHAR(20))");
+        }
+        // レプリカには書き込みがまだ反映されていない状態
+        primary.update("INSERT INTO CARGO VALUES ('C001', 'IN_TRANSIT')");
+        replica.update("INSERT INTO CARGO VALUES ('C001', 'PENDING')");
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource));
+        routed = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRouting.clear();
+        primary.execute("DROP TABLE CARGO");
+        replica.execute("DROP TABLE CARGO");
+    }
+
+    /**
+     * 読み取り専用トランザクションのみがレプリカに振り分けられることのテスト
+     */
+    @Test
+    void testReadOnlyTransactionsUseReplica() {
+        assertEquals("PENDING", readOnly.execute(status -> status()));
+        assertEquals("IN_TRANSIT", readWrite.execute(status -> status()));
+        // トランザクション外はプライマリ
+        assertEquals("IN_TRANSIT", status());
+
+        // 書き込みはプライマリに反映される
+        readWrite.executeWithoutResult(status -> routed.update("UPDATE CARGO SET STATUS = 'ARRIVED'"));
+        assertEquals("ARRIVED", primary.queryForObject("SELECT STATUS FROM CARGO", String.class));
+        assertEquals("PENDING", replica.queryForObject("SELECT STATUS FROM CARGO", String.class));
+    }
+
+    /**
+     * プライマリを指定した場合は読み取り専用トランザクションもプライマリで実行されることのテスト
+     */
+    @Test
+    void testPrimaryForcedReadsPrimary() {
+        assertEquals("IN_TRANSIT", ReplicaRouting.onPrimary(() -> readOnly.execute(status -> status())));
+        assertFalse(ReplicaRouting.isPrimaryForced());
+        assertEquals("PENDING", readOnly.execute(status -> status()));
+    }
+
+    /**
+     * 書き込み要求の後、Cookieを返した読み取り要求がプライマリで実行されることのテスト
+     */
+    @Test
+    void testReadYourWritesAfterWriteRequest() {
+        ReplicaConsistencyInterceptor interceptor = new ReplicaConsistencyInterceptor(5000);
+
+        // 書き込み要求: Cookieを設定し、要求内の読み取りはプライマリ
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest("PUT", "/api/cargo/C001/status"), writeResponse, null);
+        assertEquals("IN_TRANSIT", readOnly.execute(status -> status()));
+        interceptor.afterCompletion(null, null, null, null);
+        Cookie cookie = writeResponse.getCookie(ReplicaConsistencyInterceptor.LAST_WRITE_COOKIE);
+        assertNotNull(cookie);
+
+        // Cookieを返した読み取り要求はプライマリ
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/cargo/C001");
+        read.setCookies(cookie);
+        interceptor.preHandle(read, new MockHttpServletResponse(), null);
+        assertEquals("IN_TRANSIT", readOnly.execute(status -> status()));
+        interceptor.afterCompletion(null, null, null, null);
+
+        // Cookieのない要求、期限を過ぎたCookieの要求はレプリカ
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/cargo/C001"), new MockHttpServletResponse(), null);
+        assertEquals("PENDING", readOnly.execute(status -> status()));
+        interceptor.afterCompletion(null, null, null, null);
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/api/cargo/C001");
+        stale.setCookies(new Cookie(ReplicaConsistencyInterceptor.LAST_WRITE_COOKIE,
+            String.valueOf(System.currentTimeMillis() - 10000)));
+        interceptor.preHandle(stale, new MockHttpServletResponse(), null);
+        assertEquals("PENDING", readOnly.execute(status -> status()));
+        interceptor.afterCompletion(null, null, null, null);
+    }
+
+    private String status() {
+        return routed.queryForObject("SELECT STATUS FROM CARGO WHERE CARGO_ID = 'C001'", String.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.aircargo.id;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 時刻順ID生成のテストクラス
+ *
+ * TimeOrderedIdGeneratorの形式、順序性、並行実行時の一意性をテストします。
+ */
+class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = TimeOrderedIdGenerator.EPOCH_MILLIS + 86_400_000L;
+
+    /**
+     * IDの形式（接頭辞 + Crockford Base32の16文字、20文字以内）のテスト
+     */
+    @Test
+    void testIdFormat() {
+        IdGenerator generator = new TimeOrderedIdGenerator(1023);
+
+        for (String prefix : new String[] {"C", "IN", "OUT", "TR"}) {
+            String id = generator.nextId(prefix);
+            assertTrue(id.startsWith(prefix));
+            assertEquals(prefix.length() + 16, id.length());
+            assertTrue(id.length() <= 20);
+            assertTrue(id.substring(prefix.length()).matches("[0-9A-HJKMNP-TV-Z]{16}"), id);
+        }
+    }
+
+    /**
+     * 同一スレッドで生成したIDが文字列順に単調増加することのテスト
+     * 時計の巻き戻りと、1ミリ秒内の連番の使い切りを含みます。
+     */
+    @Test
+    void testIdsAreMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        IdGenerator generator = new TimeOrderedIdGenerator(7, 4, clock::get);
+
+        String previous = generator.nextId("C");
+        for (int i = 0; i < 200_000; i++) {
+            if (i == 1_000) {
+                clock.addAndGet(5);
+            } else if (i == 2_000) {
+                clock.addAndGet(-1_000);
+            }
+            String id = generator.nextId("C");
+            assertTrue(id.compareTo(previous) > 0, previous + " -> " + id);
+            previous = id;
+        }
+    }
+
+    /**
+     * 時刻が異なるIDの順序がノードIDによらず時刻順になることのテスト
+     */
+    @Test
+    void testIdsAreOrderedByTimeAcrossNodes() {
+        String earlier = new TimeOrderedIdGenerator(1023, 1, () -> NOW).nextId("C");
+        String later = new TimeOrderedIdGenerator(0, 1, () -> NOW + 1).nextId("C");
+
+        assertTrue(earlier.compareTo(later) < 0);
+    }
+
+    /**
+     * 複数スレッドから同時に生成したIDが一意であることのテスト
+     */
+    @Test
+    void testConcurrentIdsAreUnique() throws InterruptedException {
+        IdGenerator generator = new TimeOrderedIdGenerator(0);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId("TR"));
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    /**
+     * 範囲外のノードIDを拒否することのテスト
+     */
+    @Test
+    void testInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1));
+    }
+}
@@ -0,0 +1,91 @@
+package com.aircargo.jfr;
+
+import com.aircargo.dto.JfrRecordingStatus;
+import com.aircargo.entity.Cargo;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JFR記録エンドポイントのテストクラス
+ *
+ * ドメインイベントが既定で無効であること、エンドポイントで開始した記録にドメインイベントが記録されることをテストします。
+ */
+class JfrRecordingEndpointTest {
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new JfrRecordingEndpoint("default", 60, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.stop();
+    }
+
+    /**
+     * 記録を開始するまでドメインイベントが無効であることのテスト
+     */
+    @Test
+    void testEventsDisabledByDefault() {
+        assertFalse(new CargoCreatedEvent().isEnabled());
+        assertFalse(new RequestHandledEvent().isEnabled());
+        assertEquals(404, endpoint.dump().getStatus());
+    }
+
+    /**
+     * 開始した記録にドメインイベントが記録され、.jfrファイルとして取得できることのテスト
+     */
+    @Test
+    void testStartAndDumpRecordsDomainEvents() throws Exception {
+        JfrRecordingStatus status = endpoint.start(null);
+        assertEquals("RUNNING", status.getState());
+        assertEquals("default", status.getSettings());
+        assertTrue(status.getEvents().contains("com.aircargo.CargoCreated"));
+
+        Cargo cargo = new Cargo();
+        cargo.setCargoId("C001");
+        cargo.setFlightNumber("NH001");
+        cargo.setStatus("IN_TRANSIT");
+        CargoStatusChangedEvent event = new CargoStatusChangedEvent();
+        assertTrue(event.isEnabled());
+        event.begin();
+        event.record(cargo, "PENDING");
+
+        WebEndpointResponse<Resource> response = endpoint.dump();
+        assertEquals(200, response.getStatus());
+        Path file = Files.createTempFile("jfr-test-", ".jfr");
+        try {
+            try (InputStream in = response.getBody().getInputStream()) {
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.aircargo.CargoStatusChanged"))
+                .collect(Collectors.toList());
+            assertEquals(1, events.size());
+            assertEquals("C001", events.get(0).getString("cargoId"));
+            assertEquals("NH001", events.get(0).getString("flightNumber"));
+            assertEquals("PENDING", events.get(0).getString("previousStatus"));
+            assertEquals("IN_TRANSIT", events.get(0).getString("status"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertEquals("STOPPED", endpoint.stop().getState());
+        assertEquals(404, endpoint.dump().getStatus());
+    }
+}
@@ -0,0 +1,91 @@
+package com.aircargo.metrics;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.repository.CargoRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * メソッドメトリクスのテストクラス
+ *
+ * MethodMetricsPostProcessorによる組み込みと、MethodMetricsInterceptorが記録するメトリクスをテストします。
+ */
+class MethodMetricsPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CargoRepository cargoRepository;
+    private CargoRepository instrumented;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        MethodMetricsPostProcessor postProcessor =
+            new MethodMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+
+        cargoRepository = mock(CargoRepository.class);
+        instrumented = (CargoRepository) postProcessor.postProcessAfterInitialization(cargoRepository, "cargoRepository");
+    }
+
+    /**
+     * 成功時に所要時間と戻り値の件数が記録されることのテスト
+     */
+    @Test
+    void testSuccessRecordsDurationAndResultSize() {
+        when(cargoRepository.findByFlightNumber("NH001")).thenReturn(Arrays.asList(new Cargo(), new Cargo()));
+        when(cargoRepository.findById("C001")).thenReturn(Optional.empty());
+
+        instrumented.findByFlightNumber("NH001");
+        instrumented.findByFlightNumber("NH001");
+        instrumented.findById("C001");
+
+        Timer timer = meterRegistry.get(MethodMetricsInterceptor.DURATION)
+            .tag("component", "CargoRepository").tag("operation", "findByFlightNumber").tag("outcome", "SUCCESS")
+            .timer();
+        assertEquals(2, timer.count());
+        DistributionSummary resultSize = meterRegistry.get(MethodMetricsInterceptor.RESULT_SIZE)
+            .tag("operation", "findByFlightNumber").summary();
+        assertEquals(2, resultSize.count());
+        assertEquals(4, resultSize.totalAmount());
+        assertEquals(0, meterRegistry.get(MethodMetricsInterceptor.RESULT_SIZE)
+            .tag("operation", "findById").summary().totalAmount());
+    }
+
+    /**
+     * 例外時にエラーとして記録され、例外がそのまま送出されることのテスト
+     */
+    @Test
+    void testErrorIsRecordedAndRethrown() {
+        when(cargoRepository.findByStatus("PENDING")).thenThrow(new IllegalStateException("接続エラー"));
+
+        assertThrows(IllegalStateException.class, () -> instrumented.findByStatus("PENDING"));
+
+        Timer timer = meterRegistry.get(MethodMetricsInterceptor.DURATION)
+            .tag("operation", "findByStatus").tag("outcome", "ERROR").tag("exception", "IllegalStateException")
+            .timer();
+        assertEquals(1, timer.count());
+    }
+
+    /**
+     * 計測対象外のBeanがそのまま返されることのテスト
+     */
+    @Test
+    void testOtherBeansAreNotInstrumented() {
+        Object bean = new Object();
+        MethodMetricsPostProcessor postProcessor = new MethodMetricsPostProcessor(null);
+
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "other"));
+        assertNull(MethodMetricsPostProcessor.componentOf(bean));
+    }
+}
@@ -0,0 +1,148 @@
+package com.aircargo.metrics;
+
+import com.aircargo.dto.IndexCandidate;
+import com.aircargo.dto.SlowQuery;
+import com.aircargo.dto.SlowQueryReport;
+import com.aircargo.entity.Inbound;
+import com.aircargo.repository.InboundRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * スロークエリログのテストクラス
+ *
+ * SlowQueryDataSourceによる計測、SlowQueryLogのレポート（H2のEXPLAINによるインデックス候補）、
+ * IndexAdvisorの検索条件の解析をテストします。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlowQueryLogTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private InboundRepository inboundRepository;
+
+    private SlowQueryLog slowQueryLog;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        inboundRepository.saveAll(Arrays.asList(newInbound("IN001", "C001"), newInbound("IN002", "C001"),
+            newInbound("IN003", "C002")));
+
+        // 閾値0ミリ秒ですべての実行を記録する
+        slowQueryLog = new SlowQueryLog(dataSource, 0, 10, 100, true);
+        jdbcTemplate = new JdbcTemplate(new SlowQueryDataSource(dataSource, () -> slowQueryLog, false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        inboundRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 行数・バインドパラメータの型が記録されることのテスト
+     */
+    @Test
+    void testRecordsRowsAndBindShape() {
+        jdbcTemplate.queryForList("SELECT INBOUND_ID FROM INBOUND WHERE CARGO_ID = ?", String.class, "C001");
+        jdbcTemplate.update("UPDATE INBOUND SET STATUS = ? WHERE CARGO_ID = ?", "PROCESSING", "C002");
+
+        List<SlowQuery> recent = slowQueryLog.report().getRecent();
+        assertEquals(2, recent.size());
+        assertEquals("UPDATE INBOUND SET STATUS = ? WHERE CARGO_ID = ?", recent.get(0).getSql());
+        assertEquals(1, recent.get(0).getRows());
+        assertEquals(Arrays.asList("String", "String"), recent.get(0).getBindShape());
+        assertEquals(2, recent.get(1).getRows());
+        assertEquals(Collections.singletonList("String"), recent.get(1).getBindShape());
+    }
+
+    /**
+     * 実行の時点で閾値未満の検索の結果セットが包まれずに返されることのテスト
+     */
+    @Test
+    void testFastQueryResultSetIsNotWrapped() {
+        // 閾値60秒（記録されない）
+        SlowQueryLog log = new SlowQueryLog(dataSource, 60000, 10, 100, false);
+        JdbcTemplate fastTemplate = new JdbcTemplate(new SlowQueryDataSource(dataSource, () -> log, false));
+        JdbcTemplate fetchTemplate = new JdbcTemplate(new SlowQueryDataSource(dataSource, () -> log, true));
+        String sql = "SELECT INBOUND_ID FROM INBOUND WHERE CARGO_ID = ?";
+        ResultSetExtractor<Boolean> wrapped = rs -> Proxy.isProxyClass(rs.getClass());
+
+        // 結果の検証（実行の時点で閾値を超えた場合、またはフェッチを計測する場合のみ結果セットがプロキシになる）
+        assertFalse(fastTemplate.query(sql, wrapped, "C001"));
+        assertTrue(fetchTemplate.query(sql, wrapped, "C001"));
+        assertTrue(jdbcTemplate.query(sql, wrapped, "C001"));
+        assertTrue(log.report().getRecent().isEmpty());
+    }
+
+    /**
+     * 実行計画で全件走査しているテーブルの検索条件がインデックス候補になることのテスト
+     */
+    @Test
+    void testReportSuggestsIndexForTableScan() {
+        jdbcTemplate.queryForList("SELECT INBOUND_ID FROM INBOUND WHERE CARGO_ID = ?", String.class, "C001");
+        jdbcTemplate.queryForList("SELECT INBOUND_ID FROM INBOUND WHERE INBOUND_ID = ?", String.class, "IN001");
+
+        SlowQueryReport report = slowQueryLog.report();
+
+        assertEquals(2, report.getStatements().size());
+        List<IndexCandidate> candidates = report.getIndexCandidates();
+        assertEquals(1, candidates.size());
+        assertEquals("INBOUND", candidates.get(0).getTable());
+        assertEquals(Collections.singletonList("CARGO_ID"), candidates.get(0).getColumns());
+        assertEquals("CREATE INDEX IDX_INBOUND_CARGO_ID ON INBOUND(CARGO_ID)", candidates.get(0).getDdl());
+        assertTrue(candidates.get(0).isConfirmedByPlan());
+    }
+
+    /**
+     * Hibernateが生成するキーセットページングのSQLの解析のテスト
+     */
+    @Test
+    void testIndexAdvisorParsesHibernateSql() {
+        String sql = "select tracking0_.tracking_id as tracking1_3_, tracking0_.cargo_id as cargo_id2_3_ "
+            + "from tracking tracking0_ where tracking0_.cargo_id=? and (tracking0_.timestamp<? "
+            + "or tracking0_.timestamp=? and tracking0_.tracking_id<?) "
+            + "order by tracking0_.timestamp desc, tracking0_.tracking_id desc fetch first ? rows only";
+
+        Map<String, IndexAdvisor.Candidate> candidates = IndexAdvisor.candidates(sql);
+
+        IndexAdvisor.Candidate candidate = candidates.get("TRACKING");
+        assertEquals(Arrays.asList("CARGO_ID", "TIMESTAMP", "TRACKING_ID"), candidate.columns());
+        assertTrue(IndexAdvisor.coveredBy(candidate,
+            Collections.singletonList(Arrays.asList("CARGO_ID", "TIMESTAMP", "TRACKING_ID"))));
+        assertFalse(IndexAdvisor.coveredBy(candidate,
+            Collections.singletonList(Collections.singletonList("TIMESTAMP"))));
+    }
+
+    private Inbound newInbound(String inboundId, String cargoId) {
+        Inbound inbound = new Inbound();
+        inbound.setInboundId(inboundId);
+        inbound.setCargoId(cargoId);
+        inbound.setFlightNumber("NH001");
+        inbound.setStatus("ARRIVED");
+        inbound.setCreatedDate(LocalDateTime.now());
+        inbound.setVersion(1);
+        return inbound;
+    }
+}
@@ -0,0 +1,181 @@
+package com.aircargo.repository;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.entity.Outbound;
+import com.aircargo.entity.Tracking;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * IDを採番済みのエンティティの登録のテストクラス
+ *
+ * 貨物・入荷・出荷・追跡のsave()が、主キーによるSELECTを伴わない1回のINSERTとなることを、
+ * Hibernateの統計情報で実行したSQL文の数を数えて検証します。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class AssignedIdInsertTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CargoRepository cargoRepository;
+
+    @Autowired
+    private InboundRepository inboundRepository;
+
+    @Autowired
+    private OutboundRepository outboundRepository;
+
+    @Autowired
+    private TrackingRepository trackingRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    /**
+     * 貨物の登録が1回のINSERTとなることのテスト
+     */
+    @Test
+    void testSaveCargoIssuesSingleInsert() {
+        // メソッドの実行
+        Cargo cargo = cargoRepository.save(newCargo("C12345678"));
+        entityManager.flush();
+
+        // 結果の検証
+        assertSingleInsert();
+        assertFalse(cargo.isNew());
+        assertEquals(1, cargo.getVersion());
+    }
+
+    /**
+     * 入荷記録の登録が1回のINSERTとなることのテスト
+     */
+    @Test
+    void testSaveInboundIssuesSingleInsert() {
+        // メソッドの実行
+        Inbound inbound = new Inbound();
+        inbound.setInboundId("IN12345678");
+        inbound.setCargoId("C12345678");
+        inbound.setFlightNumber("NH001");
+        inbound.setArrivalDate(LocalDate.of(2024, 1, 1));
+        inbound.setStatus("ARRIVED");
+        inbound.setCreatedDate(LocalDateTime.now());
+        inbound.setVersion(1);
+        inboundRepository.save(inbound);
+        entityManager.flush();
+
+        // 結果の検証
+        assertSingleInsert();
+    }
+
+    /**
+     * 出荷記録の登録が1回のINSERTとなることのテスト
+     */
+    @Test
+    void testSaveOutboundIssuesSingleInsert() {
+        // メソッドの実行
+        Outbound outbound = new Outbound();
+        outbound.setOutboundId("OUT12345678");
+        outbound.setCargoId("C12345678");
+        outbound.setFlightNumber("NH002");
+        outbound.setDepartureDate(LocalDate.of(2024, 1, 2));
+        outbound.setStatus("SCHEDULED");
+        outbound.setCreatedDate(LocalDateTime.now());
+        outbound.setVersion(1);
+        outboundRepository.save(outbound);
+        entityManager.flush();
+
+        // 結果の検証
+        assertSingleInsert();
+    }
+
+    /**
+     * 追跡記録の登録が1回のINSERTとなることのテスト
+     */
+    @Test
+    void testSaveTrackingIssuesSingleInsert() {
+        // メソッドの実行
+        trackingRepository.save(new Tracking("TR12345678", "C12345678", "NRT", "IN_TRANSIT",
+                LocalDateTime.now(), "H001", null, 1));
+        entityManager.flush();
+
+        // 結果の検証
+        assertSingleInsert();
+    }
+
+    /**
+     * 読み込んだ貨物のsave()は既存の行として更新されることのテスト
+     */
+    @Test
+    void testSaveLoadedCargoUpdates() {
+        // テストデータの登録と読み込み
+        cargoRepository.save(newCargo("C12345678"));
+        entityManager.flush();
+        entityManager.clear();
+        Cargo loaded = cargoRepository.findById("C12345678").get();
+        assertFalse(loaded.isNew());
+        statistics.clear();
+
+        // メソッドの実行
+        loaded.setStatus("IN_TRANSIT");
+        cargoRepository.save(loaded);
+        entityManager.flush();
+
+        // 結果の検証（UPDATEのみ、バージョンは加算される）
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(2, loaded.getVersion());
+    }
+
+    /**
+     * 実行したSQL文がINSERTの1回のみであることの検証
+     */
+    private void assertSingleInsert() {
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private Cargo newCargo(String cargoId) {
+        Cargo cargo = new Cargo();
+        cargo.setCargoId(cargoId);
+        cargo.setFlightNumber("NH001");
+        cargo.setOriginAirport("NRT");
+        cargo.setDestinationAirport("LAX");
+        cargo.setCargoType("一般貨物");
+        cargo.setWeight(new BigDecimal("100.50"));
+        cargo.setVolume(new BigDecimal("2.50"));
+        cargo.setStatus("PENDING");
+        cargo.setShipperName("田中太郎");
+        cargo.setConsigneeName("佐藤花子");
+        cargo.setCreatedDate(LocalDateTime.now());
+        cargo.setUpdatedDate(LocalDateTime.now());
+        cargo.setVersion(1);
+        return cargo;
+    }
+}
@@ -1,16 +1,19 @@
 package com.aircargo.repository;
 
+import com.aircargo.dto.CargoSummary;
 import com.aircargo.entity.Cargo;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -265,4 +268,75 @@ class CargoRepositoryTest {
         Optional<Cargo> afterDelete = cargoRepository.findById("C12345678");
         assertFalse(afterDelete.isPresent());
     }
-} 
\ No newline at end of file
+
+    /**
+     * 貨物IDによるキーセットページングのテスト
+     */
+    @Test
+    void testFindByCargoIdGreaterThanOrderByCargoIdAsc() {
+        // 先頭ページ（空文字からシーク）
+        List<Cargo> firstPage = cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc("", PageRequest.of(0, 1));
+        assertEquals(1, firstPage.size());
+        assertEquals("C12345678", firstPage.get(0).getCargoId());
+
+        // 前ページ最終行の貨物IDから次ページをシーク
+        List<Cargo> secondPage = cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc(
+                firstPage.get(0).getCargoId(), PageRequest.of(0, 1));
+        assertEquals(1, secondPage.size());
+        assertEquals("C87654321", secondPage.get(0).getCargoId());
+
+        // 最終行以降は空
+        List<Cargo> lastPage = cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc(
+                secondPage.get(0).getCargoId(), PageRequest.of(0, 1));
+        assertTrue(lastPage.isEmpty());
+    }
+
+    /**
+     * フライト番号によるキーセットページングのテスト
+     */
+    @Test
+    void testFindByFlightNumberAndCargoIdGreaterThan() {
+        // メソッドの実行
+        List<Cargo> result = cargoRepository.findByFlightNumberAndCargoIdGreaterThanOrderByCargoIdAsc(
+                "NH001", "C12345678", PageRequest.of(0, 10));
+
+        // 結果の検証
+        assertEquals(1, result.size());
+        assertEquals("C87654321", result.get(0).getCargoId());
+    }
+
+    /**
+     * 貨物一覧項目へのプロジェクションによるキーセットページングのテスト
+     */
+    @Test
+    void testFindByCargoIdGreaterThanAsSummary() {
+        // メソッドの実行
+        List<CargoSummary> result = cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc(
+                "", PageRequest.of(0, 10), CargoSummary.class);
+
+        // 結果の検証
+        assertEquals(2, result.size());
+        CargoSummary summary = result.get(0);
+        assertEquals("C12345678", summary.getCargoId());
+        assertEquals("NH001", summary.getFlightNumber());
+        assertEquals(0, new BigDecimal("100.50").compareTo(summary.getWeight()));
+        assertEquals("田中太郎", summary.getShipperName());
+        assertEquals("佐藤花子", summary.getConsigneeName());
+        assertEquals("C87654321", result.get(1).getCargoId());
+    }
+
+    /**
+     * 貨物IDのリストによる貨物一覧項目の取得のテスト
+     */
+    @Test
+    void testFindByCargoIdInAsSummary() {
+        // メソッドの実行
+        List<CargoSummary> result = cargoRepository.findByCargoIdIn(
+                Arrays.asList("C87654321", "NONEXISTENT"), CargoSummary.class);
+
+        // 結果の検証
+        assertEquals(1, result.size());
+        assertEquals("C87654321", result.get(0).getCargoId());
+        assertEquals("IN_TRANSIT", result.get(0).getStatus());
+    }
+}
@@ -0,0 +1,134 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.BulkCreateResult;
+import com.aircargo.entity.Cargo;
+import com.aircargo.id.TimeOrderedIdGenerator;
+import com.aircargo.repository.CargoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 貨物一括作成サービスのテストクラス
+ * 
+ * CargoBulkServiceのバッチINSERTと項目別エラー報告をテストします。
+ * チャンクごとに独立したトランザクションでコミットされるため、テストメソッド自体はトランザクション外で実行します。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CargoBulkServiceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CargoRepository cargoRepository;
+
+    private CargoBulkService cargoBulkService;
+
+    @BeforeEach
+    void setUp() {
+        // バッチサイズ2、上限5件で作成
+        cargoBulkService = new CargoBulkService(new JdbcTemplate(dataSource), transactionManager,
+                new TimeOrderedIdGenerator(0), new CargoNameIndex(dataSource, new SimpleMeterRegistry(), 1000, 200000, true),
+                new StatusCounters(dataSource), 2, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cargoRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 一括作成のテスト
+     */
+    @Test
+    void testCreateCargos() {
+        // メソッドの実行（バッチサイズをまたぐ3件）
+        BulkCreateResult result = cargoBulkService.createCargos(Arrays.asList(newCargo("NH001"), newCargo("NH002"), newCargo("NH003")));
+
+        // 結果の検証
+        assertEquals(3, result.getRequested());
+        assertEquals(3, result.getCreated());
+        assertEquals(0, result.getFailed());
+        assertEquals(3, cargoRepository.count());
+        result.getItems().forEach(item -> {
+            assertTrue(item.isSuccess());
+            Cargo saved = cargoRepository.findById(item.getId()).orElseThrow(AssertionError::new);
+            assertEquals("PENDING", saved.getStatus());
+            assertEquals(1, saved.getVersion());
+        });
+    }
+
+    /**
+     * 一部の項目が失敗しても他の項目が登録されることのテスト
+     */
+    @Test
+    void testCreateCargosReportsErrorsPerItem() {
+        // 必須項目の未入力と、DB制約違反（列長超過）を含むリクエスト
+        Cargo missingWeight = newCargo("NH001");
+        missingWeight.setWeight(null);
+        Cargo tooLong = newCargo(String.join("", Collections.nCopies(300, "X")));
+        List<Cargo> cargos = Arrays.asList(newCargo("NH001"), missingWeight, tooLong, newCargo("NH002"));
+
+        // メソッドの実行
+        BulkCreateResult result = cargoBulkService.createCargos(cargos);
+
+        // 結果の検証
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertEquals("必須項目が未入力です: weight", result.getItems().get(1).getError());
+        assertFalse(result.getItems().get(2).isSuccess());
+        assertNotNull(result.getItems().get(2).getError());
+        assertTrue(result.getItems().get(3).isSuccess());
+        assertEquals(2, cargoRepository.count());
+    }
+
+    /**
+     * 上限件数を超える一括作成のテスト
+     */
+    @Test
+    void testCreateCargosExceedsMaxItems() {
+        List<Cargo> cargos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            cargos.add(newCargo("NH001"));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> cargoBulkService.createCargos(cargos));
+        assertEquals(0, cargoRepository.count());
+    }
+
+    private Cargo newCargo(String flightNumber) {
+        Cargo cargo = new Cargo();
+        cargo.setFlightNumber(flightNumber);
+        cargo.setOriginAirport("NRT");
+        cargo.setDestinationAirport("LAX");
+        cargo.setCargoType("一般貨物");
+        cargo.setWeight(new BigDecimal("100.50"));
+        cargo.setVolume(new BigDecimal("2.5"));
+        cargo.setShipperName("田中太郎");
+        cargo.setConsigneeName("佐藤花子");
+        return cargo;
+    }
+}
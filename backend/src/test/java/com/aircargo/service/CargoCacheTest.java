@@ -0,0 +1,119 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Cargo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 貨物キャッシュのテストクラス
+ * 
+ * CargoCacheのリードスルー、バージョンによる置き換え判定、メトリクスをテストします。
+ */
+class CargoCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CargoCache cargoCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cargoCache = new CargoCache(meterRegistry, 100, 600);
+    }
+
+    /**
+     * 古いバージョンで新しいエントリが上書きされないことのテスト
+     */
+    @Test
+    void testOlderVersionDoesNotOverwriteNewer() {
+        // 更新後（バージョン2）を反映した後に、更新前（バージョン1）の読み込み結果を反映
+        cargoCache.putAfterCommit(cargo("IN_TRANSIT", 2));
+        cargoCache.putAfterCommit(cargo("PENDING", 1));
+
+        // 結果の検証
+        Optional<Cargo> result = cargoCache.get("C12345678", id -> Optional.empty());
+        assertEquals("IN_TRANSIT", result.get().getStatus());
+        assertEquals(2, result.get().getVersion());
+    }
+
+    /**
+     * 削除後に削除前の読み込み結果で復活しないことのテスト
+     */
+    @Test
+    void testDeletedEntryIsNotResurrected() {
+        // 削除を反映した後に、削除前の読み込み結果を反映
+        cargoCache.evictAfterCommit("C12345678");
+        cargoCache.putAfterCommit(cargo("PENDING", 1));
+
+        // 結果の検証
+        assertFalse(cargoCache.get("C12345678", id -> Optional.of(cargo("PENDING", 1))).isPresent());
+    }
+
+    /**
+     * 返された貨物を変更してもキャッシュに影響しないことのテスト
+     */
+    @Test
+    void testReturnedCargoIsCopy() {
+        cargoCache.putAfterCommit(cargo("PENDING", 1));
+
+        // 取得した貨物を変更
+        cargoCache.get("C12345678", id -> Optional.empty()).get().setStatus("CHANGED");
+
+        // 結果の検証
+        assertEquals("PENDING", cargoCache.get("C12345678", id -> Optional.empty()).get().getStatus());
+    }
+
+    /**
+     * ヒット・ミスのメトリクスのテスト
+     */
+    @Test
+    void testHitAndMissMetrics() {
+        // 1回目はミス（ローダーで読み込み）、2回目はヒット
+        cargoCache.get("C12345678", id -> Optional.of(cargo("PENDING", 1)));
+        cargoCache.get("C12345678", id -> Optional.empty());
+
+        // 結果の検証
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "cargo").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "cargo").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    /**
+     * 一括取得でキャッシュにない貨物のみがローダーで読み込まれ、削除済みの貨物は読み込まれないことのテスト
+     */
+    @Test
+    void testGetAllLoadsOnlyMisses() {
+        // キャッシュ済みの貨物と削除済みの貨物を記録
+        cargoCache.putAfterCommit(cargo("PENDING", 1));
+        cargoCache.evictAfterCommit("C00000002");
+        List<List<String>> loaded = new ArrayList<>();
+
+        // メソッドの実行
+        Map<String, Cargo> result = cargoCache.getAll(Arrays.asList("C12345678", "C00000002", "C00000003"), misses -> {
+            loaded.add(misses);
+            return Collections.emptyList();
+        });
+
+        // 結果の検証
+        assertEquals(Collections.singletonList(Collections.singletonList("C00000003")), loaded);
+        assertEquals(1, result.size());
+        assertEquals("PENDING", result.get("C12345678").getStatus());
+    }
+
+    private Cargo cargo(String status, int version) {
+        Cargo cargo = new Cargo();
+        cargo.setCargoId("C12345678");
+        cargo.setStatus(status);
+        cargo.setVersion(version);
+        return cargo;
+    }
+}
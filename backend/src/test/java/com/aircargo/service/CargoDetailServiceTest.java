@@ -0,0 +1,181 @@
+package com.aircargo.service;
+
+import com.aircargo.datasource.ReplicaRouting;
+import com.aircargo.dto.CargoDetail;
+import com.aircargo.dto.CursorPage;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.entity.Outbound;
+import com.aircargo.entity.Tracking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 貨物詳細サービスのテストクラス
+ *
+ * CargoDetailServiceの並行な読み取りと、その結果の組み立てをテストします。
+ */
+@ExtendWith(MockitoExtension.class)
+class CargoDetailServiceTest {
+
+    @Mock
+    private CargoService cargoService;
+
+    private CargoDetailService cargoDetailService;
+
+    private Cargo testCargo;
+
+    @BeforeEach
+    void setUp() {
+        cargoDetailService = new CargoDetailService(cargoService, 4, 10, 20, 2000);
+
+        testCargo = new Cargo();
+        testCargo.setCargoId("C12345678");
+        testCargo.setFlightNumber("NH001");
+        testCargo.setStatus("PENDING");
+    }
+
+    @AfterEach
+    void tearDown() {
+        cargoDetailService.stop();
+        ReplicaRouting.clear();
+    }
+
+    /**
+     * 貨物と入荷記録・出荷記録・追跡履歴がまとめて返されることのテスト
+     */
+    @Test
+    void testGetCargoDetail() {
+        // モックの設定
+        Inbound inbound = new Inbound();
+        inbound.setInboundId("IN12345678");
+        Outbound outbound = new Outbound();
+        outbound.setOutboundId("OUT12345678");
+        Tracking tracking = new Tracking();
+        tracking.setTrackingId("TR12345678");
+        when(cargoService.getCargoById("C12345678")).thenReturn(Optional.of(testCargo));
+        when(cargoService.getInboundsByCargoId("C12345678")).thenReturn(Arrays.asList(inbound));
+        when(cargoService.getOutboundsByCargoId("C12345678")).thenReturn(Arrays.asList(outbound));
+        when(cargoService.getTrackingHistory("C12345678", null, 20))
+                .thenReturn(new CursorPage<>(Arrays.asList(tracking), "next", true));
+
+        // メソッドの実行（件数の省略時は既定値）
+        Optional<CargoDetail> result = cargoDetailService.getCargoDetail("C12345678", 0);
+
+        // 結果の検証
+        assertTrue(result.isPresent());
+        assertEquals("C12345678", result.get().getCargo().getCargoId());
+        assertEquals("IN12345678", result.get().getInbounds().get(0).getInboundId());
+        assertEquals("OUT12345678", result.get().getOutbounds().get(0).getOutboundId());
+        assertEquals("TR12345678", result.get().getTracking().getItems().get(0).getTrackingId());
+        assertTrue(result.get().getTracking().isHasNext());
+    }
+
+    /**
+     * 入荷記録・出荷記録・追跡履歴の読み取りが並行に実行されることのテスト
+     * 3つの読み取りは全員が揃うまで戻らないため、順に実行された場合はタイムアウトします。
+     */
+    @Test
+    void testReadsRunConcurrently() {
+        // モックの設定
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(cargoService.getCargoById("C12345678")).thenReturn(Optional.of(testCargo));
+        when(cargoService.getInboundsByCargoId("C12345678")).thenAnswer(awaitAll(allStarted, Collections.emptyList()));
+        when(cargoService.getOutboundsByCargoId("C12345678")).thenAnswer(awaitAll(allStarted, Collections.emptyList()));
+        when(cargoService.getTrackingHistory("C12345678", null, 5))
+                .thenAnswer(awaitAll(allStarted, new CursorPage<>(Collections.emptyList(), null, false)));
+
+        // メソッドの実行
+        Optional<CargoDetail> result = cargoDetailService.getCargoDetail("C12345678", 5);
+
+        // 結果の検証
+        assertTrue(result.isPresent());
+        assertEquals(0, allStarted.getCount());
+    }
+
+    /**
+     * 呼び出し元のプライマリの指定が読み取りのスレッドに引き継がれることのテスト
+     */
+    @Test
+    void testPrimaryRoutingIsPropagated() {
+        // モックの設定
+        when(cargoService.getCargoById("C12345678")).thenReturn(Optional.of(testCargo));
+        when(cargoService.getInboundsByCargoId("C12345678")).thenAnswer(invocation -> {
+            assertTrue(ReplicaRouting.isPrimaryForced());
+            return Collections.emptyList();
+        });
+        when(cargoService.getOutboundsByCargoId("C12345678")).thenReturn(Collections.emptyList());
+        when(cargoService.getTrackingHistory("C12345678", null, 20))
+                .thenReturn(new CursorPage<>(Collections.emptyList(), null, false));
+
+        // メソッドの実行（書き込み直後の読み取り）
+        ReplicaRouting.forcePrimary();
+        Optional<CargoDetail> result = cargoDetailService.getCargoDetail("C12345678", 0);
+
+        // 結果の検証（呼び出し元の指定はそのまま）
+        assertTrue(result.isPresent());
+        assertTrue(ReplicaRouting.isPrimaryForced());
+    }
+
+    /**
+     * 存在しない貨物の詳細取得のテスト
+     */
+    @Test
+    void testGetCargoDetailNotFound() {
+        // モックの設定
+        when(cargoService.getCargoById("NONEXISTENT")).thenReturn(Optional.empty());
+
+        // メソッドの実行
+        Optional<CargoDetail> result = cargoDetailService.getCargoDetail("NONEXISTENT", 0);
+
+        // 結果の検証
+        assertFalse(result.isPresent());
+    }
+
+    /**
+     * 読み取りが時間内に完了しない場合のテスト
+     */
+    @Test
+    void testGetCargoDetailTimeout() {
+        // モックの設定
+        cargoDetailService.stop();
+        cargoDetailService = new CargoDetailService(cargoService, 4, 10, 20, 100);
+        CountDownLatch never = new CountDownLatch(1);
+        when(cargoService.getCargoById("C12345678")).thenReturn(Optional.of(testCargo));
+        when(cargoService.getInboundsByCargoId("C12345678")).thenAnswer(invocation -> {
+            never.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+        lenient().when(cargoService.getOutboundsByCargoId("C12345678")).thenReturn(Collections.emptyList());
+        lenient().when(cargoService.getTrackingHistory("C12345678", null, 20))
+                .thenReturn(new CursorPage<>(Collections.emptyList(), null, false));
+
+        // メソッドの実行と検証
+        assertThrows(IllegalStateException.class, () -> cargoDetailService.getCargoDetail("C12345678", 0));
+        never.countDown();
+    }
+
+    /**
+     * 全員が揃うまで待機してから値を返す応答
+     */
+    private static <T> Answer<T> awaitAll(CountDownLatch latch, T value) {
+        return invocation -> {
+            latch.countDown();
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "読み取りが並行に実行されていません");
+            return value;
+        };
+    }
+}
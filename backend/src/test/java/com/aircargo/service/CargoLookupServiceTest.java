@@ -0,0 +1,155 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.MultiGetResult;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.repository.CargoRepository;
+import com.aircargo.repository.InboundRepository;
+import com.aircargo.repository.OutboundRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * 貨物一括取得サービスのテストクラス
+ *
+ * CargoLookupServiceのキャッシュの利用、IN句のチャンク分割、見つからなかった貨物IDの返却をテストします。
+ */
+@ExtendWith(MockitoExtension.class)
+class CargoLookupServiceTest {
+
+    @Mock
+    private CargoRepository cargoRepository;
+
+    @Mock
+    private InboundRepository inboundRepository;
+
+    @Mock
+    private OutboundRepository outboundRepository;
+
+    private CargoCache cargoCache;
+    private CargoLookupService cargoLookupService;
+
+    @BeforeEach
+    void setUp() {
+        cargoCache = new CargoCache(new SimpleMeterRegistry(), 100, 600);
+        cargoLookupService = new CargoLookupService(cargoRepository, inboundRepository, outboundRepository,
+                cargoCache, 300, 4);
+    }
+
+    /**
+     * キャッシュにある貨物はDBから読み込まず、見つからなかった貨物IDが指定順で返されることのテスト
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetCargosUsesCache() {
+        // テストデータの設定（C1はキャッシュ済み、C2はDBのみ、C3は存在しない）
+        cargoCache.putAfterCommit(cargo("C1"));
+        when(cargoRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(cargo("C2")));
+
+        // メソッドの実行（重複した貨物IDは1件にまとめる）
+        MultiGetResult<Cargo> result = cargoLookupService.getCargos(Arrays.asList("C3", "C2", "C1", "C2"));
+
+        // 結果の検証
+        assertEquals(Arrays.asList("C2", "C1"), cargoIds(result.getItems()));
+        assertEquals(Arrays.asList("C3"), result.getMissing());
+        ArgumentCaptor<Iterable<String>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(cargoRepository, times(1)).findAllById(captor.capture());
+        assertEquals(new HashSet<>(Arrays.asList("C3", "C2")), new HashSet<>((Collection<String>) captor.getValue()));
+
+        // 読み込んだ貨物はキャッシュされ、2回目はDBにアクセスしない
+        cargoLookupService.getCargos(Arrays.asList("C2", "C1"));
+        verifyNoMoreInteractions(cargoRepository);
+    }
+
+    /**
+     * 貨物IDがチャンクサイズごとのIN句で取得され、最後のチャンクも同じ件数に揃えられることのテスト
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetCargosSplitsIntoFixedSizeChunks() {
+        // モックの設定
+        when(cargoRepository.findAllById(anyIterable())).thenReturn(new ArrayList<>());
+        List<String> ids = Arrays.asList("C1", "C2", "C3", "C4", "C5", "C6");
+
+        // メソッドの実行
+        MultiGetResult<Cargo> result = cargoLookupService.getCargos(ids);
+
+        // 結果の検証
+        ArgumentCaptor<Iterable<String>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(cargoRepository, times(2)).findAllById(captor.capture());
+        assertEquals(Arrays.asList("C1", "C2", "C3", "C4"), captor.getAllValues().get(0));
+        assertEquals(Arrays.asList("C5", "C6", "C6", "C6"), captor.getAllValues().get(1));
+        assertEquals(ids, result.getMissing());
+    }
+
+    /**
+     * 入荷記録が指定された貨物IDの順に並べられ、入荷記録がない貨物IDが返されることのテスト
+     */
+    @Test
+    void testGetInboundsByCargoIds() {
+        // モックの設定（DBからは順不同で返る）
+        when(inboundRepository.findByCargoIdIn(anyCollection()))
+                .thenReturn(Arrays.asList(inbound("IN1", "C1"), inbound("IN2", "C2"), inbound("IN3", "C1")));
+
+        // メソッドの実行
+        MultiGetResult<Inbound> result = cargoLookupService.getInboundsByCargoIds(Arrays.asList("C2", "C9", "C1"));
+
+        // 結果の検証
+        assertEquals(3, result.getItems().size());
+        assertEquals("IN2", result.getItems().get(0).getInboundId());
+        assertEquals("IN1", result.getItems().get(1).getInboundId());
+        assertEquals("IN3", result.getItems().get(2).getInboundId());
+        assertEquals(Arrays.asList("C9"), result.getMissing());
+        verify(inboundRepository, times(1)).findByCargoIdIn(anyCollection());
+    }
+
+    /**
+     * 貨物IDの数が上限を超える場合のテスト
+     */
+    @Test
+    void testGetCargosTooManyIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= 300; i++) {
+            ids.add("C" + i);
+        }
+
+        // メソッドの実行と検証
+        assertThrows(IllegalArgumentException.class, () -> cargoLookupService.getCargos(ids));
+        verifyNoInteractions(cargoRepository);
+    }
+
+    private static List<String> cargoIds(List<Cargo> cargos) {
+        List<String> ids = new ArrayList<>();
+        cargos.forEach(cargo -> ids.add(cargo.getCargoId()));
+        return ids;
+    }
+
+    private static Cargo cargo(String cargoId) {
+        Cargo cargo = new Cargo();
+        cargo.setCargoId(cargoId);
+        cargo.setStatus("PENDING");
+        cargo.setVersion(1);
+        return cargo;
+    }
+
+    private static Inbound inbound(String inboundId, String cargoId) {
+        Inbound inbound = new Inbound();
+        inbound.setInboundId(inboundId);
+        inbound.setCargoId(cargoId);
+        return inbound;
+    }
+}
@@ -0,0 +1,157 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.repository.CargoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * 貨物名称索引のテストクラス
+ *
+ * CargoNameIndexのDBからの構築、トライグラムによる部分一致検索、作成・更新・削除の反映をテストします。
+ * 構築はコミット済みのデータを読み込むため、テストメソッド自体はトランザクション外で実行します。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CargoNameIndexTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CargoRepository cargoRepository;
+
+    private MeterRegistry meterRegistry;
+    private CargoNameIndex cargoNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        cargoRepository.saveAll(Arrays.asList(
+            newCargo("C001", "Yamato Transport", "Smith Trading"),
+            newCargo("C002", "Nippon Express", "Smithson Inc."),
+            newCargo("C003", "田中太郎", "佐藤花子")));
+
+        // フェッチサイズ1で1行ずつ読み込んで構築
+        meterRegistry = new SimpleMeterRegistry();
+        cargoNameIndex = new CargoNameIndex(dataSource, meterRegistry, 1, 200000, true);
+        cargoNameIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cargoRepository.deleteAllInBatch();
+    }
+
+    /**
+     * DBから構築した索引による部分一致検索のテスト
+     */
+    @Test
+    void testSearchAfterRebuild() {
+        assertTrue(cargoNameIndex.isReady());
+
+        // 大文字・小文字を区別せず、貨物ID順に返る
+        assertEquals(Arrays.asList("C001", "C002"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "smith", "", 10));
+        assertEquals(Collections.singletonList("C002"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "SMITHSON", "", 10));
+        assertEquals(Collections.singletonList("C001"),
+            cargoNameIndex.search(CargoNameIndex.Field.SHIPPER, "to tr", "", 10));
+        assertTrue(cargoNameIndex.search(CargoNameIndex.Field.SHIPPER, "smith", "", 10).isEmpty());
+    }
+
+    /**
+     * 3文字未満の検索文字列による検索のテスト
+     */
+    @Test
+    void testSearchShortQuery() {
+        assertEquals(Collections.singletonList("C003"),
+            cargoNameIndex.search(CargoNameIndex.Field.SHIPPER, "田中", "", 10));
+        assertEquals(Arrays.asList("C001", "C002"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "Sm", "", 10));
+    }
+
+    /**
+     * 開始キーと件数による検索範囲の指定のテスト
+     */
+    @Test
+    void testSearchAfterKeyAndLimit() {
+        assertEquals(Collections.singletonList("C001"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "smith", "", 1));
+        assertEquals(Collections.singletonList("C002"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "smith", "C001", 10));
+    }
+
+    /**
+     * 作成・更新・削除の反映のテスト
+     */
+    @Test
+    void testIncrementalUpdates() {
+        // 作成
+        cargoNameIndex.putAfterCommit(newCargo("C004", "Sagawa Express", "Smith Trading"));
+        assertEquals(Arrays.asList("C001", "C002", "C004"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "smith", "", 10));
+
+        // 更新（変更前の名称では一致しない）
+        cargoNameIndex.putAfterCommit(newCargo("C001", "Yamato Transport", "Jones Logistics"));
+        assertEquals(Arrays.asList("C002", "C004"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "smith", "", 10));
+        assertEquals(Collections.singletonList("C001"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "jones", "", 10));
+
+        // 削除
+        cargoNameIndex.removeAfterCommit("C002");
+        assertEquals(Collections.singletonList("C004"),
+            cargoNameIndex.search(CargoNameIndex.Field.CONSIGNEE, "smith", "", 10));
+        assertTrue(cargoNameIndex.search(CargoNameIndex.Field.SHIPPER, "nippon", "", 10).isEmpty());
+    }
+
+    /**
+     * 件数が上限に達した場合に索引を破棄し、DBでの検索に切り替えることのテスト
+     */
+    @Test
+    void testMaxEntries() {
+        // 索引の件数のメトリクス
+        assertEquals(3, meterRegistry.get("aircargo.search.index.entries").gauge().value());
+        assertTrue(meterRegistry.get("aircargo.search.index.postings").gauge().value() > 0);
+
+        // 構築中に上限を超える場合
+        CargoNameIndex smallIndex = new CargoNameIndex(dataSource, new SimpleMeterRegistry(), 1, 2, true);
+        smallIndex.rebuild();
+        assertFalse(smallIndex.isReady());
+
+        // 作成の反映で上限を超える場合（既存の貨物の更新・削除は件数を増やさない）
+        CargoNameIndex boundedIndex = new CargoNameIndex(dataSource, new SimpleMeterRegistry(), 1, 3, true);
+        boundedIndex.rebuild();
+        assertTrue(boundedIndex.isReady());
+        boundedIndex.putAfterCommit(newCargo("C001", "Yamato Transport", "Jones Logistics"));
+        boundedIndex.removeAfterCommit("C002");
+        boundedIndex.putAfterCommit(newCargo("C004", "Sagawa Express", "Smith Trading"));
+        assertTrue(boundedIndex.isReady());
+        assertEquals(Collections.singletonList("C004"),
+            boundedIndex.search(CargoNameIndex.Field.CONSIGNEE, "smith", "", 10));
+        boundedIndex.putAfterCommit(newCargo("C005", "Seino Transportation", "Smith Trading"));
+        assertFalse(boundedIndex.isReady());
+        assertTrue(boundedIndex.search(CargoNameIndex.Field.CONSIGNEE, "smith", "", 10).isEmpty());
+    }
+
+    private Cargo newCargo(String cargoId, String shipperName, String consigneeName) {
+        return new Cargo(cargoId, "NH001", "NRT", "LAX", "一般貨物", new BigDecimal("100.50"), new BigDecimal("2.5"),
+            "PENDING", shipperName, consigneeName, LocalDateTime.now(), LocalDateTime.now(), 1);
+    }
+}
@@ -1,24 +1,41 @@
 package com.aircargo.service;
 
+import com.aircargo.dto.CursorPage;
 import com.aircargo.entity.Cargo;
 import com.aircargo.entity.Inbound;
 import com.aircargo.entity.Outbound;
 import com.aircargo.entity.Tracking;
+import com.aircargo.entity.TrackingLatest;
+import com.aircargo.id.IdGenerator;
+import com.aircargo.id.TimeOrderedIdGenerator;
 import com.aircargo.repository.CargoRepository;
 import com.aircargo.repository.InboundRepository;
 import com.aircargo.repository.OutboundRepository;
+import com.aircargo.repository.TrackingLatestRepository;
 import com.aircargo.repository.TrackingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -44,6 +61,24 @@ class CargoServiceTest {
     @Mock
     private TrackingRepository trackingRepository;
 
+    @Mock
+    private TrackingLatestRepository trackingLatestRepository;
+
+    @Spy
+    private CargoCache cargoCache = new CargoCache(new SimpleMeterRegistry(), 100, 600);
+
+    @Spy
+    private IdGenerator idGenerator = new TimeOrderedIdGenerator(0);
+
+    @Spy
+    private CargoNameIndex cargoNameIndex = new CargoNameIndex(mock(DataSource.class), new SimpleMeterRegistry(), 1000, 200000, true);
+
+    @Spy
+    private StatusCounters statusCounters = new StatusCounters(mock(DataSource.class));
+
+    @Mock
+    private StatusUpdater statusUpdater;
+
     @InjectMocks
     private CargoService cargoService;
 
@@ -99,16 +134,56 @@ class CargoServiceTest {
     @Test
     void testGetAllCargos() {
         // モックの設定
-        when(cargoRepository.findAll()).thenReturn(Arrays.asList(testCargo));
+        when(cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc(eq(""), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testCargo));
 
         // メソッドの実行
-        List<Cargo> result = cargoService.getAllCargos();
+        CursorPage<Cargo> result = cargoService.getAllCargos(null, 50);
 
         // 結果の検証
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testCargo.getCargoId(), result.get(0).getCargoId());
-        verify(cargoRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(testCargo.getCargoId(), result.getItems().get(0).getCargoId());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(cargoRepository, times(1)).findByCargoIdGreaterThanOrderByCargoIdAsc(eq(""), any(Pageable.class));
+        verify(cargoRepository, never()).findAll();
+    }
+
+    /**
+     * 全貨物取得で次ページのカーソルが返されることのテスト
+     */
+    @Test
+    void testGetAllCargosReturnsNextCursor() {
+        // モックの設定（ページサイズ+1件を返して次ページありとする）
+        Cargo nextCargo = new Cargo();
+        nextCargo.setCargoId("C99999999");
+        when(cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc(eq(""), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testCargo, nextCargo));
+
+        // メソッドの実行
+        CursorPage<Cargo> firstPage = cargoService.getAllCargos(null, 1);
+
+        // 結果の検証
+        assertEquals(1, firstPage.getItems().size());
+        assertTrue(firstPage.isHasNext());
+        assertNotNull(firstPage.getNextCursor());
+
+        // 次ページは前ページ最終行の貨物IDからシークすることを確認
+        when(cargoRepository.findByCargoIdGreaterThanOrderByCargoIdAsc(eq("C12345678"), any(Pageable.class)))
+            .thenReturn(Arrays.asList(nextCargo));
+        CursorPage<Cargo> secondPage = cargoService.getAllCargos(firstPage.getNextCursor(), 1);
+        assertEquals("C99999999", secondPage.getItems().get(0).getCargoId());
+        assertFalse(secondPage.isHasNext());
+    }
+
+    /**
+     * 不正なカーソルでの全貨物取得のテスト
+     */
+    @Test
+    void testGetAllCargosInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> cargoService.getAllCargos("!!invalid!!", 50));
+        verifyNoInteractions(cargoRepository);
     }
 
     /**
@@ -150,16 +225,18 @@ class CargoServiceTest {
     @Test
     void testGetCargosByFlightNumber() {
         // モックの設定
-        when(cargoRepository.findByFlightNumber("NH001")).thenReturn(Arrays.asList(testCargo));
+        when(cargoRepository.findByFlightNumberAndCargoIdGreaterThanOrderByCargoIdAsc(eq("NH001"), eq(""), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testCargo));
 
         // メソッドの実行
-        List<Cargo> result = cargoService.getCargosByFlightNumber("NH001");
+        CursorPage<Cargo> result = cargoService.getCargosByFlightNumber("NH001", null, 50);
 
         // 結果の検証
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("NH001", result.get(0).getFlightNumber());
-        verify(cargoRepository, times(1)).findByFlightNumber("NH001");
+        assertEquals(1, result.getItems().size());
+        assertEquals("NH001", result.getItems().get(0).getFlightNumber());
+        verify(cargoRepository, times(1))
+            .findByFlightNumberAndCargoIdGreaterThanOrderByCargoIdAsc(eq("NH001"), eq(""), any(Pageable.class));
     }
 
     /**
@@ -168,16 +245,18 @@ class CargoServiceTest {
     @Test
     void testGetCargosByStatus() {
         // モックの設定
-        when(cargoRepository.findByStatus("PENDING")).thenReturn(Arrays.asList(testCargo));
+        when(cargoRepository.findByStatusAndCargoIdGreaterThanOrderByCargoIdAsc(eq("PENDING"), eq(""), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testCargo));
 
         // メソッドの実行
-        List<Cargo> result = cargoService.getCargosByStatus("PENDING");
+        CursorPage<Cargo> result = cargoService.getCargosByStatus("PENDING", null, 50);
 
         // 結果の検証
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("PENDING", result.get(0).getStatus());
-        verify(cargoRepository, times(1)).findByStatus("PENDING");
+        assertEquals(1, result.getItems().size());
+        assertEquals("PENDING", result.getItems().get(0).getStatus());
+        verify(cargoRepository, times(1))
+            .findByStatusAndCargoIdGreaterThanOrderByCargoIdAsc(eq("PENDING"), eq(""), any(Pageable.class));
     }
 
     /**
@@ -264,17 +343,83 @@ class CargoServiceTest {
      */
     @Test
     void testUpdateCargoStatus() {
-        // モックの設定
-        when(cargoRepository.findById("C12345678")).thenReturn(Optional.of(testCargo));
-        when(cargoRepository.save(any(Cargo.class))).thenReturn(testCargo);
+        // モックの設定（UPDATE文は更新前の行を返す）
+        when(statusUpdater.updateCargoStatus(eq("C12345678"), eq("IN_TRANSIT"), any(LocalDateTime.class), isNull()))
+            .thenReturn(Optional.of(testCargo));
 
         // メソッドの実行
-        Cargo result = cargoService.updateCargoStatus("C12345678", "IN_TRANSIT");
+        Cargo result = cargoService.updateCargoStatus("C12345678", "IN_TRANSIT", null);
 
-        // 結果の検証
-        assertNotNull(result);
-        verify(cargoRepository, times(1)).findById("C12345678");
-        verify(cargoRepository, times(1)).save(any(Cargo.class));
+        // 結果の検証（貨物の読み込みと保存は行わない）
+        assertEquals("IN_TRANSIT", result.getStatus());
+        assertEquals(2, result.getVersion());
+        verify(cargoRepository, never()).findById(any());
+        verify(cargoRepository, never()).save(any(Cargo.class));
+    }
+
+    /**
+     * ステータスが変わらない場合に貨物ステータス変更のJFRイベントが記録されないことのテスト
+     */
+    @Test
+    void testUpdateCargoStatusRecordsEventOnlyOnChange() throws Exception {
+        // モックの設定（同じステータスへの更新と、異なるステータスへの更新）
+        Cargo inTransit = new Cargo();
+        inTransit.setCargoId("C12345678");
+        inTransit.setStatus("IN_TRANSIT");
+        inTransit.setVersion(2);
+        when(statusUpdater.updateCargoStatus(eq("C12345678"), eq("IN_TRANSIT"), any(LocalDateTime.class), isNull()))
+            .thenReturn(Optional.of(inTransit), Optional.of(testCargo));
+
+        // メソッドの実行（貨物ステータス変更のイベントのみを記録）
+        Path file = Files.createTempFile("cargo-status", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.aircargo.CargoStatusChanged");
+            recording.start();
+            cargoService.updateCargoStatus("C12345678", "IN_TRANSIT", null);
+            cargoService.updateCargoStatus("C12345678", "IN_TRANSIT", null);
+            recording.stop();
+            recording.dump(file);
+
+            // 結果の検証（PENDING → IN_TRANSIT の1件のみ）
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(1, events.size());
+            assertEquals("PENDING", events.get(0).getString("previousStatus"));
+            assertEquals("IN_TRANSIT", events.get(0).getString("status"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * バージョンが一致しない場合の貨物ステータス更新のテスト
+     */
+    @Test
+    void testUpdateCargoStatusVersionConflict() {
+        // モックの設定（バージョン条件で対象行なし、貨物は存在する）
+        when(statusUpdater.updateCargoStatus(eq("C12345678"), eq("IN_TRANSIT"), any(LocalDateTime.class), eq(1)))
+            .thenReturn(Optional.empty());
+        when(cargoRepository.existsById("C12345678")).thenReturn(true);
+
+        // メソッドの実行と検証
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> cargoService.updateCargoStatus("C12345678", "IN_TRANSIT", 1));
+        verify(statusCounters, never()).recordTransition(any(), any(), any());
+    }
+
+    /**
+     * 存在しない貨物のステータス更新のテスト
+     */
+    @Test
+    void testUpdateCargoStatusNotFound() {
+        // モックの設定
+        when(statusUpdater.updateCargoStatus(eq("NONEXISTENT"), eq("IN_TRANSIT"), any(LocalDateTime.class), isNull()))
+            .thenReturn(Optional.empty());
+
+        // メソッドの実行と検証（バージョンを指定しない場合は存在確認を行わない）
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> cargoService.updateCargoStatus("NONEXISTENT", "IN_TRANSIT", null));
+        assertFalse(exception instanceof OptimisticLockingFailureException);
+        verify(cargoRepository, never()).existsById(any());
     }
 
     /**
@@ -283,16 +428,17 @@ class CargoServiceTest {
     @Test
     void testGetAllInbounds() {
         // モックの設定
-        when(inboundRepository.findAll()).thenReturn(Arrays.asList(testInbound));
+        when(inboundRepository.findByInboundIdGreaterThanOrderByInboundIdAsc(eq(""), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testInbound));
 
         // メソッドの実行
-        List<Inbound> result = cargoService.getAllInbounds();
+        CursorPage<Inbound> result = cargoService.getAllInbounds(null, 50);
 
         // 結果の検証
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testInbound.getInboundId(), result.get(0).getInboundId());
-        verify(inboundRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(testInbound.getInboundId(), result.getItems().get(0).getInboundId());
+        verify(inboundRepository, times(1)).findByInboundIdGreaterThanOrderByInboundIdAsc(eq(""), any(Pageable.class));
     }
 
     /**
@@ -301,16 +447,17 @@ class CargoServiceTest {
     @Test
     void testGetAllOutbounds() {
         // モックの設定
-        when(outboundRepository.findAll()).thenReturn(Arrays.asList(testOutbound));
+        when(outboundRepository.findByOutboundIdGreaterThanOrderByOutboundIdAsc(eq(""), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testOutbound));
 
         // メソッドの実行
-        List<Outbound> result = cargoService.getAllOutbounds();
+        CursorPage<Outbound> result = cargoService.getAllOutbounds(null, 50);
 
         // 結果の検証
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testOutbound.getOutboundId(), result.get(0).getOutboundId());
-        verify(outboundRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(testOutbound.getOutboundId(), result.getItems().get(0).getOutboundId());
+        verify(outboundRepository, times(1)).findByOutboundIdGreaterThanOrderByOutboundIdAsc(eq(""), any(Pageable.class));
     }
 
     /**
@@ -319,16 +466,193 @@ class CargoServiceTest {
     @Test
     void testGetTrackingHistory() {
         // モックの設定
-        when(trackingRepository.findByCargoIdOrderByTimestampDesc("C12345678"))
+        when(trackingRepository.findByCargoIdOrderByTimestampDescTrackingIdDesc(eq("C12345678"), any(Pageable.class)))
             .thenReturn(Arrays.asList(testTracking));
 
         // メソッドの実行
-        List<Tracking> result = cargoService.getTrackingHistory("C12345678");
+        CursorPage<Tracking> result = cargoService.getTrackingHistory("C12345678", null, 50);
 
         // 結果の検証
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testTracking.getTrackingId(), result.get(0).getTrackingId());
-        verify(trackingRepository, times(1)).findByCargoIdOrderByTimestampDesc("C12345678");
+        assertEquals(1, result.getItems().size());
+        assertEquals(testTracking.getTrackingId(), result.getItems().get(0).getTrackingId());
+        verify(trackingRepository, times(1))
+            .findByCargoIdOrderByTimestampDescTrackingIdDesc(eq("C12345678"), any(Pageable.class));
+    }
+
+    /**
+     * 追跡履歴の次ページ取得が (タイムスタンプ, 追跡ID) でシークすることのテスト
+     */
+    @Test
+    void testGetTrackingHistoryNextPage() {
+        // モックの設定
+        String cursor = CursorPage.encodeCursor(testTracking.getTimestamp().toString(), "TR12345678");
+        when(trackingRepository.findHistoryAfter(eq("C12345678"), eq(testTracking.getTimestamp()),
+                eq("TR12345678"), any(Pageable.class)))
+            .thenReturn(Arrays.asList());
+
+        // メソッドの実行
+        CursorPage<Tracking> result = cargoService.getTrackingHistory("C12345678", cursor, 50);
+
+        // 結果の検証
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.isHasNext());
+        verify(trackingRepository, never()).findByCargoIdOrderByTimestampDesc(anyString());
+    }
+
+    /**
+     * 貨物IDによる貨物取得でキャッシュが使用されることのテスト
+     */
+    @Test
+    void testGetCargoByIdUsesCache() {
+        // モックの設定
+        when(cargoRepository.findById("C12345678")).thenReturn(Optional.of(testCargo));
+
+        // 2回取得しても、DBへのアクセスは1回のみ
+        cargoService.getCargoById("C12345678");
+        Optional<Cargo> result = cargoService.getCargoById("C12345678");
+
+        // 結果の検証
+        assertTrue(result.isPresent());
+        assertEquals("C12345678", result.get().getCargoId());
+        verify(cargoRepository, times(1)).findById("C12345678");
+    }
+
+    /**
+     * 貨物ステータス更新後にキャッシュが新しい内容で置き換えられることのテスト
+     */
+    @Test
+    void testUpdateCargoStatusRefreshesCache() {
+        // モックの設定（キャッシュ済みの状態でステータスを更新）
+        when(cargoRepository.findById("C12345678")).thenReturn(Optional.of(testCargo));
+        cargoService.getCargoById("C12345678");
+        Cargo previous = new Cargo();
+        previous.setCargoId("C12345678");
+        previous.setStatus("PENDING");
+        previous.setVersion(1);
+        when(statusUpdater.updateCargoStatus(eq("C12345678"), eq("IN_TRANSIT"), any(LocalDateTime.class), isNull()))
+            .thenReturn(Optional.of(previous));
+
+        // メソッドの実行
+        cargoService.updateCargoStatus("C12345678", "IN_TRANSIT", null);
+
+        // 結果の検証（キャッシュから新しいバージョンが返る）
+        Optional<Cargo> result = cargoService.getCargoById("C12345678");
+        assertEquals("IN_TRANSIT", result.get().getStatus());
+        assertEquals(2, result.get().getVersion());
+        verify(cargoRepository, times(1)).findById("C12345678");
+    }
+
+    /**
+     * 貨物削除後にキャッシュから返されないことのテスト
+     */
+    @Test
+    void testDeleteCargoEvictsCache() {
+        // モックの設定（キャッシュ済みの状態で削除）
+        when(cargoRepository.findById("C12345678")).thenReturn(Optional.of(testCargo));
+        cargoService.getCargoById("C12345678");
+
+        // メソッドの実行
+        cargoService.deleteCargo("C12345678");
+
+        // 結果の検証
+        assertFalse(cargoService.getCargoById("C12345678").isPresent());
+    }
+
+    /**
+     * 貨物名称索引による荷送人名検索のテスト
+     */
+    @Test
+    void testSearchCargosByShipperNameUsesIndex() {
+        // モックの設定（索引に2件を登録し、一致する1件のみDBから取得）
+        doReturn(true).when(cargoNameIndex).isReady();
+        Cargo other = new Cargo();
+        other.setCargoId("C87654321");
+        other.setShipperName("鈴木一郎");
+        cargoNameIndex.putAfterCommit(testCargo);
+        cargoNameIndex.putAfterCommit(other);
+        when(cargoRepository.findAllById(Arrays.asList("C12345678"))).thenReturn(Arrays.asList(testCargo));
+
+        // メソッドの実行
+        CursorPage<Cargo> result = cargoService.searchCargosByShipperName("中太", null, 50);
+
+        // 結果の検証
+        assertEquals(1, result.getItems().size());
+        assertEquals("C12345678", result.getItems().get(0).getCargoId());
+        assertFalse(result.isHasNext());
+        verify(cargoRepository, never())
+            .findByShipperNameContainingIgnoreCaseAndCargoIdGreaterThanOrderByCargoIdAsc(anyString(), anyString(), any(Pageable.class));
+    }
+
+    /**
+     * DB上の名称が一致しなくなった索引の候補が除外されることのテスト
+     */
+    @Test
+    void testSearchCargosByConsigneeNameVerifiesCandidates() {
+        // モックの設定（索引上は一致するが、DB上の荷受人名は変更済み）
+        doReturn(true).when(cargoNameIndex).isReady();
+        testCargo.setConsigneeName("Smith Trading");
+        cargoNameIndex.putAfterCommit(testCargo);
+        Cargo changed = new Cargo();
+        changed.setCargoId("C12345678");
+        changed.setConsigneeName("Jones Logistics");
+        when(cargoRepository.findAllById(Arrays.asList("C12345678"))).thenReturn(Arrays.asList(changed));
+
+        // メソッドの実行
+        CursorPage<Cargo> result = cargoService.searchCargosByConsigneeName("smith", null, 50);
+
+        // 結果の検証
+        assertTrue(result.getItems().isEmpty());
+    }
+
+    /**
+     * ステータス更新がステータス別件数に反映されることのテスト
+     */
+    @Test
+    void testUpdateCargoStatusRecordsTransition() {
+        // モックの設定
+        when(statusUpdater.updateCargoStatus(eq("C12345678"), eq("IN_TRANSIT"), any(LocalDateTime.class), isNull()))
+            .thenReturn(Optional.of(testCargo));
+
+        // メソッドの実行
+        cargoService.updateCargoStatus("C12345678", "IN_TRANSIT", null);
+
+        // 結果の検証
+        verify(statusCounters).recordTransition(StatusCounters.Table.CARGO, "PENDING", "IN_TRANSIT");
+    }
+
+    /**
+     * 複数貨物の最新追跡の一括取得のテスト
+     */
+    @Test
+    void testGetLatestTrackingsKeepsRequestOrder() {
+        // モックの設定（IN句の結果は順不同、C3は追跡記録なし）
+        TrackingLatest first = new TrackingLatest("C1", "TR1", "NRT", "IN_TRANSIT", LocalDateTime.now(), "H001");
+        TrackingLatest second = new TrackingLatest("C2", "TR2", "LAX", "ARRIVED", LocalDateTime.now(), "H002");
+        when(trackingLatestRepository.findAllById(Arrays.asList("C2", "C3", "C1")))
+            .thenReturn(Arrays.asList(first, second));
+
+        // メソッドの実行（重複したIDは1件にまとめる）
+        List<TrackingLatest> result = cargoService.getLatestTrackings(Arrays.asList("C2", "C3", "C1", "C2"));
+
+        // 結果の検証
+        assertEquals(2, result.size());
+        assertEquals("C2", result.get(0).getCargoId());
+        assertEquals("C1", result.get(1).getCargoId());
+        verify(trackingRepository, never()).findByCargoIdOrderByTimestampDesc(anyString());
+    }
+
+    /**
+     * 最新追跡の一括取得で貨物IDの数が上限を超える場合のテスト
+     */
+    @Test
+    void testGetLatestTrackingsRejectsTooManyIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= CargoService.MAX_LATEST_TRACKING_IDS; i++) {
+            ids.add("C" + i);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> cargoService.getLatestTrackings(ids));
+        verify(trackingLatestRepository, never()).findAllById(any());
     }
-} 
\ No newline at end of file
+}
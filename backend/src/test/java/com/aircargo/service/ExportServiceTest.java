@@ -0,0 +1,168 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.ExportFormat;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Tracking;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * データエクスポートサービスのテストクラス
+ * 
+ * ExportServiceのNDJSON・CSV出力をテストします。
+ * H2インメモリデータベースに保存したデータが、永続化コンテキストを経由せずに出力されることを検証します。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(dataSource, objectMapper, 2);
+
+        // テスト用の貨物データを作成
+        entityManager.persist(new Cargo("C00000001", "NH001", "NRT", "LAX", "一般貨物",
+                new BigDecimal("100.50"), new BigDecimal("2.50"), "PENDING", "田中太郎", "Smith, John",
+                LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 1, 10, 0), 1));
+        entityManager.persist(new Cargo("C00000002", "NH001", "NRT", "LAX", "危険物",
+                new BigDecimal("50.25"), new BigDecimal("1.00"), "IN_TRANSIT", "山田次郎", "鈴木一郎",
+                LocalDateTime.of(2024, 1, 2, 10, 0), LocalDateTime.of(2024, 1, 2, 10, 0), 1));
+        entityManager.persist(new Cargo("C00000003", "JL001", "HND", "JFK", "生鮮品",
+                new BigDecimal("75.00"), new BigDecimal("3.00"), "PENDING", "高橋三郎", "伊藤四郎",
+                LocalDateTime.of(2024, 1, 3, 10, 0), LocalDateTime.of(2024, 1, 3, 10, 0), 1));
+        entityManager.persist(new Tracking("TR0000001", "C00000001", "成田空港", "ARRIVED",
+                LocalDateTime.of(2024, 1, 1, 12, 0), "H001", "備考に\"引用符\"を含む", 1));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * 貨物のNDJSONエクスポートのテスト
+     */
+    @Test
+    void testExportCargosAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // メソッドの実行（フェッチサイズより多い行数を出力）
+        long count = exportService.exportCargos(ExportFormat.NDJSON, out);
+
+        // 結果の検証（3行 + 終端行）
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(4, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals("C00000001", first.get("cargoId").asText());
+        assertEquals("2024-01-01T10:00:00", first.get("createdDate").asText());
+        assertEquals("C00000003", new ObjectMapper().readTree(lines[2]).get("cargoId").asText());
+        assertEquals("{\"_eof\":true,\"rows\":3}", lines[3]);
+    }
+
+    /**
+     * 貨物のCSVエクスポートのテスト
+     */
+    @Test
+    void testExportCargosAsCsv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // メソッドの実行
+        long count = exportService.exportCargos(ExportFormat.CSV, out);
+
+        // 結果の検証（ヘッダー行 + 3行 + 終端行、カンマを含む値は引用符で囲む）
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, count);
+        assertEquals(5, lines.length);
+        assertEquals("_eof,3", lines[4]);
+        assertTrue(lines[0].startsWith("cargoId,flightNumber,"));
+        assertTrue(lines[1].startsWith("C00000001,NH001,NRT,LAX,一般貨物,100.50,2.50,PENDING,田中太郎,\"Smith, John\","));
+    }
+
+    /**
+     * 追跡記録のCSVエクスポートのテスト
+     */
+    @Test
+    void testExportTrackingsAsCsv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // メソッドの実行
+        long count = exportService.exportTrackings(ExportFormat.CSV, out);
+
+        // 結果の検証（引用符はエスケープされる）
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, count);
+        assertEquals("TR0000001,C00000001,成田空港,ARRIVED,2024-01-01T12:00,H001,\"備考に\"\"引用符\"\"を含む\",1", lines[1]);
+    }
+
+    /**
+     * 0件の場合も終端行が出力されることのテスト
+     */
+    @Test
+    void testExportEmptyWritesTrailer() {
+        entityManager.getEntityManager().createQuery("DELETE FROM Tracking").executeUpdate();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // メソッドの実行
+        long count = exportService.exportTrackings(ExportFormat.NDJSON, out);
+
+        // 結果の検証
+        assertEquals(0, count);
+        assertEquals("{\"_eof\":true,\"rows\":0}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 途中で失敗した場合に終端行が出力されないことのテスト
+     */
+    @Test
+    void testExportFailureOmitsTrailer() {
+        // 2件目の貨物の出力で失敗するシリアライザ
+        SimpleModule failing = new SimpleModule();
+        failing.addSerializer(Cargo.class, new JsonSerializer<Cargo>() {
+            @Override
+            public void serialize(Cargo cargo, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                if ("C00000002".equals(cargo.getCargoId())) {
+                    throw new IOException("出力に失敗しました");
+                }
+                generator.writeStartObject();
+                generator.writeStringField("cargoId", cargo.getCargoId());
+                generator.writeEndObject();
+            }
+        });
+        ExportService failingService = new ExportService(dataSource, new ObjectMapper().registerModule(failing), 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // メソッドの実行
+        assertThrows(UncheckedIOException.class, () -> failingService.exportCargos(ExportFormat.NDJSON, out));
+
+        // 結果の検証
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("_eof"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.FlightEvent;
+import com.aircargo.dto.FlightEventResult;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Outbound;
+import com.aircargo.entity.Tracking;
+import com.aircargo.id.TimeOrderedIdGenerator;
+import com.aircargo.repository.CargoRepository;
+import com.aircargo.repository.OutboundRepository;
+import com.aircargo.repository.TrackingLatestRepository;
+import com.aircargo.repository.TrackingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * フライトイベントサービスのテストクラス
+ *
+ * FlightEventServiceの出発・到着による出荷記録・貨物のステータス変更と追跡記録の登録をテストします。
+ * 追跡記録の通知はコミット後に行われるため、テストメソッド自体はトランザクション外で実行します。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightEventServiceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CargoRepository cargoRepository;
+
+    @Autowired
+    private OutboundRepository outboundRepository;
+
+    @Autowired
+    private TrackingRepository trackingRepository;
+
+    @Autowired
+    private TrackingLatestRepository trackingLatestRepository;
+
+    private List<Object> publishedEvents;
+    private CargoCache cargoCache;
+    private StatusCounters statusCounters;
+    private TrackingIngestionService trackingIngestionService;
+    private FlightEventService flightEventService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        publishedEvents = new CopyOnWriteArrayList<>();
+        cargoCache = new CargoCache(new SimpleMeterRegistry(), 100, 600);
+        statusCounters = new StatusCounters(dataSource);
+        trackingIngestionService = new TrackingIngestionService(jdbcTemplate, transactionManager,
+                new SimpleMeterRegistry(), new TimeOrderedIdGenerator(0), publishedEvents::add, 5, 200, 100, 10000);
+        flightEventService = new FlightEventService(new StatusUpdater(jdbcTemplate, entityManager), trackingIngestionService,
+                cargoCache, statusCounters);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        cargoRepository.save(newCargo("C001", "NH001", "PENDING"));
+        cargoRepository.save(newCargo("C002", "NH001", "PENDING"));
+        cargoRepository.save(newCargo("C003", "NH001", "CANCELLED"));
+        cargoRepository.save(newCargo("C004", "NH002", "PENDING"));
+        outboundRepository.save(newOutbound("OUT001", "NH001", "LOADING"));
+        outboundRepository.save(newOutbound("OUT002", "NH001", "DEPARTED"));
+        outboundRepository.save(newOutbound("OUT003", "NH002", "LOADING"));
+        statusCounters.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        trackingRepository.deleteAllInBatch();
+        trackingLatestRepository.deleteAllInBatch();
+        outboundRepository.deleteAllInBatch();
+        cargoRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 出発で対象のフライトの出荷記録・貨物のみが変更され、貨物ごとに追跡記録が登録されることのテスト
+     */
+    @Test
+    void testDepart() {
+        // メソッドの実行
+        FlightEventResult result = apply("NH001", FlightEvent.DEPART);
+
+        // 結果の検証
+        assertEquals(2, result.getCargosUpdated());
+        assertEquals(1, result.getOutboundsUpdated());
+        assertEquals(2, result.getTrackingsCreated());
+        assertEquals("IN_TRANSIT", cargoRepository.findById("C001").get().getStatus());
+        assertEquals(2, cargoRepository.findById("C001").get().getVersion());
+        assertEquals("CANCELLED", cargoRepository.findById("C003").get().getStatus());
+        assertEquals("PENDING", cargoRepository.findById("C004").get().getStatus());
+        assertEquals("DEPARTED", outboundRepository.findById("OUT001").get().getStatus());
+        assertEquals("LOADING", outboundRepository.findById("OUT003").get().getStatus());
+
+        List<Tracking> trackings = trackingRepository.findAll();
+        assertEquals(2, trackings.size());
+        assertTrue(trackings.stream().allMatch(tracking -> "NRT".equals(tracking.getLocation())
+                && "IN_TRANSIT".equals(tracking.getStatus()) && "NH001 出発".equals(tracking.getNotes())));
+        assertEquals("IN_TRANSIT", trackingLatestRepository.findById("C002").get().getStatus());
+
+        // コミット後に追跡記録の通知、キャッシュ・ステータス別件数への反映が行われる
+        assertEquals(1, publishedEvents.size());
+        assertEquals(2, ((TrackingCommittedEvent) publishedEvents.get(0)).getTrackings().size());
+        Optional<Cargo> cached = cargoCache.get("C001", cargoId -> Optional.empty());
+        assertEquals("IN_TRANSIT", cached.get().getStatus());
+        assertEquals(2L, statusCounters.summary().getCargo().get("IN_TRANSIT"));
+        assertEquals(1L, statusCounters.summary().getCargo().get("PENDING"));
+        assertEquals(2L, statusCounters.summary().getOutbound().get("DEPARTED"));
+    }
+
+    /**
+     * 同じイベントの再実行では変更・登録されず、到着で輸送中の貨物のみが到着済みになることのテスト
+     */
+    @Test
+    void testRepeatedDepartAndArrive() {
+        apply("NH001", FlightEvent.DEPART);
+
+        // 再実行は何も変更しない
+        FlightEventResult repeated = apply("NH001", FlightEvent.DEPART);
+        assertEquals(0, repeated.getCargosUpdated());
+        assertEquals(0, repeated.getOutboundsUpdated());
+        assertEquals(2, trackingRepository.count());
+
+        // 到着
+        FlightEventResult arrived = apply("NH001", FlightEvent.ARRIVE);
+        assertEquals(2, arrived.getCargosUpdated());
+        assertEquals(0, arrived.getOutboundsUpdated());
+        assertEquals("ARRIVED", cargoRepository.findById("C002").get().getStatus());
+        assertEquals("LAX", trackingLatestRepository.findById("C002").get().getLocation());
+        assertEquals("DEPARTED", outboundRepository.findById("OUT001").get().getStatus());
+    }
+
+    /**
+     * 呼び出し元のトランザクション（@Transactionalのプロキシの代わり）で実行
+     */
+    private FlightEventResult apply(String flightNumber, FlightEvent event) {
+        return transactionTemplate.execute(status -> flightEventService.apply(flightNumber, event, "H001"));
+    }
+
+    private Cargo newCargo(String cargoId, String flightNumber, String status) {
+        Cargo cargo = new Cargo();
+        cargo.setCargoId(cargoId);
+        cargo.setFlightNumber(flightNumber);
+        cargo.setOriginAirport("NRT");
+        cargo.setDestinationAirport("LAX");
+        cargo.setCargoType("一般貨物");
+        cargo.setWeight(new BigDecimal("100.50"));
+        cargo.setVolume(new BigDecimal("2.50"));
+        cargo.setStatus(status);
+        cargo.setShipperName("田中太郎");
+        cargo.setConsigneeName("佐藤花子");
+        cargo.setCreatedDate(LocalDateTime.now());
+        cargo.setUpdatedDate(LocalDateTime.now());
+        cargo.setVersion(1);
+        return cargo;
+    }
+
+    private Outbound newOutbound(String outboundId, String flightNumber, String status) {
+        Outbound outbound = new Outbound();
+        outbound.setOutboundId(outboundId);
+        outbound.setCargoId("C001");
+        outbound.setFlightNumber(flightNumber);
+        outbound.setStatus(status);
+        outbound.setCreatedDate(LocalDateTime.now());
+        outbound.setVersion(1);
+        return outbound;
+    }
+}
@@ -0,0 +1,149 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.DashboardSummary;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.entity.Outbound;
+import com.aircargo.repository.CargoRepository;
+import com.aircargo.repository.InboundRepository;
+import com.aircargo.repository.OutboundRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ステータス別件数カウンターのテストクラス
+ *
+ * StatusCountersのGROUP BYクエリによる補正と、作成・ステータス変更・削除の反映をテストします。
+ * 補正はコミット済みのデータを読み込むため、テストメソッド自体はトランザクション外で実行します。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatusCountersTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CargoRepository cargoRepository;
+
+    @Autowired
+    private InboundRepository inboundRepository;
+
+    @Autowired
+    private OutboundRepository outboundRepository;
+
+    private StatusCounters statusCounters;
+
+    @BeforeEach
+    void setUp() {
+        cargoRepository.saveAll(Arrays.asList(newCargo("C001", "PENDING"), newCargo("C002", "PENDING"),
+            newCargo("C003", "IN_TRANSIT")));
+        inboundRepository.save(newInbound("IN001", "ARRIVED"));
+        outboundRepository.save(newOutbound("OUT001", "SCHEDULED"));
+
+        statusCounters = new StatusCounters(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cargoRepository.deleteAllInBatch();
+        inboundRepository.deleteAllInBatch();
+        outboundRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 初回取得時にDBの件数で初期化されることのテスト
+     */
+    @Test
+    void testSummaryReconcilesOnFirstCall() {
+        DashboardSummary summary = statusCounters.summary();
+
+        Map<String, Long> expectedCargo = new HashMap<>();
+        expectedCargo.put("PENDING", 2L);
+        expectedCargo.put("IN_TRANSIT", 1L);
+        assertEquals(expectedCargo, summary.getCargo());
+        assertEquals(Collections.singletonMap("ARRIVED", 1L), summary.getInbound());
+        assertEquals(Collections.singletonMap("SCHEDULED", 1L), summary.getOutbound());
+        assertNotNull(summary.getReconciledAt());
+    }
+
+    /**
+     * 作成・ステータス変更・削除がDBにアクセスせずに反映されることのテスト
+     */
+    @Test
+    void testRecordedChangesAreApplied() {
+        statusCounters.reconcile();
+
+        statusCounters.recordCreated(StatusCounters.Table.CARGO, "PENDING");
+        statusCounters.recordTransition(StatusCounters.Table.CARGO, "PENDING", "DELIVERED");
+        statusCounters.recordTransition(StatusCounters.Table.CARGO, "IN_TRANSIT", "IN_TRANSIT");
+        statusCounters.recordDeleted(StatusCounters.Table.CARGO, "IN_TRANSIT");
+        statusCounters.recordTransition(StatusCounters.Table.OUTBOUND, "SCHEDULED", "DEPARTED");
+
+        DashboardSummary summary = statusCounters.summary();
+        Map<String, Long> expectedCargo = new HashMap<>();
+        expectedCargo.put("PENDING", 2L);
+        expectedCargo.put("DELIVERED", 1L);
+        assertEquals(expectedCargo, summary.getCargo());
+        assertEquals(Collections.singletonMap("DEPARTED", 1L), summary.getOutbound());
+    }
+
+    /**
+     * DBと食い違った件数が補正されることのテスト
+     */
+    @Test
+    void testReconcileCorrectsDrift() {
+        statusCounters.reconcile();
+
+        // カウンターを経由せずにDBを変更
+        cargoRepository.deleteById("C003");
+        assertEquals(1L, statusCounters.summary().getCargo().get("IN_TRANSIT"));
+
+        statusCounters.reconcile();
+
+        assertEquals(Collections.singletonMap("PENDING", 2L), statusCounters.summary().getCargo());
+    }
+
+    private Cargo newCargo(String cargoId, String status) {
+        return new Cargo(cargoId, "NH001", "NRT", "LAX", "一般貨物", new BigDecimal("100.50"), new BigDecimal("2.5"),
+            status, "田中太郎", "佐藤花子", LocalDateTime.now(), LocalDateTime.now(), 1);
+    }
+
+    private Inbound newInbound(String inboundId, String status) {
+        Inbound inbound = new Inbound();
+        inbound.setInboundId(inboundId);
+        inbound.setCargoId("C001");
+        inbound.setFlightNumber("NH001");
+        inbound.setStatus(status);
+        inbound.setCreatedDate(LocalDateTime.now());
+        inbound.setVersion(1);
+        return inbound;
+    }
+
+    private Outbound newOutbound(String outboundId, String status) {
+        Outbound outbound = new Outbound();
+        outbound.setOutboundId(outboundId);
+        outbound.setCargoId("C001");
+        outbound.setFlightNumber("NH001");
+        outbound.setStatus(status);
+        outbound.setCreatedDate(LocalDateTime.now());
+        outbound.setVersion(1);
+        return outbound;
+    }
+}
@@ -0,0 +1,135 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Inbound;
+import com.aircargo.repository.CargoRepository;
+import com.aircargo.repository.InboundRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * ステータス更新クラスのテストクラス
+ *
+ * StatusUpdaterの1回のUPDATE文による更新と、バージョン条件をテストします。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatusUpdaterTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CargoRepository cargoRepository;
+
+    @Autowired
+    private InboundRepository inboundRepository;
+
+    private StatusUpdater statusUpdater;
+
+    @BeforeEach
+    void setUp() {
+        statusUpdater = new StatusUpdater(new JdbcTemplate(dataSource), entityManager);
+
+        Cargo cargo = new Cargo();
+        cargo.setCargoId("C12345678");
+        cargo.setFlightNumber("NH001");
+        cargo.setOriginAirport("NRT");
+        cargo.setDestinationAirport("LAX");
+        cargo.setCargoType("一般貨物");
+        cargo.setWeight(new BigDecimal("100.50"));
+        cargo.setVolume(new BigDecimal("2.50"));
+        cargo.setStatus("PENDING");
+        cargo.setShipperName("田中太郎");
+        cargo.setConsigneeName("佐藤花子");
+        cargo.setCreatedDate(LocalDateTime.now());
+        cargoRepository.save(cargo);
+
+        Inbound inbound = new Inbound();
+        inbound.setInboundId("IN12345678");
+        inbound.setCargoId("C12345678");
+        inbound.setFlightNumber("NH001");
+        inbound.setArrivalDate(LocalDate.of(2024, 1, 1));
+        inbound.setStatus("ARRIVED");
+        inboundRepository.save(inbound);
+    }
+
+    @AfterEach
+    void tearDown() {
+        inboundRepository.deleteAllInBatch();
+        cargoRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 貨物ステータスの更新で更新前の行が返り、ステータス・更新日時・バージョンが更新されることのテスト
+     */
+    @Test
+    void testUpdateCargoStatus() {
+        // メソッドの実行
+        LocalDateTime updatedDate = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        Optional<Cargo> previous = statusUpdater.updateCargoStatus("C12345678", "IN_TRANSIT", updatedDate, null);
+
+        // 結果の検証
+        assertTrue(previous.isPresent());
+        assertEquals("PENDING", previous.get().getStatus());
+        assertEquals("田中太郎", previous.get().getShipperName());
+        Cargo stored = cargoRepository.findById("C12345678").get();
+        assertEquals("IN_TRANSIT", stored.getStatus());
+        assertEquals(updatedDate, stored.getUpdatedDate());
+        assertEquals(previous.get().getVersion() + 1, stored.getVersion());
+    }
+
+    /**
+     * バージョンが一致しない場合は更新されないことのテスト
+     */
+    @Test
+    void testUpdateCargoStatusWithStaleVersion() {
+        int version = cargoRepository.findById("C12345678").get().getVersion();
+
+        // メソッドの実行（古いバージョンを指定）
+        Optional<Cargo> stale = statusUpdater.updateCargoStatus("C12345678", "IN_TRANSIT", LocalDateTime.now(), version - 1);
+
+        // 結果の検証
+        assertFalse(stale.isPresent());
+        assertEquals("PENDING", cargoRepository.findById("C12345678").get().getStatus());
+
+        // 現在のバージョンを指定した場合は更新される
+        assertTrue(statusUpdater.updateCargoStatus("C12345678", "IN_TRANSIT", LocalDateTime.now(), version).isPresent());
+        assertEquals("IN_TRANSIT", cargoRepository.findById("C12345678").get().getStatus());
+    }
+
+    /**
+     * 入荷ステータスの更新のテスト
+     */
+    @Test
+    void testUpdateInboundStatus() {
+        // メソッドの実行
+        Optional<Inbound> previous = statusUpdater.updateInboundStatus("IN12345678", "STORED", null);
+
+        // 結果の検証
+        assertTrue(previous.isPresent());
+        assertEquals("ARRIVED", previous.get().getStatus());
+        assertEquals(LocalDate.of(2024, 1, 1), previous.get().getArrivalDate());
+        assertEquals("STORED", inboundRepository.findById("IN12345678").get().getStatus());
+        assertFalse(statusUpdater.updateInboundStatus("NONEXISTENT", "STORED", null).isPresent());
+    }
+}
@@ -0,0 +1,243 @@
+package com.aircargo.service;
+
+import com.aircargo.controller.TrackingStreamController;
+import com.aircargo.datasource.ReplicaRouting;
+import com.aircargo.entity.Cargo;
+import com.aircargo.entity.Tracking;
+import com.aircargo.repository.CargoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 追跡記録ライブ配信サービスのテストクラス
+ *
+ * TrackingBroadcasterの貨物・便・場所ごとの振り分けと、購読者ごとのバッファの上限（resyncイベント）、
+ * 送信のタイムアウトによる購読の解除をテストします。
+ * 購読はTrackingStreamControllerを通してMockMvcの非同期リクエストで行います。
+ */
+class TrackingBroadcasterTest {
+
+    private CargoRepository cargoRepository;
+    private List<Runnable> pendingSends;
+    private AtomicBoolean sendImmediately;
+    private TrackingBroadcaster trackingBroadcaster;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        cargoRepository = mock(CargoRepository.class);
+        pendingSends = new CopyOnWriteArrayList<>();
+        sendImmediately = new AtomicBoolean(true);
+        // 送信タスクは即時実行するか、テストから実行するまで保留する
+        Executor sendExecutor = task -> {
+            if (sendImmediately.get()) {
+                task.run();
+            } else {
+                pendingSends.add(task);
+            }
+        };
+        trackingBroadcaster = new TrackingBroadcaster(new CargoCache(new SimpleMeterRegistry(), 100, 60), cargoRepository,
+            new SimpleMeterRegistry(), sendExecutor, 200, 2, 100, 60000, 100);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TrackingStreamController(trackingBroadcaster)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        trackingBroadcaster.stop();
+    }
+
+    /**
+     * 購読した貨物・場所の追跡記録のみが配信されることのテスト
+     */
+    @Test
+    void testDeliversToCargoAndLocationSubscribers() throws Exception {
+        MvcResult cargo = subscribe("cargoId", "C001");
+        MvcResult location = subscribe("location", "nrt");
+        assertEquals(2, trackingBroadcaster.subscriberCount());
+
+        trackingBroadcaster.onCommitted(new TrackingCommittedEvent(Arrays.asList(
+            newTracking("TR001", "C001", "HND"), newTracking("TR002", "C002", "NRT"))));
+
+        awaitContains(cargo, "TR001");
+        awaitContains(location, "TR002");
+        String cargoEvents = cargo.getResponse().getContentAsString();
+        assertTrue(cargoEvents.contains("event:tracking"));
+        assertFalse(cargoEvents.contains("TR002"));
+        assertFalse(location.getResponse().getContentAsString().contains("TR001"));
+    }
+
+    /**
+     * 便の購読者には貨物の便名で振り分けられることのテスト
+     */
+    @Test
+    void testDeliversToFlightSubscribers() throws Exception {
+        Cargo cargo = new Cargo();
+        cargo.setCargoId("C001");
+        cargo.setFlightNumber("NH001");
+        cargo.setVersion(1);
+        // 共有キャッシュへの読み込みはプライマリで行う
+        AtomicBoolean loadedOnPrimary = new AtomicBoolean();
+        when(cargoRepository.findById("C001")).thenAnswer(invocation -> {
+            loadedOnPrimary.set(ReplicaRouting.isPrimaryForced());
+            return Optional.of(cargo);
+        });
+        when(cargoRepository.findById("C002")).thenReturn(Optional.empty());
+        MvcResult flight = subscribe("flightNumber", "NH001");
+
+        trackingBroadcaster.onCommitted(new TrackingCommittedEvent(Arrays.asList(
+            newTracking("TR001", "C002", "NRT"), newTracking("TR002", "C001", "NRT"), newTracking("TR003", "C001", "LAX"))));
+
+        awaitContains(flight, "TR003");
+        String events = flight.getResponse().getContentAsString();
+        assertFalse(events.contains("TR001"));
+        assertTrue(events.indexOf("TR002") < events.indexOf("TR003"));
+        // 同じ通知内の同じ貨物の便名は1回だけ読み込む
+        verify(cargoRepository, times(1)).findById("C001");
+        assertTrue(loadedOnPrimary.get());
+    }
+
+    /**
+     * 送信が追いつかずバッファを超えた場合に、破棄した件数がresyncイベントで通知されることのテスト
+     */
+    @Test
+    void testBufferOverflowSendsResync() throws Exception {
+        MvcResult cargo = subscribe("cargoId", "C001");
+        sendImmediately.set(false);
+
+        // バッファ2件に対し5件を配信
+        List<Tracking> trackings = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            trackings.add(newTracking("TR00" + i, "C001", "NRT"));
+        }
+        trackingBroadcaster.onCommitted(new TrackingCommittedEvent(trackings));
+        await(() -> !pendingSends.isEmpty() && trackingBroadcaster.subscriberCount() == 1);
+        Thread.sleep(100);
+
+        sendImmediately.set(true);
+        new ArrayList<>(pendingSends).forEach(Runnable::run);
+
+        String events = cargo.getResponse().getContentAsString();
+        assertTrue(events.contains("event:resync"));
+        assertTrue(events.contains("\"dropped\":4"));
+        assertTrue(events.contains("TR005"));
+        assertFalse(events.contains("TR004"));
+        assertTrue(events.indexOf("event:resync") < events.indexOf("TR005"));
+    }
+
+    /**
+     * 送信が戻らない購読者の購読が解除され、送信が戻った時点で接続が終了することのテスト
+     */
+    @Test
+    void testStalledSendDropsSubscriber() throws Exception {
+        SseEmitter emitter = trackingBroadcaster.subscribe(TrackingBroadcaster.Topic.CARGO, "C001");
+        MvcResult other = subscribe("cargoId", "C002");
+
+        // emitterのロックを保持して送信を止める
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread client = new Thread(() -> {
+            synchronized (emitter) {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        client.start();
+        locked.await();
+        trackingBroadcaster.onCommitted(new TrackingCommittedEvent(Collections.singletonList(newTracking("TR001", "C001", "NRT"))));
+        Thread.sleep(300);
+
+        // 送信のタイムアウト（200ms）を超えた購読のみ解除される
+        trackingBroadcaster.dropStalledSubscribers();
+        assertEquals(1, trackingBroadcaster.subscriberCount());
+        release.countDown();
+        client.join();
+
+        // 送信が戻った後は接続が終了している
+        await(() -> {
+            try {
+                emitter.send("x");
+                return false;
+            } catch (IllegalStateException e) {
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        });
+        trackingBroadcaster.onCommitted(new TrackingCommittedEvent(Collections.singletonList(newTracking("TR002", "C002", "NRT"))));
+        awaitContains(other, "TR002");
+    }
+
+    /**
+     * 購読対象が1つでない場合のテスト
+     */
+    @Test
+    void testStreamRequiresExactlyOneTopic() throws Exception {
+        mockMvc.perform(get("/api/tracking/stream")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tracking/stream").param("cargoId", "C001").param("location", "NRT"))
+            .andExpect(status().isBadRequest());
+        assertEquals(0, trackingBroadcaster.subscriberCount());
+    }
+
+    private MvcResult subscribe(String parameter, String value) throws Exception {
+        return mockMvc.perform(get("/api/tracking/stream").param(parameter, value))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    private void awaitContains(MvcResult result, String text) throws Exception {
+        await(() -> {
+            try {
+                return result.getResponse().getContentAsString().contains(text);
+            } catch (Exception e) {
+                return false;
+            }
+        });
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "配信されませんでした");
+            Thread.sleep(10);
+        }
+    }
+
+    private Tracking newTracking(String trackingId, String cargoId, String location) {
+        Tracking tracking = new Tracking();
+        tracking.setTrackingId(trackingId);
+        tracking.setCargoId(cargoId);
+        tracking.setLocation(location);
+        tracking.setStatus("IN_TRANSIT");
+        tracking.setTimestamp(LocalDateTime.now());
+        tracking.setVersion(1);
+        return tracking;
+    }
+}
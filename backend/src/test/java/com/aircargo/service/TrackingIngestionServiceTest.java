@@ -0,0 +1,255 @@
+package com.aircargo.service;
+
+import com.aircargo.entity.Tracking;
+import com.aircargo.entity.TrackingLatest;
+import com.aircargo.id.TimeOrderedIdGenerator;
+import com.aircargo.repository.TrackingLatestRepository;
+import com.aircargo.repository.TrackingRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 追跡記録取り込みサービスのテストクラス
+ * 
+ * TrackingIngestionServiceのグループコミットをテストします。
+ * 書き込みスレッドが独立したトランザクションでコミットするため、テストメソッド自体はトランザクション外で実行します。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TrackingIngestionServiceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TrackingRepository trackingRepository;
+
+    @Autowired
+    private TrackingLatestRepository trackingLatestRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Object> publishedEvents;
+    private TrackingIngestionService trackingIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        // ウィンドウ50ミリ秒、最大8件でグループ化
+        meterRegistry = new SimpleMeterRegistry();
+        publishedEvents = new CopyOnWriteArrayList<>();
+        trackingIngestionService = new TrackingIngestionService(new JdbcTemplate(dataSource), transactionManager,
+                meterRegistry, new TimeOrderedIdGenerator(0), publishedEvents::add, 50, 8, 100, 10000);
+        trackingIngestionService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        trackingIngestionService.stop();
+        trackingRepository.deleteAllInBatch();
+        trackingLatestRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 単一の追跡記録登録のテスト
+     */
+    @Test
+    void testIngest() {
+        // メソッドの実行
+        Tracking result = trackingIngestionService.ingest(newTracking("C12345678"));
+
+        // 結果の検証（応答時点でコミット済み）
+        assertNotNull(result.getTrackingId());
+        assertNotNull(result.getTimestamp());
+        assertEquals(1, result.getVersion());
+        assertTrue(trackingRepository.findById(result.getTrackingId()).isPresent());
+    }
+
+    /**
+     * 同時に届いた要求がまとめてコミットされることのテスト
+     */
+    @Test
+    void testConcurrentRequestsAreGroupCommitted() {
+        // 20件を同時に投入
+        List<CompletableFuture<Tracking>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(trackingIngestionService.submit(newTracking("C" + i)));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // 結果の検証（最大8件ずつ、20件より少ない回数のコミットで登録される）
+        assertEquals(20, trackingRepository.count());
+        DistributionSummary batchSize = meterRegistry.get("aircargo.tracking.ingest.batch.size").summary();
+        assertTrue(batchSize.count() < 20);
+        assertTrue(batchSize.max() <= 8);
+        assertEquals(20, (long) batchSize.totalAmount());
+        assertTrue(meterRegistry.get("aircargo.tracking.ingest.commit").timer().count() > 0);
+    }
+
+    /**
+     * グループ内の一部の要求が失敗しても他の要求は登録されることのテスト
+     */
+    @Test
+    void testFailedRequestDoesNotFailGroup() {
+        // 列長を超える位置情報を含む要求
+        CompletableFuture<Tracking> ok = trackingIngestionService.submit(newTracking("C00000001"));
+        Tracking invalid = newTracking("C00000002");
+        invalid.setLocation(String.join("", Collections.nCopies(300, "X")));
+        CompletableFuture<Tracking> failed = trackingIngestionService.submit(invalid);
+
+        // 結果の検証
+        assertNotNull(ok.join().getTrackingId());
+        assertThrows(RuntimeException.class, failed::join);
+        assertEquals(1, trackingRepository.count());
+        assertEquals(1.0, meterRegistry.get("aircargo.tracking.ingest.failures").counter().count());
+
+        // コミットされた要求のみが通知される
+        List<Tracking> committed = new ArrayList<>();
+        publishedEvents.forEach(event -> committed.addAll(((TrackingCommittedEvent) event).getTrackings()));
+        assertEquals(1, committed.size());
+        assertEquals(ok.join().getTrackingId(), committed.get(0).getTrackingId());
+    }
+
+    /**
+     * 登録と同じトランザクションで最新追跡が更新されることのテスト
+     */
+    @Test
+    void testIngestUpdatesLatestTracking() {
+        // 同じ貨物の追跡記録を同じグループと別のグループで登録
+        Tracking first = newTracking("C00000001");
+        Tracking second = newTracking("C00000001");
+        second.setLocation("Los Angeles International Airport");
+        second.setStatus("ARRIVED");
+        CompletableFuture<Tracking> firstFuture = trackingIngestionService.submit(first);
+        CompletableFuture<Tracking> secondFuture = trackingIngestionService.submit(second);
+        trackingIngestionService.ingest(newTracking("C00000002"));
+        firstFuture.join();
+        Tracking latestTracking = secondFuture.join();
+
+        // 結果の検証（貨物ごとに1行、最も新しい追跡記録）
+        assertEquals(2, trackingLatestRepository.count());
+        TrackingLatest latest = trackingLatestRepository.findById("C00000001").orElseThrow(AssertionError::new);
+        assertEquals(latestTracking.getTrackingId(), latest.getTrackingId());
+        assertEquals("Los Angeles International Airport", latest.getLocation());
+        assertEquals("ARRIVED", latest.getStatus());
+        assertEquals("H001", latest.getHandlerId());
+
+        // 後続の追跡記録で置き換えられる
+        Tracking third = newTracking("C00000001");
+        third.setStatus("DEPARTED");
+        Tracking thirdResult = trackingIngestionService.ingest(third);
+        assertEquals(thirdResult.getTrackingId(),
+            trackingLatestRepository.findById("C00000001").map(TrackingLatest::getTrackingId).orElse(null));
+    }
+
+    /**
+     * 既存の最新より古い追跡記録では最新追跡が置き換えられないことのテスト
+     */
+    @Test
+    void testOlderTrackingDoesNotOverwriteLatest() {
+        // より新しいタイムスタンプの最新追跡を用意
+        LocalDateTime future = LocalDateTime.now().plusDays(1).withNano(0);
+        trackingLatestRepository.save(new TrackingLatest("C00000001", "TR_FUTURE", "JFK", "DELIVERED", future, "H002"));
+
+        // メソッドの実行
+        trackingIngestionService.ingest(newTracking("C00000001"));
+
+        // 結果の検証
+        TrackingLatest latest = trackingLatestRepository.findById("C00000001").orElseThrow(AssertionError::new);
+        assertEquals("TR_FUTURE", latest.getTrackingId());
+        assertEquals("DELIVERED", latest.getStatus());
+        assertEquals(future, latest.getTimestamp());
+    }
+
+    /**
+     * 待機時間内にコミットが完了しない場合にIllegalStateExceptionとなることのテスト
+     */
+    @Test
+    void testIngestTimesOut() throws InterruptedException {
+        // コミット通知で書き込みスレッドを止める（待機時間100ミリ秒）
+        CountDownLatch release = new CountDownLatch(1);
+        TrackingIngestionService blockedService = new TrackingIngestionService(new JdbcTemplate(dataSource),
+                transactionManager, new SimpleMeterRegistry(), new TimeOrderedIdGenerator(0), event -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, 5, 8, 100, 100);
+        blockedService.start();
+        try {
+            // メソッドの実行と検証
+            assertThrows(IllegalStateException.class, () -> blockedService.ingest(newTracking("C00000001")));
+        } finally {
+            release.countDown();
+            blockedService.stop();
+        }
+    }
+
+    /**
+     * 書き込みスレッドでErrorが発生しても、グループの要求が完了し、以降の要求も登録されることのテスト
+     */
+    @Test
+    void testWriterSurvivesError() throws InterruptedException {
+        // 最初のコミット通知のみErrorを送出
+        AtomicBoolean failed = new AtomicBoolean();
+        TrackingIngestionService failingService = new TrackingIngestionService(new JdbcTemplate(dataSource),
+                transactionManager, new SimpleMeterRegistry(), new TimeOrderedIdGenerator(0), event -> {
+                    if (failed.compareAndSet(false, true)) {
+                        throw new StackOverflowError("テスト用のエラー");
+                    }
+                }, 5, 8, 100, 5000);
+        failingService.start();
+        try {
+            // メソッドの実行と検証
+            assertThrows(IllegalStateException.class, () -> failingService.ingest(newTracking("C00000001")));
+            assertNotNull(failingService.ingest(newTracking("C00000002")).getTrackingId());
+        } finally {
+            failingService.stop();
+        }
+    }
+
+    /**
+     * 停止後の要求が受け付けられないことのテスト
+     */
+    @Test
+    void testSubmitAfterStopIsRejected() throws InterruptedException {
+        // メソッドの実行
+        trackingIngestionService.stop();
+
+        // 結果の検証
+        assertThrows(IllegalStateException.class, () -> trackingIngestionService.submit(newTracking("C00000001")));
+    }
+
+    private Tracking newTracking(String cargoId) {
+        Tracking tracking = new Tracking();
+        tracking.setCargoId(cargoId);
+        tracking.setLocation("Narita International Airport");
+        tracking.setStatus("IN_TRANSIT");
+        tracking.setHandlerId("H001");
+        return tracking;
+    }
+}
@@ -0,0 +1,140 @@
+package com.aircargo.service;
+
+import com.aircargo.dto.TrackingPartitionReport;
+import com.aircargo.entity.Tracking;
+import com.aircargo.repository.TrackingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * 追跡記録パーティション保守のテストクラス
+ *
+ * H2では追跡テーブルがパーティション化されないため、保存期間を過ぎた行の移動・削除（フォールバック）をテストします。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TrackingPartitionMaintenanceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TrackingRepository trackingRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // 2026年7月に1件、8月に3件、9月・10月に1件ずつ
+        trackingRepository.saveAll(Arrays.asList(
+            newTracking("TR001", LocalDateTime.of(2026, 7, 15, 9, 0)),
+            newTracking("TR002", LocalDateTime.of(2026, 8, 1, 0, 0)),
+            newTracking("TR003", LocalDateTime.of(2026, 8, 20, 12, 0)),
+            newTracking("TR004", LocalDateTime.of(2026, 8, 31, 23, 59)),
+            newTracking("TR005", LocalDateTime.of(2026, 9, 1, 0, 0)),
+            newTracking("TR006", LocalDateTime.of(2026, 10, 1, 8, 0))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        trackingRepository.deleteAllInBatch();
+        jdbcTemplate.execute("DROP TABLE IF EXISTS TRACKING_ARCHIVE_202607");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS TRACKING_ARCHIVE_202608");
+    }
+
+    /**
+     * 保存期間を過ぎた月の行がアーカイブテーブルに移動されることのテスト
+     */
+    @Test
+    void testExpiredRowsAreArchived() {
+        // 当月を含む2か月（9月・10月）を保存、1回2件ずつ移動
+        TrackingPartitionMaintenance maintenance = new TrackingPartitionMaintenance(dataSource, transactionManager,
+            true, 3, 2, true, true, 2);
+
+        // メソッドの実行
+        TrackingPartitionReport report = maintenance.maintain(YearMonth.of(2026, 10));
+
+        // 結果の検証
+        assertFalse(report.isPartitioned());
+        assertEquals(Arrays.asList("202607", "202608"), report.getArchived());
+        assertEquals(4, report.getMovedRows());
+        assertEquals(Arrays.asList("TR005", "TR006"), jdbcTemplate.queryForList(
+            "SELECT TRACKING_ID FROM TRACKING ORDER BY TRACKING_ID", String.class));
+        assertEquals(Arrays.asList("TR002", "TR003", "TR004"), jdbcTemplate.queryForList(
+            "SELECT TRACKING_ID FROM TRACKING_ARCHIVE_202608 ORDER BY TRACKING_ID", String.class));
+        assertEquals("NRT", jdbcTemplate.queryForObject(
+            "SELECT LOCATION FROM TRACKING_ARCHIVE_202607 WHERE TRACKING_ID = 'TR001'", String.class));
+
+        // 2回目は移動する行がない
+        assertTrue(maintenance.maintain(YearMonth.of(2026, 10)).getArchived().isEmpty());
+    }
+
+    /**
+     * アーカイブしない場合に保存期間を過ぎた行が削除されることのテスト
+     */
+    @Test
+    void testExpiredRowsAreDroppedWithoutArchive() {
+        TrackingPartitionMaintenance maintenance = new TrackingPartitionMaintenance(dataSource, transactionManager,
+            true, 3, 3, false, true, 100);
+
+        // メソッドの実行（8月以降を保存）
+        TrackingPartitionReport report = maintenance.maintain(YearMonth.of(2026, 10));
+
+        // 結果の検証
+        assertEquals(Collections.singletonList("202607"), report.getDropped());
+        assertEquals(1, report.getMovedRows());
+        assertEquals(5, trackingRepository.count());
+        assertFalse(trackingRepository.findById("TR001").isPresent());
+        assertEquals(0, (int) jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME LIKE 'TRACKING_ARCHIVE%'", Integer.class));
+    }
+
+    private Tracking newTracking(String trackingId, LocalDateTime timestamp) {
+        Tracking tracking = new Tracking();
+        tracking.setTrackingId(trackingId);
+        tracking.setCargoId("C001");
+        tracking.setLocation("NRT");
+        tracking.setStatus("IN_TRANSIT");
+        tracking.setTimestamp(timestamp);
+        tracking.setVersion(1);
+        return tracking;
+    }
+
+    /**
+     * 行単位の保存期間処理を指定しない場合に行が移動・削除されないことのテスト
+     */
+    @Test
+    void testExpiredRowsAreKeptWithoutRowExpiry() {
+        TrackingPartitionMaintenance maintenance = new TrackingPartitionMaintenance(dataSource, transactionManager,
+            true, 3, 2, true, false, 100);
+
+        // メソッドの実行
+        TrackingPartitionReport report = maintenance.maintain(YearMonth.of(2026, 10));
+
+        // 結果の検証
+        assertFalse(report.isPartitioned());
+        assertTrue(report.getArchived().isEmpty());
+        assertEquals(0, report.getMovedRows());
+        assertEquals(6, trackingRepository.count());
+    }
+}
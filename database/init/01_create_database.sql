@@ -71,15 +71,34 @@ CREATE TABLE OUTBOUND (
 -- =====================================================
 -- 貨物の移動状況やステータス変更の履歴を管理するテーブル
 -- 貨物ID、位置情報、ステータス、タイムスタンプ、担当者情報を保持
+-- タイムスタンプの月別にレンジパーティション化し、将来月の追加と保存期間を過ぎた月の切り離しは
+-- アプリケーションの定期保守（aircargo.tracking.partition）が行う
 CREATE TABLE TRACKING (
     TRACKING_ID VARCHAR(20) NOT NULL PRIMARY KEY,     -- 追跡ID（主キー）
     CARGO_ID VARCHAR(20) NOT NULL,                    -- 貨物ID（外部キー）
     LOCATION VARCHAR(100) NOT NULL,                   -- 位置情報（空港名、ターミナル名など）
     STATUS VARCHAR(50) NOT NULL,                      -- ステータス（IN_TRANSIT、ARRIVED、DEPARTED等）
-    TIMESTAMP TIMESTAMP,                              -- タイムスタンプ
+    TIMESTAMP TIMESTAMP NOT NULL,                     -- タイムスタンプ（パーティションキー）
     HANDLER_ID VARCHAR(20),                           -- 担当者ID
     NOTES VARCHAR(1000),                              -- 備考
     FOREIGN KEY (CARGO_ID) REFERENCES CARGO(CARGO_ID) -- 貨物テーブルへの外部キー制約
+)
+PARTITION BY RANGE (TIMESTAMP)
+(STARTING ('2024-01-01-00.00.00') ENDING ('2027-01-01-00.00.00') EXCLUSIVE EVERY (1 MONTH));
+
+-- =====================================================
+-- 最新追跡テーブル
+-- =====================================================
+-- 貨物ごとの最新の追跡記録（現在位置・ステータス）を1行で保持するテーブル
+-- 追跡記録の登録と同じトランザクションで更新される（履歴を読まずに現在位置を取得するため）
+CREATE TABLE TRACKING_LATEST (
+    CARGO_ID VARCHAR(20) NOT NULL PRIMARY KEY,        -- 貨物ID（主キー、外部キー）
+    TRACKING_ID VARCHAR(20) NOT NULL,                 -- 最新の追跡記録の追跡ID
+    LOCATION VARCHAR(100) NOT NULL,                   -- 位置情報
+    STATUS VARCHAR(50) NOT NULL,                      -- ステータス
+    TIMESTAMP TIMESTAMP,                              -- タイムスタンプ
+    HANDLER_ID VARCHAR(20),                           -- 担当者ID
+    FOREIGN KEY (CARGO_ID) REFERENCES CARGO(CARGO_ID) -- 貨物テーブルへの外部キー制約
 );
 
 -- =====================================================
@@ -133,18 +152,27 @@ CREATE TABLE FLIGHT (
 -- 検索パフォーマンス向上のためのインデックスを作成
 
 -- 貨物テーブルのインデックス
-CREATE INDEX IDX_CARGO_FLIGHT ON CARGO(FLIGHT_NUMBER);    -- フライト番号による検索用
-CREATE INDEX IDX_CARGO_STATUS ON CARGO(STATUS);           -- ステータスによる検索用
+CREATE INDEX IDX_CARGO_FLIGHT ON CARGO(FLIGHT_NUMBER, CARGO_ID);    -- フライト番号による検索・キーセットページング用
+CREATE INDEX IDX_CARGO_STATUS ON CARGO(STATUS, CARGO_ID);           -- ステータスによる検索・キーセットページング用
 
 -- 入荷テーブルのインデックス
 CREATE INDEX IDX_INBOUND_DATE ON INBOUND(ARRIVAL_DATE);   -- 到着日による検索用
+CREATE INDEX IDX_INBOUND_CARGO ON INBOUND(CARGO_ID);       -- 貨物IDによる検索用
+CREATE INDEX IDX_INBOUND_STATUS ON INBOUND(STATUS);        -- ステータスによる検索・件数集計用
 
 -- 出荷テーブルのインデックス
 CREATE INDEX IDX_OUTBOUND_DATE ON OUTBOUND(DEPARTURE_DATE); -- 出発日による検索用
+CREATE INDEX IDX_OUTBOUND_CARGO ON OUTBOUND(CARGO_ID);       -- 貨物IDによる検索用
+CREATE INDEX IDX_OUTBOUND_STATUS ON OUTBOUND(STATUS);        -- ステータスによる検索・件数集計用
 
 -- 追跡テーブルのインデックス
-CREATE INDEX IDX_TRACKING_CARGO ON TRACKING(CARGO_ID);    -- 貨物IDによる検索用
-CREATE INDEX IDX_TRACKING_TIMESTAMP ON TRACKING(TIMESTAMP); -- タイムスタンプによる検索用
+-- 貨物IDによる検索は全パーティションにまたがるため非パーティション索引とし、1回の索引検索で済ませる
+-- タイムスタンプを条件に含む検索はパーティションの除外が効くため、パーティション索引とする
+-- 主キー（TRACKING_ID）と IDX_TRACKING_CARGO は非パーティション索引のため、パーティションの切り離し後に
+-- DB2が非同期に索引の整理（切り離した行の索引キーの削除）を行う。貨物IDによる検索の性能のためにこの費用を許容する
+CREATE INDEX IDX_TRACKING_CARGO ON TRACKING(CARGO_ID, TIMESTAMP, TRACKING_ID) NOT PARTITIONED;    -- 貨物IDによる履歴検索・キーセットページング用
+CREATE INDEX IDX_TRACKING_TIMESTAMP ON TRACKING(TIMESTAMP) PARTITIONED; -- タイムスタンプによる検索用
+CREATE INDEX IDX_TRACKING_STATUS ON TRACKING(STATUS, TIMESTAMP) PARTITIONED; -- ステータスによる検索（タイムスタンプ順）用
 
 -- =====================================================
 -- サンプルデータ挿入
@@ -41,6 +41,8 @@ interface Cargo {
 export default function CargoPage() {
   const router = useRouter();
   const [cargos, setCargos] = useState<Cargo[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [openDialog, setOpenDialog] = useState(false);
   const [editingCargo, setEditingCargo] = useState<Cargo | null>(null);
   const [searchTerm, setSearchTerm] = useState('');
@@ -75,18 +77,33 @@ export default function CargoPage() {
     fetchCargos();
   }, []);
 
-  const fetchCargos = async () => {
+  // 貨物一覧はカーソルページングで返されるため、先頭ページを取得し、続きは「さらに読み込む」で追加する
+  const fetchCargos = async (cursor?: string) => {
     try {
-      const response = await fetch('/api/cargo');
+      const url = cursor ? `/api/cargo?cursor=${encodeURIComponent(cursor)}` : '/api/cargo';
+      const response = await fetch(url);
       if (response.ok) {
         const data = await response.json();
-        setCargos(data);
+        setCargos(cursor ? (prev) => [...prev, ...data.items] : data.items);
+        setNextCursor(data.hasNext ? data.nextCursor : null);
       }
     } catch (error) {
       console.error('貨物データの取得に失敗しました:', error);
     }
   };
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      await fetchCargos(nextCursor);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSubmit = async () => {
     try {
       const url = editingCargo 
@@ -263,6 +280,19 @@ export default function CargoPage() {
           </Table>
         </TableContainer>
 
+        <Box sx={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', mt: 2 }}>
+          <Typography variant="body2" color="text.secondary">
+            {nextCursor
+              ? `${cargos.length}件を表示中（続きがあります。検索は読み込み済みの貨物が対象です）`
+              : `全${cargos.length}件を表示中`}
+          </Typography>
+          {nextCursor && (
+            <Button variant="outlined" onClick={handleLoadMore} disabled={loadingMore}>
+              さらに読み込む
+            </Button>
+          )}
+        </Box>
+
         <Dialog open={openDialog} onClose={() => setOpenDialog(false)} maxWidth="md" fullWidth>
           <DialogTitle>
             {editingCargo ? '貨物編集' : '新規貨物登録'}